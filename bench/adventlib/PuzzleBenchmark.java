@@ -0,0 +1,130 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.joining;
+
+import com.google.common.collect.ObjectArrays;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * JMH benchmarks for each {@link Puzzle}, measuring parsing and each of the two parts separately.
+ * The input is read into a {@link MappedInput} once, so {@link #parse} does not include I/O, and
+ * the parts all work from one parsed copy of it. Run with the {@code benchmarks} profile as
+ * described in {@code pom.xml}.
+ *
+ * <p>Unless {@code -p puzzle=...} is given, {@link #main} benchmarks every puzzle listed in {@code
+ * META-INF/services/adventlib.Puzzle} that has the chosen input. The default input is {@code
+ * problem}, which needs the real puzzle inputs in {@code src}; {@code -p input=sample} uses the
+ * samples included in the code. {@code -p input=generated -p size=1000,10000,100000} uses inputs of
+ * increasing size from {@link InputGenerators}, so by default only the puzzles that have a
+ * generator run.
+ *
+ * @author Éamonn McManus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleBenchmark {
+  // JMH insists on a default, but main always supplies the registered puzzles unless there is
+  // -p puzzle=...
+  @Param("")
+  public String puzzle;
+
+  @Param("problem")
+  public String input;
+
+  // The size of the input when input is "generated".
+  @Param("1000")
+  public int size;
+
+  private Puzzle<Object> selected;
+  private MappedInput text;
+  private Object parsed;
+
+  /**
+   * Runs JMH with the given command-line arguments. If there is no {@code puzzle} parameter, adds
+   * one with every registered puzzle that has the requested inputs.
+   */
+  public static void main(String[] args) throws IOException {
+    try {
+      CommandLineOptions options = new CommandLineOptions(args);
+      if (!options.getParameter("puzzle").hasValue()) {
+        Collection<String> inputs = options.getParameter("input").orElse(List.of("problem"));
+        String puzzles =
+            PuzzleRunner.load(p -> inputs.stream().allMatch(i -> hasInput(p, i))).stream()
+                .map(PuzzleBenchmark::key)
+                .collect(joining(","));
+        args = ObjectArrays.concat(new String[] {"-p", "puzzle=" + puzzles}, args, String.class);
+      }
+    } catch (CommandLineOptionException e) {
+      // Leave the arguments alone so that JMH reports the problem in its usual way.
+    }
+    Main.main(args);
+  }
+
+  private static boolean hasInput(Puzzle<?> puzzle, String input) {
+    return input.equals("generated")
+        ? InputGenerators.BY_PUZZLE.containsKey(key(puzzle))
+        : puzzle.inputs().containsKey(input);
+  }
+
+  private static String key(Puzzle<?> puzzle) {
+    return puzzle.year() + "." + puzzle.day();
+  }
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    List<Puzzle<?>> puzzles = PuzzleRunner.load(p -> puzzle.equals(key(p)));
+    checkArgument(
+        puzzles.size() == 1, "No puzzle '%s': run PuzzleBenchmark.main or use -p puzzle", puzzle);
+    selected = (Puzzle<Object>) puzzles.get(0);
+    if (input.equals("generated")) {
+      InputGenerators.InputGenerator generator = InputGenerators.BY_PUZZLE.get(puzzle);
+      checkArgument(generator != null, "No input generator for %s", puzzle);
+      text = MappedInput.of(generator.generate(1, size));
+    } else {
+      Callable<Reader> producer = selected.inputs().get(input);
+      checkArgument(producer != null, "Puzzle %s has no input %s", puzzle, input);
+      text = PuzzleRunner.read(producer);
+    }
+    parsed = selected.parse(input, text);
+  }
+
+  @Benchmark
+  public Object parse() throws IOException {
+    return selected.parse(input, text);
+  }
+
+  @Benchmark
+  public Object part1() {
+    return selected.part1(parsed);
+  }
+
+  @Benchmark
+  public Object part2() {
+    return selected.part2(parsed);
+  }
+}
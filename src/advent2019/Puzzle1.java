@@ -1,26 +1,38 @@
 package advent2019;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.io.CharStreams;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.List;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<List<Long>> {
   public static void main(String[] args) throws Exception {
-    try (Reader r = new InputStreamReader(Puzzle1.class.getResourceAsStream("puzzle1.txt"))) {
-      List<Long> numbers = CharStreams.readLines(r).stream().map(Long::valueOf).toList();
-      long part1 = numbers.stream().mapToLong(n -> n / 3 - 2).sum();
-      System.out.printf("Part 1 sum is %d\n", part1);
-      long part2 = 0;
-      for (long n : numbers) {
-        for (long m = n; (m = m / 3 - 2) > 0; ) {
-          part2 += m;
-        }
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  @Override
+  public List<Long> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Long::valueOf).toList();
+  }
+
+  @Override
+  public Long part1(List<Long> numbers) {
+    return numbers.stream().mapToLong(n -> n / 3 - 2).sum();
+  }
+
+  @Override
+  public Long part2(List<Long> numbers) {
+    long part2 = 0;
+    for (long n : numbers) {
+      for (long m = n; (m = m / 3 - 2) > 0; ) {
+        part2 += m;
       }
-      System.out.printf("Part 2 sum is %d\n", part2);
     }
+    return part2;
   }
 }
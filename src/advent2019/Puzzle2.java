@@ -4,10 +4,12 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharStreams;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,27 +17,32 @@ import java.util.List;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<ImmutableList<Integer>> {
   public static void main(String[] args) throws Exception {
-    try (Reader r = new InputStreamReader(Puzzle2.class.getResourceAsStream("puzzle2.txt"))) {
-      String line = CharStreams.toString(r).trim();
-      ImmutableList<Integer> originalMemory =
-          Splitter.on(',').splitToStream(line).map(Integer::valueOf).collect(toImmutableList());
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public ImmutableList<Integer> parse(Reader r) throws IOException {
+    String line = CharStreams.toString(r).trim();
+    return Splitter.on(',').splitToStream(line).map(Integer::valueOf).collect(toImmutableList());
+  }
 
-      // Part 1
-      System.out.printf("Part 1 result is %d\n", run(originalMemory, 12, 2));
+  @Override
+  public Integer part1(ImmutableList<Integer> originalMemory) {
+    return run(originalMemory, 12, 2);
+  }
 
-      // Part 2
-      outer:
-      for (int i = 0; i < 100; i++) {
-        for (int j = 0; j < 100; j++) {
-          if (run(originalMemory, i, j) == 19690720) {
-            System.out.printf("Part 2 result is %d,%d => %d\n", i, j, i * 100 + j);
-            break outer;
-          }
+  @Override
+  public Integer part2(ImmutableList<Integer> originalMemory) {
+    for (int i = 0; i < 100; i++) {
+      for (int j = 0; j < 100; j++) {
+        if (run(originalMemory, i, j) == 19690720) {
+          return i * 100 + j;
         }
       }
     }
+    throw new IllegalStateException("No inputs produce 19690720");
   }
 
   private static int run(ImmutableList<Integer> originalMemory, int input1, int input2) {
@@ -5,22 +5,26 @@ import static java.lang.Math.abs;
 
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle3 {
+public class Puzzle3 implements Puzzle<Puzzle3.Wires> {
   private static final String SAMPLE1 =
       """
       R8,U5,L5,D3
@@ -47,31 +51,46 @@ public class Puzzle3 {
           "problem", () -> new InputStreamReader(Puzzle3.class.getResourceAsStream("puzzle3.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        checkState(lines.size() == 2);
-        Map<Coord, Integer> coords1 = wireCoords(lines.get(0));
-        Map<Coord, Integer> coords2 = wireCoords(lines.get(1));
-        int nearest =
-            Sets.intersection(coords1.keySet(), coords2.keySet()).stream()
-                .map(c -> abs(c.line()) + abs(c.col()))
-                .sorted()
-                .findFirst()
-                .get();
-        System.out.printf("For %s, nearest is %d\n", name, nearest);
-        int shortest =
-            Sets.intersection(coords1.keySet(), coords2.keySet()).stream()
-                .map(c -> coords1.get(c) + coords2.get(c))
-                .sorted()
-                .findFirst()
-                .get();
-        System.out.printf("For %s, shortest is %d\n", name, shortest);
-      }
+    PuzzleRunner.run(new Puzzle3());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** For each of the two wires, the number of steps to reach each point on it. */
+  record Wires(Map<Coord, Integer> coords1, Map<Coord, Integer> coords2) {
+    Set<Coord> crossings() {
+      return Sets.intersection(coords1.keySet(), coords2.keySet());
     }
   }
 
+  @Override
+  public Wires parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    checkState(lines.size() == 2);
+    return new Wires(wireCoords(lines.get(0)), wireCoords(lines.get(1)));
+  }
+
+  @Override
+  public Integer part1(Wires wires) {
+    return wires.crossings().stream()
+        .map(c -> abs(c.line()) + abs(c.col()))
+        .sorted()
+        .findFirst()
+        .get();
+  }
+
+  @Override
+  public Integer part2(Wires wires) {
+    return wires.crossings().stream()
+        .map(c -> wires.coords1.get(c) + wires.coords2.get(c))
+        .sorted()
+        .findFirst()
+        .get();
+  }
+
   private static Map<Coord, Integer> wireCoords(String line) {
     List<String> parts = Splitter.on(',').splitToList(line);
     Map<Coord, Integer> coords = new LinkedHashMap<>();
@@ -2,33 +2,41 @@ package advent2019;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.io.CharStreams;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<List<Integer>> {
   public static void main(String[] args) throws Exception {
-    int start, stop;
-    try (Reader r = new InputStreamReader(Puzzle4.class.getResourceAsStream("puzzle4.txt"))) {
-      var numbers =
-          Splitter.on('-')
-              .splitToStream(CharStreams.toString(r).trim())
-              .map(Integer::valueOf)
-              .toList();
-      checkState(numbers.size() == 2);
-      start = numbers.get(0);
-      stop = numbers.get(1);
-    }
-    long count1 = IntStream.rangeClosed(start, stop).filter(Puzzle4::candidate1).count();
-    System.out.printf("Part 1 count is %d\n", count1);
-    long count2 = IntStream.rangeClosed(start, stop).filter(Puzzle4::candidate2).count();
-    System.out.printf("Part 2 count is %d\n", count2);
+    PuzzleRunner.run(new Puzzle4());
+  }
+
+  /** Returns the start and end of the range, inclusive. */
+  @Override
+  public List<Integer> parse(Reader r) throws IOException {
+    var numbers =
+        Splitter.on('-').splitToStream(CharStreams.toString(r).trim()).map(Integer::valueOf).toList();
+    checkState(numbers.size() == 2);
+    return numbers;
+  }
+
+  @Override
+  public Long part1(List<Integer> range) {
+    return IntStream.rangeClosed(range.get(0), range.get(1)).filter(Puzzle4::candidate1).count();
+  }
+
+  @Override
+  public Long part2(List<Integer> range) {
+    return IntStream.rangeClosed(range.get(0), range.get(1)).filter(Puzzle4::candidate2).count();
   }
 
   private static boolean candidate1(int n) {
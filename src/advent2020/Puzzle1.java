@@ -1,7 +1,10 @@
 package advent2020;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -12,7 +15,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<List<Integer>> {
   private static final String SAMPLE =
       """
       1721
@@ -29,32 +32,42 @@ public class Puzzle1 {
           "problem", () -> new InputStreamReader(Puzzle1.class.getResourceAsStream("puzzle1.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> numbers = lines.stream().map(Integer::valueOf).toList();
-        outer:
-        for (int i : numbers) {
-          for (int j : numbers) {
-            if (i + j == 2020) {
-              System.out.printf("For %s, %d * %d = %d\n", name, i, j, i * j);
-              break outer;
-            }
-          }
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Integer> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Integer::valueOf).toList();
+  }
+
+  @Override
+  public Integer part1(List<Integer> numbers) {
+    for (int i : numbers) {
+      for (int j : numbers) {
+        if (i + j == 2020) {
+          return i * j;
         }
-        outer:
-        for (int i : numbers) {
-          for (int j : numbers) {
-            for (int k : numbers) {
-              if (i + j + k == 2020) {
-                System.out.printf("For %s, %d * %d * %d = %d\n", name, i, j, k, i * j * k);
-                break outer;
-              }
-            }
+      }
+    }
+    throw new IllegalStateException("No two numbers sum to 2020");
+  }
+
+  @Override
+  public Integer part2(List<Integer> numbers) {
+    for (int i : numbers) {
+      for (int j : numbers) {
+        for (int k : numbers) {
+          if (i + j + k == 2020) {
+            return i * j * k;
           }
         }
       }
     }
+    throw new IllegalStateException("No three numbers sum to 2020");
   }
 }
\ No newline at end of file
@@ -2,11 +2,15 @@ package advent2020;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -15,7 +19,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<List<Puzzle2.Policy>> {
   private static final String SAMPLE =
       """
       1-3 a: abcde
@@ -31,30 +35,47 @@ public class Puzzle2 {
   private static final Pattern PATTERN = Pattern.compile("(\\d+)-(\\d+) (.): (.*)");
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int part1Count = 0;
-        int part2Count = 0;
-        for (String line : lines) {
-          var matcher = PATTERN.matcher(line);
-          checkState(matcher.matches(), line);
-          int lower = Integer.parseInt(matcher.group(1));
-          int upper = Integer.parseInt(matcher.group(2));
-          char c = matcher.group(3).charAt(0);
-          String password = matcher.group(4);
-          long freq = password.chars().filter(i -> i == c).count();
-          if (lower <= freq && freq <= upper) {
-            part1Count++;
-          }
-          if ((password.charAt(lower - 1) == c) != (password.charAt(upper - 1) == c)) {
-            part2Count++;
-          }
-        }
-        System.out.printf("For %s, Part 1 count is %d\n", name, part1Count);
-        System.out.printf("For %s, Part 2 count is %d\n", name, part2Count);
-      }
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** A password and the policy it is checked against. */
+  record Policy(int lower, int upper, char c, String password) {}
+
+  @Override
+  public List<Policy> parse(Reader r) throws IOException {
+    List<Policy> policies = new ArrayList<>();
+    for (String line : CharStreams.readLines(r)) {
+      var matcher = PATTERN.matcher(line);
+      checkState(matcher.matches(), line);
+      int lower = Integer.parseInt(matcher.group(1));
+      int upper = Integer.parseInt(matcher.group(2));
+      char c = matcher.group(3).charAt(0);
+      policies.add(new Policy(lower, upper, c, matcher.group(4)));
     }
+    return policies;
+  }
+
+  @Override
+  public Long part1(List<Policy> policies) {
+    return policies.stream()
+        .filter(
+            p -> {
+              long freq = p.password.chars().filter(i -> i == p.c).count();
+              return p.lower <= freq && freq <= p.upper;
+            })
+        .count();
+  }
+
+  @Override
+  public Long part2(List<Policy> policies) {
+    return policies.stream()
+        .filter(
+            p -> (p.password.charAt(p.lower - 1) == p.c) != (p.password.charAt(p.upper - 1) == p.c))
+        .count();
   }
 }
\ No newline at end of file
@@ -2,20 +2,21 @@ package advent2020;
 
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.regex.Pattern;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle3 {
+public class Puzzle3 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       ..##.......
@@ -36,24 +37,32 @@ public class Puzzle3 {
           "sample", () -> new StringReader(SAMPLE),
           "problem", () -> new InputStreamReader(Puzzle3.class.getResourceAsStream("puzzle3.txt")));
 
-  private static final Pattern PATTERN = Pattern.compile("(\\d+)-(\\d+) (.): (.*)");
-
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        System.out.printf("For %s, Part 1 tree count %d\n", name, treeCount(grid, 3, 1));
-        long part2Trees =
-            treeCount(grid, 1, 1)
-                * treeCount(grid, 3, 1)
-                * treeCount(grid, 5, 1)
-                * treeCount(grid, 7, 1)
-                * treeCount(grid, 1, 2);
-        System.out.printf("For %s, Part 2 tree product %d\n", name, part2Trees);
-      }
-    }
+    PuzzleRunner.run(new Puzzle3());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Long part1(CharGrid grid) {
+    return treeCount(grid, 3, 1);
+  }
+
+  @Override
+  public Long part2(CharGrid grid) {
+    return treeCount(grid, 1, 1)
+        * treeCount(grid, 3, 1)
+        * treeCount(grid, 5, 1)
+        * treeCount(grid, 7, 1)
+        * treeCount(grid, 1, 2);
   }
 
   private static long treeCount(CharGrid grid, int colDelta, int lineDelta) {
@@ -2,10 +2,13 @@ package advent2020;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<List<ImmutableMap<String, String>>> {
   private static final String SAMPLE =
       """
       ecl:gry pid:860033327 eyr:2020 hcl:#fffffd
@@ -44,32 +47,40 @@ public class Puzzle4 {
       ImmutableSet.of("byr", "iyr", "eyr", "hgt", "hcl", "ecl", "pid");
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        String text = CharStreams.toString(r);
-        Pattern whitespace = Pattern.compile("\\s");
-        List<ImmutableMap<String, String>> maps =
-            Splitter.on("\n\n")
-                .splitToStream(text)
-                .map(
-                    s ->
-                        Splitter.on(whitespace)
-                            .omitEmptyStrings()
-                            .splitToStream(s)
-                            .map(ss -> Splitter.on(':').splitToList(ss))
-                            .collect(toImmutableMap(kv -> kv.get(0), kv -> kv.get(1))))
-                .toList();
-        long validCount1 =
-            maps.stream().filter(map -> map.keySet().containsAll(REQUIRED_FIELDS)).count();
-        System.out.printf("For %s, Part 1 valid count is %d\n", name, validCount1);
-        long validCount2 =
-            maps.stream()
-                .filter(map -> map.keySet().containsAll(REQUIRED_FIELDS) && valid(map))
-                .count();
-        System.out.printf("For %s, Part 2 valid count is %d\n", name, validCount2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle4());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<ImmutableMap<String, String>> parse(Reader r) throws IOException {
+    String text = CharStreams.toString(r);
+    Pattern whitespace = Pattern.compile("\\s");
+    return Splitter.on("\n\n")
+        .splitToStream(text)
+        .map(
+            s ->
+                Splitter.on(whitespace)
+                    .omitEmptyStrings()
+                    .splitToStream(s)
+                    .map(ss -> Splitter.on(':').splitToList(ss))
+                    .collect(toImmutableMap(kv -> kv.get(0), kv -> kv.get(1))))
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<ImmutableMap<String, String>> maps) {
+    return maps.stream().filter(map -> map.keySet().containsAll(REQUIRED_FIELDS)).count();
+  }
+
+  @Override
+  public Long part2(List<ImmutableMap<String, String>> maps) {
+    return maps.stream()
+        .filter(map -> map.keySet().containsAll(REQUIRED_FIELDS) && valid(map))
+        .count();
   }
 
   private static boolean valid(ImmutableMap<String, String> passport) {
@@ -2,31 +2,42 @@ package advent2020;
 
 import static java.util.stream.Collectors.toCollection;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.io.CharStreams;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
-import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle5 {
+public class Puzzle5 implements Puzzle<NavigableSet<Integer>> {
   public static void main(String[] args) throws Exception {
-    try (Reader r = new InputStreamReader(Puzzle5.class.getResourceAsStream("puzzle5.txt"))) {
-      List<String> lines = CharStreams.readLines(r);
-      NavigableSet<Integer> seats =
-          lines.stream().map(Puzzle5::seatId).collect(toCollection(TreeSet::new));
-      int max = seats.getLast();
-      System.out.printf("Highest seat id is %d\n", max);
-      for (int seat : seats) {
-        if (seats.higher(seat) == seat + 2) {
-          System.out.printf("Missing seat id is %d\n", seat + 1);
-          break;
-        }
+    PuzzleRunner.run(new Puzzle5());
+  }
+
+  @Override
+  public NavigableSet<Integer> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(Puzzle5::seatId)
+        .collect(toCollection(TreeSet::new));
+  }
+
+  @Override
+  public Integer part1(NavigableSet<Integer> seats) {
+    return seats.getLast();
+  }
+
+  @Override
+  public Integer part2(NavigableSet<Integer> seats) {
+    for (int seat : seats) {
+      if (seats.higher(seat) == seat + 2) {
+        return seat + 1;
       }
     }
+    throw new IllegalStateException("No missing seat");
   }
 
   private static int seatId(String seat) {
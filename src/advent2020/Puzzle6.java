@@ -1,12 +1,14 @@
 package advent2020;
 
-import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.util.stream.Collectors.toSet;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -14,13 +16,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle6 {
+public class Puzzle6 implements Puzzle<String> {
   private static final String SAMPLE =
       """
       abc
@@ -46,33 +47,44 @@ public class Puzzle6 {
           "problem", () -> new InputStreamReader(Puzzle6.class.getResourceAsStream("puzzle6.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        String text = CharStreams.toString(r);
-        List<Set<Character>> groups =
-            Splitter.on("\n\n")
-                .splitToStream(text)
-                .map(s -> s.chars().filter(c -> c != '\n').mapToObj(c -> (char) c).collect(toSet()))
-                .toList();
-        int sum = groups.stream().mapToInt(Set::size).sum();
-        System.out.printf("For %s, Part 1 sum is %d\n", name, sum);
-        Set<Character> letters =
-            IntStream.rangeClosed('a', 'z').mapToObj(c -> (char) c).collect(toSet());
-        List<Set<Character>> groups2 =
-            Splitter.on("\n\n")
-                .splitToStream(text)
-                .map(
-                    s ->
-                        Splitter.on('\n')
-                            .omitEmptyStrings()
-                            .splitToStream(s)
-                            .map(line -> line.chars().mapToObj(c -> (char) c).collect(toSet()))
-                            .reduce(letters, Sets::intersection))
-                .toList();
-        int sum2 = groups2.stream().mapToInt(Set::size).sum();
-        System.out.printf("For %s, Part 2 sum is %d\n", name, sum2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle6());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public String parse(Reader r) throws IOException {
+    return CharStreams.toString(r);
+  }
+
+  @Override
+  public Integer part1(String text) {
+    List<Set<Character>> groups =
+        Splitter.on("\n\n")
+            .splitToStream(text)
+            .map(s -> s.chars().filter(c -> c != '\n').mapToObj(c -> (char) c).collect(toSet()))
+            .toList();
+    return groups.stream().mapToInt(Set::size).sum();
+  }
+
+  @Override
+  public Integer part2(String text) {
+    Set<Character> letters =
+        IntStream.rangeClosed('a', 'z').mapToObj(c -> (char) c).collect(toSet());
+    List<Set<Character>> groups =
+        Splitter.on("\n\n")
+            .splitToStream(text)
+            .map(
+                s ->
+                    Splitter.on('\n')
+                        .omitEmptyStrings()
+                        .splitToStream(s)
+                        .map(line -> line.chars().mapToObj(c -> (char) c).collect(toSet()))
+                        .reduce(letters, Sets::intersection))
+            .toList();
+    return groups.stream().mapToInt(Set::size).sum();
   }
 }
\ No newline at end of file
@@ -2,16 +2,18 @@ package advent2020;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.graph.MutableValueGraph;
 import com.google.common.graph.ValueGraph;
 import com.google.common.graph.ValueGraphBuilder;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -21,7 +23,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle7 {
+public class Puzzle7 implements Puzzle<ValueGraph<String, Integer>> {
   private static final String SAMPLE =
       """
       light red bags contain 1 bright white bag, 2 muted yellow bags.
@@ -45,31 +47,39 @@ public class Puzzle7 {
   private static final Pattern TO_PATTERN = Pattern.compile("(\\d+) ([a-z]+ [a-z]+) bag");
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        MutableValueGraph<String, Integer> graph =
-            ValueGraphBuilder.<String, Integer>directed().build();
-        for (String line : lines) {
-          Matcher matcher = FROM_PATTERN.matcher(line);
-          checkState(matcher.find());
-          String from = matcher.group(1);
-          matcher = TO_PATTERN.matcher(line);
-          while (matcher.find()) {
-            int n = Integer.parseInt(matcher.group(1));
-            String to = matcher.group(2);
-            graph.putEdgeValue(from, to, n);
-          }
-        }
-        Set<String> preds = predecessors(graph, "shiny gold");
-        System.out.printf(
-            "For %s, number of bags that can contain a shiny gold bag is %d\n", name, preds.size());
-        System.out.printf(
-            "For %s, number of bags that a shiny bag contains is %d\n",
-            name, containment(graph, "shiny gold") - 1);
+    PuzzleRunner.run(new Puzzle7());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public ValueGraph<String, Integer> parse(Reader r) throws IOException {
+    MutableValueGraph<String, Integer> graph = ValueGraphBuilder.<String, Integer>directed().build();
+    for (String line : CharStreams.readLines(r)) {
+      Matcher matcher = FROM_PATTERN.matcher(line);
+      checkState(matcher.find());
+      String from = matcher.group(1);
+      matcher = TO_PATTERN.matcher(line);
+      while (matcher.find()) {
+        int n = Integer.parseInt(matcher.group(1));
+        String to = matcher.group(2);
+        graph.putEdgeValue(from, to, n);
       }
     }
+    return graph;
+  }
+
+  @Override
+  public Integer part1(ValueGraph<String, Integer> graph) {
+    return predecessors(graph, "shiny gold").size();
+  }
+
+  @Override
+  public Long part2(ValueGraph<String, Integer> graph) {
+    return containment(graph, "shiny gold") - 1;
   }
 
   private static <N> long containment(ValueGraph<N, Integer> graph, N node) {
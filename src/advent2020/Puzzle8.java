@@ -2,8 +2,11 @@ package advent2020;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -18,7 +21,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle8 {
+public class Puzzle8 implements Puzzle<List<Puzzle8.Instr>> {
   private static final String SAMPLE =
       """
       nop +0
@@ -42,41 +45,50 @@ public class Puzzle8 {
   record Instr(String op, int arg) {}
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Instr> instrs =
-            lines.stream()
-                .map(PATTERN::matcher)
-                .peek(m -> checkState(m.matches()))
-                .map(m -> new Instr(m.group(1), Integer.parseInt(m.group(2))))
-                .toList();
-        var result1 = execute(instrs);
-        if (result1 instanceof Loops(int acc)) {
-          System.out.printf("For %s, loop detected with acc=%d\n", name, acc);
-        } else {
-          throw new AssertionError("Program did not loop");
-        }
-        for (int i = 0; i < instrs.size(); i++) {
-          Instr instr = instrs.get(i);
-          Instr alt =
-              switch (instr.op) {
-                case "nop" -> new Instr("jmp", instr.arg);
-                case "jmp" -> new Instr("nop", instr.arg);
-                default -> null;
-              };
-          if (alt != null) {
-            List<Instr> altInstrs = new ArrayList<>(instrs);
-            altInstrs.set(i, alt);
-            if (execute(altInstrs) instanceof Terminates(int acc1)) {
-              System.out.printf("For %s, loop fixed with acc=%d\n", name, acc1);
-              break;
-            }
-          }
+    PuzzleRunner.run(new Puzzle8());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Instr> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(PATTERN::matcher)
+        .peek(m -> checkState(m.matches()))
+        .map(m -> new Instr(m.group(1), Integer.parseInt(m.group(2))))
+        .toList();
+  }
+
+  @Override
+  public Integer part1(List<Instr> instrs) {
+    if (execute(instrs) instanceof Loops(int acc)) {
+      return acc;
+    }
+    throw new AssertionError("Program did not loop");
+  }
+
+  @Override
+  public Integer part2(List<Instr> instrs) {
+    for (int i = 0; i < instrs.size(); i++) {
+      Instr instr = instrs.get(i);
+      Instr alt =
+          switch (instr.op) {
+            case "nop" -> new Instr("jmp", instr.arg);
+            case "jmp" -> new Instr("nop", instr.arg);
+            default -> null;
+          };
+      if (alt != null) {
+        List<Instr> altInstrs = new ArrayList<>(instrs);
+        altInstrs.set(i, alt);
+        if (execute(altInstrs) instanceof Terminates(int acc)) {
+          return acc;
         }
       }
     }
+    throw new IllegalStateException("No change stops the loop");
   }
 
   private sealed interface Result {
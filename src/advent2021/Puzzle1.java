@@ -1,7 +1,10 @@
 package advent2021;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -12,7 +15,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<List<Integer>> {
   private static final String SAMPLE =
       """
       199
@@ -33,28 +36,40 @@ public class Puzzle1 {
           "problem", () -> new InputStreamReader(Puzzle1.class.getResourceAsStream("puzzle1.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> readings = lines.stream().map(Integer::valueOf).toList();
-        int increases = 0;
-        for (int i = 1; i < readings.size(); i++) {
-          if (readings.get(i) > readings.get(i - 1)) {
-            increases++;
-          }
-        }
-        System.out.println("Increases for " + name + ": " + increases);
-        int windowIncreases = 0;
-        int windowSum = readings.get(0) + readings.get(1) + readings.get(2);
-        for (int i = 3; i < readings.size(); i++) {
-          int newWindowSum = windowSum - readings.get(i - 3) + readings.get(i);
-          if (newWindowSum > windowSum) {
-            windowIncreases++;
-          }
-        }
-        System.out.println("Window increases for " + name + ": " + windowIncreases);
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Integer> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Integer::valueOf).toList();
+  }
+
+  @Override
+  public Integer part1(List<Integer> readings) {
+    int increases = 0;
+    for (int i = 1; i < readings.size(); i++) {
+      if (readings.get(i) > readings.get(i - 1)) {
+        increases++;
+      }
+    }
+    return increases;
+  }
+
+  @Override
+  public Integer part2(List<Integer> readings) {
+    int windowIncreases = 0;
+    int windowSum = readings.get(0) + readings.get(1) + readings.get(2);
+    for (int i = 3; i < readings.size(); i++) {
+      int newWindowSum = windowSum - readings.get(i - 3) + readings.get(i);
+      if (newWindowSum > windowSum) {
+        windowIncreases++;
       }
     }
+    return windowIncreases;
   }
 }
@@ -2,13 +2,15 @@ package advent2021;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -16,7 +18,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle10 {
+public class Puzzle10 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       [({(<(())[]>[[{[]{<()<>>
@@ -38,29 +40,36 @@ public class Puzzle10 {
               () -> new InputStreamReader(Puzzle10.class.getResourceAsStream("puzzle10.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int totalPart1Score = 0;
-        List<Long> part2Scores = new ArrayList<>();
-        for (String line : lines) {
-          int bad = part1(line);
-          if (bad > 0) {
-            totalPart1Score += bad;
-          } else {
-            part2Scores.add(part2(line));
-          }
-        }
-        System.out.printf("Part 1 score for %s is %d\n", name, totalPart1Score);
-        Collections.sort(part2Scores);
-        System.out.printf(
-            "Part 2 score for %s is %d\n", name, part2Scores.get(part2Scores.size() / 2));
-      }
-    }
+    PuzzleRunner.run(new Puzzle10());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Integer part1(List<String> lines) {
+    return lines.stream().mapToInt(Puzzle10::corruptionScore).sum();
+  }
+
+  @Override
+  public Long part2(List<String> lines) {
+    List<Long> scores =
+        lines.stream()
+            .filter(line -> corruptionScore(line) == 0)
+            .map(Puzzle10::completionScore)
+            .sorted()
+            .toList();
+    return scores.get(scores.size() / 2);
   }
 
-  private static int part1(String line) {
+  private static int corruptionScore(String line) {
     List<Character> expected = new ArrayList<>();
     for (int i = 0; i < line.length(); i++) {
       char c = line.charAt(i);
@@ -79,7 +88,7 @@ public class Puzzle10 {
     return 0;
   }
 
-  private static long part2(String line) {
+  private static long completionScore(String line) {
     List<Character> expected = new ArrayList<>();
     for (int i = 0; i < line.length(); i++) {
       char c = line.charAt(i);
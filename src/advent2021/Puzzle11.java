@@ -3,15 +3,17 @@ package advent2021;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -20,7 +22,7 @@ import java.util.function.Function;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle11 {
+public class Puzzle11 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       5483143223
@@ -50,33 +52,45 @@ public class Puzzle11 {
   }
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        Function<Coord, Octopus> nodeFactory = coord -> new Octopus(grid.get(coord) - '0');
-        ImmutableGraph<Octopus> graph = grid.toGraph(EnumSet.allOf(Dir.class), nodeFactory);
+    PuzzleRunner.run(new Puzzle11());
+  }
 
-        // Part 1
-        int flashCount = 0;
-        for (int i = 0; i < 100; i++) {
-          flashCount += step(graph);
-        }
-        System.out.printf("For %s, after 100 steps, total flashes %d\n", name, flashCount);
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        // Part 2
-        graph = grid.toGraph(EnumSet.allOf(Dir.class), nodeFactory);
-        int step;
-        for (step = 1; ; step++) {
-          int stepCount = step(graph);
-          if (stepCount == grid.size()) {
-            break;
-          }
-        }
-        System.out.printf("For %s, all octopodes flashed at step %d\n", name, step);
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(CharGrid grid) {
+    ImmutableGraph<Octopus> graph = octopusGraph(grid);
+    int flashCount = 0;
+    for (int i = 0; i < 100; i++) {
+      flashCount += step(graph);
+    }
+    return flashCount;
+  }
+
+  @Override
+  public Integer part2(CharGrid grid) {
+    ImmutableGraph<Octopus> graph = octopusGraph(grid);
+    int step;
+    for (step = 1; ; step++) {
+      int stepCount = step(graph);
+      if (stepCount == grid.size()) {
+        break;
       }
     }
+    return step;
+  }
+
+  private static ImmutableGraph<Octopus> octopusGraph(CharGrid grid) {
+    Function<Coord, Octopus> nodeFactory = coord -> new Octopus(grid.get(coord) - '0');
+    return grid.toGraph(EnumSet.allOf(Dir.class), nodeFactory);
   }
 
   private static int step(ImmutableGraph<Octopus> graph) {
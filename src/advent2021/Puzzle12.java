@@ -2,6 +2,8 @@ package advent2021;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -9,17 +11,17 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle12 {
+public class Puzzle12 implements Puzzle<Graph<String>> {
   private static final String SAMPLE =
       """
       fs-end
@@ -49,28 +51,33 @@ public class Puzzle12 {
               () -> new InputStreamReader(Puzzle12.class.getResourceAsStream("puzzle12.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        ImmutableGraph.Builder<String> graphBuilder = GraphBuilder.undirected().immutable();
-        for (String line : lines) {
-          var parts = Splitter.on('-').splitToList(line);
-          checkArgument(parts.size() == 2);
-          graphBuilder.putEdge(parts.get(0), parts.get(1));
-        }
-        Graph<String> graph = graphBuilder.build();
+    PuzzleRunner.run(new Puzzle12());
+  }
 
-        // Part 1
-        long part1Paths = countPaths1(graph, "start", ImmutableSet.of());
-        System.out.printf("For Part 1 %s, number of paths is %d\n", name, part1Paths);
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        // Part 2
-        long part2Paths = 0;
-        part2Paths += countPaths2(graph, "start", ImmutableSet.of(), false);
-        System.out.printf("For Part 2 %s, number of paths is %d\n", name, part2Paths);
-      }
+  @Override
+  public Graph<String> parse(Reader r) throws IOException {
+    ImmutableGraph.Builder<String> graphBuilder = GraphBuilder.undirected().immutable();
+    for (String line : CharStreams.readLines(r)) {
+      var parts = Splitter.on('-').splitToList(line);
+      checkArgument(parts.size() == 2);
+      graphBuilder.putEdge(parts.get(0), parts.get(1));
     }
+    return graphBuilder.build();
+  }
+
+  @Override
+  public Long part1(Graph<String> graph) {
+    return countPaths1(graph, "start", ImmutableSet.of());
+  }
+
+  @Override
+  public Long part2(Graph<String> graph) {
+    return countPaths2(graph, "start", ImmutableSet.of(), false);
   }
 
   private static long countPaths1(Graph<String> graph, String start, ImmutableSet<String> visited) {
@@ -3,10 +3,13 @@ package advent2021;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Arrays.stream;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
 import com.google.common.primitives.Booleans;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -18,7 +21,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle13 {
+public class Puzzle13 implements Puzzle<Puzzle13.Paper> {
   private static final String SAMPLE =
       """
       6,10
@@ -59,55 +62,74 @@ public class Puzzle13 {
   record YFold(int y) implements Fold {}
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int blank = lines.indexOf("");
-        checkState(blank > 0);
-        checkState(blank == lines.lastIndexOf(""));
-
-        List<Coord> coords =
-            lines.subList(0, blank).stream()
-                .map(
-                    line -> {
-                      var xy = Splitter.on(',').splitToStream(line).map(Integer::valueOf).toList();
-                      return new Coord(xy.get(0), xy.get(1));
-                    })
-                .toList();
-        int maxX = coords.stream().mapToInt(Coord::x).max().getAsInt();
-        int maxY = coords.stream().mapToInt(Coord::y).max().getAsInt();
-        boolean[][] grid = new boolean[maxX + 1][maxY + 1];
-        for (Coord coord : coords) {
-          grid[coord.x][coord.y] = true;
-        }
+    PuzzleRunner.run(new Puzzle13());
+  }
 
-        Pattern foldAlong = Pattern.compile("fold along ([xy])=(\\d+)");
-        List<Fold> folds =
-            lines.subList(blank + 1, lines.size()).stream()
-                .map(foldAlong::matcher)
-                .peek(m -> checkState(m.matches()))
-                .map(
-                    m -> {
-                      int line = Integer.parseInt(m.group(2));
-                      return (Fold)
-                          switch (m.group(1)) {
-                            case "x" -> new XFold(line);
-                            case "y" -> new YFold(line);
-                            default -> throw new IllegalArgumentException(m.toString());
-                          };
-                    })
-                .toList();
-        boolean[][] gridAfterFirstFold = fold(grid, folds.get(0));
-        System.out.printf(
-            "For %s, after first fold dot count is %d\n", name, count(gridAfterFirstFold));
-        boolean[][] newGrid = grid;
-        for (Fold fold : folds) {
-          newGrid = fold(newGrid, fold);
-        }
-        show(newGrid);
-      }
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The dots, indexed {@code [x][y]}, and the folds to make. */
+  record Paper(boolean[][] grid, List<Fold> folds) {}
+
+  @Override
+  public Paper parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int blank = lines.indexOf("");
+    checkState(blank > 0);
+    checkState(blank == lines.lastIndexOf(""));
+
+    List<Coord> coords =
+        lines.subList(0, blank).stream()
+            .map(
+                line -> {
+                  var xy = Splitter.on(',').splitToStream(line).map(Integer::valueOf).toList();
+                  return new Coord(xy.get(0), xy.get(1));
+                })
+            .toList();
+    int maxX = coords.stream().mapToInt(Coord::x).max().getAsInt();
+    int maxY = coords.stream().mapToInt(Coord::y).max().getAsInt();
+    boolean[][] grid = new boolean[maxX + 1][maxY + 1];
+    for (Coord coord : coords) {
+      grid[coord.x][coord.y] = true;
+    }
+
+    Pattern foldAlong = Pattern.compile("fold along ([xy])=(\\d+)");
+    List<Fold> folds =
+        lines.subList(blank + 1, lines.size()).stream()
+            .map(foldAlong::matcher)
+            .peek(m -> checkState(m.matches()))
+            .map(
+                m -> {
+                  int line = Integer.parseInt(m.group(2));
+                  return (Fold)
+                      switch (m.group(1)) {
+                        case "x" -> new XFold(line);
+                        case "y" -> new YFold(line);
+                        default -> throw new IllegalArgumentException(m.toString());
+                      };
+                })
+            .toList();
+    return new Paper(grid, folds);
+  }
+
+  @Override
+  public Integer part1(Paper paper) {
+    return count(fold(paper.grid, paper.folds.get(0)));
+  }
+
+  /**
+   * Returns the folded paper as lines of {@code #} and {@code .}, to be read by eye. Each line
+   * starts with a newline so that the drawing lines up when printed.
+   */
+  @Override
+  public String part2(Paper paper) {
+    boolean[][] newGrid = paper.grid;
+    for (Fold fold : paper.folds) {
+      newGrid = fold(newGrid, fold);
     }
+    return show(newGrid);
   }
 
   // input is indexed [x][y] so input[0] is all spaces with x coordinate 0.
@@ -141,14 +163,16 @@ public class Puzzle13 {
     return stream(grid).mapToInt(Booleans::countTrue).sum();
   }
 
-  private static void show(boolean[][] grid) {
+  private static String show(boolean[][] grid) {
     int height = grid[0].length;
     int width = grid.length;
+    StringBuilder sb = new StringBuilder();
     for (int y = 0; y < height; y++) {
+      sb.append('\n');
       for (int x = 0; x < width; x++) {
-        System.out.print(grid[x][y] ? '#' : '.');
+        sb.append(grid[x][y] ? '#' : '.');
       }
-      System.out.println();
     }
+    return sb.toString();
   }
 }
\ No newline at end of file
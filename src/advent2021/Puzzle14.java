@@ -4,8 +4,11 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,7 +22,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle14 {
+public class Puzzle14 implements Puzzle<Puzzle14.Polymer> {
   private static final String SAMPLE =
       """
       NNCB
@@ -49,26 +52,40 @@ public class Puzzle14 {
               () -> new InputStreamReader(Puzzle14.class.getResourceAsStream("puzzle14.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        String input = lines.get(0);
-        checkArgument(lines.get(1).isEmpty());
-        Pattern rulePattern = Pattern.compile("([A-Z][A-Z]) -> ([A-Z])");
-        ImmutableMap<String, Character> substitutions =
-            lines.stream()
-                .skip(2)
-                .map(rulePattern::matcher)
-                .peek(m -> checkState(m.matches()))
-                .collect(toImmutableMap(m -> m.group(1), m -> m.group(2).charAt(0)));
+    PuzzleRunner.run(new Puzzle14());
+  }
 
-        System.out.printf(
-            "Result for %s after 10 steps is is %d\n", name, polymerize(input, 10, substitutions));
-        System.out.printf(
-            "Result for %s after 40 steps is is %d\n", name, polymerize(input, 40, substitutions));
-      }
-    }
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The polymer template, and the pair insertion rules. */
+  record Polymer(String template, ImmutableMap<String, Character> substitutions) {}
+
+  @Override
+  public Polymer parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    String input = lines.get(0);
+    checkArgument(lines.get(1).isEmpty());
+    Pattern rulePattern = Pattern.compile("([A-Z][A-Z]) -> ([A-Z])");
+    ImmutableMap<String, Character> substitutions =
+        lines.stream()
+            .skip(2)
+            .map(rulePattern::matcher)
+            .peek(m -> checkState(m.matches()))
+            .collect(toImmutableMap(m -> m.group(1), m -> m.group(2).charAt(0)));
+    return new Polymer(input, substitutions);
+  }
+
+  @Override
+  public Long part1(Polymer polymer) {
+    return polymerize(polymer.template, 10, polymer.substitutions);
+  }
+
+  @Override
+  public Long part2(Polymer polymer) {
+    return polymerize(polymer.template, 40, polymer.substitutions);
   }
 
   // For Part 1, a naïve string-building approach is fine, but the sizes are obviously much too big
@@ -5,23 +5,26 @@ import static java.util.stream.Collectors.joining;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.GraphAlgorithms;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.SuccessorsFunction;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle15 {
+public class Puzzle15 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       1163751742
@@ -43,40 +46,43 @@ public class Puzzle15 {
               () -> new InputStreamReader(Puzzle15.class.getResourceAsStream("puzzle15.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        System.out.printf(
-            "For %s small grid, lowest total risk is %d\n", name, computeBestCost(grid));
-        CharGrid expandedGrid = expandedGrid(lines);
-        System.out.printf(
-            "For %s large grid, lowest total risk is %d\n", name, computeBestCost(expandedGrid));
-      }
-    }
+    PuzzleRunner.run(new Puzzle15());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
   }
 
+  @Override
+  public Integer part1(List<String> lines) {
+    return computeBestCost(new CharGrid(lines));
+  }
+
+  @Override
+  public Integer part2(List<String> lines) {
+    return computeBestCost(expandedGrid(lines));
+  }
+
+  // Every step costs between 1 and 9, so the search can use a bucket queue.
   private static int computeBestCost(CharGrid grid) {
-    Map<Coord, Integer> bestCost = new LinkedHashMap<>();
     Coord origin = new Coord(0, 0);
-    record CoordCost(Coord coord, int cost) {}
-    PriorityQueue<CoordCost> toVisit = new PriorityQueue<>(Comparator.comparing(CoordCost::cost));
-    toVisit.add(new CoordCost(origin, 0));
-    while (!toVisit.isEmpty()) {
-      CoordCost coordCost = toVisit.remove();
-      if (coordCost.cost < bestCost.getOrDefault(coordCost.coord, Integer.MAX_VALUE)) {
-        bestCost.put(coordCost.coord, coordCost.cost);
-        for (Dir dir : Dir.NEWS) {
-          Coord next = dir.move(coordCost.coord);
-          if (grid.valid(next)) {
-            int nextCost = coordCost.cost + grid.get(next) - '0';
-            toVisit.add(new CoordCost(next, nextCost));
-          }
-        }
-      }
-    }
-    return bestCost.get(new Coord(grid.height() - 1, grid.width() - 1));
+    Coord end = new Coord(grid.height() - 1, grid.width() - 1);
+    SuccessorsFunction<Coord> successors =
+        coord -> Dir.NEWS.stream().map(dir -> dir.move(coord)).filter(grid::valid).toList();
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            successors,
+            (from, to) -> grid.get(to) - '0',
+            9,
+            ImmutableSet.of(origin),
+            end::equals);
+    return paths.distances().get(end);
   }
 
   private static CharGrid expandedGrid(List<String> lines) {
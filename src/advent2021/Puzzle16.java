@@ -3,9 +3,11 @@ package advent2021;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Integer.signum;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.math.BigInteger;
 import java.util.function.BinaryOperator;
@@ -13,16 +15,25 @@ import java.util.function.BinaryOperator;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle16 {
+public class Puzzle16 implements Puzzle<Puzzle16.Packet> {
   public static void main(String[] args) throws Exception {
-    try (Reader r = new InputStreamReader(Puzzle16.class.getResourceAsStream("puzzle16.txt"))) {
-      String input = new BufferedReader(r).readLine();
-      BitStream stream = BitStream.ofHex(input);
-      Packet packet = stream.parsePacket();
-      int versionSum = packet.versionSum();
-      System.out.printf("version sum %d\n", versionSum);
-      System.out.printf("value %d\n", packet.value());
-    }
+    PuzzleRunner.run(new Puzzle16());
+  }
+
+  @Override
+  public Packet parse(Reader r) throws IOException {
+    String input = new BufferedReader(r).readLine();
+    return BitStream.ofHex(input).parsePacket();
+  }
+
+  @Override
+  public Integer part1(Packet packet) {
+    return packet.versionSum();
+  }
+
+  @Override
+  public BigInteger part2(Packet packet) {
+    return packet.value();
   }
 
   sealed interface Packet {
@@ -2,9 +2,12 @@ package advent2021;
 
 import static java.lang.Math.multiplyExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -15,7 +18,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       forward 5
@@ -32,20 +35,27 @@ public class Puzzle2 {
           "problem", () -> new InputStreamReader(Puzzle2.class.getResourceAsStream("puzzle2.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Position part1 = part1(lines);
-        System.out.printf(
-            "For %s part 1, horizontal %d, depth %d, product %d\n",
-            name, part1.horizontal, part1.depth, part1.product());
-        Position part2 = part2(lines);
-        System.out.printf(
-            "For %s part 2, horizontal %d, depth %d, product %d\n",
-            name, part2.horizontal, part2.depth, part2.product());
-      }
-    }
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Long part1(List<String> lines) {
+    return position1(lines).product();
+  }
+
+  @Override
+  public Long part2(List<String> lines) {
+    return position2(lines).product();
   }
 
   private record Position(long horizontal, long depth) {
@@ -54,7 +64,7 @@ public class Puzzle2 {
     }
   }
 
-  private static Position part1(List<String> lines) {
+  private static Position position1(List<String> lines) {
     long horizontal = 0;
     long depth = 0;
     for (String line : lines) {
@@ -69,7 +79,7 @@ public class Puzzle2 {
     return new Position(horizontal, depth);
   }
 
-  private static Position part2(List<String> lines) {
+  private static Position position2(List<String> lines) {
     long horizontal = 0;
     long depth = 0;
     long aim = 0;
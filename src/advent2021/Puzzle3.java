@@ -4,8 +4,11 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle3 {
+public class Puzzle3 implements Puzzle<Puzzle3.Report> {
   private static final String SAMPLE =
       """
       00100
@@ -40,29 +43,40 @@ public class Puzzle3 {
           "problem", () -> new InputStreamReader(Puzzle3.class.getResourceAsStream("puzzle3.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int nBits = lines.get(0).length();
-        checkState(lines.stream().allMatch(line -> line.length() == nBits));
-        checkState(nBits < 32);
-        List<Integer> numbers = lines.stream().map(line -> Integer.valueOf(line, 2)).toList();
+    PuzzleRunner.run(new Puzzle3());
+  }
 
-        var part1 = part1(numbers, nBits);
-        System.out.printf(
-            "For %s, gamma %d, epsilon %d, product %d\n",
-            name, part1.get(0), part1.get(1), multiplyExact(part1.get(0), part1.get(1)));
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        var part2 = part2(numbers, nBits);
-        System.out.printf(
-            "For %s, oxygen %d, CO₂ scrubber %d, product %d\n",
-            name, part2.get(0), part2.get(1), multiplyExact(part2.get(0), part2.get(1)));
-      }
-    }
+  /** The diagnostic report, as numbers that each have {@code nBits} bits. */
+  record Report(List<Integer> numbers, int nBits) {}
+
+  @Override
+  public Report parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int nBits = lines.get(0).length();
+    checkState(lines.stream().allMatch(line -> line.length() == nBits));
+    checkState(nBits < 32);
+    List<Integer> numbers = lines.stream().map(line -> Integer.valueOf(line, 2)).toList();
+    return new Report(numbers, nBits);
+  }
+
+  @Override
+  public Integer part1(Report report) {
+    var rates = rates(report.numbers, report.nBits);
+    return multiplyExact(rates.get(0), rates.get(1));
+  }
+
+  @Override
+  public Integer part2(Report report) {
+    var ratings = ratings(report.numbers, report.nBits);
+    return multiplyExact(ratings.get(0), ratings.get(1));
   }
 
-  private static List<Integer> part1(List<Integer> numbers, int nBits) {
+  private static List<Integer> rates(List<Integer> numbers, int nBits) {
     int gamma = 0; // more common bitmask
     int epsilon = 0; // less common bitmask
     for (int bitmask = 1 << (nBits - 1); bitmask != 0; bitmask >>= 1) {
@@ -75,7 +89,7 @@ public class Puzzle3 {
     return List.of(gamma, epsilon);
   }
 
-  private static List<Integer> part2(List<Integer> numbers, int nBits) {
+  private static List<Integer> ratings(List<Integer> numbers, int nBits) {
     List<Integer> results = new ArrayList<>();
 
     // The logic here is kind of tricky. Originally I wrote both parts separately, then boiled it
@@ -2,11 +2,13 @@ package advent2021;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toCollection;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -21,7 +23,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<Puzzle4.Bingo> {
   private static final String SAMPLE =
       """
       7,4,9,5,11,17,23,2,0,14,21,24,10,16,13,6,15,25,12,22,18,20,8,19,3,26,1
@@ -51,28 +53,36 @@ public class Puzzle4 {
           "problem", () -> new InputStreamReader(Puzzle4.class.getResourceAsStream("puzzle4.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> calls =
-            Splitter.on(',').splitToStream(lines.get(0)).map(Integer::valueOf).toList();
-        part1(name, calls, lines);
-        part2(name, calls, lines);
-      }
-    }
+    PuzzleRunner.run(new Puzzle4());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The numbers to be called, and the 25 numbers of each board. */
+  record Bingo(List<Integer> calls, List<List<Integer>> boards) {}
+
+  @Override
+  public Bingo parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<Integer> calls =
+        Splitter.on(',').splitToStream(lines.get(0)).map(Integer::valueOf).toList();
+    return new Bingo(calls, parseBoards(lines));
   }
 
   // I originally wrote an overcomplicated thing with bitmasks and so on, and it didn't work, so I
   // dumped it in favour of this naive solution. Numbers are removed from boards as they are called
   // by setting them to null. Checking for wins happens with nested for-loops.
 
-  private static void part1(String name, List<Integer> calls, List<String> lines) {
-    List<Board> boards = parseBoards(lines);
+  @Override
+  public Integer part1(Bingo bingo) {
+    List<Board> boards = bingo.boards.stream().map(Board::new).toList();
     Board winner = null;
     int lastCall = -1;
     calls:
-    for (var call : calls) {
+    for (var call : bingo.calls) {
       for (var board : boards) {
         board.remove(call);
         if (board.wins()) {
@@ -82,14 +92,15 @@ public class Puzzle4 {
         }
       }
     }
-    System.out.printf("Part 1 result for %s is %d\n", name, winner.sum() * lastCall);
+    return winner.sum() * lastCall;
   }
 
-  private static void part2(String name, List<Integer> calls, List<String> lines) {
-    List<Board> boards = new ArrayList<>(parseBoards(lines));
+  @Override
+  public Integer part2(Bingo bingo) {
+    List<Board> boards = new ArrayList<>(bingo.boards.stream().map(Board::new).toList());
     int lastCall = -1;
     calls:
-    for (var call : calls) {
+    for (var call : bingo.calls) {
       lastCall = call;
       for (int i = 0; i < boards.size(); i++) {
         var board = boards.get(i);
@@ -104,8 +115,7 @@ public class Puzzle4 {
         }
       }
     }
-    System.out.printf(
-        "Part 2 result for %s is %d\n", name, getOnlyElement(boards).sum() * lastCall);
+    return getOnlyElement(boards).sum() * lastCall;
   }
 
   private static class Board {
@@ -114,20 +124,15 @@ public class Puzzle4 {
     private final List<Integer> numbers;
 
     Board(List<Integer> numbers) {
-      this.numbers = numbers;
+      this.numbers = new ArrayList<>(numbers);
     }
 
-    static Board parse(List<String> strings) {
-      var numbers =
-          strings.stream()
-              .flatMap(
-                  line ->
-                      Splitter.on(SPACE)
-                          .omitEmptyStrings()
-                          .splitToStream(line)
-                          .map(Integer::valueOf))
-              .collect(toCollection(ArrayList::new));
-      return new Board(numbers);
+    static List<Integer> parse(List<String> strings) {
+      return strings.stream()
+          .flatMap(
+              line ->
+                  Splitter.on(SPACE).omitEmptyStrings().splitToStream(line).map(Integer::valueOf))
+          .toList();
     }
 
     void remove(int i) {
@@ -182,7 +187,7 @@ public class Puzzle4 {
     }
   }
 
-  private static List<Board> parseBoards(List<String> lines) {
+  private static List<List<Integer>> parseBoards(List<String> lines) {
     return IntStream.iterate(1, i -> i < lines.size(), i -> i + 6)
         .mapToObj(i -> Board.parse(lines.subList(i + 1, i + 6)))
         .toList();
@@ -4,9 +4,12 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Integer.signum;
 import static java.util.Arrays.stream;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
 import com.google.common.primitives.Ints;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,7 +22,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle5 {
+public class Puzzle5 implements Puzzle<List<Puzzle5.Line>> {
   private static final String SAMPLE =
       """
       0,9 -> 5,9
@@ -40,35 +43,49 @@ public class Puzzle5 {
           "problem", () -> new InputStreamReader(Puzzle5.class.getResourceAsStream("puzzle5.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> inputLines = CharStreams.readLines(r);
-        List<Line> lines = parseLines(inputLines);
-        int[][] orthogonalCounts = new int[1000][1000];
-        int[][] allCounts = new int[1000][1000];
-        for (Line line : lines) {
-          int deltaX = signum(line.end.x - line.start.x);
-          int deltaY = signum(line.end.y - line.start.y);
-          boolean orthogonal = deltaX == 0 || deltaY == 0;
-          int x = line.start.x;
-          int y = line.start.y;
-          while (true) {
-            allCounts[y][x]++;
-            if (orthogonal) {
-              orthogonalCounts[y][x]++;
-            }
-            if (x == line.end.x && y == line.end.y) {
-              break;
-            }
-            x += deltaX;
-            y += deltaY;
-          }
+    PuzzleRunner.run(new Puzzle5());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Line> parse(Reader r) throws IOException {
+    return parseLines(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Long part1(List<Line> lines) {
+    return countMoreThanOne(counts(lines, false));
+  }
+
+  @Override
+  public Long part2(List<Line> lines) {
+    return countMoreThanOne(counts(lines, true));
+  }
+
+  private static int[][] counts(List<Line> lines, boolean diagonals) {
+    int[][] counts = new int[1000][1000];
+    for (Line line : lines) {
+      int deltaX = signum(line.end.x - line.start.x);
+      int deltaY = signum(line.end.y - line.start.y);
+      if (!diagonals && deltaX != 0 && deltaY != 0) {
+        continue;
+      }
+      int x = line.start.x;
+      int y = line.start.y;
+      while (true) {
+        counts[y][x]++;
+        if (x == line.end.x && y == line.end.y) {
+          break;
         }
-        System.out.printf("Part 1 count for %s is %d\n", name, countMoreThanOne(orthogonalCounts));
-        System.out.printf("Part 2 count for %s is %d\n", name, countMoreThanOne(allCounts));
+        x += deltaX;
+        y += deltaY;
       }
     }
+    return counts;
   }
 
   private static long countMoreThanOne(int[][] counts) {
@@ -78,9 +95,9 @@ public class Puzzle5 {
         .count();
   }
 
-  private record Coord(int x, int y) {}
+  record Coord(int x, int y) {}
 
-  private record Line(Coord start, Coord end) {}
+  record Line(Coord start, Coord end) {}
 
   private static List<Line> parseLines(List<String> inputLines) {
     return inputLines.stream().map(Puzzle5::parseLine).toList();
@@ -2,9 +2,12 @@ package advent2021;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle6 {
+public class Puzzle6 implements Puzzle<List<Integer>> {
   private static final String SAMPLE =
       """
       3,4,3,1,2
@@ -29,30 +32,40 @@ public class Puzzle6 {
           "problem", () -> new InputStreamReader(Puzzle6.class.getResourceAsStream("puzzle6.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> startTimers =
-            Splitter.on(',').splitToStream(getOnlyElement(lines)).map(Integer::valueOf).toList();
-        List<Long> perTimer = new ArrayList<>(Collections.nCopies(9, 0L));
-        for (var i : startTimers) {
-          perTimer.set(i, perTimer.get(i) + 1);
-        }
-        for (int day = 0; day < 256; day++) {
-          Long spawnCount = perTimer.removeFirst();
-          perTimer.set(6, Math.addExact(perTimer.get(6), spawnCount));
-          perTimer.add(spawnCount);
-          if (day == 79) {
-            System.out.printf(
-                "After 80 days, count for %s is %d\n",
-                name, perTimer.stream().reduce(0L, Math::addExact));
-          }
-        }
-        System.out.printf(
-            "After 256 days, count for %s is %d\n",
-            name, perTimer.stream().reduce(0L, Math::addExact));
-      }
+    PuzzleRunner.run(new Puzzle6());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Integer> parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    return Splitter.on(',').splitToStream(getOnlyElement(lines)).map(Integer::valueOf).toList();
+  }
+
+  @Override
+  public Long part1(List<Integer> startTimers) {
+    return countAfter(startTimers, 80);
+  }
+
+  @Override
+  public Long part2(List<Integer> startTimers) {
+    return countAfter(startTimers, 256);
+  }
+
+  private static long countAfter(List<Integer> startTimers, int days) {
+    List<Long> perTimer = new ArrayList<>(Collections.nCopies(9, 0L));
+    for (var i : startTimers) {
+      perTimer.set(i, perTimer.get(i) + 1);
+    }
+    for (int day = 0; day < days; day++) {
+      Long spawnCount = perTimer.removeFirst();
+      perTimer.set(6, Math.addExact(perTimer.get(6), spawnCount));
+      perTimer.add(spawnCount);
     }
+    return perTimer.stream().reduce(0L, Math::addExact);
   }
 }
\ No newline at end of file
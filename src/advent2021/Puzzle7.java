@@ -4,9 +4,12 @@ import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.lang.Integer.min;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -14,11 +17,12 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.IntUnaryOperator;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle7 {
+public class Puzzle7 implements Puzzle<List<Integer>> {
   private static final String SAMPLE =
       """
       16,1,2,0,4,2,7,1,2,14
@@ -30,28 +34,41 @@ public class Puzzle7 {
           "problem", () -> new InputStreamReader(Puzzle7.class.getResourceAsStream("puzzle7.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> positions =
-            Splitter.on(',').splitToStream(getOnlyElement(lines)).map(Integer::valueOf).toList();
-        int min = positions.stream().min(Comparator.naturalOrder()).get();
-        int max = positions.stream().max(Comparator.naturalOrder()).get();
-        int part1 = Integer.MAX_VALUE;
-        int part2 = Integer.MAX_VALUE;
-        for (int pos = min; pos <= max; pos++) {
-          int pos0 = pos;
-          int total1 = positions.stream().map(i -> Math.abs(i - pos0)).reduce(0, Integer::sum);
-          part1 = min(part1, total1);
-          int total2 =
-              positions.stream().map(i -> triangle(Math.abs(i - pos0))).reduce(0, Integer::sum);
-          part2 = min(part2, total2);
-        }
-        System.out.printf("For %s, Part 1 best is %d\n", name, part1);
-        System.out.printf("For %s, Part 2 best is %d\n", name, part2);
-      }
+    PuzzleRunner.run(new Puzzle7());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Integer> parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    return Splitter.on(',').splitToStream(getOnlyElement(lines)).map(Integer::valueOf).toList();
+  }
+
+  @Override
+  public Integer part1(List<Integer> positions) {
+    return bestCost(positions, distance -> distance);
+  }
+
+  @Override
+  public Integer part2(List<Integer> positions) {
+    return bestCost(positions, Puzzle7::triangle);
+  }
+
+  private static int bestCost(List<Integer> positions, IntUnaryOperator fuel) {
+    int min = positions.stream().min(Comparator.naturalOrder()).get();
+    int max = positions.stream().max(Comparator.naturalOrder()).get();
+    int best = Integer.MAX_VALUE;
+    for (int pos = min; pos <= max; pos++) {
+      int pos0 = pos;
+      int total =
+          positions.stream().map(i -> fuel.applyAsInt(Math.abs(i - pos0))).reduce(0, Integer::sum);
+      best = min(best, total);
     }
+    return best;
   }
 
   private static int triangle(int n) {
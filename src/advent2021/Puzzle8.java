@@ -5,9 +5,12 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.MoreCollectors.onlyElement;
 import static java.util.stream.Collectors.joining;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -21,7 +24,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle8 {
+public class Puzzle8 implements Puzzle<List<Puzzle8.Result>> {
   private static final String SAMPLE =
       """
       be cfbegad cbdgef fgaecd cgeb fdcge agebfd fecdb fabcd edb | fdgacbe cefdb cefbgd gcbe
@@ -42,52 +45,57 @@ public class Puzzle8 {
           "problem", () -> new InputStreamReader(Puzzle8.class.getResourceAsStream("puzzle8.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Result> results =
-            lines.stream()
-                .map(line -> Splitter.on(" | ").splitToList(line))
-                .peek(list -> checkArgument(list.size() == 2))
-                .map(
-                    list ->
-                        new Result(
-                            Splitter.on(' ').splitToList(list.get(0)),
-                            Splitter.on(' ').splitToList(list.get(1))))
-                .toList();
-
-        // Part 1
-        Set<Integer> uniqueSizes = Set.of(2, 3, 4, 7);
-        long uniqueCount =
-            results.stream()
-                .flatMap(result -> result.outputs.stream())
-                .filter(s -> uniqueSizes.contains(s.length()))
-                .count();
-        System.out.printf("For %s, unique count is %d\n", name, uniqueCount);
-
-        // Part 2
-        long total = 0;
-        for (var result : results) {
-          List<Segment> foundPermutation =
-              PERMUTATIONS.stream()
-                  .filter(
-                      permutation ->
-                          result.inputs.stream()
-                              .map(Puzzle8::segments)
-                              .map(segs -> permute(segs, permutation))
-                              .allMatch(segs -> DIGIT_MAP.containsKey(segs)))
-                  .collect(onlyElement());
-          total +=
-              Integer.valueOf(
-                  result.outputs.stream()
-                      .map(segs -> permute(segments(segs), foundPermutation))
-                      .map(segs -> DIGIT_MAP.get(segs).toString())
-                      .collect(joining()));
-        }
-        System.out.printf("For %s, total of decoded values is %d\n", name, total);
-      }
+    PuzzleRunner.run(new Puzzle8());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Result> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(line -> Splitter.on(" | ").splitToList(line))
+        .peek(list -> checkArgument(list.size() == 2))
+        .map(
+            list ->
+                new Result(
+                    Splitter.on(' ').splitToList(list.get(0)),
+                    Splitter.on(' ').splitToList(list.get(1))))
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<Result> results) {
+    Set<Integer> uniqueSizes = Set.of(2, 3, 4, 7);
+    return results.stream()
+        .flatMap(result -> result.outputs.stream())
+        .filter(s -> uniqueSizes.contains(s.length()))
+        .count();
+  }
+
+  @Override
+  public Long part2(List<Result> results) {
+    long total = 0;
+    for (var result : results) {
+      List<Segment> foundPermutation =
+          PERMUTATIONS.stream()
+              .filter(
+                  permutation ->
+                      result.inputs.stream()
+                          .map(Puzzle8::segments)
+                          .map(segs -> permute(segs, permutation))
+                          .allMatch(segs -> DIGIT_MAP.containsKey(segs)))
+              .collect(onlyElement());
+      total +=
+          Integer.valueOf(
+              result.outputs.stream()
+                  .map(segs -> permute(segments(segs), foundPermutation))
+                  .map(segs -> DIGIT_MAP.get(segs).toString())
+                  .collect(joining()));
     }
+    return total;
   }
 
   private enum Segment {
@@ -148,5 +156,5 @@ public class Puzzle8 {
     }
   }
 
-  private record Result(List<String> inputs, List<String> outputs) {}
+  record Result(List<String> inputs, List<String> outputs) {}
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package advent2021;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Arrays.stream;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -16,7 +20,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle9 {
+public class Puzzle9 implements Puzzle<Puzzle9.Heights> {
   private static final String SAMPLE =
       """
       2199943210
@@ -32,28 +36,40 @@ public class Puzzle9 {
           "problem", () -> new InputStreamReader(Puzzle9.class.getResourceAsStream("puzzle9.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int[][] heights = parseHeights(lines);
+    PuzzleRunner.run(new Puzzle9());
+  }
 
-        int risk = part1(heights);
-        System.out.printf("For %s, risk is %d\n", name, risk);
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        List<Integer> basinSizes = part2(heights);
-        System.out.printf(
-            "For %s, product of top 3 basin sizes %d\n",
-            name,
-            basinSizes.stream()
-                .sorted(Comparator.reverseOrder())
-                .limit(3)
-                .reduce(1, Math::multiplyExact));
-      }
+  /** The height map. Use {@link #copy()} to get an array that can be modified. */
+  record Heights(int[][] heights) {
+    int[][] copy() {
+      return stream(heights).map(int[]::clone).toArray(int[][]::new);
     }
   }
 
-  private static int part1(int[][] heights) {
+  @Override
+  public Heights parse(Reader r) throws IOException {
+    return new Heights(parseHeights(CharStreams.readLines(r)));
+  }
+
+  @Override
+  public Integer part1(Heights heights) {
+    return risk(heights.heights);
+  }
+
+  @Override
+  public Integer part2(Heights heights) {
+    return basinSizes(heights.copy()).stream()
+        .sorted(Comparator.reverseOrder())
+        .limit(3)
+        .reduce(1, Math::multiplyExact);
+  }
+
+  private static int risk(int[][] heights) {
     int risk = 0;
     for (int i = 0; i < heights.length; i++) {
       for (int j = 0; j < heights[i].length; j++) {
@@ -80,7 +96,7 @@ public class Puzzle9 {
     filled, but it is, because we might be stopped by a 9 to the "right" (j + 1) on this line but
     the basin might continue past that 9 on the line "below".
   */
-  private static List<Integer> part2(int[][] heights) {
+  private static List<Integer> basinSizes(int[][] heights) {
     List<Integer> basinSizes = new ArrayList<>();
     for (int i = 0; i < heights.length; i++) {
       for (int j = 0; j < heights[i].length; j++) {
@@ -1,7 +1,10 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -13,7 +16,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<List<Long>> {
   private static final String SAMPLE =
       """
       1000
@@ -38,29 +41,41 @@ public class Puzzle1 {
           "problem", () -> new InputStreamReader(Puzzle1.class.getResourceAsStream("puzzle1.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<List<String>> groups = new ArrayList<>();
-        while (true) {
-          int index = lines.indexOf("");
-          if (index < 0) {
-            break;
-          }
-          groups.add(lines.subList(0, index));
-          lines = lines.subList(index + 1, lines.size());
-        }
-        groups.add(lines);
-        List<Long> totals =
-            groups.stream()
-                .map(group -> group.stream().mapToLong(Long::parseLong).sum())
-                .sorted()
-                .toList();
-        System.out.println("Max for " + name + " is " + totals.getLast());
-        long topThree = totals.stream().skip(totals.size() - 3).mapToLong(Long::valueOf).sum();
-        System.out.println("Sum of top three is " + topThree);
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** Returns the total for each elf, in increasing order. */
+  @Override
+  public List<Long> parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<List<String>> groups = new ArrayList<>();
+    while (true) {
+      int index = lines.indexOf("");
+      if (index < 0) {
+        break;
       }
+      groups.add(lines.subList(0, index));
+      lines = lines.subList(index + 1, lines.size());
     }
+    groups.add(lines);
+    return groups.stream()
+        .map(group -> group.stream().mapToLong(Long::parseLong).sum())
+        .sorted()
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<Long> totals) {
+    return totals.getLast();
+  }
+
+  @Override
+  public Long part2(List<Long> totals) {
+    return totals.stream().skip(totals.size() - 3).mapToLong(Long::valueOf).sum();
   }
 }
@@ -2,8 +2,11 @@ package advent2022;
 
 import static java.lang.Math.abs;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -15,7 +18,7 @@ import java.util.concurrent.Callable;
 /**
  * @author emcmanus@google.com (Éamonn McManus)
  */
-public class Puzzle10 {
+public class Puzzle10 implements Puzzle<List<Puzzle10.Instr>> {
   private static final String SAMPLE =
       """
       addx 15
@@ -173,49 +176,69 @@ public class Puzzle10 {
               () -> new InputStreamReader(Puzzle10.class.getResourceAsStream("puzzle10.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Instr> instrs = lines.stream().map(line -> parseInstr(line)).toList();
-        long total = 0;
-        long x = 1;
-        int cycle = 1;
-        char[][] grid = new char[6][40];
-        for (char[] line : grid) {
-          Arrays.fill(line, '.');
-        }
-        for (Instr instr : instrs) {
-          if (cycle % 40 == 20) {
-            total += x * cycle;
-          }
-          int px = (cycle - 1) % 40;
-          int py = (cycle - 1) / 40;
-          if (abs(x - px) <= 1) {
-            grid[py][px] = '#';
-          }
-          cycle++;
-          if (instr instanceof AddX(int deltaX)) {
-            if (cycle % 40 == 20) {
-              total += x * cycle;
-            }
-            px = (cycle - 1) % 40;
-            py = (cycle - 1) / 40;
-            if (abs(x - px) <= 1) {
-              grid[py][px] = '#';
-            }
-            x += deltaX;
-            cycle++;
-          }
+    PuzzleRunner.run(new Puzzle10());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Instr> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(line -> parseInstr(line)).toList();
+  }
+
+  @Override
+  public Long part1(List<Instr> instrs) {
+    return execute(instrs).total;
+  }
+
+  /** Returns the CRT image, which spells out some letters, with a newline before each row. */
+  @Override
+  public String part2(List<Instr> instrs) {
+    StringBuilder sb = new StringBuilder();
+    for (char[] line : execute(instrs).grid) {
+      sb.append('\n').append(line);
+    }
+    return sb.toString();
+  }
+
+  /** The total signal strength, and what the CRT displayed. */
+  private record Execution(long total, char[][] grid) {}
+
+  private static Execution execute(List<Instr> instrs) {
+    long total = 0;
+    long x = 1;
+    int cycle = 1;
+    char[][] grid = new char[6][40];
+    for (char[] line : grid) {
+      Arrays.fill(line, '.');
+    }
+    for (Instr instr : instrs) {
+      if (cycle % 40 == 20) {
+        total += x * cycle;
+      }
+      int px = (cycle - 1) % 40;
+      int py = (cycle - 1) / 40;
+      if (abs(x - px) <= 1) {
+        grid[py][px] = '#';
+      }
+      cycle++;
+      if (instr instanceof AddX(int deltaX)) {
+        if (cycle % 40 == 20) {
+          total += x * cycle;
         }
-        System.out.println(
-            "For " + name + ", total signal strength " + total + ", final cycle " + cycle);
-        System.out.println("For " + name + ", grid:");
-        for (char[] line : grid) {
-          System.out.println(new String(line));
+        px = (cycle - 1) % 40;
+        py = (cycle - 1) / 40;
+        if (abs(x - px) <= 1) {
+          grid[py][px] = '#';
         }
+        x += deltaX;
+        cycle++;
       }
     }
+    return new Execution(total, grid);
   }
 
   private static Instr parseInstr(String line) {
@@ -3,10 +3,13 @@ package advent2022;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.stream.Collectors.toCollection;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
 import com.google.common.math.IntMath;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -25,7 +28,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle11 {
+public class Puzzle11 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       Monkey 0:
@@ -64,28 +67,42 @@ public class Puzzle11 {
               () -> new InputStreamReader(Puzzle11.class.getResourceAsStream("puzzle11.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<String> groups = new ArrayList<>();
-        while (true) {
-          int blank = lines.indexOf("");
-          if (blank < 0) {
-            groups.add(String.join(";", lines));
-            break;
-          }
-          groups.add(String.join(";", lines.subList(0, blank)));
-          lines = lines.subList(blank + 1, lines.size());
-        }
-        List<Monkey> monkeys = groups.stream().map(line -> parseMonkey(line)).toList();
-        long monkeyBusiness1 = solve(monkeys, false);
-        System.out.println("Monkey business for " + name + ", Part 1 = " + monkeyBusiness1);
-        monkeys = groups.stream().map(line -> parseMonkey(line)).toList();
-        long monkeyBusiness2 = solve(monkeys, true);
-        System.out.println("Monkey business for " + name + ", Part 2 = " + monkeyBusiness2);
+    PuzzleRunner.run(new Puzzle11());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /**
+   * Returns the description of each monkey, joined into one line. Each part parses the monkeys from
+   * these, since the monkeys' items change as the parts run.
+   */
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<String> groups = new ArrayList<>();
+    while (true) {
+      int blank = lines.indexOf("");
+      if (blank < 0) {
+        groups.add(String.join(";", lines));
+        break;
       }
+      groups.add(String.join(";", lines.subList(0, blank)));
+      lines = lines.subList(blank + 1, lines.size());
     }
+    return groups;
+  }
+
+  @Override
+  public Long part1(List<String> groups) {
+    return solve(groups.stream().map(line -> parseMonkey(line)).toList(), false);
+  }
+
+  @Override
+  public Long part2(List<String> groups) {
+    return solve(groups.stream().map(line -> parseMonkey(line)).toList(), true);
   }
 
   private static long solve(List<Monkey> monkeys, boolean part2) {
@@ -122,7 +139,6 @@ public class Puzzle11 {
     }
     List<Long> counts =
         countMap.values().stream().sorted(Comparator.reverseOrder()).limit(2).toList();
-    System.out.println("Multiply " + counts);
     return Math.multiplyExact(counts.get(0), counts.get(1));
   }
 
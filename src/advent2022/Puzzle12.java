@@ -2,12 +2,15 @@ package advent2022;
 
 import static java.lang.Integer.min;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -22,7 +25,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle12 {
+public class Puzzle12 implements Puzzle<Puzzle12.HeightMap> {
   private static final String SAMPLE =
       """
       Sabqponm
@@ -39,29 +42,35 @@ public class Puzzle12 {
               () -> new InputStreamReader(Puzzle12.class.getResourceAsStream("puzzle12.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        HeightMap map = parseMap(lines);
+    PuzzleRunner.run(new Puzzle12());
+  }
 
-        // Part 1
-        ImmutableList<Node> shortestPath = shortestPath(map.graph, map.start, map.end);
-        System.out.println(
-            "For " + name + ", shortest path has length " + (shortestPath.size() - 1));
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        // Part 2
-        int shortest = Integer.MAX_VALUE;
-        List<Node> starts = map.graph.nodes().stream().filter(n -> n.height == 'a').toList();
-        for (Node start : starts) {
-          int length = shortestPath(map.graph, start, map.end).size() - 1;
-          if (length > 0) {
-            shortest = min(shortest, length);
-          }
-        }
-        System.out.println("For " + name + ", shortest path from any \"a\" is " + shortest);
+  @Override
+  public HeightMap parse(Reader r) throws IOException {
+    return parseMap(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(HeightMap map) {
+    return shortestPath(map.graph, map.start, map.end).size() - 1;
+  }
+
+  @Override
+  public Integer part2(HeightMap map) {
+    int shortest = Integer.MAX_VALUE;
+    List<Node> starts = map.graph.nodes().stream().filter(n -> n.height == 'a').toList();
+    for (Node start : starts) {
+      int length = shortestPath(map.graph, start, map.end).size() - 1;
+      if (length > 0) {
+        shortest = min(shortest, length);
       }
     }
+    return shortest;
   }
 
   private static ImmutableList<Node> shortestPath(Graph<Node> graph, Node start, Node end) {
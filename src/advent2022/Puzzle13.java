@@ -4,9 +4,12 @@ import static java.lang.Character.digit;
 import static java.lang.Character.isDigit;
 import static java.util.stream.Collectors.joining;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.Comparators;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -21,7 +24,7 @@ import java.util.stream.Stream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle13 {
+public class Puzzle13 implements Puzzle<List<Puzzle13.LList>> {
   private static final String SAMPLE =
       """
       [1,1,3,1,1]
@@ -56,35 +59,45 @@ public class Puzzle13 {
               () -> new InputStreamReader(Puzzle13.class.getResourceAsStream("puzzle13.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<LList> lists =
-            lines.stream().filter(s -> !s.isEmpty()).map(line -> new Parser(line).parse()).toList();
-        List<Pair> pairs =
-            IntStream.range(0, lists.size() / 2)
-                .map(i -> i * 2)
-                .mapToObj(i -> new Pair(lists.get(i), lists.get(i + 1)))
-                .toList();
-        int sum =
-            IntStream.range(0, pairs.size())
-                .filter(i -> pairs.get(i).inOrder())
-                .map(i -> i + 1)
-                .reduce(0, Math::addExact);
-        System.out.println("Sum for " + name + " is " + sum);
-
-        LList div1 = LList.of(LList.of(2));
-        LList div2 = LList.of(LList.of(6));
-        List<LList> sorted =
-            Stream.concat(List.of(div1, div2).stream(), lists.stream()).sorted().toList();
-        int index1 = sorted.indexOf(div1);
-        int index2 = sorted.indexOf(div2);
-        assert index1 >= 0 && index2 >= 0;
-        long key = (long) (index1 + 1) * (index2 + 1);
-        System.out.println("Decoder key for " + name + " is " + key);
-      }
-    }
+    PuzzleRunner.run(new Puzzle13());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<LList> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .filter(s -> !s.isEmpty())
+        .map(line -> new Parser(line).parse())
+        .toList();
+  }
+
+  @Override
+  public Integer part1(List<LList> lists) {
+    List<Pair> pairs =
+        IntStream.range(0, lists.size() / 2)
+            .map(i -> i * 2)
+            .mapToObj(i -> new Pair(lists.get(i), lists.get(i + 1)))
+            .toList();
+    return IntStream.range(0, pairs.size())
+        .filter(i -> pairs.get(i).inOrder())
+        .map(i -> i + 1)
+        .reduce(0, Math::addExact);
+  }
+
+  @Override
+  public Long part2(List<LList> lists) {
+    LList div1 = LList.of(LList.of(2));
+    LList div2 = LList.of(LList.of(6));
+    List<LList> sorted =
+        Stream.concat(List.of(div1, div2).stream(), lists.stream()).sorted().toList();
+    int index1 = sorted.indexOf(div1);
+    int index2 = sorted.indexOf(div2);
+    assert index1 >= 0 && index2 >= 0;
+    return (long) (index1 + 1) * (index2 + 1);
   }
 
   record Pair(ListOrInt lhs, ListOrInt rhs) {
@@ -113,7 +126,7 @@ public class Puzzle13 {
     }
   }
 
-  private record LList(List<ListOrInt> list) implements ListOrInt {
+  record LList(List<ListOrInt> list) implements ListOrInt {
     static LList of(int i) {
       return new LList(List.of(new Int(i)));
     }
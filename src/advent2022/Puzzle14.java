@@ -3,8 +3,11 @@ package advent2022;
 import static java.lang.Integer.max;
 import static java.lang.Integer.min;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle14 {
+public class Puzzle14 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       498,4 -> 498,6 -> 496,6
@@ -31,16 +34,27 @@ public class Puzzle14 {
               () -> new InputStreamReader(Puzzle14.class.getResourceAsStream("puzzle14.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int countPart1 = solve(lines, false);
-        System.out.println("For " + name + ", part 1 count is " + countPart1);
-        int countPart2 = solve(lines, true);
-        System.out.println("For " + name + ", part 2 count is " + countPart2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle14());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Integer part1(List<String> lines) {
+    return solve(lines, false);
+  }
+
+  @Override
+  public Integer part2(List<String> lines) {
+    return solve(lines, true);
   }
 
   private static int solve(List<String> lines, boolean part2) {
@@ -4,6 +4,9 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.DiscreteDomain.integers;
 import static java.lang.Math.abs;
 
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
@@ -11,6 +14,7 @@ import com.google.common.collect.Range;
 import com.google.common.collect.RangeSet;
 import com.google.common.collect.TreeRangeSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,12 +23,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.regex.Pattern;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle15 {
+public class Puzzle15 implements Puzzle<Puzzle15.Beacons> {
   private static final String SAMPLE =
       """
       Sensor at x=2, y=18: closest beacon is at x=-2, y=15
@@ -50,15 +53,36 @@ public class Puzzle15 {
               () -> new InputStreamReader(Puzzle15.class.getResourceAsStream("puzzle15.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Sensor> sensors = parseSensors(lines);
-        part1(name, sensors);
-        part2(name, sensors);
-      }
-    }
+    PuzzleRunner.run(new Puzzle15());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /**
+   * The row to examine in Part 1, and the largest coordinate to search in Part 2. The puzzle text
+   * gives different values for the sample and the problem.
+   */
+  record Parameters(int targetY, int maxCoord) {}
+
+  private static final Parameters PROBLEM_PARAMETERS = new Parameters(2_000_000, 4_000_000);
+
+  private static final ImmutableMap<String, Parameters> SAMPLE_PARAMETERS =
+      ImmutableMap.of("sample", new Parameters(10, 20));
+
+  record Beacons(List<Sensor> sensors, Parameters parameters) {}
+
+  @Override
+  public Beacons parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Beacons parse(String inputName, Reader r) throws IOException {
+    List<Sensor> sensors = parseSensors(CharStreams.readLines(r));
+    return new Beacons(sensors, SAMPLE_PARAMETERS.getOrDefault(inputName, PROBLEM_PARAMETERS));
   }
 
   // For Part 1: for each sensor, compute how far its Y coordinate is from the target one (dy), and
@@ -72,30 +96,23 @@ public class Puzzle15 {
   // Clearly, too, if d - dy < 0 then the range is empty.
   // Finally, the range could also include the beacon, which should then be excluded.
 
-  private static void part1(String name, List<Sensor> sensors) {
-    int targetY =
-        switch (name) {
-          case "sample" -> 10;
-          case "problem" -> 2_000_000;
-          default -> throw new AssertionError(name);
-        };
+  @Override
+  public Integer part1(Beacons beacons) {
+    List<Sensor> sensors = beacons.sensors;
+    int targetY = beacons.parameters.targetY;
     RangeSet<Integer> ranges = impossibleRanges(sensors, targetY);
     for (Sensor sensor : sensors) {
       if (sensor.beaconY == targetY) {
         ranges.remove(Range.closed(sensor.beaconX, sensor.beaconX));
       }
     }
-    int size = ranges.asRanges().stream().mapToInt(r -> size(r)).sum();
-    System.out.println("Part 1 result for " + name + " is " + size);
+    return ranges.asRanges().stream().mapToInt(r -> size(r)).sum();
   }
 
-  private static void part2(String name, List<Sensor> sensors) {
-    int maxCoord =
-        switch (name) {
-          case "sample" -> 20;
-          case "problem" -> 4_000_000;
-          default -> throw new AssertionError(name);
-        };
+  @Override
+  public Long part2(Beacons beacons) {
+    List<Sensor> sensors = beacons.sensors;
+    int maxCoord = beacons.parameters.maxCoord;
     Range<Integer> allX = Range.closed(0, maxCoord);
     record Coord(int x, int y) {}
     Set<Coord> found = new HashSet<>();
@@ -113,11 +130,9 @@ public class Puzzle15 {
                 .toList());
       }
     }
-    System.out.println("For " + name + ", found " + found);
-    if (found.size() == 1) {
-      Coord coord = Iterables.getOnlyElement(found);
-      System.out.println("Tuning frequency " + coord.x * 4_000_000L + coord.y);
-    }
+    checkState(found.size() == 1, "Expected one possible position but found %s", found);
+    Coord coord = Iterables.getOnlyElement(found);
+    return coord.x * 4_000_000L + coord.y;
   }
 
   private static RangeSet<Integer> impossibleRanges(List<Sensor> sensors, int targetY) {
@@ -139,20 +154,12 @@ public class Puzzle15 {
     return ContiguousSet.create(range, integers()).size();
   }
 
-  private static final Pattern SENSOR_PATTERN =
-      Pattern.compile("Sensor at x=(.*), y=(.*): closest beacon is at x=(.*), y=(.*)");
-
+  // Sensor at x=2, y=18: closest beacon is at x=-2, y=15
   private static List<Sensor> parseSensors(List<String> lines) {
+    NumberScanner scanner = new NumberScanner();
     return lines.stream()
-        .map(SENSOR_PATTERN::matcher)
-        .peek(m -> checkState(m.matches()))
-        .map(
-            m ->
-                new Sensor(
-                    Integer.parseInt(m.group(1)),
-                    Integer.parseInt(m.group(2)),
-                    Integer.parseInt(m.group(3)),
-                    Integer.parseInt(m.group(4))))
+        .map(line -> scanner.scan(line).expect(4))
+        .map(s -> new Sensor(s.getInt(0), s.getInt(1), s.getInt(2), s.getInt(3)))
         .toList();
   }
 
@@ -3,6 +3,8 @@ package advent2022;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Long.max;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -10,6 +12,7 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -25,7 +28,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle16 {
+public class Puzzle16 implements Puzzle<Puzzle16.Tunnels> {
   private static final String SAMPLE =
       """
       Valve AA has flow rate=0; tunnels lead to valves DD, II, BB
@@ -47,31 +50,22 @@ public class Puzzle16 {
               () -> new InputStreamReader(Puzzle16.class.getResourceAsStream("puzzle16.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Puzzle16 puzzle = parseGraph(lines);
-        puzzle.part1(name);
-        puzzle.part2(name);
-      }
-    }
+    PuzzleRunner.run(new Puzzle16());
   }
 
-  private final Graph<Valve> graph;
-  private final Valve start;
-  private final List<Valve> nonZeroValves;
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-  Puzzle16(Graph<Valve> graph, List<Valve> nonZeroValves) {
-    this.graph = graph;
-    this.nonZeroValves = nonZeroValves;
-    this.start = graph.nodes().stream().filter(v -> v.name.equals("AA")).findFirst().get();
+  @Override
+  public Tunnels parse(Reader r) throws IOException {
+    return parseGraph(CharStreams.readLines(r));
   }
 
-  private void part1(String name) {
-    Map<ValveSet, Long> bestSets = bestSets(30);
-    long max = Collections.max(bestSets.values());
-    System.out.println("Max for " + name + " part 1 is " + max);
+  @Override
+  public Long part1(Tunnels tunnels) {
+    return Collections.max(tunnels.bestSets(30).values());
   }
 
   // For part 2, we compute all the possible sets of valves that can be open after 26 minutes, and
@@ -82,54 +76,113 @@ public class Puzzle16 {
   // My previous solution was too literal, tracing all possible states of our position and the
   // elephant's position and the total set of open valves. Even with optimization it took about
   // 8 minutes to run, versus less than a second for the solution here.
-  private void part2(String name) {
-    Map<ValveSet, Long> bestSets = bestSets(26);
+  @Override
+  public Long part2(Tunnels tunnels) {
+    Map<Tunnels.ValveSet, Long> bestSets = tunnels.bestSets(26);
     long max = 0;
-    for (ValveSet set1 : bestSets.keySet()) {
-      for (ValveSet set2 : bestSets.keySet()) {
+    for (Tunnels.ValveSet set1 : bestSets.keySet()) {
+      for (Tunnels.ValveSet set2 : bestSets.keySet()) {
         if (set1.disjoint(set2)) {
           long total = bestSets.get(set1) + bestSets.get(set2);
           max = max(max, total);
         }
       }
     }
-    System.out.println("Max for " + name + " part 2 is " + max);
+    return max;
   }
 
-  private Map<ValveSet, Long> bestSets(int steps) {
-    Map<State, Long> currentStates = Map.of(new State(start, new ValveSet()), 0L);
-    for (int i = 1; i <= steps; i++) {
-      Map<State, Long> nextStates = new HashMap<>();
-      currentStates.forEach(
-          (state, total) -> {
-            long flowRate = state.open.flowRate();
-
-            // We move.
-            for (Valve ourNext : graph.successors(state.ourPos)) {
-              nextStates.merge(new State(ourNext, state.open), total + flowRate, Long::max);
-            }
-
-            // We open.
-            if (state.ourPos.flowRate > 0) {
-              nextStates.merge(
-                  new State(state.ourPos, state.open.plus(state.ourPos)),
-                  total + flowRate,
-                  Long::max);
-            }
-          });
-      currentStates = nextStates;
+  /** The valves and the tunnels between them. */
+  static class Tunnels {
+    private final Graph<Valve> graph;
+    private final Valve start;
+    private final List<Valve> nonZeroValves;
+
+    Tunnels(Graph<Valve> graph, List<Valve> nonZeroValves) {
+      this.graph = graph;
+      this.nonZeroValves = nonZeroValves;
+      this.start = graph.nodes().stream().filter(v -> v.name.equals("AA")).findFirst().get();
     }
-    Map<ValveSet, Long> result = new HashMap<>();
-    currentStates.forEach((state, total) -> result.merge(state.open, total, Long::max));
-    return result;
-  }
 
-  record State(Valve ourPos, ValveSet open) {}
+    private Map<ValveSet, Long> bestSets(int steps) {
+      Map<State, Long> currentStates = Map.of(new State(start, new ValveSet()), 0L);
+      for (int i = 1; i <= steps; i++) {
+        Map<State, Long> nextStates = new HashMap<>();
+        currentStates.forEach(
+            (state, total) -> {
+              long flowRate = state.open.flowRate();
+
+              // We move.
+              for (Valve ourNext : graph.successors(state.ourPos)) {
+                nextStates.merge(new State(ourNext, state.open), total + flowRate, Long::max);
+              }
+
+              // We open.
+              if (state.ourPos.flowRate > 0) {
+                nextStates.merge(
+                    new State(state.ourPos, state.open.plus(state.ourPos)),
+                    total + flowRate,
+                    Long::max);
+              }
+            });
+        currentStates = nextStates;
+      }
+      Map<ValveSet, Long> result = new HashMap<>();
+      currentStates.forEach((state, total) -> result.merge(state.open, total, Long::max));
+      return result;
+    }
+
+    record State(Valve ourPos, ValveSet open) {}
+
+    private class ValveSet {
+      private final long mask;
+
+      ValveSet(long mask) {
+        this.mask = mask;
+      }
+
+      ValveSet() {
+        this(0);
+      }
+
+      ValveSet plus(Valve valve) {
+        if (valve.flowRate == 0) {
+          return this;
+        }
+        long m = mask | (1L << valve.valveNumber);
+        return (m == mask) ? this : new ValveSet(m);
+      }
+
+      boolean disjoint(ValveSet that) {
+        return (this.mask & that.mask) == 0;
+      }
+
+      long flowRate() {
+        long total = 0;
+        long m = mask;
+        while (m != 0) {
+          int b = Long.numberOfTrailingZeros(m);
+          total += nonZeroValves.get(b).flowRate;
+          m &= ~(1L << b);
+        }
+        return total;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        return o instanceof ValveSet that && this.mask == that.mask;
+      }
+
+      @Override
+      public int hashCode() {
+        return Long.hashCode(mask);
+      }
+    }
+  }
 
   private static final Pattern VALVE_PATTERN =
       Pattern.compile("Valve (..) has flow rate=(\\d+); tunnels? leads? to valves? (.*)");
 
-  private static Puzzle16 parseGraph(List<String> lines) {
+  private static Tunnels parseGraph(List<String> lines) {
     ImmutableGraph.Builder<Valve> builder = GraphBuilder.<Valve>undirected().immutable();
 
     // Add the nodes
@@ -160,7 +213,7 @@ public class Puzzle16 {
     }
 
     ImmutableGraph<Valve> graph = builder.build();
-    return new Puzzle16(graph, nonZeroValves.build());
+    return new Tunnels(graph, nonZeroValves.build());
   }
 
   record Valve(int valveNumber, String name, int flowRate) {
@@ -182,49 +235,4 @@ public class Puzzle16 {
     }
   }
 
-  private class ValveSet {
-    private final long mask;
-
-    ValveSet(long mask) {
-      this.mask = mask;
-    }
-
-    ValveSet() {
-      this(0);
-    }
-
-    ValveSet plus(Valve valve) {
-      if (valve.flowRate == 0) {
-        return this;
-      }
-      long m = mask | (1L << valve.valveNumber);
-      return (m == mask) ? this : new ValveSet(m);
-    }
-
-    boolean disjoint(ValveSet that) {
-      return (this.mask & that.mask) == 0;
-    }
-
-    long flowRate() {
-      long total = 0;
-      long m = mask;
-      while (m != 0) {
-        int b = Long.numberOfTrailingZeros(m);
-        total += nonZeroValves.get(b).flowRate;
-        m &= ~(1L << b);
-      }
-      return total;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      return o instanceof ValveSet that && this.mask == that.mask;
-    }
-
-    @Override
-    public int hashCode() {
-      return Long.hashCode(mask);
-    }
-  }
-  ;
 }
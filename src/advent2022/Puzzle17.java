@@ -3,17 +3,20 @@ package advent2022;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Integer.max;
 
+import adventlib.Cycle;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -21,7 +24,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle17 {
+public class Puzzle17 implements Puzzle<String> {
   private static final String SAMPLE = ">>><<><>><<<>><>>><<<>>><<<><<<>><>><<>>";
 
   private static final List<String> ROCK_STRINGS =
@@ -77,27 +80,28 @@ public class Puzzle17 {
               () -> new InputStreamReader(Puzzle17.class.getResourceAsStream("puzzle17.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        checkArgument(lines.size() == 1, lines);
-        String jets = lines.get(0);
+    PuzzleRunner.run(new Puzzle17());
+  }
 
-        part1(name, jets);
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        part2(name, jets);
-      }
-    }
+  @Override
+  public String parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    checkArgument(lines.size() == 1, lines);
+    return lines.get(0);
   }
 
-  private static void part1(String name, String jets) {
-    // Part 1.
+  @Override
+  public Integer part1(String jets) {
     Pile pile = new Pile(jets);
     for (int i = 0; i < 2022; i++) {
       pile.addRock();
     }
-    System.out.println("Pile height for " + name + " is " + pile.height());
+    return pile.height();
   }
 
   // For Part 2, we use a heuristic that may not be entirely sound but appears to work. For each
@@ -130,61 +134,19 @@ public class Puzzle17 {
   // ##...##
   // #######
 
-  private static void part2(String name, String jets) {
-    // Part 2.
-    Pile pile = new Pile(jets);
-    Map<CycleKey, Integer> cycleMap = new LinkedHashMap<>();
-    int i;
-    CycleKey state = null;
-    for (i = 0; i < 100_000_000; i++) {
-      state = pile.state();
-      if (cycleMap.containsKey(state)) {
-        System.out.println("Cycle detected at i=" + i + ": " + state);
-        break;
-      }
-      cycleMap.put(state, pile.height());
-      pile.addRock();
-    }
-    // We've detected a cycle. Let's say the cycle looks like this, with height deltas and totals
-    // shown:
-    //   0  1  2  3  4  5  6  7  8  9 10
-    //   a  b  c  d  e  c  d  e  c  d  e...
-    //   2  3  3  4  5  3  4  5  3  4  5      <- height contributed
-    //      2  5  8 12 17 20 24 29 32 36 41   <- height before adding
-    // So the zero-origin position of the first element (x1) of the cycle is 2 and the length of the
-    // cycle (cl) is 3. If h1 is the height of the pile just before x1 was added, and h2 is the
-    // height of the pile when the cycle was detected (just before the repeating rock was added),
-    // then each iteration of the cycle adds (h2 - h1) to the height. After i rocks, the total
-    // height consists of:
-    //   h1 for the first x1 rocks
-    //   (h2 - h1) * ⌊(i - x1) / cl⌋ for the cycle iterations
-    //   h3, the height of the incomplete cycle.
-    // The incomplete cycle has length il = (i - x1) mod cl and its height h3 is the height at
-    // index x1 + il minus h1.
-    // In the example, say we want to know the height after i = 10 rocks, which should be 36. We
-    // have
-    // x1 = 2, h1 = 5, h2 = 17, (h2 - h1) = 12, i - x1 = 8, ⌊(i - x1) / cl⌋ = ⌊8 / 3⌋ = 2, so the
-    // cycle iterations contribute 2×12 = 24 to the height. The incomplete cycle has length
-    // (10 - 2) mod 3 = 2 and its height is the difference between the height just before adding
-    // zero-origin index x1 and just before zero-origin index x1+2, 12 - 5 = 7. For a total of
-    // 5 + 24 + 7 = 36.
-    List<CycleKey> states = new ArrayList<>(cycleMap.keySet());
-    int x1 = states.indexOf(state);
-    int h1 = cycleMap.get(state);
-    int h2 = pile.height();
-    int cl = i - x1;
-    long target = 1_000_000_000_000L;
-    long cycleIterations = (target - x1) / cl;
-    long heightFromCycles = (h2 - h1) * cycleIterations;
-    int incomplete = Math.toIntExact((target - x1) % cl);
-    int h3 = cycleMap.get(states.get(x1 + incomplete)) - h1;
-    long total = h1 + heightFromCycles + h3;
-    System.out.println("Big pile height for " + name + " is " + total);
+  @Override
+  public Long part2(String jets) {
+    // Once the cycle has been found, each trip around it adds the same amount to the height, so
+    // Cycle.valueAt can extrapolate the height after any number of rocks from the height at the
+    // start of the cycle, the height after one trip around it, and the height after the
+    // equivalent number of rocks within that first trip.
+    Cycle<Pile> cycle = Cycle.brent(() -> new Pile(jets));
+    return cycle.valueAt(1_000_000_000_000L, Pile::height);
   }
 
   record CycleKey(int rockI, int jetI, List<Integer> columnHeights) {}
 
-  private static class Pile {
+  private static class Pile implements Cycle.Stepper<CycleKey> {
     final String jets;
     final List<Integer> pile = new ArrayList<>();
     final List<Integer> lastRock = new ArrayList<>(Collections.nCopies(7, -1));
@@ -195,10 +157,16 @@ public class Puzzle17 {
       this.jets = jets;
     }
 
-    CycleKey state() {
+    @Override
+    public CycleKey key() {
       return new CycleKey(rockI, jetI, columnHeights());
     }
 
+    @Override
+    public void step() {
+      addRock();
+    }
+
     void addRock() {
       Rock rock = ROCKS.get(rockI);
       rockI = (rockI + 1) % ROCKS.size();
@@ -4,15 +4,17 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static java.lang.Integer.max;
 import static java.lang.Integer.min;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -20,7 +22,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle18 {
+public class Puzzle18 implements Puzzle<Set<Puzzle18.Coord>> {
   private static final String SAMPLE =
       """
       2,2,2
@@ -45,21 +47,20 @@ public class Puzzle18 {
               () -> new InputStreamReader(Puzzle18.class.getResourceAsStream("puzzle18.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Set<Coord> cubes =
-            lines.stream()
-                .map(
-                    line ->
-                        Splitter.on(',').splitToList(line).stream().map(Integer::parseInt).toList())
-                .map(list -> new Coord(list.get(0), list.get(1), list.get(2)))
-                .collect(toImmutableSet());
-        part1(name, cubes);
-        part2(name, cubes);
-      }
-    }
+    PuzzleRunner.run(new Puzzle18());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public Set<Coord> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(line -> Splitter.on(',').splitToList(line).stream().map(Integer::parseInt).toList())
+        .map(list -> new Coord(list.get(0), list.get(1), list.get(2)))
+        .collect(toImmutableSet());
   }
 
   // I found this much easier than preceding days. For part 1, all we have to do is to count for
@@ -70,15 +71,17 @@ public class Puzzle18 {
   // so we don't need any fancy representations or algorithms. We can just have a set of coordinate
   // objects.
 
-  private static void part1(String name, Set<Coord> cubes) {
+  @Override
+  public Integer part1(Set<Coord> cubes) {
     int count = 0;
     for (Coord cube : cubes) {
       count += Sets.difference(cube.neighbours(), cubes).size();
     }
-    System.out.println("Faces for " + name + ": " + count);
+    return count;
   }
 
-  private static void part2(String name, Set<Coord> cubes) {
+  @Override
+  public Long part2(Set<Coord> cubes) {
     int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
     int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
     for (Coord cube : cubes) {
@@ -91,7 +94,6 @@ public class Puzzle18 {
     }
     Coord min = new Coord(minX, minY, minZ);
     Coord max = new Coord(maxX, maxY, maxZ);
-    System.out.println("For " + name + " span is " + min + " to " + max);
     Filler filler = new Filler(cubes, min, max);
     filler.fill(min);
     Set<Coord> outside = filler.fill;
@@ -99,7 +101,7 @@ public class Puzzle18 {
     for (Coord cube : cubes) {
       count += cube.neighbours().stream().filter(outside::contains).count();
     }
-    System.out.println("Outside faces for " + name + ": " + count);
+    return count;
   }
 
   private static class Filler {
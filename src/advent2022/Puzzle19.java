@@ -2,8 +2,13 @@ package advent2022;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import adventlib.Metrics;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,7 +24,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle19 {
+public class Puzzle19 implements Puzzle<Puzzle19.Blueprints> {
   private static final String SAMPLE =
       """
       Blueprint 1:\
@@ -41,40 +46,57 @@ public class Puzzle19 {
               () -> new InputStreamReader(Puzzle19.class.getResourceAsStream("puzzle19.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Blueprint> blueprints = lines.stream().map(line -> parseBlueprint(line)).toList();
-        System.out.println(blueprints);
-        part1(name, blueprints);
-        part2(name, blueprints);
-      }
-    }
+    PuzzleRunner.run(new Puzzle19());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
   }
 
-  private static void part1(String name, List<Blueprint> blueprints) {
-    long sum = blueprints.stream().mapToLong(bp -> bp.id * max(name, bp, 24)).sum();
-    System.out.println("For " + name + ", sum is " + sum);
+  // The samples actually provoke a much longer run time than the problems in Part 2, so we only run
+  // Part 1 for them.
+  private static final ImmutableSet<String> PART1_ONLY_SAMPLES = ImmutableSet.of("sample");
+
+  record Blueprints(List<Blueprint> blueprints, boolean solvePart2) {}
+
+  @Override
+  public Blueprints parse(Reader r) throws IOException {
+    return parse("problem", r);
   }
 
-  private static void part2(String name, List<Blueprint> blueprints) {
-    if (!name.equals("problem")) {
-      // The samples actually provoke a much longer run time than the problems.
-      return;
+  @Override
+  public Blueprints parse(String inputName, Reader r) throws IOException {
+    List<Blueprint> blueprints =
+        CharStreams.readLines(r).stream().map(line -> parseBlueprint(line)).toList();
+    return new Blueprints(blueprints, !PART1_ONLY_SAMPLES.contains(inputName));
+  }
+
+  @Override
+  public Long part1(Blueprints blueprints) {
+    return blueprints.blueprints.stream().mapToLong(bp -> bp.id * max(bp, 24)).sum();
+  }
+
+  @Override
+  public Object part2(Blueprints blueprints) {
+    if (!blueprints.solvePart2) {
+      return "none";
     }
-    long product =
-        blueprints.stream().limit(3).mapToLong(bp -> max(name, bp, 32)).reduce(1L, (a, b) -> a * b);
-    System.out.println("For " + name + ", product is " + product);
+    return blueprints.blueprints.stream()
+        .limit(3)
+        .mapToLong(bp -> max(bp, 32))
+        .reduce(1L, (a, b) -> a * b);
   }
 
+  private static final Metrics.Histogram STATUS_COUNTS = Metrics.histogram("2022.19.statuses");
+
   // This is pretty hokey and literal, but it gets the right result. We basically track all the
   // possible states after each minute, with two optimizations: (1) if a state has fewer resources
   // of every type than another state in the same minute, there is no point in keeping it; (2)
   // there is no point in having more ore robots than the maximum amount of ore that any maufacture
   // needs, and so on for the other robot types. We handle (1) in an ugly quadratic way, though it
   // is fairly easy to imagine optimized data structures that would be at least somewhat better.
-  private static long max(String name, Blueprint blueprint, int minutes) {
+  private static long max(Blueprint blueprint, int minutes) {
     // There is no point in manufacturing more ore robots than the maximum ore cost of any robot
     // kind, and so on for the others. So determine what those maxima are.
     List<Resources> costs =
@@ -144,7 +166,7 @@ public class Puzzle19 {
         }
       }
       statuses = newStatuses;
-      System.out.println("After minute " + i + ", number of statuses is " + statuses.size());
+      STATUS_COUNTS.record(statuses.size());
     }
     return statuses.stream().mapToInt(Status::geodes).max().getAsInt();
   }
@@ -1,8 +1,11 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -13,7 +16,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       A Y
@@ -27,35 +30,44 @@ public class Puzzle2 {
           "problem", () -> new InputStreamReader(Puzzle2.class.getResourceAsStream("puzzle2.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-
-        // Part 1
-        long sumPart1 = 0;
-        for (String line : lines) {
-          List<String> codes = Splitter.on(' ').splitToList(line);
-          assert codes.size() == 2 : line;
-          Item them = ABC_MAP.get(codes.get(0));
-          Item us = XYZ_MAP.get(codes.get(1));
-          sumPart1 += us.score + game(us, them).score;
-        }
-        System.out.println("Part 1 sum for " + name + " is " + sumPart1);
-
-        // Part 2
-        long sumPart2 = 0;
-        for (String line : lines) {
-          List<String> codes = Splitter.on(' ').splitToList(line);
-          assert codes.size() == 2 : line;
-          Item them = ABC_MAP.get(codes.get(0));
-          Result result = XYZ_RESULT_MAP.get(codes.get(1));
-          Item us = play(result, them);
-          sumPart2 += us.score + result.score;
-        }
-        System.out.println("Part 2 sum for " + name + " is " + sumPart2);
-      }
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Long part1(List<String> lines) {
+    long sum = 0;
+    for (String line : lines) {
+      List<String> codes = Splitter.on(' ').splitToList(line);
+      assert codes.size() == 2 : line;
+      Item them = ABC_MAP.get(codes.get(0));
+      Item us = XYZ_MAP.get(codes.get(1));
+      sum += us.score + game(us, them).score;
+    }
+    return sum;
+  }
+
+  @Override
+  public Long part2(List<String> lines) {
+    long sum = 0;
+    for (String line : lines) {
+      List<String> codes = Splitter.on(' ').splitToList(line);
+      assert codes.size() == 2 : line;
+      Item them = ABC_MAP.get(codes.get(0));
+      Result result = XYZ_RESULT_MAP.get(codes.get(1));
+      Item us = play(result, them);
+      sum += us.score + result.score;
     }
+    return sum;
   }
 
   private static final ImmutableMap<String, Item> ABC_MAP =
@@ -1,7 +1,10 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -13,7 +16,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle20 {
+public class Puzzle20 implements Puzzle<List<Long>> {
   private static final String SAMPLE =
       """
       1
@@ -32,22 +35,27 @@ public class Puzzle20 {
               () -> new InputStreamReader(Puzzle20.class.getResourceAsStream("puzzle20.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        part1(name, lines);
-        part2(name, lines);
-      }
-    }
+    PuzzleRunner.run(new Puzzle20());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Long> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Long::parseLong).toList();
   }
 
-  private static void part1(String name, List<String> lines) {
-    solve(name + " part 1", lines, 1, 1);
+  @Override
+  public Long part1(List<Long> numbers) {
+    return solve(numbers, 1, 1);
   }
 
-  private static void part2(String name, List<String> lines) {
-    solve(name + " part 2", lines, 811589153, 10);
+  @Override
+  public Long part2(List<Long> numbers) {
+    return solve(numbers, 811589153, 10);
   }
 
   // The logic for moves is a little tricky. First, we can reduce the move amount so its absolute
@@ -74,12 +82,12 @@ public class Puzzle20 {
   // But if want to move it left by 1 then it goes after the doubly-previous element b:
   // a bdc   e f g
   // This is also what happens if it moves right by 5 (N - 1 - shift).
-  private static void solve(String what, List<String> lines, int multiplier, int iterations) {
+  private static long solve(List<Long> numbers, int multiplier, int iterations) {
     List<Node> nodes = new ArrayList<>();
     Node prev = null;
     Node zero = null;
-    for (String line : lines) {
-      long value = Long.parseLong(line) * multiplier;
+    for (long number : numbers) {
+      long value = number * multiplier;
       Node node = new Node(value);
       if (value == 0) {
         zero = node;
@@ -148,21 +156,7 @@ public class Puzzle20 {
     long n1000 = order.get(1000 % order.size());
     long n2000 = order.get(2000 % order.size());
     long n3000 = order.get(3000 % order.size());
-    System.out.println(
-        "For "
-            + what
-            + ", N="
-            + order.size()
-            + ", numbers are "
-            + n1000
-            + ","
-            + n2000
-            + ","
-            + n3000
-            + " summing to "
-            + n1000
-            + n2000
-            + n3000);
+    return n1000 + n2000 + n3000;
   }
 
   private static class Node {
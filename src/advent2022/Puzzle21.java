@@ -2,12 +2,14 @@ package advent2022;
 
 import static java.util.stream.Collectors.toMap;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
@@ -17,7 +19,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle21 {
+public class Puzzle21 implements Puzzle<Map<String, Puzzle21.Node>> {
   private static final String SAMPLE =
       """
       root: pppw + sjmn
@@ -44,41 +46,51 @@ public class Puzzle21 {
               () -> new InputStreamReader(Puzzle21.class.getResourceAsStream("puzzle21.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Map<String, Node> graph =
-            lines.stream()
-                .map(line -> parseNode(line))
-                .collect(
-                    toMap(
-                        node -> node.name(),
-                        node -> node,
-                        (a, b) -> {
-                          throw new AssertionError("Duplicate " + a);
-                        },
-                        TreeMap::new));
-        long result = evaluate(graph, "root");
-        System.out.println("Result for " + name + " is " + result);
-        foldConstants(graph, "root");
-        System.out.println("Result for " + name + " after rewriting is " + result);
-        Op root = (Op) graph.get("root");
-        long constant;
-        Op var;
-        if (graph.get(root.lhs) instanceof Int(var unused, var n)) {
-          constant = n;
-          var = (Op) graph.get(root.rhs);
-        } else if (graph.get(root.rhs) instanceof Int(var unused, var n)) {
-          constant = n;
-          var = (Op) graph.get(root.lhs);
-        } else {
-          throw new AssertionError("Unexpected root " + root);
-        }
-        long solution = solve(graph, var, constant);
-        System.out.println("Solution is " + solution);
-      }
+    PuzzleRunner.run(new Puzzle21());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public Map<String, Node> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(line -> parseNode(line))
+        .collect(
+            toMap(
+                node -> node.name(),
+                node -> node,
+                (a, b) -> {
+                  throw new AssertionError("Duplicate " + a);
+                },
+                TreeMap::new));
+  }
+
+  @Override
+  public Long part1(Map<String, Node> graph) {
+    return evaluate(graph, "root");
+  }
+
+  @Override
+  public Long part2(Map<String, Node> originalGraph) {
+    // Folding constants rewrites the graph, so work on a copy.
+    Map<String, Node> graph = new TreeMap<>(originalGraph);
+    foldConstants(graph, "root");
+    Op root = (Op) graph.get("root");
+    long constant;
+    Op var;
+    if (graph.get(root.lhs) instanceof Int(var unused, var n)) {
+      constant = n;
+      var = (Op) graph.get(root.rhs);
+    } else if (graph.get(root.rhs) instanceof Int(var unused, var n)) {
+      constant = n;
+      var = (Op) graph.get(root.lhs);
+    } else {
+      throw new AssertionError("Unexpected root " + root);
     }
+    return solve(graph, var, constant);
   }
 
   /*
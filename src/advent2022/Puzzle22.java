@@ -11,9 +11,13 @@ import static advent2022.Puzzle22.Dir.UP;
 import static java.lang.Integer.max;
 import static java.lang.Integer.min;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -28,7 +32,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle22 {
+public class Puzzle22 implements Puzzle<Puzzle22.Notes> {
   private static final String SAMPLE =
       """
               ...#
@@ -54,28 +58,50 @@ public class Puzzle22 {
               () -> new InputStreamReader(Puzzle22.class.getResourceAsStream("puzzle22.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        String directionString = lines.getLast();
-        List<Action> actions = parseDirections(directionString);
-        List<String> gridLines =
-            lines.stream().limit(lines.size() - 2).map(s -> s.replaceFirst("\\s+$", "")).toList();
-        part1(name, actions, gridLines);
-        part2(name, actions, gridLines);
-      }
-    }
+    PuzzleRunner.run(new Puzzle22());
   }
 
-  private static void part1(String name, List<Action> actions, List<String> gridLines) {
-    Node topLeft = buildPart1Graph(gridLines);
-    traverse(name + " part 1", topLeft, actions);
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
   }
 
-  private static void part2(String name, List<Action> actions, List<String> gridLines) {
-    Node[][] nodes = buildNodes(gridLines);
-    fold(name, nodes);
+  // Part 2 folds the map into a cube using joins that are coded by hand, one set for the layout of
+  // the sample and another for the layout of the problem.
+  private static final ImmutableSet<String> SAMPLE_LAYOUTS = ImmutableSet.of("sample");
+
+  /** The map, the path to follow, and which hand-coded cube folding applies to the map. */
+  record Notes(List<String> gridLines, List<Action> actions, boolean sampleLayout) {}
+
+  @Override
+  public Notes parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Notes parse(String inputName, Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    String directionString = lines.getLast();
+    List<Action> actions = parseDirections(directionString);
+    List<String> gridLines =
+        lines.stream().limit(lines.size() - 2).map(s -> s.replaceFirst("\\s+$", "")).toList();
+    return new Notes(gridLines, actions, SAMPLE_LAYOUTS.contains(inputName));
+  }
+
+  @Override
+  public Integer part1(Notes notes) {
+    Node topLeft = buildPart1Graph(notes.gridLines);
+    return traverse(topLeft, notes.actions);
+  }
+
+  @Override
+  public Integer part2(Notes notes) {
+    Node[][] nodes = buildNodes(notes.gridLines);
+    if (notes.sampleLayout) {
+      foldSample(nodes);
+    } else {
+      foldProblem(nodes);
+    }
     Node topLeft = null;
     for (Node[] node : nodes) {
       if (node[0] != null) {
@@ -83,17 +109,16 @@ public class Puzzle22 {
         break;
       }
     }
-    traverse(name + " part 2", topLeft, actions);
+    return traverse(topLeft, notes.actions);
   }
 
-  private static void traverse(String what, Node topLeft, List<Action> actions) {
+  private static int traverse(Node topLeft, List<Action> actions) {
     DirPos dirPos = new DirPos(RIGHT, topLeft);
     for (Action action : actions) {
       dirPos = action.apply(dirPos);
     }
     Node pos = dirPos.pos;
-    int password = 1000 * (pos.y + 1) + 4 * (pos.x + 1) + dirPos.dir.facing();
-    System.out.println(what + " ended at " + dirPos + " => " + password);
+    return 1000 * (pos.y + 1) + 4 * (pos.x + 1) + dirPos.dir.facing();
   }
 
   record DirPos(Dir dir, Node pos) {}
@@ -257,14 +282,6 @@ public class Puzzle22 {
     return nodes;
   }
 
-  static void fold(String name, Node[][] nodes) {
-    switch (name) {
-      case "sample" -> foldSample(nodes);
-      case "problem" -> foldProblem(nodes);
-      default -> throw new AssertionError(name);
-    }
-  }
-
   // This was all extremely time-consuming and the result is not great. An ideal solution would
   // figure out the folding and edge-joining for itself. This is not that solution. I laboriously
   // worked out the two folds (one for the sample and a different one for the problem) and manually
@@ -2,11 +2,14 @@ package advent2022;
 
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multiset;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,7 +22,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle23 {
+public class Puzzle23 implements Puzzle<Puzzle23.Grid> {
   private static final String SAMPLE =
       """
       ....#..
@@ -38,28 +41,32 @@ public class Puzzle23 {
               () -> new InputStreamReader(Puzzle23.class.getResourceAsStream("puzzle23.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Grid grid = parseGrid(lines);
-        part1(name, grid);
-        part2(name, grid);
-      }
-    }
+    PuzzleRunner.run(new Puzzle23());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public Grid parse(Reader r) throws IOException {
+    return parseGrid(CharStreams.readLines(r));
   }
 
   // This one was pretty easy, hugely easier than the previous day (the one about folding a cube).
   // The only glitch was when I mixed up East and West with my +1 and -1.
 
-  private static void part1(String name, Grid grid) {
+  @Override
+  public Integer part1(Grid grid) {
     for (int round = 1; round <= 10; round++) {
       grid = grid.nextRound();
     }
-    System.out.println("For " + name + " part 1, final empty tile count " + grid.emptyCount());
+    return grid.emptyCount();
   }
 
-  private static void part2(String name, Grid grid) {
+  @Override
+  public Integer part2(Grid grid) {
     int round = 1;
     while (true) {
       Grid nextGrid = grid.nextRound();
@@ -69,15 +76,7 @@ public class Puzzle23 {
       grid = nextGrid;
       round++;
     }
-    System.out.println(
-        "For "
-            + name
-            + " part 2, no movement on round "
-            + round
-            + ", final grid "
-            + grid.topLeft()
-            + ".."
-            + grid.bottomRight());
+    return round;
   }
 
   static Grid parseGrid(List<String> lines) {
@@ -2,11 +2,14 @@ package advent2022;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
 import com.google.common.math.IntMath;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -18,7 +21,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle24 {
+public class Puzzle24 implements Puzzle<Puzzle24.BlizzardMap> {
   private static final String SAMPLE =
       """
       #.######
@@ -36,28 +39,34 @@ public class Puzzle24 {
               () -> new InputStreamReader(Puzzle24.class.getResourceAsStream("puzzle24.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        BlizzardMap blizzardMap = parseBlizzardMap(lines);
-        Coord start = new Coord(0, -1);
-        Coord end = new Coord(blizzardMap.maxX - 1, blizzardMap.maxY);
-        var stepsPart1 = steps(blizzardMap, start, end);
-        System.out.println("Part 1 steps for " + name + ": " + stepsPart1.steps);
-        var stepsPart2a = steps(stepsPart1.blizzardMap, end, start);
-        System.out.println("Part 2a steps for " + name + ": " + stepsPart2a.steps);
-        var stepsPart2b = steps(stepsPart2a.blizzardMap, start, end);
-        System.out.println("Part 2b steps for " + name + ": " + stepsPart2b.steps);
-        System.out.println(
-            "Total part 2 steps for "
-                + name
-                + ": "
-                + stepsPart1.steps
-                + stepsPart2a.steps
-                + stepsPart2b.steps);
-      }
-    }
+    PuzzleRunner.run(new Puzzle24());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public BlizzardMap parse(Reader r) throws IOException {
+    return parseBlizzardMap(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(BlizzardMap blizzardMap) {
+    Coord start = new Coord(0, -1);
+    Coord end = new Coord(blizzardMap.maxX - 1, blizzardMap.maxY);
+    return steps(blizzardMap, start, end).steps;
+  }
+
+  @Override
+  public Integer part2(BlizzardMap blizzardMap) {
+    Coord start = new Coord(0, -1);
+    Coord end = new Coord(blizzardMap.maxX - 1, blizzardMap.maxY);
+    var there = steps(blizzardMap, start, end);
+    var back = steps(there.blizzardMap, end, start);
+    var thereAgain = steps(back.blizzardMap, start, end);
+    return there.steps + back.steps + thereAgain.steps;
   }
 
   // A fairly simple solution with Dynamic Programming. (Well, simple once I figured it out.)
@@ -112,7 +121,7 @@ public class Puzzle24 {
     return new BlizzardMap(blizzards.build(), maxX, maxY);
   }
 
-  private static class BlizzardMap {
+  static class BlizzardMap {
     final ImmutableList<Blizzard> blizzards;
     final int maxX;
     final int maxY;
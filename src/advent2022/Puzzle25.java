@@ -1,8 +1,11 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -13,7 +16,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle25 {
+public class Puzzle25 implements Puzzle<List<String>> {
   private static final ImmutableBiMap<Character, Integer> SNAFU_TO_DECIMAL =
       ImmutableBiMap.of('0', 0, '1', 1, '2', 2, '=', -2, '-', -1);
 
@@ -41,14 +44,30 @@ public class Puzzle25 {
               () -> new InputStreamReader(Puzzle25.class.getResourceAsStream("puzzle25.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        long sum = lines.stream().mapToLong(s -> parseSnafu(s)).sum();
-        System.out.println("Decimal sum " + sum + ", SNAFU equivalent " + toSnafu(sum));
-      }
-    }
+    PuzzleRunner.run(new Puzzle25());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  /** Returns the sum of the SNAFU numbers, itself as a SNAFU number. */
+  @Override
+  public String part1(List<String> lines) {
+    long sum = lines.stream().mapToLong(s -> parseSnafu(s)).sum();
+    return toSnafu(sum);
+  }
+
+  @Override
+  public String part2(List<String> lines) {
+    // Day 25 has only one part.
+    return "none";
   }
 
   private static long parseSnafu(String s) {
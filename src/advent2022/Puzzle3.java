@@ -3,10 +3,13 @@ package advent2022;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Sets.intersection;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle3 {
+public class Puzzle3 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       vJrwpWtwJgWrhcsFMMfFFhFp
@@ -34,39 +37,48 @@ public class Puzzle3 {
           "problem", () -> new InputStreamReader(Puzzle3.class.getResourceAsStream("puzzle3.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
+    PuzzleRunner.run(new Puzzle3());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
 
-        // Part 1
-        long sumPart1 = 0;
-        for (String line : lines) {
-          String left = line.substring(0, line.length() / 2);
-          String right = line.substring(line.length() / 2);
-          assert left.length() == right.length() : line;
-          var leftSet = classify(left);
-          var rightSet = classify(right);
-          var intersection = intersection(leftSet, rightSet);
-          char c = Iterables.getOnlyElement(intersection);
-          sumPart1 += priority(c);
-        }
-        System.out.println("Part 1 sum for " + name + " is " + sumPart1);
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Long part1(List<String> lines) {
+    long sum = 0;
+    for (String line : lines) {
+      String left = line.substring(0, line.length() / 2);
+      String right = line.substring(line.length() / 2);
+      assert left.length() == right.length() : line;
+      var leftSet = classify(left);
+      var rightSet = classify(right);
+      var intersection = intersection(leftSet, rightSet);
+      char c = Iterables.getOnlyElement(intersection);
+      sum += priority(c);
+    }
+    return sum;
+  }
 
-        // Part 2
-        long sumPart2 = 0;
-        assert lines.size() % 3 == 0;
-        for (int i = 0; i < lines.size(); i += 3) {
-          var intersection =
-              intersection(
-                  classify(lines.get(i)),
-                  intersection(classify(lines.get(i + 1)), classify(lines.get(i + 2))));
-          var c = Iterables.getOnlyElement(intersection);
-          sumPart2 += priority(c);
-        }
-        System.out.println("Part 2 sum for " + name + " is " + sumPart2);
-      }
+  @Override
+  public Long part2(List<String> lines) {
+    long sum = 0;
+    assert lines.size() % 3 == 0;
+    for (int i = 0; i < lines.size(); i += 3) {
+      var intersection =
+          intersection(
+              classify(lines.get(i)),
+              intersection(classify(lines.get(i + 1)), classify(lines.get(i + 2))));
+      var c = Iterables.getOnlyElement(intersection);
+      sum += priority(c);
     }
+    return sum;
   }
 
   private static int priority(char c) {
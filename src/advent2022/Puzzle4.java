@@ -1,9 +1,12 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Range;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -16,7 +19,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<List<Puzzle4.RangePair>> {
   private static final String SAMPLE =
       """
       2-4,6-8
@@ -33,26 +36,32 @@ public class Puzzle4 {
           "problem", () -> new InputStreamReader(Puzzle4.class.getResourceAsStream("puzzle4.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<RangePair> rangePairs = lines.stream().map(line -> parseRangePair(line)).toList();
-        long count1 =
-            rangePairs.stream()
-                .filter(pair -> pair.one.encloses(pair.two) || pair.two.encloses(pair.one))
-                .count();
-        System.out.println("For " + name + ", count of enclosing ranges is " + count1);
-        long count2 =
-            rangePairs.stream()
-                .filter(
-                    pair ->
-                        pair.one.isConnected(pair.two)
-                            && !pair.one.intersection(pair.two).isEmpty())
-                .count();
-        System.out.println("For " + name + ", count of overlapping ranges is " + count2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle4());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<RangePair> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(line -> parseRangePair(line)).toList();
+  }
+
+  @Override
+  public Long part1(List<RangePair> rangePairs) {
+    return rangePairs.stream()
+        .filter(pair -> pair.one.encloses(pair.two) || pair.two.encloses(pair.one))
+        .count();
+  }
+
+  @Override
+  public Long part2(List<RangePair> rangePairs) {
+    return rangePairs.stream()
+        .filter(
+            pair -> pair.one.isConnected(pair.two) && !pair.one.intersection(pair.two).isEmpty())
+        .count();
   }
 
   private static RangePair parseRangePair(String line) {
@@ -3,9 +3,12 @@ package advent2022;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.stream.Collectors.joining;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -20,7 +23,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle5 {
+public class Puzzle5 implements Puzzle<Puzzle5.Crates> {
   private static final String SAMPLE =
       """
           [D]
@@ -40,42 +43,60 @@ public class Puzzle5 {
           "problem", () -> new InputStreamReader(Puzzle5.class.getResourceAsStream("puzzle5.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int blank = lines.indexOf("");
-        assert blank > 0;
-        // Reverse the piles and build them from the bottom up.
-        List<String> pileStrings = lines.subList(0, blank).reversed();
-        // The first line is just the pile numbers, and we assume they are just 1 to N.
-        int nPiles = Splitter.onPattern("\\s+").splitToList(pileStrings.getFirst().trim()).size();
-        pileStrings = pileStrings.subList(1, pileStrings.size());
-        List<? extends List<Character>> piles = parsePiles(pileStrings, nPiles);
-
-        List<Move> moves = lines.stream().skip(blank + 1).map(line -> parseMove(line)).toList();
-        for (Move move : moves) {
-          for (int i = 0; i < move.n; i++) {
-            piles.get(move.to - 1).add(piles.get(move.from - 1).removeLast());
-          }
-        }
-        String tops =
-            piles.stream().map(pile -> pile.getLast()).map(Object::toString).collect(joining(""));
-        System.out.println("Part 1 tops for " + name + ": " + tops);
-
-        piles = parsePiles(pileStrings, nPiles);
-        for (Move move : moves) {
-          List<Character> moved = new ArrayList<>();
-          for (int i = 0; i < move.n; i++) {
-            moved.add(piles.get(move.from - 1).removeLast());
-          }
-          piles.get(move.to - 1).addAll(moved.reversed());
-        }
-        tops =
-            piles.stream().map(pile -> pile.getLast()).map(Object::toString).collect(joining(""));
-        System.out.println("Part 2 tops for " + name + ": " + tops);
+    PuzzleRunner.run(new Puzzle5());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /**
+   * The lines describing the piles, from the bottom up, and the moves to make. Each part builds its
+   * own piles from the lines, since the moves change them.
+   */
+  record Crates(List<String> pileStrings, int nPiles, List<Move> moves) {}
+
+  @Override
+  public Crates parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int blank = lines.indexOf("");
+    assert blank > 0;
+    // Reverse the piles and build them from the bottom up.
+    List<String> pileStrings = lines.subList(0, blank).reversed();
+    // The first line is just the pile numbers, and we assume they are just 1 to N.
+    int nPiles = Splitter.onPattern("\\s+").splitToList(pileStrings.getFirst().trim()).size();
+    pileStrings = pileStrings.subList(1, pileStrings.size());
+    List<Move> moves = lines.stream().skip(blank + 1).map(line -> parseMove(line)).toList();
+    return new Crates(pileStrings, nPiles, moves);
+  }
+
+  @Override
+  public String part1(Crates crates) {
+    var piles = parsePiles(crates.pileStrings, crates.nPiles);
+    for (Move move : crates.moves) {
+      for (int i = 0; i < move.n; i++) {
+        piles.get(move.to - 1).add(piles.get(move.from - 1).removeLast());
       }
     }
+    return tops(piles);
+  }
+
+  @Override
+  public String part2(Crates crates) {
+    var piles = parsePiles(crates.pileStrings, crates.nPiles);
+    for (Move move : crates.moves) {
+      List<Character> moved = new ArrayList<>();
+      for (int i = 0; i < move.n; i++) {
+        moved.add(piles.get(move.from - 1).removeLast());
+      }
+      piles.get(move.to - 1).addAll(moved.reversed());
+    }
+    return tops(piles);
+  }
+
+  private static String tops(List<? extends List<Character>> piles) {
+    return piles.stream().map(pile -> pile.getLast()).map(Object::toString).collect(joining(""));
   }
 
   private static List<? extends List<Character>> parsePiles(List<String> pileStrings, int nPiles) {
@@ -1,7 +1,10 @@
 package advent2022;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -15,7 +18,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle6 {
+public class Puzzle6 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       mjqjpqmgbljsphdztnvjfqwrcgsmlb
@@ -31,16 +34,29 @@ public class Puzzle6 {
           "problem", () -> new InputStreamReader(Puzzle6.class.getResourceAsStream("puzzle6.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> packetStarts = lines.stream().map(line -> findStart(line, 4)).toList();
-        System.out.println("Packet starts for " + name + ": " + packetStarts);
-        List<Integer> messageStarts = lines.stream().map(line -> findStart(line, 14)).toList();
-        System.out.println("Message starts for " + name + ": " + messageStarts);
-      }
-    }
+    PuzzleRunner.run(new Puzzle6());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  /** Returns the packet start for each line, since the sample has several. */
+  @Override
+  public List<Integer> part1(List<String> lines) {
+    return lines.stream().map(line -> findStart(line, 4)).toList();
+  }
+
+  /** Returns the message start for each line. */
+  @Override
+  public List<Integer> part2(List<String> lines) {
+    return lines.stream().map(line -> findStart(line, 14)).toList();
   }
 
   private static int findStart(String s, int len) {
@@ -2,8 +2,11 @@ package advent2022;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -18,7 +21,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle7 {
+public class Puzzle7 implements Puzzle<Puzzle7.DirNode> {
   private static final String SAMPLE =
       """
       $ cd /
@@ -52,20 +55,29 @@ public class Puzzle7 {
           "problem", () -> new InputStreamReader(Puzzle7.class.getResourceAsStream("puzzle7.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        DirNode root = buildHierarchy(lines);
-        List<Long> sizes = allSizes(root);
-        long smallSum = sizes.stream().mapToLong(x -> x).filter(x -> x <= 100_000).sum();
-        System.out.println("For " + name + ", small sum is " + smallSum);
-        long free = 70_000_000 - totalSize(root);
-        long needed = 30_000_000 - free;
-        long bigSum = sizes.stream().mapToLong(x -> x).filter(x -> x >= needed).min().getAsLong();
-        System.out.println("For " + name + ", big sum is " + bigSum);
-      }
-    }
+    PuzzleRunner.run(new Puzzle7());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public DirNode parse(Reader r) throws IOException {
+    return buildHierarchy(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Long part1(DirNode root) {
+    return allSizes(root).stream().mapToLong(x -> x).filter(x -> x <= 100_000).sum();
+  }
+
+  @Override
+  public Long part2(DirNode root) {
+    long free = 70_000_000 - totalSize(root);
+    long needed = 30_000_000 - free;
+    return allSizes(root).stream().mapToLong(x -> x).filter(x -> x >= needed).min().getAsLong();
   }
 
   // I screwed up the recursive calculation for Part 1 somehow and wasted a lot of time before
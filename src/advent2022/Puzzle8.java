@@ -1,7 +1,12 @@
 package advent2022;
 
+import static java.lang.Math.max;
+
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -12,7 +17,7 @@ import java.util.concurrent.Callable;
 /**
  * @author emcmanus@google.com (Éamonn McManus)
  */
-public class Puzzle8 {
+public class Puzzle8 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       30373
@@ -28,30 +33,41 @@ public class Puzzle8 {
           "problem", () -> new InputStreamReader(Puzzle8.class.getResourceAsStream("puzzle8.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int count = 0;
-        int maxI = -1, maxJ = -1;
-        long maxScore = -1;
-        for (int i = 0; i < lines.size(); i++) {
-          for (int j = 0; j < lines.get(i).length(); j++) {
-            if (visible(lines, i, j)) {
-              count++;
-            }
-            long score = score(lines, i, j);
-            if (score > maxScore) {
-              maxScore = score;
-              maxI = i;
-              maxJ = j;
-            }
-          }
+    PuzzleRunner.run(new Puzzle8());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Integer part1(List<String> lines) {
+    int count = 0;
+    for (int i = 0; i < lines.size(); i++) {
+      for (int j = 0; j < lines.get(i).length(); j++) {
+        if (visible(lines, i, j)) {
+          count++;
         }
-        System.out.println("Visible for " + name + ": " + count);
-        System.out.println("Best score for " + name + ": " + maxScore + " at " + maxI + "," + maxJ);
       }
     }
+    return count;
+  }
+
+  @Override
+  public Long part2(List<String> lines) {
+    long maxScore = -1;
+    for (int i = 0; i < lines.size(); i++) {
+      for (int j = 0; j < lines.get(i).length(); j++) {
+        maxScore = max(maxScore, score(lines, i, j));
+      }
+    }
+    return maxScore;
   }
 
   private static boolean visible(List<String> lines, int i, int j) {
@@ -5,8 +5,11 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.lang.Math.abs;
 import static java.util.Arrays.stream;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -22,7 +25,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle9 {
+public class Puzzle9 implements Puzzle<List<Puzzle9.Move>> {
   private static final String SAMPLE1 =
       """
       R 4
@@ -54,19 +57,21 @@ public class Puzzle9 {
           "problem", () -> new InputStreamReader(Puzzle9.class.getResourceAsStream("puzzle9.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Move> moves = lines.stream().map(line -> parseMove(line)).toList();
-
-        part1(name, moves);
-        part2(name, moves);
-      }
-    }
+    PuzzleRunner.run(new Puzzle9());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Move> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(line -> parseMove(line)).toList();
   }
 
-  private static void part1(String name, List<Move> moves) {
+  @Override
+  public Integer part1(List<Move> moves) {
     Coord head = new Coord(0, 0);
     Coord tail = head;
     Set<Coord> tailCoords = new HashSet<>(Set.of(tail));
@@ -78,10 +83,11 @@ public class Puzzle9 {
         tailCoords.add(tail);
       }
     }
-    System.out.println("Number of Part 1 tail positions for " + name + " is " + tailCoords.size());
+    return tailCoords.size();
   }
 
-  private static void part2(String name, List<Move> moves) {
+  @Override
+  public Integer part2(List<Move> moves) {
     Coord[] knots = new Coord[10];
     Arrays.fill(knots, new Coord(0, 0));
     Set<Coord> tailCoords = new HashSet<>();
@@ -95,7 +101,7 @@ public class Puzzle9 {
         tailCoords.add(knots[9]);
       }
     }
-    System.out.println("Number of Part 2 tail positions for " + name + " is " + tailCoords.size());
+    return tailCoords.size();
   }
 
   private static Coord newTail(Coord head, Coord tail) {
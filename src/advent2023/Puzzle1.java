@@ -1,24 +1,27 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<List<String>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle1.class.getResourceAsStream("puzzle1.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      System.out.printf("sum for part 1: %d\n", part1(lines));
-      System.out.printf("sum for part 2: %d\n", part2(lines));
-    }
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
   }
 
-  private static int part1(List<String> lines) {
+  @Override
+  public Integer part1(List<String> lines) {
     int sum = 0;
     for (String line : lines) {
       int digit1 = -1;
@@ -45,7 +48,8 @@ public class Puzzle1 {
     return sum;
   }
 
-  private static int part2(List<String> lines) {
+  @Override
+  public Integer part2(List<String> lines) {
     int sum = 0;
     for (String line : lines) {
       int digit1 = -1;
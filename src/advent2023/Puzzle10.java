@@ -4,11 +4,14 @@ import static advent2023.Puzzle10.Direction.DOWN;
 import static advent2023.Puzzle10.Direction.LEFT;
 import static advent2023.Puzzle10.Direction.RIGHT;
 import static advent2023.Puzzle10.Direction.UP;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
-import java.io.InputStream;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -17,151 +20,151 @@ import java.util.List;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle10 {
+public class Puzzle10 implements Puzzle<Puzzle10.Loop> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle10.class.getResourceAsStream("puzzle10.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      List<List<EnumSet<Direction>>> grid = new ArrayList<>();
-
-      // Parse the map into a 2D representation where each cell is either null or says which way
-      // the pipe goes.
-      int sourceI = -1;
-      int sourceJ = -1;
-      for (int i = 0; i < lines.size(); i++) {
-        String line = lines.get(i);
-        List<EnumSet<Direction>> dirs = new ArrayList<>();
-        for (int j = 0; j < line.length(); j++) {
-          char c = line.charAt(j);
-          if (c == 'S') {
-            assert sourceI < 0 && sourceJ < 0;
-            sourceI = i;
-            sourceJ = j;
-          }
-          EnumSet<Direction> cellDirs = CHAR_TO_DIR.get(c);
-          if (cellDirs == null) {
-            cellDirs = EnumSet.noneOf(Direction.class);
-          }
-          dirs.add(cellDirs); // may be null
+    PuzzleRunner.run(new Puzzle10());
+  }
+
+  /** The loop of pipe drawn with box-drawing characters, and the number of steps around it. */
+  record Loop(char[][] pipe, int steps) {}
+
+  @Override
+  public Loop parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<List<EnumSet<Direction>>> grid = new ArrayList<>();
+
+    // Parse the map into a 2D representation where each cell is either null or says which way
+    // the pipe goes.
+    int sourceI = -1;
+    int sourceJ = -1;
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      List<EnumSet<Direction>> dirs = new ArrayList<>();
+      for (int j = 0; j < line.length(); j++) {
+        char c = line.charAt(j);
+        if (c == 'S') {
+          assert sourceI < 0 && sourceJ < 0;
+          sourceI = i;
+          sourceJ = j;
         }
-        grid.add(dirs);
+        EnumSet<Direction> cellDirs = CHAR_TO_DIR.get(c);
+        if (cellDirs == null) {
+          cellDirs = EnumSet.noneOf(Direction.class);
+        }
+        dirs.add(cellDirs); // may be null
       }
+      grid.add(dirs);
+    }
 
-      // Figure out which kind of corner the source (S) cell should be.
-      assert sourceI >= 0 && sourceJ >= 0;
-      EnumSet<Direction> sourceDirs = EnumSet.noneOf(Direction.class);
-      if (sourceI > 0 && grid.get(sourceI - 1).get(sourceJ).contains(DOWN)) {
-        sourceDirs.add(UP);
-      }
-      if (sourceI + 1 < lines.size() && grid.get(sourceI + 1).get(sourceJ).contains(UP)) {
-        sourceDirs.add(DOWN);
-      }
-      if (sourceJ > 0 && grid.get(sourceI).get(sourceJ - 1).contains(RIGHT)) {
-        sourceDirs.add(LEFT);
-      }
-      if (sourceJ + 1 < grid.get(sourceI).size()
-          && grid.get(sourceI).get(sourceJ + 1).contains(LEFT)) {
-        sourceDirs.add(RIGHT);
-      }
-      Direction dir = sourceDirs.iterator().next();
+    // Figure out which kind of corner the source (S) cell should be.
+    assert sourceI >= 0 && sourceJ >= 0;
+    EnumSet<Direction> sourceDirs = EnumSet.noneOf(Direction.class);
+    if (sourceI > 0 && grid.get(sourceI - 1).get(sourceJ).contains(DOWN)) {
+      sourceDirs.add(UP);
+    }
+    if (sourceI + 1 < lines.size() && grid.get(sourceI + 1).get(sourceJ).contains(UP)) {
+      sourceDirs.add(DOWN);
+    }
+    if (sourceJ > 0 && grid.get(sourceI).get(sourceJ - 1).contains(RIGHT)) {
+      sourceDirs.add(LEFT);
+    }
+    if (sourceJ + 1 < grid.get(sourceI).size()
+        && grid.get(sourceI).get(sourceJ + 1).contains(LEFT)) {
+      sourceDirs.add(RIGHT);
+    }
+    Direction dir = sourceDirs.iterator().next();
 
-      // We make an equivalent representation using Unicode box-drawing characters. This isn't
-      // necessary, but makes reading and debugging easier.
-      char[][] pipe = new char[lines.size()][lines.getFirst().length()];
-      for (char[] line : pipe) {
-        Arrays.fill(line, ' ');
+    // We make an equivalent representation using Unicode box-drawing characters. This isn't
+    // necessary, but makes reading and debugging easier.
+    char[][] pipe = new char[lines.size()][lines.getFirst().length()];
+    for (char[] line : pipe) {
+      Arrays.fill(line, ' ');
+    }
+    pipe[sourceI][sourceJ] = BOX_DRAWING.get(CHAR_TO_DIR.inverse().get(sourceDirs));
+
+    // Follow the loop, filling in the pipe[][] array and counting the steps for Part 1.
+    int steps = 0;
+    for (int i = sourceI, j = sourceJ; ; ) {
+      steps++;
+      // dir tells us which way to go now
+      switch (dir) {
+        case LEFT -> j--;
+        case RIGHT -> j++;
+        case UP -> i--;
+        case DOWN -> i++;
       }
-      pipe[sourceI][sourceJ] = BOX_DRAWING.get(CHAR_TO_DIR.inverse().get(sourceDirs));
-      System.out.println("Source (" + sourceI + ", " + sourceJ + "), direction " + dir);
-
-      // Solution for Part 1, and also fill in the pipe[][] array.
-      int steps = 0;
-      for (int i = sourceI, j = sourceJ; ; ) {
-        steps++;
-        // dir tells us which way to go now
-        switch (dir) {
-          case LEFT -> j--;
-          case RIGHT -> j++;
-          case UP -> i--;
-          case DOWN -> i++;
-        }
-        if (i == sourceI && j == sourceJ) {
-          break;
-        }
-        EnumSet<Direction> dirs = grid.get(i).get(j);
-        pipe[i][j] = BOX_DRAWING.get(CHAR_TO_DIR.inverse().get(dirs));
-        // Now if we entered from the left, we were going right, so this is either {RIGHT, UP} or
-        // {RIGHT, DOWN}. The new direction is then UP or DOWN accordingly.
-        dir = otherDir(dirs, dir.opposite());
+      if (i == sourceI && j == sourceJ) {
+        break;
       }
+      EnumSet<Direction> dirs = grid.get(i).get(j);
+      pipe[i][j] = BOX_DRAWING.get(CHAR_TO_DIR.inverse().get(dirs));
+      // Now if we entered from the left, we were going right, so this is either {RIGHT, UP} or
+      // {RIGHT, DOWN}. The new direction is then UP or DOWN accordingly.
+      dir = otherDir(dirs, dir.opposite());
+    }
+    return new Loop(pipe, steps);
+  }
 
-      System.out.println("Total steps " + steps + ", halfway " + steps / 2);
+  @Override
+  public Integer part1(Loop loop) {
+    return loop.steps() / 2;
+  }
 
-      int insideCount = 0;
-      enum Corner {
-        NONE,
-        FROM_ABOVE,
-        FROM_BELOW
-      }
+  @Override
+  public Integer part2(Loop loop) {
+    int insideCount = 0;
+    enum Corner {
+      NONE,
+      FROM_ABOVE,
+      FROM_BELOW
+    }
 
-      // We're inside the loop if we have crossed an odd number of lines starting from the left
-      // edge.
-      // It's a bit more complicated, though, because we might encounter e.g. ┏━┛. That's
-      // essentially
-      // the same as encountering ┃, so if we were outside we are now inside, and vice versa.
-      // On the other hand ┏━┓ has no effect on "insideness". So we remember a "corner" state that
-      // tells us which starting corner (┏ or ┓) we encountered before. Then when we encounter the
-      // corresponding ending corner (┛ or ┓), we switch insideness if the ending corner has the
-      // opposite vertical direction from the starting one.
-      // A simpler idea that occurred to me later would be to scan diagonally rather than
-      // horizontally. Then we can just ignore corners as we track insideness. The same is true
-      // of Puzzle 18. In both cases, there's an even simpler alternative, pointed out by @lowasser:
-      // https://en.wikipedia.org/wiki/Shoelace_formula
-      for (char[] line : pipe) {
-        boolean inside = false;
-        Corner corner = Corner.NONE;
-        for (int j = 0; j < line.length; j++) {
-          switch (line[j]) {
-            case ' ' -> {
-              if (inside) {
-                line[j] = '*';
-                insideCount++;
-              }
+    // We're inside the loop if we have crossed an odd number of lines starting from the left
+    // edge. It's a bit more complicated, though, because we might encounter e.g. ┏━┛. That's
+    // essentially the same as encountering ┃, so if we were outside we are now inside, and vice
+    // versa.
+    // On the other hand ┏━┓ has no effect on "insideness". So we remember a "corner" state that
+    // tells us which starting corner (┏ or ┓) we encountered before. Then when we encounter the
+    // corresponding ending corner (┛ or ┓), we switch insideness if the ending corner has the
+    // opposite vertical direction from the starting one.
+    // A simpler idea that occurred to me later would be to scan diagonally rather than
+    // horizontally. Then we can just ignore corners as we track insideness. The same is true
+    // of Puzzle 18. In both cases, there's an even simpler alternative, pointed out by @lowasser:
+    // https://en.wikipedia.org/wiki/Shoelace_formula
+    for (char[] line : loop.pipe()) {
+      boolean inside = false;
+      Corner corner = Corner.NONE;
+      for (int j = 0; j < line.length; j++) {
+        switch (line[j]) {
+          case ' ' -> {
+            if (inside) {
+              insideCount++;
             }
-            case '━' -> {}
-            case '┃' -> inside = !inside;
-            case '┏' -> corner = Corner.FROM_BELOW;
-            case '┗' -> corner = Corner.FROM_ABOVE;
-            case '┓' -> {
-              if (corner == Corner.FROM_ABOVE) {
-                inside = !inside;
-              } else {
-                assert corner == Corner.FROM_BELOW;
-              }
-              corner = Corner.NONE;
+          }
+          case '━' -> {}
+          case '┃' -> inside = !inside;
+          case '┏' -> corner = Corner.FROM_BELOW;
+          case '┗' -> corner = Corner.FROM_ABOVE;
+          case '┓' -> {
+            if (corner == Corner.FROM_ABOVE) {
+              inside = !inside;
+            } else {
+              assert corner == Corner.FROM_BELOW;
             }
-            case '┛' -> {
-              if (corner == Corner.FROM_BELOW) {
-                inside = !inside;
-              } else {
-                assert corner == Corner.FROM_ABOVE;
-              }
-              corner = Corner.NONE;
+            corner = Corner.NONE;
+          }
+          case '┛' -> {
+            if (corner == Corner.FROM_BELOW) {
+              inside = !inside;
+            } else {
+              assert corner == Corner.FROM_ABOVE;
             }
+            corner = Corner.NONE;
           }
         }
       }
-
-      // Print a pretty map.
-      for (char[] line : pipe) {
-        for (int j = 0; j < line.length; j++) {
-          System.out.print(line[j]);
-        }
-        System.out.println();
-      }
-
-      System.out.println("Inside count " + insideCount);
     }
+    return insideCount;
   }
 
   private static Direction otherDir(EnumSet<Direction> dirs, Direction dir) {
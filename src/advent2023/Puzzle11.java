@@ -1,14 +1,14 @@
 package advent2023;
 
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
-import static java.lang.Integer.max;
-import static java.lang.Integer.min;
-import static java.lang.Math.abs;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -16,7 +16,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle11 {
+public class Puzzle11 implements Puzzle<List<String>> {
   /*
    * For Part 1, I naively inserted horizontal and vertical gaps into the input. That's extravagant
    * when the extra gap is 999,999 units, so I recoded for Part 2.
@@ -25,21 +25,25 @@ public class Puzzle11 {
    * doesn't fit in an int. So I was getting the wrong answer because of silent int overflow.
    */
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle11.class.getResourceAsStream("puzzle11.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = new ArrayList<>(List.of(lineString.split("\n")));
-      new Puzzle11(2).solve(lines);
-      new Puzzle11(1_000_000).solve(lines);
-    }
+    PuzzleRunner.run(new Puzzle11());
   }
 
-  private final int gapMultiplier;
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
 
-  Puzzle11(int gapMultiplier) {
-    this.gapMultiplier = gapMultiplier;
+  @Override
+  public Long part1(List<String> lines) {
+    return totalDistance(lines, 2);
   }
 
-  private void solve(List<String> lines) {
+  @Override
+  public Long part2(List<String> lines) {
+    return totalDistance(lines, 1_000_000);
+  }
+
+  private static long totalDistance(List<String> lines, int gapMultiplier) {
     List<Coord> galaxies = new ArrayList<>();
     for (int i = 0; i < lines.size(); i++) {
       String line = lines.get(i);
@@ -60,87 +64,37 @@ public class Puzzle11 {
             .filter(j -> lines.stream().noneMatch(line -> line.charAt(j) == '#'))
             .boxed()
             .collect(toImmutableSet());
-    System.out.println("i gaps " + iGaps);
-    System.out.println("j gaps " + jGaps);
 
-    long total = 0;
-    for (int i = 0; i < galaxies.size(); i++) {
-      for (int j = i + 1; j < galaxies.size(); j++) {
-        total += distance(galaxies.get(i), galaxies.get(j), iGaps, jGaps);
-      }
-    }
-    System.out.println(
-        "With gap multiplier "
-            + gapMultiplier
-            + ", total distance "
-            + total
-            + " between "
-            + galaxies.size()
-            + " galaxies");
-    // Not: 396735318
-    // Coded a second way below before realizing that I was being foiled by silent int overflow.
-
-    Set<Coord> galaxySet = new LinkedHashSet<>(galaxies);
-    List<Coord> adjustedGalaxies = new ArrayList<>();
-    for (int i = 0, adjustedI = 0; i < lines.size(); i++) {
-      for (int j = 0, adjustedJ = 0; j < lines.get(i).length(); j++) {
-        if (galaxySet.contains(new Coord(i, j))) {
-          adjustedGalaxies.add(new Coord(adjustedI, adjustedJ));
-        }
-        if (jGaps.contains(j)) {
-          adjustedJ += gapMultiplier;
-        } else {
-          adjustedJ++;
-        }
-      }
-      if (iGaps.contains(i)) {
-        adjustedI += gapMultiplier;
-      } else {
-        adjustedI++;
-      }
-    }
-    long newTotal = 0;
-    for (int i = 0; i < adjustedGalaxies.size(); i++) {
-      for (int j = i + 1; j < adjustedGalaxies.size(); j++) {
-        newTotal += adjustedGalaxies.get(i).dist(adjustedGalaxies.get(j));
-      }
-    }
-    System.out.println(
-        "Alternative total distance "
-            + newTotal
-            + " between "
-            + adjustedGalaxies.size()
-            + " galaxies");
+    // The distance between two galaxies is the Manhattan distance after expansion, so we can
+    // compute each galaxy's expanded coordinates once, using a running offset per row and column.
+    // Then the sum over all pairs separates into a sum for each axis. If the coordinates on one
+    // axis are sorted as x[0] <= x[1] <= ..., then x[k] contributes +x[k] to its distance from
+    // each of the k coordinates before it, and -x[k] to its distance from each of the ones after.
+    // That gives the total in O(n log n) rather than looking at all n^2/2 pairs.
+    long[] iOffsets = expandedOffsets(lines.size(), iGaps, gapMultiplier);
+    long[] jOffsets = expandedOffsets(lines.get(0).length(), jGaps, gapMultiplier);
+    return sumOfPairwiseDistances(galaxies.stream().mapToLong(g -> iOffsets[g.i]).toArray())
+        + sumOfPairwiseDistances(galaxies.stream().mapToLong(g -> jOffsets[g.j]).toArray());
   }
 
-  private int distance(Coord a, Coord b, Set<Integer> iGaps, Set<Integer> jGaps) {
-    // This is kind of stupid. Using bitsets would be much faster.
-    int iStart = min(a.i, b.i);
-    int iEnd = max(a.i, b.i);
-    int iDist = 0;
-    for (int i = iStart; i < iEnd; i++) {
-      if (iGaps.contains(i)) {
-        iDist += gapMultiplier;
-      } else {
-        iDist++;
-      }
-    }
-    int jStart = min(a.j, b.j);
-    int jEnd = max(a.j, b.j);
-    int jDist = 0;
-    for (int j = jStart; j < jEnd; j++) {
-      if (jGaps.contains(j)) {
-        jDist += gapMultiplier;
-      } else {
-        jDist++;
-      }
+  private static long[] expandedOffsets(int size, Set<Integer> gaps, int gapMultiplier) {
+    long[] offsets = new long[size];
+    long offset = 0;
+    for (int i = 0; i < size; i++) {
+      offsets[i] = offset;
+      offset += gaps.contains(i) ? gapMultiplier : 1;
     }
-    return iDist + jDist;
+    return offsets;
   }
 
-  record Coord(int i, int j) {
-    int dist(Coord that) {
-      return abs(this.i - that.i) + abs(this.j - that.j);
+  private static long sumOfPairwiseDistances(long[] coords) {
+    Arrays.sort(coords);
+    long sum = 0;
+    for (int k = 0; k < coords.length; k++) {
+      sum += coords[k] * (2L * k - (coords.length - 1));
     }
+    return sum;
   }
+
+  record Coord(int i, int j) {}
 }
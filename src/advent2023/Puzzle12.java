@@ -1,104 +1,126 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Arrays.stream;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.min;
 
-import com.google.common.collect.ImmutableList;
-import java.io.InputStream;
+import adventlib.Metrics;
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle12 {
+public class Puzzle12 implements Puzzle<List<Puzzle12.Row>> {
   /*
-   * Straightforward recursive solution. The only wrinkle is that Part 2 requires memoization to be
-   * tractable.
+   * My first solution was a recursion on the remaining part of the line and the remaining spans,
+   * which needed memoization to be tractable in Part 2. This is the dynamic programming solution
+   * that I said would have been more elegant. It takes time proportional to the length of the line
+   * times the number of spans, so unfolding more than 5 times would still be fast.
    */
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle12.class.getResourceAsStream("puzzle12.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      long total = 0;
-      long bigTotal = 0;
-      for (String line : lines) {
-        String[] parts = line.split("\\s+");
-        assert parts.length == 2;
+    PuzzleRunner.run(new Puzzle12());
+  }
 
-        // Part 1 of the puzzle.
-        String springs = parts[0];
-        List<Integer> spans = stream(parts[1].split(",")).map(Integer::parseInt).toList();
-        total += combinations(springs, spans);
+  @Override
+  public List<Row> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Row::parse).toList();
+  }
 
-        // Part 2 of the puzzle.
-        String bigSprings = String.join("?", Collections.nCopies(5, springs));
-        List<Integer> bigSpans =
-            Collections.nCopies(5, spans).stream().flatMap(List::stream).toList();
-        System.out.println("Trying " + bigSprings + " with " + bigSpans);
-        bigTotal += combinations(bigSprings, bigSpans);
-      }
-      System.out.println("Combinations " + total);
-      System.out.println("Big combinations " + bigTotal);
-      // Cache is a bit clunky. Dynamic programming would have been more elegant.
-    }
+  @Override
+  public Long part1(List<Row> rows) {
+    return rows.parallelStream().mapToLong(Row::arrangements).sum();
   }
 
-  private static final List<Integer> ZERO_LIST = ImmutableList.of(0);
+  @Override
+  public Long part2(List<Row> rows) {
+    return rows.parallelStream().mapToLong(row -> row.unfold(5).arrangements()).sum();
+  }
 
-  record State(String line, List<Integer> spans, boolean inSpan) {}
+  private static final Metrics.Counter TABLE_CELLS = Metrics.counter("2023.12.tableCells");
 
-  private static long combinations(String line, List<Integer> spans) {
-    return combinations(line, spans, false, new HashMap<>());
-  }
+  private static final ThreadLocal<ArrangementCounter> COUNTERS =
+      ThreadLocal.withInitial(ArrangementCounter::new);
 
-  private static long combinations(
-      String line, List<Integer> spans, boolean inSpan, Map<State, Long> cache) {
-    State state = new State(line, spans, inSpan);
-    Long cached = cache.get(state);
-    if (cached != null) {
-      return cached;
+  /** A line of the input, with {@code ?} for springs of unknown condition. */
+  record Row(String springs, int[] spans) {
+    static Row parse(String line) {
+      String[] parts = line.split("\\s+");
+      checkArgument(parts.length == 2, line);
+      return new Row(parts[0], NumberScanner.ints(parts[1]));
     }
-    Long count = combinationsUncached(line, spans, inSpan, cache);
-    cache.put(state, count);
-    return count;
-  }
 
-  private static long combinationsUncached(
-      String line, List<Integer> spans, boolean inSpan, Map<State, Long> cache) {
-    if (line.isEmpty()) {
-      boolean success = inSpan ? spans.equals(ZERO_LIST) : spans.isEmpty();
-      return success ? 1 : 0;
+    Row unfold(int factor) {
+      int[] bigSpans = new int[spans.length * factor];
+      for (int i = 0; i < factor; i++) {
+        System.arraycopy(spans, 0, bigSpans, i * spans.length, spans.length);
+      }
+      return new Row(String.join("?", Collections.nCopies(factor, springs)), bigSpans);
     }
-    switch (line.charAt(0)) {
-      case '#' -> {
-        if (spans.isEmpty() || (inSpan && spans.getFirst() == 0)) {
-          return 0;
-        }
-        List<Integer> newSpans =
-            ImmutableList.<Integer>builder()
-                .add(spans.get(0) - 1)
-                .addAll(spans.subList(1, spans.size()))
-                .build();
-        return combinations(line.substring(1), newSpans, true, cache);
+
+    long arrangements() {
+      return COUNTERS.get().count(springs, spans);
+    }
+  }
+
+  /**
+   * Counts the ways that the damaged springs can be arranged to match the spans. Conceptually there
+   * is a table where row {@code j} says, for each position {@code i} in the line, how many ways
+   * spans {@code j} onwards can be placed in the line from {@code i} onwards. Row {@code j} only
+   * depends on row {@code j + 1}, so just two rows are kept. They are reused from one line to the
+   * next, so once they are big enough counting allocates nothing.
+   */
+  static final class ArrangementCounter {
+    private long[] row = new long[0];
+    private long[] nextRow = new long[0];
+    private int[] dotsBefore = new int[0];
+
+    long count(CharSequence line, int[] spans) {
+      int n = line.length();
+      if (row.length < n + 1) {
+        row = new long[n + 1];
+        nextRow = new long[n + 1];
+        dotsBefore = new int[n + 1];
+      }
+      // dotsBefore[i] is the number of known operational springs before position i, so a span
+      // can go from i to end if dotsBefore[end] == dotsBefore[i].
+      for (int i = 0; i < n; i++) {
+        dotsBefore[i + 1] = dotsBefore[i] + (line.charAt(i) == '.' ? 1 : 0);
       }
-      case '.' -> {
-        if (inSpan) {
-          if (spans.getFirst() != 0) {
-            return 0;
+      // After the last span, there is one way to finish if there are no more damaged springs.
+      nextRow[n] = 1;
+      for (int i = n - 1; i >= 0; i--) {
+        nextRow[i] = (line.charAt(i) == '#') ? 0 : nextRow[i + 1];
+      }
+      for (int j = spans.length - 1; j >= 0; j--) {
+        int len = spans[j];
+        row[n] = 0;
+        for (int i = n - 1; i >= 0; i--) {
+          // Either the spring at i is operational and the span starts later...
+          long ways = (line.charAt(i) == '#') ? 0 : row[i + 1];
+          // ...or the span starts at i, and is followed by an operational spring or the end.
+          int end = i + len;
+          if (end <= n
+              && dotsBefore[end] == dotsBefore[i]
+              && (end == n || line.charAt(end) != '#')) {
+            // This can overflow for cells that don't contribute to the final count, such as
+            // where many unknown springs are left for few spans. Cells that do contribute are no
+            // bigger than the final count, so overflow elsewhere doesn't affect it.
+            ways += nextRow[min(end + 1, n)];
           }
-          return combinations(line.substring(1), spans.subList(1, spans.size()), false, cache);
-        } else {
-          return combinations(line.substring(1), spans, false, cache);
+          row[i] = ways;
         }
+        long[] t = row;
+        row = nextRow;
+        nextRow = t;
       }
-      case '?' -> {
-        return combinations('#' + line.substring(1), spans, inSpan, cache)
-            + combinations('.' + line.substring(1), spans, inSpan, cache);
-      }
-      default -> throw new AssertionError(line.charAt(0));
+      TABLE_CELLS.add((long) n * spans.length);
+      return nextRow[0];
     }
   }
 }
@@ -1,49 +1,56 @@
 package advent2023;
 
 import static java.lang.Integer.min;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.stream;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle13 {
+public class Puzzle13 implements Puzzle<List<List<String>>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle13.class.getResourceAsStream("puzzle13.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
+    PuzzleRunner.run(new Puzzle13());
+  }
 
-      // Parsing
-      List<List<String>> maps = new ArrayList<>();
-      List<String> soFar = new ArrayList<>();
-      for (String line : lines) {
-        if (line.isEmpty()) {
-          maps.add(soFar);
-          soFar = new ArrayList<>();
-        } else {
-          soFar.add(line);
-        }
+  @Override
+  public List<List<String>> parse(Reader r) throws IOException {
+    List<List<String>> maps = new ArrayList<>();
+    List<String> soFar = new ArrayList<>();
+    for (String line : CharStreams.readLines(r)) {
+      if (line.isEmpty()) {
+        maps.add(soFar);
+        soFar = new ArrayList<>();
+      } else {
+        soFar.add(line);
       }
-      maps.add(soFar);
+    }
+    maps.add(soFar);
+    return maps;
+  }
 
-      // Part 1
-      long total = 0;
-      for (List<String> map : maps) {
-        total += score(map, 0);
-      }
-      System.out.println("Total " + total);
+  @Override
+  public Long part1(List<List<String>> maps) {
+    long total = 0;
+    for (List<String> map : maps) {
+      total += score(map, 0);
+    }
+    return total;
+  }
 
-      // Part 2
-      long smudgeTotal = 0;
-      for (List<String> map : maps) {
-        smudgeTotal += smudgeScore(map);
-      }
-      System.out.println("Smudge total " + smudgeTotal);
+  @Override
+  public Long part2(List<List<String>> maps) {
+    long smudgeTotal = 0;
+    for (List<String> map : maps) {
+      smudgeTotal += smudgeScore(map);
     }
+    return smudgeTotal;
   }
 
   private static long smudgeScore(List<String> map) {
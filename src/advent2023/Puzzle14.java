@@ -1,204 +1,253 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.Cycle;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle14 {
+public class Puzzle14 implements Puzzle<List<String>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle14.class.getResourceAsStream("puzzle14.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      char[][] chars = new char[lines.size()][];
-      for (int i = 0; i < lines.size(); i++) {
-        chars[i] = lines.get(i).toCharArray();
-      }
+    PuzzleRunner.run(new Puzzle14());
+  }
 
-      // Part 1
-      tiltNorth(chars);
-      System.out.println("Load " + load(chars));
-
-      // Part 2
-      // The assumption here is that there is a cycle, such that the state repeats, possibly
-      // after an initial sequence of states that don't repeat. So we just need to find the length
-      // of that initial sequence and the length of the cycle, and be a bit careful about the exact
-      // calculation.
-      Set<CharWrapper> seen = new LinkedHashSet<>();
-      CharWrapper seenWrapper;
-      while (true) {
-        cycle(chars);
-        CharWrapper wrapper = CharWrapper.copyOf(chars);
-        if (!seen.add(wrapper)) {
-          seenWrapper = wrapper;
-          break;
-        }
-      }
-      List<CharWrapper> seenList = new ArrayList<>(seen);
-      int cycleStart = seenList.indexOf(seenWrapper);
-      // For the small case, we see this:
-      // 1  2  3  4  5  6  7  8  9
-      //      10 11 12 13 14 15 16
-      //      17 18 19 20 21 22 23
-      // seen.size() is 9 and cycleStart is 2. So the zero-origin index of the ith iteration is
-      // 2 + (i - 2 - 1) % 7. For example, for the 11th it is 2 + 1. In general it is
-      // cycleStart + (i - cycleStart - 1) % (seen.size() - cycleStart).
-      System.out.println("Cycle after " + seen.size() + " iterations, starting at " + cycleStart);
-      int billionI = cycleStart + (1_000_000_000 - cycleStart - 1) % (seen.size() - cycleStart);
-      System.out.println(
-          "Load for billionth same as for i="
-              + billionI
-              + " = "
-              + load(seenList.get(billionI).chars));
-    }
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
   }
 
-  static class CharWrapper {
-    private final char[][] chars;
-    private int hashCode;
+  @Override
+  public Long part1(List<String> lines) {
+    Platform platform = new Platform(lines);
+    platform.tiltNorth();
+    return platform.load();
+  }
 
-    private CharWrapper(char[][] chars) {
-      this.chars = chars;
-    }
+  // The assumption here is that there is a cycle, such that the state repeats, possibly after an
+  // initial sequence of states that don't repeat. The load is a function of the state, so the load
+  // after a billion spin cycles is the load after the equivalent number within the first trip
+  // around the cycle. The platform keeps a Zobrist hash of where the rocks are, which makes a good
+  // fingerprint for finding the cycle.
+  @Override
+  public Long part2(List<String> lines) {
+    Cycle<Platform> cycle = Cycle.fingerprint(() -> new Platform(lines), Snapshot::hash);
+    return cycle.valueAt(1_000_000_000, Platform::load);
+  }
 
-    static CharWrapper copyOf(char[][] chars) {
-      char[][] copy = new char[chars.length][];
-      for (int i = 0; i < chars.length; i++) {
-        copy[i] = chars[i].clone();
-      }
-      return new CharWrapper(copy);
+  /** Where the rocks are after some number of spin cycles, and the Zobrist hash of that. */
+  record Snapshot(long hash, long[] rocks) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Snapshot that
+          && this.hash == that.hash
+          && Arrays.equals(this.rocks, that.rocks);
     }
 
     @Override
-    public boolean equals(Object o) {
-      if (o instanceof CharWrapper that) {
-        if (this.chars.length != that.chars.length) {
-          return false;
-        }
-        for (int i = 0; i < chars.length; i++) {
-          if (!Arrays.equals(this.chars[i], that.chars[i])) {
-            return false;
+    public int hashCode() {
+      return Long.hashCode(hash);
+    }
+  }
+
+  /**
+   * The platform, as bitboards of rounded rocks and cube-shaped rocks. Each row is {@code words}
+   * consecutive {@code long}s, with column {@code c} in bit {@code c % 64} of word {@code c / 64},
+   * so the rocks in 64 columns move north or south together with a few bitwise operations. Moving
+   * west or east, the rocks between two cube-shaped rocks just need to be counted and packed at one
+   * end, and the cube-shaped rocks never move, so those segments of each row are computed once.
+   *
+   * <p>The Zobrist hash is the XOR of a random number for each cell that has a rounded rock. It is
+   * updated as rocks move, so it costs nothing extra to know it after each spin cycle.
+   */
+  static final class Platform implements Cycle.Stepper<Snapshot> {
+    private final int height;
+    private final int width;
+    private final int words;
+    private final long[] walls;
+    private final long[] rocks;
+    // For each row, the start and end columns of each run of cells between cube-shaped rocks.
+    private final int[][] segments;
+    private final long[] zobrist;
+    private long hash;
+
+    Platform(List<String> lines) {
+      height = lines.size();
+      width = lines.get(0).length();
+      words = (width + 63) >>> 6;
+      walls = new long[height * words];
+      rocks = new long[height * words];
+      segments = new int[height][];
+      zobrist = new SplittableRandom(2023_14).longs((long) height * width).toArray();
+      for (int r = 0; r < height; r++) {
+        String line = lines.get(r);
+        checkArgument(line.length() == width, "Ragged line %s", line);
+        List<Integer> bounds = new ArrayList<>();
+        int start = 0;
+        for (int c = 0; c < width; c++) {
+          switch (line.charAt(c)) {
+            case 'O' -> {
+              rocks[r * words + (c >>> 6)] |= 1L << c;
+              hash ^= zobrist[r * width + c];
+            }
+            case '#' -> {
+              walls[r * words + (c >>> 6)] |= 1L << c;
+              if (c > start) {
+                bounds.add(start);
+                bounds.add(c);
+              }
+              start = c + 1;
+            }
+            case '.' -> {}
+            default -> throw new IllegalArgumentException("Bad line " + line);
           }
         }
-        return true;
+        if (width > start) {
+          bounds.add(start);
+          bounds.add(width);
+        }
+        segments[r] = bounds.stream().mapToInt(Integer::intValue).toArray();
       }
-      return false;
     }
 
     @Override
-    public int hashCode() {
-      if (hashCode == 0) {
-        hashCode = Arrays.deepHashCode(new Object[] {chars});
-      }
-      return hashCode;
+    public Snapshot key() {
+      return new Snapshot(hash, rocks.clone());
     }
 
     @Override
-    public String toString() {
-      List<String> strings = new ArrayList<>();
-      for (char[] line : chars) {
-        strings.add(new String(line));
+    public void step() {
+      tiltNorth();
+      tiltWest();
+      tiltSouth();
+      tiltEast();
+    }
+
+    long load() {
+      long load = 0;
+      for (int r = 0; r < height; r++) {
+        for (int w = 0; w < words; w++) {
+          load += (long) (height - r) * Long.bitCount(rocks[r * words + w]);
+        }
       }
-      return String.join("\n", strings);
+      return load;
     }
-  }
 
-  private static void show(char[][] chars) {
-    for (char[] line : chars) {
-      System.out.println(new String(line));
+    void tiltNorth() {
+      // Rows nearer the north edge have already settled when each row slides.
+      for (int r = 1; r < height; r++) {
+        for (int w = 0; w < words; w++) {
+          slide(r, w, -1);
+        }
+      }
     }
-  }
 
-  private static long load(char[][] chars) {
-    long load = 0;
-    for (int i = 1; i <= chars.length; i++) {
-      char[] line = chars[chars.length - i];
-      for (int j = 0; j < line.length; j++) {
-        if (line[j] == 'O') {
-          load += i;
+    void tiltSouth() {
+      for (int r = height - 2; r >= 0; r--) {
+        for (int w = 0; w < words; w++) {
+          slide(r, w, +1);
         }
       }
     }
-    return load;
-  }
 
-  private static void cycle(char[][] chars) {
-    tiltNorth(chars);
-    tiltWest(chars);
-    tiltSouth(chars);
-    tiltEast(chars);
-  }
+    void tiltWest() {
+      pack(true);
+    }
 
-  // Could probably have unified these four methods into a single one but I was lazy.
-
-  private static void tiltNorth(char[][] chars) {
-    boolean changed = true;
-    while (changed) {
-      changed = false;
-      for (int i = 1; i < chars.length; i++) {
-        for (int j = 0; j < chars[i].length; j++) {
-          if (chars[i][j] == 'O' && chars[i - 1][j] == '.') {
-            changed = true;
-            chars[i - 1][j] = 'O';
-            chars[i][j] = '.';
-          }
+    void tiltEast() {
+      pack(false);
+    }
+
+    // Slides the rocks in word w of row r towards row r + delta, one row at a time, leaving each
+    // rock in the last row before something blocks it.
+    private void slide(int r, int w, int delta) {
+      long moving = rocks[r * words + w];
+      int row = r;
+      while (moving != 0) {
+        int next = row + delta;
+        long free = 0;
+        if (next >= 0 && next < height) {
+          int i = next * words + w;
+          free = ~(rocks[i] | walls[i]);
+        }
+        long stopped = moving & ~free;
+        if (stopped != 0 && row != r) {
+          move(stopped, r, row, w);
         }
+        moving &= free;
+        row = next;
       }
     }
-  }
 
-  private static void tiltWest(char[][] chars) {
-    boolean changed = true;
-    while (changed) {
-      changed = false;
-      for (int i = 0; i < chars.length; i++) {
-        for (int j = 1; j < chars[i].length; j++) {
-          if (chars[i][j] == 'O' && chars[i][j - 1] == '.') {
-            changed = true;
-            chars[i][j - 1] = 'O';
-            chars[i][j] = '.';
-          }
-        }
+    private void move(long bits, int fromRow, int toRow, int w) {
+      rocks[fromRow * words + w] &= ~bits;
+      rocks[toRow * words + w] |= bits;
+      for (long b = bits; b != 0; b &= b - 1) {
+        int c = (w << 6) + Long.numberOfTrailingZeros(b);
+        hash ^= zobrist[fromRow * width + c] ^ zobrist[toRow * width + c];
       }
     }
-  }
 
-  private static void tiltSouth(char[][] chars) {
-    boolean changed = true;
-    while (changed) {
-      changed = false;
-      for (int i = 0; i < chars.length - 1; i++) {
-        for (int j = 0; j < chars[i].length; j++) {
-          if (chars[i][j] == 'O' && chars[i + 1][j] == '.') {
-            changed = true;
-            chars[i + 1][j] = 'O';
-            chars[i][j] = '.';
+    // Moves the rocks in each segment of each row to the west end of the segment, or the east end.
+    private void pack(boolean west) {
+      for (int r = 0; r < height; r++) {
+        int[] bounds = segments[r];
+        for (int s = 0; s < bounds.length; s += 2) {
+          int start = bounds[s];
+          int end = bounds[s + 1];
+          int firstWord = start >>> 6;
+          int lastWord = (end - 1) >>> 6;
+          int count = 0;
+          for (int w = firstWord; w <= lastWord; w++) {
+            count += Long.bitCount(rocks[r * words + w] & rangeMask(w, start, end));
+          }
+          int from = west ? start : end - count;
+          for (int w = firstWord; w <= lastWord; w++) {
+            int i = r * words + w;
+            long segment = rangeMask(w, start, end);
+            long packed = rangeMask(w, from, from + count);
+            long changed = (rocks[i] & segment) ^ packed;
+            rocks[i] ^= changed;
+            for (long b = changed; b != 0; b &= b - 1) {
+              hash ^= zobrist[r * width + (w << 6) + Long.numberOfTrailingZeros(b)];
+            }
           }
         }
       }
     }
-  }
 
-  private static void tiltEast(char[][] chars) {
-    boolean changed = true;
-    while (changed) {
-      changed = false;
-      for (int i = 0; i < chars.length; i++) {
-        for (int j = 0; j < chars[i].length - 1; j++) {
-          if (chars[i][j] == 'O' && chars[i][j + 1] == '.') {
-            changed = true;
-            chars[i][j + 1] = 'O';
-            chars[i][j] = '.';
-          }
+    // The bits of word w that are for columns from (inclusive) to (exclusive).
+    private static long rangeMask(int w, int from, int to) {
+      int lo = Math.max(from - (w << 6), 0);
+      int hi = Math.min(to - (w << 6), 64);
+      if (lo >= hi) {
+        return 0;
+      }
+      long below = (hi == 64) ? -1L : (1L << hi) - 1;
+      return below & (-1L << lo);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      for (int r = 0; r < height; r++) {
+        for (int c = 0; c < width; c++) {
+          int i = r * words + (c >>> 6);
+          long bit = 1L << c;
+          sb.append(((rocks[i] & bit) != 0) ? 'O' : ((walls[i] & bit) != 0) ? '#' : '.');
         }
+        sb.append('\n');
       }
+      return sb.toString();
     }
   }
 }
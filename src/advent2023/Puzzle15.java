@@ -1,65 +1,74 @@
 package advent2023;
 
 import static java.lang.Integer.max;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle15 {
+public class Puzzle15 implements Puzzle<List<String>> {
   /*
    * Nothing complicated here. Basically just translating the problem text into code.
    */
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle15.class.getResourceAsStream("puzzle15.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8).trim();
-      List<String> entries = List.of(lineString.split(","));
+    PuzzleRunner.run(new Puzzle15());
+  }
 
-      // Part 1
-      int sum = 0;
-      for (String s : entries) {
-        sum += hash(s);
-      }
-      System.out.println("Sum " + sum);
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return List.of(CharStreams.toString(r).trim().split(","));
+  }
 
-      // Part 2
-      List<List<Lens>> boxes = new ArrayList<>();
-      for (int i = 0; i < 256; i++) {
-        boxes.add(new ArrayList<>());
-      }
-      for (String entry : entries) {
-        int eq = entry.indexOf('=');
-        int minus = entry.indexOf('-');
-        assert (eq > 0) != (minus > 0);
-        String label = entry.substring(0, max(eq, minus));
-        int boxNumber = hash(label);
-        List<Lens> lenses = boxes.get(boxNumber);
-        int index = indexOf(lenses, label);
-        if (eq > 0) {
-          int n = Integer.parseInt(entry.substring(eq + 1));
-          Lens newLens = new Lens(label, n);
-          if (index >= 0) {
-            lenses.set(index, newLens);
-          } else {
-            lenses.add(newLens);
-          }
-        } else if (index >= 0) {
-          lenses.remove(index);
+  @Override
+  public Integer part1(List<String> entries) {
+    int sum = 0;
+    for (String s : entries) {
+      sum += hash(s);
+    }
+    return sum;
+  }
+
+  @Override
+  public Integer part2(List<String> entries) {
+    List<List<Lens>> boxes = new ArrayList<>();
+    for (int i = 0; i < 256; i++) {
+      boxes.add(new ArrayList<>());
+    }
+    for (String entry : entries) {
+      int eq = entry.indexOf('=');
+      int minus = entry.indexOf('-');
+      assert (eq > 0) != (minus > 0);
+      String label = entry.substring(0, max(eq, minus));
+      int boxNumber = hash(label);
+      List<Lens> lenses = boxes.get(boxNumber);
+      int index = indexOf(lenses, label);
+      if (eq > 0) {
+        int n = Integer.parseInt(entry.substring(eq + 1));
+        Lens newLens = new Lens(label, n);
+        if (index >= 0) {
+          lenses.set(index, newLens);
+        } else {
+          lenses.add(newLens);
         }
+      } else if (index >= 0) {
+        lenses.remove(index);
       }
-      int power = 0;
-      for (int i = 0; i < boxes.size(); i++) {
-        List<Lens> lenses = boxes.get(i);
-        for (int j = 0; j < lenses.size(); j++) {
-          power += (i + 1) * (j + 1) * lenses.get(j).n();
-        }
+    }
+    int power = 0;
+    for (int i = 0; i < boxes.size(); i++) {
+      List<Lens> lenses = boxes.get(i);
+      for (int j = 0; j < lenses.size(); j++) {
+        power += (i + 1) * (j + 1) * lenses.get(j).n();
       }
-      System.out.println("Power: " + power);
     }
+    return power;
   }
 
   private static int indexOf(List<Lens> lenses, String label) {
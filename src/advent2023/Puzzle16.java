@@ -1,155 +1,236 @@
 package advent2023;
 
-import static java.lang.Integer.max;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.stream.Collectors.toCollection;
-
-import java.io.InputStream;
-import java.util.ArrayDeque;
-import java.util.Comparator;
-import java.util.Deque;
-import java.util.HashSet;
+import adventlib.CellMask;
+import adventlib.CharGrid;
+import adventlib.CompactGraph;
+import adventlib.Dir;
+import adventlib.GraphAlgorithms;
+import adventlib.MappedInput;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import com.google.common.primitives.ImmutableIntArray;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle16 {
+public class Puzzle16 implements Puzzle<Puzzle16.BeamGraph> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle16.class.getResourceAsStream("puzzle16.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      int tiles = solve(new Beam(0, 0, Dir.RIGHT), lines);
-      System.out.println("Total " + tiles);
+    PuzzleRunner.run(new Puzzle16());
+  }
 
-      int best = -1;
-      for (int x = 0; x < lines.get(0).length(); x++) {
-        int t1 = solve(new Beam(x, 0, Dir.DOWN), lines);
-        best = max(best, t1);
-        int t2 = solve(new Beam(x, lines.size() - 1, Dir.UP), lines);
-        best = max(best, t2);
-      }
-      for (int y = 0; y < lines.size(); y++) {
-        int t1 = solve(new Beam(0, y, Dir.RIGHT), lines);
-        best = max(best, t1);
-        int t2 = solve(new Beam(lines.get(0).length() - 1, y, Dir.LEFT), lines);
-        best = max(best, t2);
-      }
-      System.out.println("Best total " + best);
-    }
+  @Override
+  public BeamGraph parse(Reader r) throws IOException {
+    return new BeamGraph(new CharGrid(CharStreams.readLines(r)));
   }
 
-  // A BFS to determine all the positions the given start beam can reach.
-  // A recursive DFS would also have been possible, and perhaps simpler.
-  private static int solve(Beam startBeam, List<String> lines) {
-    Set<Beam> beams = new HashSet<>();
-    Deque<Beam> queue = new ArrayDeque<>();
-    queue.add(startBeam);
-    while (!queue.isEmpty()) {
-      Beam beam = queue.remove();
-      if (!beams.add(beam)) {
-        continue;
-      }
-      queue.addAll(advance(beam, lines));
-    }
-    Set<Coord> tiles =
-        beams.stream().map(b -> new Coord(b.x, b.y)).collect(toCollection(TreeSet::new));
+  @Override
+  public BeamGraph parse(String inputName, MappedInput input) {
+    return new BeamGraph(input.toCharGrid());
+  }
 
-    return tiles.size();
+  @Override
+  public Integer part1(BeamGraph beamGraph) {
+    return beamGraph.energized(0, Dir.E);
+  }
+
+  @Override
+  public Integer part2(BeamGraph beamGraph) {
+    return beamGraph.bestEnergized();
   }
 
   /**
-   * Given an incoming beam position, advances by one position. This may result in beam splitting,
-   * hence the list return type.
+   * The paths that beams take through the contraption, worked out once so that a beam can be
+   * launched from every edge cell cheaply. A beam's path is determined by where it starts until it
+   * hits the flat side of a splitter, and the two beams that come out of the splitter are the same
+   * whichever side it hit. So each splitter is a node of a graph. The successors of a node are the
+   * splitters that its two beams hit next, and its segment is the cells that they energize on the
+   * way. A beam that reaches a splitter energizes the union of the segments of every node that is
+   * reachable from it. All the nodes in a strongly connected component reach the same nodes, so the
+   * graph is contracted to its components, each with the cells of all its segments as a list. Each
+   * beam then visits the components it reaches and marks their cells in its own mask, which is the
+   * only mask the size of the grid.
    */
-  private static List<Beam> advance(Beam beam, List<String> lines) {
-    char c = lines.get(beam.y).charAt(beam.x);
-    List<Beam> beams =
-        switch (c) {
-          case '.' -> List.of(beam.advance());
-          case '-' -> {
-            if (beam.dir == Dir.LEFT || beam.dir == Dir.RIGHT) {
-              yield List.of(beam.advance());
-            } else {
-              yield List.of(beam.moveLeft(), beam.moveRight());
+  static final class BeamGraph {
+    private final CharGrid grid;
+    // For each cell, the number of the node for the splitter there, or -1.
+    private final int[] nodeAt;
+    // For each node, the number of its strongly connected component.
+    private final int[] component;
+    // For each component, the cells in the segments of its nodes, each listed once.
+    private final int[][] componentCells;
+    // For each component, the other components that the beams from its nodes hit next.
+    private final int[][] componentSuccessors;
+
+    BeamGraph(CharGrid grid) {
+      this.grid = grid;
+      this.nodeAt = new int[grid.size()];
+      Arrays.fill(nodeAt, -1);
+      int[] splitters =
+          IntStream.range(0, grid.size())
+              .filter(i -> grid.get(i) == '|' || grid.get(i) == '-')
+              .toArray();
+      for (int node = 0; node < splitters.length; node++) {
+        nodeAt[splitters[node]] = node;
+      }
+      // lastAdded[cell] is the node or component whose list most recently got the cell, so that a
+      // list does not get it twice.
+      int[] lastAdded = new int[grid.size()];
+      Arrays.fill(lastAdded, -1);
+      int[][] successors = new int[splitters.length][];
+      int[][] segments = new int[splitters.length][];
+      for (int node = 0; node < splitters.length; node++) {
+        int cell = splitters[node];
+        int id = node;
+        ImmutableIntArray.Builder segment = ImmutableIntArray.builder();
+        IntConsumer visit =
+            c -> {
+              if (lastAdded[c] != id) {
+                lastAdded[c] = id;
+                segment.add(c);
+              }
+            };
+        visit.accept(cell);
+        List<Dir> outs = (grid.get(cell) == '|') ? List.of(Dir.N, Dir.S) : List.of(Dir.W, Dir.E);
+        successors[node] =
+            outs.stream()
+                .mapToInt(dir -> walk(grid.move(cell, dir), dir, visit))
+                .filter(succ -> succ >= 0)
+                .distinct()
+                .toArray();
+        segments[node] = segment.build().toArray();
+      }
+
+      // Visiting the nodes in order of component means that each component's nodes are together,
+      // so lastAdded can tell whether a cell is already in the component's list.
+      this.component =
+          GraphAlgorithms.stronglyConnectedComponents(CompactGraph.of(successors, null));
+      int componentCount = Arrays.stream(component).max().orElse(-1) + 1;
+      int[] byComponent =
+          IntStream.range(0, splitters.length)
+              .boxed()
+              .sorted((a, b) -> Integer.compare(component[a], component[b]))
+              .mapToInt(Integer::intValue)
+              .toArray();
+      Arrays.fill(lastAdded, -1);
+      this.componentCells = new int[componentCount][];
+      this.componentSuccessors = new int[componentCount][];
+      for (int i = 0; i < byComponent.length; ) {
+        int comp = component[byComponent[i]];
+        ImmutableIntArray.Builder cells = ImmutableIntArray.builder();
+        IntStream.Builder succs = IntStream.builder();
+        for (; i < byComponent.length && component[byComponent[i]] == comp; i++) {
+          int node = byComponent[i];
+          for (int cell : segments[node]) {
+            if (lastAdded[cell] != comp) {
+              lastAdded[cell] = comp;
+              cells.add(cell);
             }
           }
-          case '|' -> {
-            if (beam.dir == Dir.UP || beam.dir == Dir.DOWN) {
-              yield List.of(beam.advance());
-            } else {
-              yield List.of(beam.moveUp(), beam.moveDown());
+          for (int succ : successors[node]) {
+            if (component[succ] != comp) {
+              succs.add(component[succ]);
             }
           }
-          case '/' ->
-              List.of(
-                  switch (beam.dir) {
-                    case LEFT -> beam.moveDown();
-                    case RIGHT -> beam.moveUp();
-                    case UP -> beam.moveRight();
-                    case DOWN -> beam.moveLeft();
-                  });
-          case '\\' ->
-              List.of(
-                  switch (beam.dir) {
-                    case LEFT -> beam.moveUp();
-                    case RIGHT -> beam.moveDown();
-                    case UP -> beam.moveLeft();
-                    case DOWN -> beam.moveRight();
-                  });
-          default -> throw new AssertionError(c);
-        };
-    return beams.stream()
-        .filter(b -> b.x >= 0 && b.x < lines.get(0).length() && b.y >= 0 && b.y < lines.size())
-        .toList();
-  }
-
-  record Beam(int x, int y, Dir dir) {
-    Beam advance() {
-      return new Beam(x + dir.deltaX, y + dir.deltaY, dir);
-    }
-
-    Beam moveUp() {
-      return new Beam(x, y - 1, Dir.UP);
-    }
-
-    Beam moveDown() {
-      return new Beam(x, y + 1, Dir.DOWN);
-    }
-
-    Beam moveLeft() {
-      return new Beam(x - 1, y, Dir.LEFT);
+        }
+        componentCells[comp] = cells.build().toArray();
+        componentSuccessors[comp] = succs.build().distinct().toArray();
+      }
     }
 
-    Beam moveRight() {
-      return new Beam(x + 1, y, Dir.RIGHT);
+    /** Returns the number of cells energized by a beam that enters the given cell going in dir. */
+    int energized(int cell, Dir dir) {
+      CellMask energized = grid.newCellMask();
+      int node = walk(cell, dir, energized::add);
+      if (node >= 0) {
+        // Each component is pushed at most once, when it is first seen.
+        boolean[] seen = new boolean[componentCells.length];
+        int[] stack = new int[componentCells.length];
+        int top = 0;
+        stack[top++] = component[node];
+        seen[component[node]] = true;
+        while (top > 0) {
+          int comp = stack[--top];
+          for (int c : componentCells[comp]) {
+            energized.add(c);
+          }
+          for (int succ : componentSuccessors[comp]) {
+            if (!seen[succ]) {
+              seen[succ] = true;
+              stack[top++] = succ;
+            }
+          }
+        }
+      }
+      return energized.cardinality();
     }
-  }
-
-  record Coord(int x, int y) implements Comparable<Coord> {
-    private static final Comparator<Coord> COMPARATOR =
-        Comparator.comparing(Coord::y).thenComparing(Coord::x);
 
-    @Override
-    public int compareTo(Coord that) {
-      return COMPARATOR.compare(this, that);
+    /** Returns the most cells energized by a beam entering from any edge cell. */
+    int bestEnergized() {
+      int height = grid.height();
+      int width = grid.width();
+      // Launch i goes south from the top row if i < width, then north from the bottom row, then
+      // east from the left column, then west from the right column.
+      return IntStream.range(0, 2 * (width + height))
+          .parallel()
+          .map(
+              i -> {
+                if (i < width) {
+                  return energized(grid.index(0, i), Dir.S);
+                } else if (i < 2 * width) {
+                  return energized(grid.index(height - 1, i - width), Dir.N);
+                } else if (i < 2 * width + height) {
+                  return energized(grid.index(i - 2 * width, 0), Dir.E);
+                } else {
+                  return energized(grid.index(i - 2 * width - height, width - 1), Dir.W);
+                }
+              })
+          .max()
+          .orElseThrow();
     }
-  }
-
-  enum Dir {
-    LEFT(-1, 0),
-    RIGHT(+1, 0),
-    UP(0, -1),
-    DOWN(0, +1);
 
-    final int deltaX;
-    final int deltaY;
-
-    private Dir(int deltaX, int deltaY) {
-      this.deltaX = deltaX;
-      this.deltaY = deltaY;
+    // Follows a beam that enters the given cell going in dir, calling visit with each cell that it
+    // passes through. Returns the node for the splitter where the beam hits a flat side, or
+    // -1 if it leaves the grid first. Until then the path is determined by where it starts, so if
+    // it has done neither after as many steps as there are (cell, direction) pairs, it is going
+    // round a loop of mirrors whose cells have all been visited already.
+    private int walk(int cell, Dir dir, IntConsumer visit) {
+      for (int steps = 0; cell >= 0 && steps < 4 * grid.size(); steps++) {
+        visit.accept(cell);
+        char c = grid.get(cell);
+        boolean horizontal = dir == Dir.W || dir == Dir.E;
+        if ((c == '|' && horizontal) || (c == '-' && !horizontal)) {
+          return nodeAt[cell];
+        }
+        dir =
+            switch (c) {
+              case '/' ->
+                  switch (dir) {
+                    case E -> Dir.N;
+                    case W -> Dir.S;
+                    case N -> Dir.E;
+                    case S -> Dir.W;
+                    default -> throw new AssertionError(dir);
+                  };
+              case '\\' ->
+                  switch (dir) {
+                    case E -> Dir.S;
+                    case W -> Dir.N;
+                    case N -> Dir.W;
+                    case S -> Dir.E;
+                    default -> throw new AssertionError(dir);
+                  };
+              default -> dir;
+            };
+        cell = grid.move(cell, dir);
+      }
+      return -1;
     }
   }
 }
@@ -1,157 +1,113 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
-import java.util.Comparator;
-import java.util.HashSet;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.GraphAlgorithms;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Set;
 
 /*
  * I gave up after doing this wrong and running out of energy. The solution here is based on
  * https://advent-of-code.xavd.id/writeups/2023/day/17/
  */
-public class Puzzle17 {
+public class Puzzle17 implements Puzzle<Puzzle17.HeatLossMap> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle17.class.getResourceAsStream("puzzle17.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      Cell[][] cells = parseCellLines(lines);
-      var puzzle = new Puzzle17(cells, cells.length, cells[0].length);
-      puzzle.solve(0, 3);
-      puzzle.solve(4, 10);
-    }
-  }
-
-  private final Cell[][] cells;
-  private final int maxI;
-  private final int maxJ;
-
-  Puzzle17(Cell[][] cells, int maxI, int maxJ) {
-    this.cells = cells;
-    this.maxI = maxI;
-    this.maxJ = maxJ;
-  }
-
-  void solve(int minSteps, int maxSteps) {
-    PriorityQueue<State> queue = new PriorityQueue<>();
-    queue.add(new State(0, new Position(0, 0, Dir.RIGHT), 0));
-    queue.add(new State(0, new Position(0, 0, Dir.DOWN), 0));
-    Set<PositionAndSteps> seen = new HashSet<>();
-    while (true) {
-      State state = queue.remove();
-      Position pos = state.position;
-      if (pos.i == maxI - 1 && pos.j == maxJ - 1 && state.steps >= minSteps) {
-        System.out.println("Solution is " + state.cost);
-        break;
-      }
-      PositionAndSteps pas = new PositionAndSteps(pos, state.steps);
-      if (!seen.add(pas)) {
-        continue;
-      }
-      if (state.steps >= minSteps) {
-        Position left = pos.turnLeftAndAdvance();
-        if (validPosition(left)) {
-          queue.add(new State(state.cost + cells[left.i][left.j].cost, left, 1));
-        }
-        Position right = pos.turnRightAndAdvance();
-        if (validPosition(right)) {
-          queue.add(new State(state.cost + cells[right.i][right.j].cost, right, 1));
-        }
-      }
-      if (state.steps < maxSteps) {
-        Position forward = pos.advance();
-        if (validPosition(forward)) {
-          queue.add(
-              new State(state.cost + cells[forward.i][forward.j].cost, forward, state.steps + 1));
-        }
-      }
-    }
-  }
-
-  boolean validPosition(Position pos) {
-    return pos.i >= 0 && pos.i < maxI && pos.j >= 0 && pos.j < maxJ;
+    PuzzleRunner.run(new Puzzle17());
   }
 
-  record Position(int i, int j, Dir dir) {
-    Position advance() {
-      return new Position(i + dir.deltaI, j + dir.deltaJ, dir);
-    }
-
-    Position turnLeftAndAdvance() {
-      Dir newDir = dir.turnLeft();
-      return new Position(i + newDir.deltaI, j + newDir.deltaJ, newDir);
-    }
-
-    Position turnRightAndAdvance() {
-      Dir newDir = dir.turnRight();
-      return new Position(i + newDir.deltaI, j + newDir.deltaJ, newDir);
-    }
+  @Override
+  public HeatLossMap parse(Reader r) throws IOException {
+    return new HeatLossMap(CharStreams.readLines(r));
   }
 
-  record State(long cost, Position position, int steps) implements Comparable<State> {
-    private static final Comparator<State> COMPARATOR = Comparator.comparing(State::cost);
-
-    @Override
-    public int compareTo(State that) {
-      return COMPARATOR.compare(this, that);
-    }
+  @Override
+  public Integer part1(HeatLossMap map) {
+    return map.solve(0, 3);
   }
 
-  record PositionAndSteps(Position position, int steps) {}
-
-  enum Dir {
-    LEFT(0, -1),
-    RIGHT(0, +1),
-    UP(-1, 0),
-    DOWN(+1, 0);
-
-    private int deltaI;
-    private int deltaJ;
-
-    Dir(int deltaI, int deltaJ) {
-      this.deltaI = deltaI;
-      this.deltaJ = deltaJ;
-    }
-
-    Dir turnLeft() {
-      return switch (this) {
-        case LEFT -> DOWN;
-        case DOWN -> RIGHT;
-        case RIGHT -> UP;
-        case UP -> LEFT;
-      };
-    }
-
-    Dir turnRight() {
-      return switch (this) {
-        case LEFT -> UP;
-        case UP -> RIGHT;
-        case RIGHT -> DOWN;
-        case DOWN -> LEFT;
-      };
-    }
+  @Override
+  public Integer part2(HeatLossMap map) {
+    return map.solve(4, 10);
   }
 
-  static class Cell {
-    final long cost;
-
-    Cell(long cost) {
-      this.cost = cost;
+  /** The heat loss in each block of the city. */
+  static final class HeatLossMap {
+    private final int height;
+    private final int width;
+    // The heat loss of each cell, in row-major order.
+    private final int[] costs;
+
+    HeatLossMap(List<String> lines) {
+      this.height = lines.size();
+      this.width = lines.get(0).length();
+      this.costs = new int[height * width];
+      for (int i = 0; i < height; i++) {
+        String line = lines.get(i);
+        checkArgument(line.length() == width, "Ragged line %s", line);
+        for (int j = 0; j < width; j++) {
+          char c = line.charAt(j);
+          checkArgument(c >= '1' && c <= '9', "Bad line %s", line);
+          costs[i * width + j] = c - '0';
+        }
+      }
     }
-  }
 
-  private static Cell[][] parseCellLines(List<String> lines) {
-    Cell[][] cells = new Cell[lines.size()][lines.get(0).length()];
-    for (int i = 0; i < lines.size(); i++) {
-      String input = lines.get(i);
-      Cell[] output = cells[i];
-      for (int j = 0; j < input.length(); j++) {
-        output[j] = new Cell(input.charAt(j) - '0');
+    /**
+     * Returns the least heat loss on the way from the top left to the bottom right, for a
+     * crucible that must move at least {@code minSteps} and at most {@code maxSteps} in a straight
+     * line before it turns.
+     *
+     * <p>Instead of a search state for each cell, direction, and number of steps so far, there are
+     * just two for each cell: arriving there moving horizontally, or vertically. Either way, the
+     * next thing is a turn followed by a straight run, so the successors of a state are the cells
+     * from {@code minSteps} to {@code maxSteps} away in the two directions at right angles, and
+     * the weight of each edge is the heat lost along that run. That means that the number of
+     * states, and the memory for their distances and queue entries, does not depend on {@code
+     * maxSteps}.
+     */
+    int solve(int minSteps, int maxSteps) {
+      checkArgument(minSteps <= maxSteps && maxSteps > 0);
+      int firstStep = Math.max(minSteps, 1);
+      // State 2 * cell + 1 arrived at the cell moving vertically, and state 2 * cell horizontally.
+      GraphAlgorithms.IntWeightedSuccessorsFunction successors =
+          (state, action) -> {
+            int cell = state >>> 1;
+            boolean vertical = (state & 1) != 0;
+            int i = cell / width;
+            int j = cell % width;
+            for (int sign = -1; sign <= +1; sign += 2) {
+              int deltaI = vertical ? 0 : sign;
+              int deltaJ = vertical ? sign : 0;
+              int cost = 0;
+              for (int steps = 1; steps <= maxSteps; steps++) {
+                int newI = i + deltaI * steps;
+                int newJ = j + deltaJ * steps;
+                if (newI < 0 || newI >= height || newJ < 0 || newJ >= width) {
+                  break;
+                }
+                int newCell = newI * width + newJ;
+                cost += costs[newCell];
+                if (steps >= firstStep) {
+                  action.accept(2 * newCell + (vertical ? 0 : 1), cost);
+                }
+              }
+            }
+          };
+      // The crucible starts in the top left, free to go right or down.
+      int[] distances =
+          GraphAlgorithms.weightedDistances(2 * height * width, successors, 9 * maxSteps, 0, 1);
+      int end = height * width - 1;
+      int horizontal = distances[2 * end];
+      int vertical = distances[2 * end + 1];
+      checkArgument(horizontal >= 0 || vertical >= 0, "Bottom right is unreachable");
+      if (horizontal < 0 || vertical < 0) {
+        return Math.max(horizontal, vertical);
       }
+      return Math.min(horizontal, vertical);
     }
-    return cells;
   }
 }
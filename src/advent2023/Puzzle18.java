@@ -1,19 +1,22 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
-import java.io.InputStream;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle18 {
+public class Puzzle18 implements Puzzle<Puzzle18.DigPlan> {
   // For Part 1, I initially just made a char[][] containing the path, after shifting coordinates
   // so they started at (0,0). (My input map, at least, included coordinates in all four quadrants.)
   // Then I found the top left corner of the path and used a DFS to fill cells starting from the
@@ -24,31 +27,42 @@ public class Puzzle18 {
   // not inside the path! Oops. That's now `Integer start = null` below.
 
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle18.class.getResourceAsStream("puzzle18.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      for (boolean part2 : new boolean[] {false, true}) {
-        List<Step> steps =
-            lines.stream()
-                .map(LINE_PATTERN::matcher)
-                .peek(
-                    m -> {
-                      if (!m.matches()) {
-                        throw new AssertionError(m);
-                      }
-                    })
-                .map(
-                    m ->
-                        part2
-                            ? Step.fromHex(Integer.parseInt(m.group(3), 16))
-                            : new Step(NAME_TO_DIR.get(m.group(1)), Integer.parseInt(m.group(2))))
-                .toList();
-        solve(steps);
-      }
-    }
+    PuzzleRunner.run(new Puzzle18());
+  }
+
+  /** The steps of the dig plan, read as in Part 1 and as in Part 2 from the hex colours. */
+  record DigPlan(List<Step> steps, List<Step> hexSteps) {}
+
+  @Override
+  public DigPlan parse(Reader r) throws IOException {
+    List<Matcher> matchers =
+        CharStreams.readLines(r).stream()
+            .map(LINE_PATTERN::matcher)
+            .peek(
+                m -> {
+                  if (!m.matches()) {
+                    throw new AssertionError(m);
+                  }
+                })
+            .toList();
+    return new DigPlan(
+        matchers.stream()
+            .map(m -> new Step(NAME_TO_DIR.get(m.group(1)), Integer.parseInt(m.group(2))))
+            .toList(),
+        matchers.stream().map(m -> Step.fromHex(Integer.parseInt(m.group(3), 16))).toList());
+  }
+
+  @Override
+  public Long part1(DigPlan plan) {
+    return filledCells(plan.steps());
+  }
+
+  @Override
+  public Long part2(DigPlan plan) {
+    return filledCells(plan.hexSteps());
   }
 
-  private static void solve(List<Step> steps) {
+  private static long filledCells(List<Step> steps) {
     // We calculate the internal area using the familiar notion that if you scan across from the
     // edge then every line you cross switches you between outside and inside.
     // We construct a set of vertical lines and a set of horizontal lines. Each vertical line will
@@ -104,7 +118,6 @@ public class Puzzle18 {
     }
     int minY = rightLines.keySet().stream().mapToInt(Point::y).min().getAsInt();
     int maxY = rightLines.keySet().stream().mapToInt(Point::y).max().getAsInt();
-    System.out.println(minY + " < y < " + maxY);
     long count = 0;
     Comparator<VLine> xFirst = Comparator.comparing(VLine::x);
     for (int y = minY; y <= maxY; y++) {
@@ -168,7 +181,7 @@ public class Puzzle18 {
       }
       count += thisCount;
     }
-    System.out.println("Filled cells " + count);
+    return count;
   }
 
   enum LineState {
@@ -2,15 +2,17 @@ package advent2023;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.joining;
 
-import com.google.common.base.Joiner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import java.io.InputStream;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -26,7 +28,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle19 {
+public class Puzzle19 implements Puzzle<Puzzle19.Input> {
   /*
    * This was a huge huge slog.
    *
@@ -70,46 +72,38 @@ public class Puzzle19 {
    *
    */
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle19.class.getResourceAsStream("puzzle19.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      int empty = lines.indexOf("");
-      assert empty > 0;
-      Map<String, Workflow> workflows = parseWorkflows(lines.subList(0, empty));
-      List<Part> parts = parseParts(lines.subList(empty + 1, lines.size()));
-      int sum = 0;
-      for (Part part : parts) {
-        if (accept(part, workflows)) {
-          sum += part.rating();
-        }
+    PuzzleRunner.run(new Puzzle19());
+  }
+
+  record Input(Map<String, Workflow> workflows, List<Part> parts) {}
+
+  @Override
+  public Input parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int empty = lines.indexOf("");
+    assert empty > 0;
+    Map<String, Workflow> workflows = parseWorkflows(lines.subList(0, empty));
+    List<Part> parts = parseParts(lines.subList(empty + 1, lines.size()));
+    return new Input(workflows, parts);
+  }
+
+  @Override
+  public Integer part1(Input input) {
+    int sum = 0;
+    for (Part part : input.parts()) {
+      if (accept(part, input.workflows())) {
+        sum += part.rating();
       }
-      System.out.println("Rating total " + sum);
-
-      List<ConditionList> summary =
-          summarize(workflows).stream().map(ConditionList::sorted).toList();
-      System.out.println("Conditions " + Joiner.on("\n").join(summary));
-      System.out.println(
-          "New rating total "
-              + parts.stream()
-                  .filter(part -> summary.stream().anyMatch(list -> list.matches(part)))
-                  .mapToInt(Part::rating)
-                  .sum());
-
-      List<Constraints> constraints = summary.stream().map(Constraints::from).toList();
-      System.out.println("Constraints " + Joiner.on("\n").join(constraints));
-      System.out.println(
-          "New new rating total "
-              + parts.stream()
-                  .filter(part -> constraints.stream().anyMatch(c -> c.matches(part)))
-                  .mapToInt(Part::rating)
-                  .sum());
-
-      ConstraintSet set = new ConstraintSet(new HashSet<>(constraints));
-      System.out.println(
-          "New new new rating total "
-              + parts.stream().filter(part -> set.matches(part)).mapToInt(Part::rating).sum());
-      System.out.println("Size " + set.size());
     }
+    return sum;
+  }
+
+  @Override
+  public Long part2(Input input) {
+    List<ConditionList> summary =
+        summarize(input.workflows()).stream().map(ConditionList::sorted).toList();
+    List<Constraints> constraints = summary.stream().map(Constraints::from).toList();
+    return new ConstraintSet(new HashSet<>(constraints)).size();
   }
 
   private static boolean accept(Part part, Map<String, Workflow> workflows) {
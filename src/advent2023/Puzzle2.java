@@ -1,9 +1,12 @@
 package advent2023;
 
 import static java.lang.Integer.max;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -11,18 +14,24 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<List<Puzzle2.Game>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle2.class.getResourceAsStream("puzzle2.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      List<Game> games = lines.stream().map(Puzzle2::parseLine).toList();
-      System.out.println(games);
-      int allowed = games.stream().filter(Game::allowed).mapToInt(Game::number).sum();
-      System.out.printf("passing sum: %d\n", allowed);
-      int sum = games.stream().map(Game::maxDraw).mapToInt(Draw::power).sum();
-      System.out.printf("power sum: %d\n", sum);
-    }
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public List<Game> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Puzzle2::parseLine).toList();
+  }
+
+  @Override
+  public Integer part1(List<Game> games) {
+    return games.stream().filter(Game::allowed).mapToInt(Game::number).sum();
+  }
+
+  @Override
+  public Integer part2(List<Game> games) {
+    return games.stream().map(Game::maxDraw).mapToInt(Draw::power).sum();
   }
 
   private record Draw(int red, int green, int blue) {
@@ -35,7 +44,7 @@ public class Puzzle2 {
     }
   }
 
-  private record Game(int number, List<Draw> draws) {
+  record Game(int number, List<Draw> draws) {
     boolean allowed() {
       return draws.stream().allMatch(Draw::allowed);
     }
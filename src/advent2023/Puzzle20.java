@@ -1,16 +1,17 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
 import com.google.common.math.LongMath;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -19,21 +20,22 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle20 {
+public class Puzzle20 implements Puzzle<List<String>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle20.class.getResourceAsStream("puzzle20.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      solvePart1(lines);
-      solvePart2(lines);
-    }
+    PuzzleRunner.run(new Puzzle20());
+  }
+
+  // The modules have state, so each part parses its own from the lines.
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
   }
 
-  static void solvePart1(List<String> lines) {
+  @Override
+  public Long part1(List<String> lines) {
     Map<String, Module> modules = parseModules(lines);
     long lowCount = 0;
     long highCount = 0;
-    Set<String> ignored = new TreeSet<>();
     for (int i = 0; i < 1000; i++) {
       List<Signal> signals = List.of(new Signal(null, "broadcaster", false));
       while (!signals.isEmpty()) {
@@ -43,19 +45,14 @@ public class Puzzle20 {
         List<Signal> newSignals = new ArrayList<>();
         for (Signal signal : signals) {
           Module target = modules.get(signal.targetModuleName);
-          if (target == null) {
-            if (ignored.add(signal.targetModuleName)) {
-              System.out.println("Ignore " + signal.targetModuleName);
-            }
-          } else {
+          if (target != null) {
             newSignals.addAll(target.receive(signal.source, signal.pulse));
           }
         }
         signals = newSignals;
       }
     }
-    System.out.println(
-        "Low " + lowCount + " high " + highCount + " product " + lowCount * highCount);
+    return lowCount * highCount;
   }
 
   /*
@@ -65,7 +62,8 @@ public class Puzzle20 {
   investigated that to confirm it, but instead I confirmed it by cheating, via
   https://colab.sandbox.google.com/github/derailed-dash/Advent-of-Code/blob/master/src/AoC_2023/Dazbo%27s_Advent_of_Code_2023.ipynb#scrollTo=EFS4IeuPndFb
   */
-  static void solvePart2(List<String> lines) {
+  @Override
+  public Long part2(List<String> lines) {
     Map<String, Module> modules = parseModules(lines);
 
     // Verify that rx has exactly one input, call it vf, that is a Conjunction.
@@ -74,7 +72,6 @@ public class Puzzle20 {
     assert rxInputs.size() == 1 : rxInputs;
     assert rxInputs.get(0).getValue() instanceof Conjunction;
     String rxInput = rxInputs.get(0).getKey();
-    System.out.println("Input to rx is " + rxInput);
 
     // Verify that vf has four inputs which are also Conjuctions.
     List<Map.Entry<String, Module>> vfInputs =
@@ -94,7 +91,6 @@ public class Puzzle20 {
           .add(
               pulse -> {
                 if (pulse) {
-                  System.out.println("First high pulse for " + entry.getKey() + " at i=" + i.get());
                   first.put(entry.getKey(), i.get());
                 }
               });
@@ -108,7 +104,6 @@ public class Puzzle20 {
           String targetName = signal.targetModuleName;
           if (targetName.equals("rx")) {
             if (!signal.pulse) {
-              System.out.println("Received after " + i.get() + " pushes");
               break;
             }
           } else {
@@ -125,8 +120,7 @@ public class Puzzle20 {
       }
     }
 
-    long lcm = first.values().stream().reduce(1L, (a, b) -> lcm(a, b));
-    System.out.println("LCM is " + lcm);
+    return first.values().stream().reduce(1L, (a, b) -> lcm(a, b));
   }
 
   static long lcm(long a, long b) {
@@ -1,8 +1,10 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayDeque;
 import java.util.Comparator;
 import java.util.Deque;
@@ -18,33 +20,43 @@ This was the last remaining puzzle and I just wasn't motivated to tackle Part 2.
 So I cheated and copied someone else's solution. The code here only solves Part 1.
 https://github.com/ash42/adventofcode/tree/main/adventofcode2023/src/nl/michielgraat/adventofcode2023/day21
 */
-public class Puzzle21 {
+public class Puzzle21 implements Puzzle<List<String>> {
   public static void main(String[] args) throws Exception {
-    String input = "puzzle21.txt";
-    try (InputStream in = Puzzle21.class.getResourceAsStream(input)) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      char[][] cells = new char[lines.size()][];
-      for (int i = 0; i < lines.size(); i++) {
-        cells[i] = lines.get(i).toCharArray();
-      }
-      int startI = -1, startJ = -1;
-      for (int i = 0; i < cells.length; i++) {
-        char[] line = cells[i];
-        for (int j = 0; j < line.length; j++) {
-          if (line[j] == 'S') {
-            line[j] = '.';
-            startI = i;
-            startJ = j;
-            break;
-          }
+    PuzzleRunner.run(new Puzzle21());
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Integer part1(List<String> lines) {
+    char[][] cells = new char[lines.size()][];
+    for (int i = 0; i < lines.size(); i++) {
+      cells[i] = lines.get(i).toCharArray();
+    }
+    int startI = -1, startJ = -1;
+    for (int i = 0; i < cells.length; i++) {
+      char[] line = cells[i];
+      for (int j = 0; j < line.length; j++) {
+        if (line[j] == 'S') {
+          line[j] = '.';
+          startI = i;
+          startJ = j;
+          break;
         }
       }
-      if (startI < 0) {
-        throw new AssertionError("Could not find start in " + lines);
-      }
-      solve(cells, startI, startJ, input.contains("small") ? 6 : 64);
     }
+    if (startI < 0) {
+      throw new AssertionError("Could not find start in " + lines);
+    }
+    return reachable(cells, startI, startJ, 64);
+  }
+
+  @Override
+  public String part2(List<String> lines) {
+    return "unsolved";
   }
 
   record Plot(int i, int j) implements Comparable<Plot> {
@@ -64,7 +76,7 @@ public class Puzzle21 {
     }
   }
 
-  private static void solve(char[][] cells, int startI, int startJ, int targetSteps) {
+  private static int reachable(char[][] cells, int startI, int startJ, int targetSteps) {
     Deque<State> starting = new ArrayDeque<>(List.of(new State(startI, startJ, 0)));
     for (int steps = 1; steps <= targetSteps; steps++) {
       Set<State> next = new TreeSet<>();
@@ -84,7 +96,7 @@ public class Puzzle21 {
       }
       starting = new ArrayDeque<>(next);
     }
-    System.out.println("Count " + starting.size());
+    return starting.size();
   }
 
   enum Dir {
@@ -1,10 +1,13 @@
 package advent2023;
 
 import static java.lang.Integer.max;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toCollection;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -20,7 +23,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle22 {
+public class Puzzle22 implements Puzzle<List<Puzzle22.Brick>> {
   /*
    * I'm always a bit nervous when I have to deal with 3D, but here it was rather straightforward.
    * The 3D bricks only move vertically, so we just need to know the (x,y) coordinates of each
@@ -28,16 +31,16 @@ public class Puzzle22 {
    * Total run time about 17 seconds.
    */
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle22.class.getResourceAsStream("puzzle22.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      List<Brick> bricks = lines.stream().map(line -> parseBrick(line)).toList();
-      part1(bricks);
-      part2(bricks);
-    }
+    PuzzleRunner.run(new Puzzle22());
+  }
+
+  @Override
+  public List<Brick> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(line -> parseBrick(line)).toList();
   }
 
-  static void part1(List<Brick> bricks) {
+  @Override
+  public Integer part1(List<Brick> bricks) {
     // Make a copy since we're going to be tweaking the Z-coordinates.
     bricks = bricks.stream().map(Brick::copy).toList();
 
@@ -51,10 +54,11 @@ public class Puzzle22 {
         count++;
       }
     }
-    System.out.println("Part 1 " + count);
+    return count;
   }
 
-  static void part2(List<Brick> bricks) {
+  @Override
+  public Long part2(List<Brick> bricks) {
     // Make a copy since we're going to be tweaking the Z-coordinates.
     bricks = bricks.stream().map(Brick::copy).toList();
 
@@ -78,7 +82,7 @@ public class Puzzle22 {
         otherBricks.removeAll(drops.keySet());
       }
     }
-    System.out.println("Part 2 " + total);
+    return total;
   }
 
   static Map<Coord, NavigableSet<Brick>> computeMap(List<Brick> bricks) {
@@ -1,33 +1,31 @@
 package advent2023;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Integer.max;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
+import adventlib.CharGrid;
+import adventlib.CharGrid.Coord;
+import adventlib.Dir;
+import adventlib.JunctionGraph;
+import adventlib.MappedInput;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.graph.MutableValueGraph;
 import com.google.common.graph.ValueGraphBuilder;
-import java.io.InputStream;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle23 {
+public class Puzzle23 implements Puzzle<Puzzle23.Trails> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle23.class.getResourceAsStream("puzzle23.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      char[][] cells = new char[lines.size()][];
-      for (int i = 0; i < lines.size(); i++) {
-        cells[i] = lines.get(i).toCharArray();
-      }
-      new Puzzle23(cells, false).solve();
-      new Puzzle23(cells, true).solve();
-    }
+    PuzzleRunner.run(new Puzzle23());
   }
 
   /*
@@ -38,201 +36,144 @@ public class Puzzle23 {
    * (Almost, because I also had to add a `visited` set that was not needed with the DAG from Part 1.)
    */
 
-  private final char[][] cells;
-  private final MutableValueGraph<Node, Integer> graph;
-  private final Node startNode;
-  private final Node endNode;
-
-  Puzzle23(char[][] cells, boolean part2) {
-    this.cells = cells;
-
-    String topLine = new String(cells[0]);
-    int topJ = topLine.indexOf('.');
-    assert topJ >= 0 && topJ == topLine.lastIndexOf('.');
-    this.startNode = new Node(1, topJ);
-    String botLine = new String(cells[cells.length - 1]);
-    int botJ = botLine.indexOf('.');
-    assert botJ >= 0 && botJ == botLine.lastIndexOf('.');
-    this.endNode = new Node(cells.length - 1, botJ);
-
-    this.graph =
-        (part2
-                ? ValueGraphBuilder.<Node, Integer>undirected()
-                : ValueGraphBuilder.<Node, Integer>directed())
-            .build();
-    this.graph.addNode(startNode);
-    this.graph.addNode(endNode);
-  }
+  /*
+   * I originally wrote my own code to turn the grid into a graph, making a node of each cell just
+   * after a slope. Now the grid is contracted into a graph of junctions by JunctionGraph, which is
+   * the Part 2 graph. For Part 1, we keep only the directions along each corridor that don't go
+   * against a slope.
+   */
 
-  void solve() {
-    buildGraph(startNode, new HashSet<>(List.of(startNode, endNode)));
-    List<List<Node>> allPaths = allPaths(List.of(startNode));
-    System.out.println("Found " + allPaths.size() + " paths");
-    int longest = Integer.MIN_VALUE;
-    for (List<Node> path : allPaths) {
-      int len = pathLength(path);
-      longest = max(longest, len);
-    }
-    System.out.println("Longest is " + longest);
+  /** The map, and its junctions, which both parts need. */
+  record Trails(CharGrid grid, JunctionGraph junctions) {}
+
+  @Override
+  public Trails parse(Reader r) throws IOException {
+    return trails(new CharGrid(CharStreams.readLines(r)));
   }
 
-  String pathToString(List<Node> path) {
-    StringBuilder sb = new StringBuilder().append(path.getFirst());
-    for (int i = 1; i < path.size(); i++) {
-      Node prev = path.get(i - 1);
-      Node cur = path.get(i);
-      int len = graph.edgeValue(prev, cur).get();
-      sb.append(" -> " + cur + "[" + len + "]");
-    }
-    return sb.toString();
+  @Override
+  public Trails parse(String inputName, MappedInput input) {
+    return trails(input.toCharGrid());
   }
 
-  int pathLength(List<Node> path) {
-    int len = 0;
-    for (int i = 1; i < path.size(); i++) {
-      len += graph.edgeValue(path.get(i - 1), path.get(i)).get();
-    }
-    return len;
+  private static Trails trails(CharGrid grid) {
+    return new Trails(grid, JunctionGraph.of(grid, c -> c != '#', Dir.NEWS, coord -> false));
   }
 
-  List<List<Node>> allPaths(List<Node> incoming) {
-    Node last = incoming.getLast();
-    if (last.equals(endNode)) {
-      return List.of(incoming);
-    }
-    List<List<Node>> paths = new ArrayList<>();
-    for (Node next : graph.successors(last)) {
-      if (!incoming.contains(next)) {
-        List<Node> newPath = ImmutableList.<Node>builder().addAll(incoming).add(next).build();
-        paths.addAll(allPaths(newPath));
-      }
-    }
-    return paths;
+  @Override
+  public Integer part1(Trails trails) {
+    return new TrailGraph(trails.grid(), trails.junctions(), false).longest();
   }
 
-  /*
-     It looks as if the path are designed to be directed graphs: there are no forks where you can
-     go forward or backward, so the <>^v mark the ends of edges. Therefore each <>^v can be an edge,
-     and the cell it points can be a node. There can be more than one edge leading to a given node.
-     A fork is always a . that is itself a node, that therefore has more than one edge leading out.
-     So the recursive plan is that we have a graph-so-far and a . cell, which is either the start of
-     a path or a fork. If a path, we follow it to the end and recur with the cell after the <>^v.
-     If a fork, we recur with each end of the fork.
-  */
-
-  void buildGraph(Node start, Set<Node> seen) {
-    List<Move> pathMoves = new ArrayList<>();
-    List<Node> forkNodes = new ArrayList<>();
-    for (Move move : Move.validMoves(start, cells)) {
-      // We're assuming that the end node is at the end of a path, so we won't encounter it here.
-      Move moved = move.move();
-      char c = cells[moved.i][moved.j];
-      if (c == '.') {
-        pathMoves.add(move);
-      } else {
-        forkNodes.add(moved.move().toNode());
-      }
-    }
-    assert pathMoves.isEmpty() != forkNodes.isEmpty();
-    assert pathMoves.size() <= 1; // not guaranteed by the problem spec, but true in the examples
-
-    for (Node forkNode : forkNodes) {
-      Integer old = graph.putEdgeValue(start, forkNode, 2);
-      assert old == null;
-      if (seen.add(forkNode)) {
-        buildGraph(forkNode, seen);
-      }
-    }
+  @Override
+  public Integer part2(Trails trails) {
+    return new TrailGraph(trails.grid(), trails.junctions(), true).longest();
+  }
 
-    for (Move pathMove : pathMoves) {
-      int len = 3;
-      Set<Node> pathNodes = new HashSet<>(Set.of(start, pathMove.move().toNode()));
-      Move move = pathMove;
-      while (true) {
-        Node current = move.move().toNode();
-        Node next = null;
-        Move moveToNext = null;
-        for (Move nextMove : Move.validMoves(current, cells)) {
-          Node target = nextMove.move().toNode();
-          if (pathNodes.add(target)) {
-            assert next == null;
-            next = target;
-            moveToNext = nextMove;
-          }
-        }
-        assert next != null;
-        if (next.equals(endNode)) {
-          Integer old = graph.putEdgeValue(start, next, len);
-          assert old == null;
-          break;
+  /** The graph of junctions that a hike can go between, directed in Part 1 by the slopes. */
+  static final class TrailGraph {
+    private final MutableValueGraph<Coord, Integer> graph;
+    private final Coord startCoord;
+    private final Coord endCoord;
+
+    TrailGraph(CharGrid grid, JunctionGraph junctions, boolean part2) {
+      this.startCoord = onlyOpenCell(grid, 0);
+      this.endCoord = onlyOpenCell(grid, grid.height() - 1);
+
+      this.graph =
+          (part2
+                  ? ValueGraphBuilder.<Coord, Integer>undirected()
+                  : ValueGraphBuilder.<Coord, Integer>directed())
+              .build();
+      // A path can't use two corridors between the same junctions, since it would visit a junction
+      // twice. So where there are several, the graph only needs the longest that can be followed.
+      for (JunctionGraph.Corridor corridor : junctions.corridors()) {
+        if (part2 || followsSlopes(grid, corridor.cells())) {
+          putLongest(corridor.from(), corridor.to(), corridor.length());
         }
-        if (cells[next.i][next.j] != '.') {
-          Node target = moveToNext.move().move().toNode();
-          Integer old = graph.putEdgeValue(start, target, len);
-          assert old == null;
-          if (seen.add(target)) {
-            buildGraph(target, seen);
-          }
-          break;
+        if (!part2 && followsSlopes(grid, corridor.cells().reverse())) {
+          putLongest(corridor.to(), corridor.from(), corridor.length());
         }
-        move = moveToNext;
-        len++;
       }
+      this.graph.addNode(startCoord);
+      this.graph.addNode(endCoord);
     }
-  }
 
-  record Move(int i, int j, Dir dir) {
-    Move move() {
-      return new Move(i + dir.deltaI, j + dir.deltaJ, dir);
+    // The start and end are the only open cells on the top and bottom lines.
+    private static Coord onlyOpenCell(CharGrid grid, int line) {
+      List<Coord> open =
+          IntStream.range(0, grid.width())
+              .filter(col -> grid.get(line, col) == '.')
+              .mapToObj(col -> new Coord(line, col))
+              .toList();
+      checkArgument(open.size() == 1, "Expected one open cell on line %s: %s", line, open);
+      return open.getFirst();
     }
 
-    Node toNode() {
-      return new Node(i, j);
+    private void putLongest(Coord from, Coord to, int length) {
+      if (graph.edgeValue(from, to).orElse(-1) < length) {
+        graph.putEdgeValue(from, to, length);
+      }
     }
 
-    boolean isValid(char[][] cells) {
-      int newI = i + dir.deltaI;
-      int newJ = j + dir.deltaJ;
-      if (newI > 0 && newI < cells.length && newJ > 0 && newJ < cells[0].length) {
-        char c = cells[newI][newJ];
-        return c == '.' || c == dir.arrow;
+    // A path follows the slopes if every step from a slope cell is in the direction of the slope.
+    private static boolean followsSlopes(CharGrid grid, List<Coord> path) {
+      for (int i = 0; i + 1 < path.size(); i++) {
+        Coord from = path.get(i);
+        char c = grid.get(from);
+        if (c != '.' && !Dir.fromChar(c).move(from).equals(path.get(i + 1))) {
+          return false;
+        }
       }
-      return false;
+      return true;
     }
 
-    static List<Move> validMoves(Node start, char[][] cells) {
-      return Dir.VALUES.stream()
-          .map(dir -> new Move(start.i, start.j, dir))
-          .filter(move -> move.isValid(cells))
-          .toList();
+    /** Returns the length of the longest path from the start to the end. */
+    int longest() {
+      return longest(allPaths(List.of(startCoord)));
     }
-  }
 
-  record Node(int i, int j) {
-    @Override
-    public String toString() {
-      return "(" + i + "," + j + ")";
+    int longest(List<List<Coord>> allPaths) {
+      int longest = Integer.MIN_VALUE;
+      for (List<Coord> path : allPaths) {
+        int len = pathLength(path);
+        longest = max(longest, len);
+      }
+      return longest;
     }
-  }
-
-  static final String ARROWS = "<>^v";
 
-  enum Dir {
-    LEFT(0, -1, '<'),
-    RIGHT(0, +1, '>'),
-    UP(-1, 0, '^'),
-    DOWN(+1, 0, 'v');
-
-    final int deltaI;
-    final int deltaJ;
-    final char arrow;
+    String pathToString(List<Coord> path) {
+      StringBuilder sb = new StringBuilder().append(path.getFirst());
+      for (int i = 1; i < path.size(); i++) {
+        Coord prev = path.get(i - 1);
+        Coord cur = path.get(i);
+        int len = graph.edgeValue(prev, cur).get();
+        sb.append(" -> " + cur + "[" + len + "]");
+      }
+      return sb.toString();
+    }
 
-    Dir(int deltaI, int deltaJ, char arrow) {
-      this.deltaI = deltaI;
-      this.deltaJ = deltaJ;
-      this.arrow = arrow;
+    int pathLength(List<Coord> path) {
+      int len = 0;
+      for (int i = 1; i < path.size(); i++) {
+        len += graph.edgeValue(path.get(i - 1), path.get(i)).get();
+      }
+      return len;
     }
 
-    static final Set<Dir> VALUES = EnumSet.allOf(Dir.class);
+    List<List<Coord>> allPaths(List<Coord> incoming) {
+      Coord last = incoming.getLast();
+      if (last.equals(endCoord)) {
+        return List.of(incoming);
+      }
+      List<List<Coord>> paths = new ArrayList<>();
+      for (Coord next : graph.successors(last)) {
+        if (!incoming.contains(next)) {
+          List<Coord> newPath = ImmutableList.<Coord>builder().addAll(incoming).add(next).build();
+          paths.addAll(allPaths(newPath));
+        }
+      }
+      return paths;
+    }
   }
 }
@@ -1,34 +1,38 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle24 {
+public class Puzzle24 implements Puzzle<List<Puzzle24.Hailstone>> {
   public static void main(String[] args) throws Exception {
-    String input = "puzzle24.txt";
-    try (InputStream in = Puzzle24.class.getResourceAsStream(input)) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      List<Hailstone> hailstones = lines.stream().map(line -> parseHailstone(line)).toList();
-      boolean small = input.contains("small");
-      Bounds bounds = small ? new Bounds(7, 27) : new Bounds(200000000000000L, 400000000000000L);
-      part1(hailstones, bounds);
-      part2(hailstones);
-    }
+    PuzzleRunner.run(new Puzzle24());
+  }
+
+  // The area where Part 1 looks for intersections. The sample in the puzzle uses 7 to 27 instead.
+  private static final Bounds BOUNDS = new Bounds(200000000000000L, 400000000000000L);
+
+  @Override
+  public List<Hailstone> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(line -> parseHailstone(line)).toList();
   }
 
-  static void part1(List<Hailstone> hailstones, Bounds bounds) {
+  @Override
+  public Integer part1(List<Hailstone> hailstones) {
+    return part1(hailstones, BOUNDS);
+  }
+
+  static int part1(List<Hailstone> hailstones, Bounds bounds) {
     int count = 0;
     for (int i = 0; i < hailstones.size(); i++) {
       Hailstone h1 = hailstones.get(i);
@@ -42,7 +46,7 @@ public class Puzzle24 {
         }
       }
     }
-    System.out.println("Count is " + count);
+    return count;
   }
 
   /*
@@ -152,7 +156,8 @@ public class Puzzle24 {
 
   */
 
-  static void part2(List<Hailstone> hailstones) {
+  @Override
+  public BigDecimal part2(List<Hailstone> hailstones) {
     Hailstone one = hailstones.get(0);
     BigDecimal[][] matrix =
         new BigDecimal[4][5]; // 4 equations in 4 variables, each with a constant RHS
@@ -197,7 +202,6 @@ public class Puzzle24 {
             .subtract(matrix[0][2].multiply(x0))
             .subtract(matrix[0][1].multiply(dy0))
             .divide(matrix[0][0], context);
-    System.out.println("y0 " + y0 + " x0 " + x0 + " dy0 " + dy0 + " dx0 " + dx0);
 
     BigDecimal z1 = BigDecimal.valueOf(one.startZ);
     BigDecimal dz1 = BigDecimal.valueOf(one.deltaZ);
@@ -214,10 +218,7 @@ public class Puzzle24 {
     // dz0 = (cz2-cz1)/(t2-t1); z0 = cz1 - dz0*t1.
     BigDecimal dz0 = cz2.subtract(cz1).divide(t2.subtract(t1), context);
     BigDecimal z0 = cz1.subtract(dz0.multiply(t1));
-    System.out.println(
-        "x0 " + x0 + " y0 " + y0 + " z0 " + z0 + " dx0 " + dx0 + " dy0 " + dy0 + " dz0 " + dz0);
-
-    System.out.println(x0.add(y0).add(z0).setScale(0, RoundingMode.HALF_UP));
+    return x0.add(y0).add(z0).setScale(0, RoundingMode.HALF_UP);
   }
 
   static void gauss(BigDecimal[][] matrix) {
@@ -260,21 +261,12 @@ public class Puzzle24 {
     }
   }
 
-  private static final Pattern HAILSTONE_PATTERN =
-      Pattern.compile("(\\d+),\\s+(\\d+),\\s+(\\d+)\\s+@\\s+(-?\\d+),\\s+(-?\\d+),\\s+(-?\\d+)");
-
   // 19, 13, 30 @ -2,  1, -2
 
   static Hailstone parseHailstone(String line) {
-    Matcher matcher = HAILSTONE_PATTERN.matcher(line);
-    boolean matches = matcher.matches();
-    assert matches : line;
-    long[] group = groups(matcher).stream().mapToLong(Long::parseLong).toArray();
-    return new Hailstone(group[0], group[1], group[2], group[3], group[4], group[5]);
-  }
-
-  static List<String> groups(Matcher matcher) {
-    return IntStream.rangeClosed(1, matcher.groupCount()).mapToObj(matcher::group).toList();
+    long[] n = NumberScanner.longs(line);
+    assert n.length == 6 : line;
+    return new Hailstone(n[0], n[1], n[2], n[3], n[4], n[5]);
   }
 
   record Hailstone(long startX, long startY, long startZ, long deltaX, long deltaY, long deltaZ) {}
@@ -1,8 +1,10 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -16,32 +18,48 @@ import java.util.TreeMap;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle25 {
+public class Puzzle25 implements Puzzle<Puzzle25.Graph> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle25.class.getResourceAsStream("puzzle25.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      Map<String, Node> nodes = new TreeMap<>();
-      List<Edge> edges = new ArrayList<>();
-      for (String line : lines) {
-        int colon = line.indexOf(':');
-        assert colon > 0;
-        String fromLabel = line.substring(0, colon);
-        Node from = nodes.computeIfAbsent(fromLabel, Node::new);
-        String rest = line.substring(colon + 1).trim();
-        for (String toLabel : rest.split(" ")) {
-          Node to = nodes.computeIfAbsent(toLabel, Node::new);
-          Edge edge = new Edge(from, to);
-          edges.add(edge);
-          from.edges.add(edge);
-          to.edges.add(edge);
-        }
+    PuzzleRunner.run(new Puzzle25());
+  }
+
+  /** The edges of the graph, sorted and without duplicates, and the number of nodes. */
+  record Graph(int nodeCount, List<Edge> edges) {}
+
+  @Override
+  public Graph parse(Reader r) throws IOException {
+    Map<String, Node> nodes = new TreeMap<>();
+    List<Edge> edges = new ArrayList<>();
+    for (String line : CharStreams.readLines(r)) {
+      int colon = line.indexOf(':');
+      assert colon > 0;
+      String fromLabel = line.substring(0, colon);
+      Node from = nodes.computeIfAbsent(fromLabel, Node::new);
+      String rest = line.substring(colon + 1).trim();
+      for (String toLabel : rest.split(" ")) {
+        Node to = nodes.computeIfAbsent(toLabel, Node::new);
+        Edge edge = new Edge(from, to);
+        edges.add(edge);
+        from.edges.add(edge);
+        to.edges.add(edge);
       }
-      Collections.sort(edges);
-      System.out.println(nodes.size() + " nodes with " + edges.size() + " edges\n");
-      removeDups(edges);
-      solve(edges);
     }
+    Collections.sort(edges);
+    removeDups(edges);
+    return new Graph(nodes.size(), edges);
+  }
+
+  /** Returns the product of the sizes of the two components left after cutting three edges. */
+  @Override
+  public Integer part1(Graph graph) {
+    int size = componentSize(graph.edges());
+    return size * (graph.nodeCount() - size);
+  }
+
+  // Day 25 has only one part.
+  @Override
+  public String part2(Graph graph) {
+    return "none";
   }
 
   private static void removeDups(List<Edge> edges) {
@@ -75,44 +93,21 @@ public class Puzzle25 {
    * nodes and compute the paths between them. Then consider cutting the edges that show up most
    * often in those paths. I did not code that.
    */
-  private static void solve(List<Edge> edges) {
-    long start = System.nanoTime();
+  private static int componentSize(List<Edge> edges) {
     for (int i1 = 0; i1 < edges.size(); i1++) {
       Edge edge1 = edges.get(i1);
-      System.out.println(
-          "Edge1 "
-              + i1
-              + 1
-              + " of "
-              + edges.size()
-              + " ("
-              + edge1
-              + "), elapsed "
-              + (System.nanoTime() - start) / 1_000_000_000);
       for (int i2 = i1 + 1; i2 < edges.size(); i2++) {
-        if (i2 % 200 == 0) {
-          System.out.println(
-              "  Edge2 " + i2 + ", elapsed " + (System.nanoTime() - start) / 1_000_000_000);
-        }
         Edge edge2 = edges.get(i2);
         for (int i3 = i2 + 1; i3 < edges.size(); i3++) {
           Edge edge3 = edges.get(i3);
           Set<Node> seen = new HashSet<>();
           if (visit(edge1.a, edge1, edge2, edge3, seen)) {
-            System.out.println(
-                "Success with component of size "
-                    + seen.size()
-                    + ": "
-                    + edge1
-                    + ", "
-                    + edge2
-                    + ", "
-                    + edge3);
-            return;
+            return seen.size();
           }
         }
       }
     }
+    throw new IllegalStateException("No 3-cut found");
   }
 
   private static boolean visit(Node start, Edge edge1, Edge edge2, Edge edge3, Set<Node> seen) {
@@ -158,7 +153,7 @@ public class Puzzle25 {
     }
   }
 
-  private record Edge(Node a, Node b) implements Comparable<Edge> {
+  record Edge(Node a, Node b) implements Comparable<Edge> {
     Edge {
       if (a.compareTo(b) > 0) {
         Node t = a;
@@ -1,9 +1,12 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toSet;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -14,55 +17,61 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<List<Puzzle4.Card>> {
   private static final Pattern CARD_PATTERN = Pattern.compile("Card\\s+[0-9]+: (.*)\\|(.*)");
 
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle4.class.getResourceAsStream("puzzle4.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
+    PuzzleRunner.run(new Puzzle4());
+  }
 
-      // Parse the input and solve Part 1.
-      int sum = 0;
-      List<Card> cards = new ArrayList<>();
-      for (String line : lines) {
-        Matcher matcher = CARD_PATTERN.matcher(line);
-        if (!matcher.matches()) {
-          throw new AssertionError(line);
-        }
-        Set<Integer> winning = parseNumbers(matcher.group(1));
-        Set<Integer> present = parseNumbers(matcher.group(2));
-        Card card = new Card(winning, present);
-        int count = card.score();
-        if (count > 0) {
-          sum += 1 << (count - 1);
-        }
-        cards.add(card);
+  @Override
+  public List<Card> parse(Reader r) throws IOException {
+    List<Card> cards = new ArrayList<>();
+    for (String line : CharStreams.readLines(r)) {
+      Matcher matcher = CARD_PATTERN.matcher(line);
+      if (!matcher.matches()) {
+        throw new AssertionError(line);
+      }
+      Set<Integer> winning = parseNumbers(matcher.group(1));
+      Set<Integer> present = parseNumbers(matcher.group(2));
+      cards.add(new Card(winning, present));
+    }
+    return cards;
+  }
+
+  @Override
+  public Integer part1(List<Card> cards) {
+    int sum = 0;
+    for (Card card : cards) {
+      int count = card.score();
+      if (count > 0) {
+        sum += 1 << (count - 1);
       }
-      System.out.println("Sum is " + sum);
+    }
+    return sum;
+  }
 
-      // Part 2.
-      int[] counts = new int[cards.size()];
-      Arrays.fill(counts, 1);
-      for (int i = 0; i < cards.size(); i++) {
-        int score = cards.get(i).score();
-        log("Score for card " + i + 1 + " is " + score);
-        for (int j = 1; j <= score; j++) {
-          log(
-              "  Update count for "
-                  + i
-                  + j
-                  + 1
-                  + " from "
-                  + counts[i + j]
-                  + " to "
-                  + 2 * counts[i + j]);
-          counts[i + j] += counts[i];
-        }
+  @Override
+  public Integer part2(List<Card> cards) {
+    int[] counts = new int[cards.size()];
+    Arrays.fill(counts, 1);
+    for (int i = 0; i < cards.size(); i++) {
+      int score = cards.get(i).score();
+      log("Score for card " + i + 1 + " is " + score);
+      for (int j = 1; j <= score; j++) {
+        log(
+            "  Update count for "
+                + i
+                + j
+                + 1
+                + " from "
+                + counts[i + j]
+                + " to "
+                + 2 * counts[i + j]);
+        counts[i + j] += counts[i];
       }
-      int countSum = Arrays.stream(counts).sum();
-      System.out.println("Count sum is " + countSum);
     }
+    return Arrays.stream(counts).sum();
   }
 
   record Card(Set<Integer> winning, Set<Integer> present) {
@@ -1,11 +1,17 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
+import adventlib.Metrics;
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableRangeMap;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
-import java.io.InputStream;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -17,71 +23,84 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle5 {
+public class Puzzle5 implements Puzzle<Puzzle5.Almanac> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle5.class.getResourceAsStream("puzzle5.txt")) {
-      // Parse the input
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      String seedsLine = lines.get(0);
-      assert seedsLine.startsWith("seeds: ");
-      List<String> seedStrings = Arrays.stream(seedsLine.split(" ")).skip(1).toList();
-      List<Long> seedNumbers = seedStrings.stream().map(Long::parseLong).toList();
-      assert lines.get(1).isEmpty();
-      int index = 2;
-      Map<String, NumberRangeMap> nameToMap = new LinkedHashMap<>();
-      while (index < lines.size()) {
-        ParseResult result = parseMap(lines, index);
-        nameToMap.put(result.rangeMap.from, result.rangeMap);
-        index = result.nextIndex;
-      }
+    PuzzleRunner.run(new Puzzle5());
+  }
 
-      // Part 1
-      long minLocation =
-          seedNumbers.stream()
-              .map(seedNumber -> lookup(seedNumber, nameToMap))
-              .min(Comparator.naturalOrder())
-              .get();
-      System.out.println("Min location is " + minLocation);
-      long max = 0;
-      for (int i = 1; i < seedNumbers.size(); i += 2) {
-        long v = seedNumbers.get(i);
-        max = Long.max(v, max);
-      }
-      System.out.printf("max %,d\n", max);
-      minLocation = Long.MAX_VALUE;
-      for (int i = 0; i < seedNumbers.size(); i += 2) {
-        long start = seedNumbers.get(i);
-        long len = seedNumbers.get(i + 1);
-        System.out.println("Looking at " + start + " with len " + len);
-        for (long j = 0; j <= len; j++) {
-          // Rather than this brute-force search, we could change NumberRangeMap so that it can
-          // look up an input range and return a list of output ranges. Then flatmap that through
-          // the remaining maps. But brute force solves the problem in "only" 8 minutes.
-          long seedNumber = start + j;
-          if (false && (j & 1048575) == 0) {
-            System.out.printf("  ...%,d\n", seedNumber);
-          }
-          minLocation = Long.min(minLocation, lookup(seedNumber, nameToMap));
-        }
-      }
-      System.out.println("Min location now is " + minLocation);
+  /** The seed numbers, and each map keyed by the name of the category that it maps from. */
+  record Almanac(List<Long> seedNumbers, Map<String, NumberRangeMap> nameToMap) {}
+
+  @Override
+  public Almanac parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    String seedsLine = lines.get(0);
+    assert seedsLine.startsWith("seeds: ");
+    List<String> seedStrings = Arrays.stream(seedsLine.split(" ")).skip(1).toList();
+    List<Long> seedNumbers = seedStrings.stream().map(Long::parseLong).toList();
+    assert lines.get(1).isEmpty();
+    int index = 2;
+    Map<String, NumberRangeMap> nameToMap = new LinkedHashMap<>();
+    while (index < lines.size()) {
+      ParseResult result = parseMap(lines, index);
+      nameToMap.put(result.rangeMap.from, result.rangeMap);
+      index = result.nextIndex;
     }
+    return new Almanac(seedNumbers, nameToMap);
   }
 
-  private static long lookup(long seedNumber, Map<String, NumberRangeMap> nameToMap) {
-    long value = seedNumber;
+  @Override
+  public Long part1(Almanac almanac) {
+    // The chain of maps from seed to location is composed into a single map first, so each seed
+    // is looked up once rather than once per map.
+    NumberRangeMap seedToLocation = compose(almanac.nameToMap());
+    return almanac.seedNumbers().stream()
+        .map(seedToLocation::get)
+        .min(Comparator.naturalOrder())
+        .get();
+  }
+
+  @Override
+  public Long part2(Almanac almanac) {
+    // This used to look up every seed in every range, which took about 8 minutes. Now the seed
+    // ranges are mapped as ranges, each splitting into several ranges as it goes through a map,
+    // so the time depends only on the number of ranges and not on their lengths.
+    List<Long> seedNumbers = almanac.seedNumbers();
+    RangeSet<Long> seedRanges = TreeRangeSet.create();
+    for (int i = 0; i < seedNumbers.size(); i += 2) {
+      long start = seedNumbers.get(i);
+      long len = seedNumbers.get(i + 1);
+      seedRanges.add(Range.closedOpen(start, start + len));
+    }
+    RangeSet<Long> locationRanges = lookup(seedRanges, almanac.nameToMap());
+    return locationRanges.span().lowerEndpoint();
+  }
+
+  private static final Metrics.Counter RANGES_MAPPED = Metrics.counter("2023.5.rangesMapped");
+
+  static RangeSet<Long> lookup(RangeSet<Long> seedRanges, Map<String, NumberRangeMap> nameToMap) {
+    RangeSet<Long> ranges = seedRanges;
     String mapName = "seed";
     while (!mapName.equals("location")) {
       NumberRangeMap rangeMap = nameToMap.get(mapName);
-      value = rangeMap.get(value);
+      ranges = rangeMap.map(ranges);
+      RANGES_MAPPED.add(ranges.asRanges().size());
       mapName = rangeMap.to;
     }
-    return value;
+    return ranges;
+  }
+
+  // Returns a single map from seed to location that has the same effect as each of the maps in
+  // turn.
+  static NumberRangeMap compose(Map<String, NumberRangeMap> nameToMap) {
+    NumberRangeMap composed = nameToMap.get("seed");
+    while (!composed.to.equals("location")) {
+      composed = composed.andThen(nameToMap.get(composed.to));
+    }
+    return composed;
   }
 
   private static final Pattern MAP_HEADER = Pattern.compile("(.*)-to-(.*) map:");
-  private static final Pattern ENTRY = Pattern.compile("([0-9]+) ([0-9]+) ([0-9]+)");
 
   private static ParseResult parseMap(List<String> lines, int index) {
     Matcher matcher = MAP_HEADER.matcher(lines.get(index));
@@ -90,18 +109,14 @@ public class Puzzle5 {
     }
     String from = matcher.group(1);
     String to = matcher.group(2);
-    ImmutableRangeMap.Builder<Long, NumberRange> builder = ImmutableRangeMap.builder();
+    ImmutableRangeMap.Builder<Long, Long> builder = ImmutableRangeMap.builder();
+    NumberScanner scanner = new NumberScanner();
     while (++index < lines.size() && !lines.get(index).isEmpty()) {
-      Matcher entryMatcher = ENTRY.matcher(lines.get(index));
-      if (!entryMatcher.matches()) {
-        throw new AssertionError(lines.get(index));
-      }
-      List<Long> numbers =
-          List.of(entryMatcher.group(1), entryMatcher.group(2), entryMatcher.group(3)).stream()
-              .map(Long::parseLong)
-              .toList();
-      NumberRange range = new NumberRange(numbers.get(0), numbers.get(1), numbers.get(2));
-      builder.put(Range.closedOpen(range.sourceStart, range.sourceStart + range.len), range);
+      scanner.scan(lines.get(index)).expect(3);
+      long destStart = scanner.getLong(0);
+      long sourceStart = scanner.getLong(1);
+      long len = scanner.getLong(2);
+      builder.put(Range.closedOpen(sourceStart, sourceStart + len), destStart - sourceStart);
     }
     if (index < lines.size()) {
       ++index;
@@ -112,20 +127,64 @@ public class Puzzle5 {
 
   record ParseResult(NumberRangeMap rangeMap, int nextIndex) {}
 
-  record NumberRangeMap(String from, String to, RangeMap<Long, NumberRange> rangeMap) {
+  /**
+   * A piecewise-linear map from numbers to numbers. Each range in {@code offsets} maps a number in
+   * it by adding the offset for that range. Numbers outside every range map to themselves.
+   */
+  record NumberRangeMap(String from, String to, RangeMap<Long, Long> offsets) {
     long get(long value) {
-      NumberRange range = rangeMap.get(value);
-      return (range == null) ? value : range.get(value);
+      Long offset = offsets.get(value);
+      return (offset == null) ? value : value + offset;
     }
-  }
 
-  record NumberRange(long destStart, long sourceStart, long len) {
-    long get(long value) {
-      if (value >= sourceStart && value <= sourceStart + len) {
-        return destStart + (value - sourceStart);
-      } else {
-        return -1;
+    /** Returns the set of numbers that the numbers in {@code ranges} map to. */
+    RangeSet<Long> map(RangeSet<Long> ranges) {
+      RangeSet<Long> result = TreeRangeSet.create();
+      for (Range<Long> range : ranges.asRanges()) {
+        pieces(range).forEach((piece, offset) -> result.add(shift(piece, offset)));
+      }
+      return result;
+    }
+
+    /**
+     * Returns a map that has the same effect as this one followed by {@code next}. The pieces of
+     * the result are the pieces of this map, split where their images cross the boundaries of the
+     * pieces of {@code next}.
+     */
+    NumberRangeMap andThen(NumberRangeMap next) {
+      ImmutableRangeMap.Builder<Long, Long> builder = ImmutableRangeMap.builder();
+      for (Map.Entry<Range<Long>, Long> piece : pieces(Range.all()).entrySet()) {
+        long offset = piece.getValue();
+        for (Map.Entry<Range<Long>, Long> nextPiece :
+            next.pieces(shift(piece.getKey(), offset)).entrySet()) {
+          long totalOffset = offset + nextPiece.getValue();
+          if (totalOffset != 0) {
+            builder.put(shift(nextPiece.getKey(), -offset), totalOffset);
+          }
+        }
+      }
+      return new NumberRangeMap(from, next.to, builder.build());
+    }
+
+    // Returns the ranges that make up the given range, each with its offset, including the gaps
+    // between the ranges in offsets, which have offset 0.
+    private Map<Range<Long>, Long> pieces(Range<Long> range) {
+      Map<Range<Long>, Long> pieces =
+          new LinkedHashMap<>(offsets.subRangeMap(range).asMapOfRanges());
+      RangeSet<Long> gaps = TreeRangeSet.create(List.of(range));
+      gaps.removeAll(pieces.keySet());
+      for (Range<Long> gap : gaps.asRanges()) {
+        pieces.put(gap, 0L);
+      }
+      return pieces;
+    }
+
+    private static Range<Long> shift(Range<Long> range, long offset) {
+      if (offset == 0) {
+        return range;
       }
+      // Only ranges from the input are shifted, and those are all closed-open.
+      return Range.closedOpen(range.lowerEndpoint() + offset, range.upperEndpoint() + offset);
     }
   }
 }
@@ -1,58 +1,69 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.joining;
 
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.List;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle6 {
+public class Puzzle6 implements Puzzle<Puzzle6.Races> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle6.class.getResourceAsStream("puzzle6.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = Arrays.asList(lineString.split("\n"));
-      List<String> timeStrings = Arrays.asList(lines.get(0).split("\\s+"));
-      assert timeStrings.get(0).equals("Time:");
-      List<Integer> times = timeStrings.stream().skip(1).map(Integer::parseInt).toList();
-      List<String> distStrings = Arrays.asList(lines.get(1).split("\\s+"));
-      assert distStrings.get(0).equals("Distance:");
-      List<Integer> dists = distStrings.stream().skip(1).map(Integer::parseInt).toList();
-      assert times.size() == dists.size();
+    PuzzleRunner.run(new Puzzle6());
+  }
 
-      // Part 1
-      int product = 1;
-      for (int i = 0; i < times.size(); i++) {
-        int time = times.get(i);
-        int dist = dists.get(i);
-        int count = 0;
-        for (int j = 1; j < time; j++) {
-          if (j * (time - j) > dist) {
-            count++;
-          }
-        }
-        assert count > 0;
-        product *= count;
-      }
-      System.out.println("Product " + product);
+  /** The numbers after {@code Time:} and {@code Distance:}, as strings so Part 2 can join them. */
+  record Races(List<String> timeStrings, List<String> distStrings) {}
+
+  @Override
+  public Races parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<String> timeStrings = Arrays.asList(lines.get(0).split("\\s+"));
+    assert timeStrings.get(0).equals("Time:");
+    List<String> distStrings = Arrays.asList(lines.get(1).split("\\s+"));
+    assert distStrings.get(0).equals("Distance:");
+    assert timeStrings.size() == distStrings.size();
+    return new Races(
+        timeStrings.subList(1, timeStrings.size()), distStrings.subList(1, distStrings.size()));
+  }
 
-      // Part 2
-      String timeString = timeStrings.stream().skip(1).collect(joining(""));
-      int time = Integer.parseInt(timeString);
-      String distString = distStrings.stream().skip(1).collect(joining(""));
-      long dist = Long.parseLong(distString);
-      System.out.println("Time " + time + " dist " + dist);
+  @Override
+  public Integer part1(Races races) {
+    List<Integer> times = races.timeStrings().stream().map(Integer::parseInt).toList();
+    List<Integer> dists = races.distStrings().stream().map(Integer::parseInt).toList();
+    int product = 1;
+    for (int i = 0; i < times.size(); i++) {
+      int time = times.get(i);
+      int dist = dists.get(i);
       int count = 0;
-      for (long j = 1; j < time; j++) {
+      for (int j = 1; j < time; j++) {
         if (j * (time - j) > dist) {
           count++;
         }
       }
       assert count > 0;
-      System.out.println("New count " + count);
+      product *= count;
+    }
+    return product;
+  }
+
+  @Override
+  public Integer part2(Races races) {
+    int time = Integer.parseInt(races.timeStrings().stream().collect(joining("")));
+    long dist = Long.parseLong(races.distStrings().stream().collect(joining("")));
+    int count = 0;
+    for (long j = 1; j < time; j++) {
+      if (j * (time - j) > dist) {
+        count++;
+      }
     }
+    assert count > 0;
+    return count;
   }
 }
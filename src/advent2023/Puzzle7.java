@@ -1,14 +1,17 @@
 package advent2023;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.joining;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.TreeMultiset;
-import java.io.InputStream;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -17,28 +20,33 @@ import java.util.function.Supplier;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle7 {
+public class Puzzle7 implements Puzzle<List<Puzzle7.Hand>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle7.class.getResourceAsStream("puzzle7.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      List<Hand> hands = lines.stream().map(Puzzle7::parseHand).sorted().toList();
-
-      // Part 1
-      long sum = 0;
-      for (int i = 0; i < hands.size(); i++) {
-        sum += (i + 1) * hands.get(i).bid;
-      }
-      System.out.println("Sum: " + sum);
+    PuzzleRunner.run(new Puzzle7());
+  }
 
-      // Part 2
-      List<Hand> jokerHands = hands.stream().sorted(JOKER_HAND_COMPARATOR).toList();
-      long jokerSum = 0;
-      for (int i = 0; i < jokerHands.size(); i++) {
-        jokerSum += (i + 1) * jokerHands.get(i).bid;
-      }
-      System.out.println("Joker sum: " + jokerSum);
+  @Override
+  public List<Hand> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Puzzle7::parseHand).sorted().toList();
+  }
+
+  @Override
+  public Long part1(List<Hand> hands) {
+    long sum = 0;
+    for (int i = 0; i < hands.size(); i++) {
+      sum += (i + 1) * hands.get(i).bid;
+    }
+    return sum;
+  }
+
+  @Override
+  public Long part2(List<Hand> hands) {
+    List<Hand> jokerHands = hands.stream().sorted(JOKER_HAND_COMPARATOR).toList();
+    long jokerSum = 0;
+    for (int i = 0; i < jokerHands.size(); i++) {
+      jokerSum += (i + 1) * jokerHands.get(i).bid;
     }
+    return jokerSum;
   }
 
   private static Hand parseHand(String line) {
@@ -1,53 +1,59 @@
 package advent2023;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
+import adventlib.Cycle;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
 import com.google.common.math.LongMath;
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 import java.util.Map;
-import java.util.SequencedSet;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle8 {
-  private final Map<String, List<String>> map;
-  private final String directions;
-
-  Puzzle8(Map<String, List<String>> map, String directions) {
-    this.map = map;
-    this.directions = directions;
+public class Puzzle8 implements Puzzle<Puzzle8.Network> {
+  public static void main(String[] args) throws Exception {
+    PuzzleRunner.run(new Puzzle8());
   }
 
-  public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle8.class.getResourceAsStream("puzzle8.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      assert lines.get(1).isEmpty();
-      String directions = lines.getFirst();
-      Map<String, List<String>> map = parseMap(lines.subList(2, lines.size()));
+  record Network(Map<String, List<String>> map, String directions) {
+    State nextState(State state) {
+      List<String> fork = map.get(state.node);
+      int index = indexFor(directions.charAt(state.dirIndex));
+      int newDirIndex = (state.dirIndex + 1) % directions.length();
+      return new State(fork.get(index), newDirIndex);
+    }
 
-      // Part 1.
-      long steps = 0;
-      String node = "AAA";
-      for (int dirIndex = 0;
-          !node.equals("ZZZ");
-          dirIndex = (dirIndex + 1) % directions.length(), steps++) {
-        List<String> fork = map.get(node);
-        int index = indexFor(directions.charAt(dirIndex));
-        node = fork.get(index);
-      }
-      System.out.println("Steps " + steps);
+    List<State> nextStates(List<State> states) {
+      return states.stream().map(this::nextState).toList();
+    }
+  }
+
+  @Override
+  public Network parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    assert lines.get(1).isEmpty();
+    return new Network(parseMap(lines.subList(2, lines.size())), lines.getFirst());
+  }
 
-      // Part 2.
-      new Puzzle8(map, directions).solve();
+  @Override
+  public Long part1(Network network) {
+    String directions = network.directions();
+    long steps = 0;
+    String node = "AAA";
+    for (int dirIndex = 0;
+        !node.equals("ZZZ");
+        dirIndex = (dirIndex + 1) % directions.length(), steps++) {
+      List<String> fork = network.map().get(node);
+      int index = indexFor(directions.charAt(dirIndex));
+      node = fork.get(index);
     }
+    return steps;
   }
 
   /*
@@ -59,79 +65,36 @@ public class Puzzle8 {
    * end, though again that might not be true for all inputs. The two 3s cancel each other out so
    * the solution is just the LCM of the cycle lengths.
    */
-  private void solve() {
+  @Override
+  public Long part2(Network network) {
     List<State> states =
-        map.keySet().stream().filter(s -> s.endsWith("A")).map(s -> new State(s, 0)).toList();
-    System.out.println("States " + states);
+        network.map().keySet().stream()
+            .filter(s -> s.endsWith("A"))
+            .map(s -> new State(s, 0))
+            .toList();
     // Pass through the initial states before cycling begins.
-    states = nextStates(states);
-    states = nextStates(states);
-    states = nextStates(states);
+    states = network.nextStates(states);
+    states = network.nextStates(states);
+    states = network.nextStates(states);
     // Compute the cycle length for each of the parallel states.
     long lcm = 1;
     for (State state : states) {
-      Cycle cycle = cycle(state);
-      System.out.println(
-          "Start at "
-              + state
-              + ", cycle starts at "
-              + cycle.startIndex
-              + ", length "
-              + cycle.states.size()
-              + " - "
-              + cycle.startIndex
-              + " = "
-              + (cycle.states.size() - cycle.startIndex));
-      System.out.println("Last in cycle is " + cycle.states.getLast());
-      int stopIndex =
-          IntStream.range(0, Integer.MAX_VALUE)
-              .filter(i -> cycle.states.get(i).node.endsWith("Z"))
-              .findFirst()
-              .getAsInt();
-      System.out.println("Stop index is " + stopIndex);
-      lcm = lcm(lcm, cycle.states.size());
-      System.out.println("LCM now " + lcm);
+      Cycle<Cycle.Stepper<State>> cycle =
+          Cycle.brent(() -> Cycle.Stepper.of(network.nextState(state), network::nextState));
+      long length = cycle.start() + cycle.period();
+      lcm = lcm(lcm, length);
     }
-    System.out.println("Solution maybe " + lcm);
     // Looks like all of the cycle lengths have pairwise GCD 269.
+    return lcm;
   }
 
   private static long lcm(long a, long b) {
     long gcd = LongMath.gcd(a, b);
-    if (gcd != 1) {
-      System.out.println("GCD of " + a + " and " + b + " is " + gcd);
-    }
     return a / gcd * b;
   }
 
-  record Cycle(int startIndex, List<State> states) {}
-
-  private Cycle cycle(State state) {
-    SequencedSet<State> states = new LinkedHashSet<>();
-    while (true) {
-      state = nextState(state);
-      if (!states.add(state)) {
-        List<State> stateList = new ArrayList<>(states);
-        int index = stateList.indexOf(state);
-        assert index >= 0;
-        return new Cycle(index, stateList);
-      }
-    }
-  }
-
   record State(String node, int dirIndex) {}
 
-  private List<State> nextStates(List<State> states) {
-    return states.stream().map(state -> nextState(state)).toList();
-  }
-
-  private State nextState(State state) {
-    List<String> fork = map.get(state.node);
-    int index = indexFor(directions.charAt(state.dirIndex));
-    int newDirIndex = (state.dirIndex + 1) % directions.length();
-    return new State(fork.get(index), newDirIndex);
-  }
-
   private static int indexFor(char c) {
     return switch (c) {
       case 'L' -> 0;
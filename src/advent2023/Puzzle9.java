@@ -1,8 +1,10 @@
 package advent2023;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,25 +12,26 @@ import java.util.List;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle9 {
+public class Puzzle9 implements Puzzle<List<List<Long>>> {
   public static void main(String[] args) throws Exception {
-    try (InputStream in = Puzzle9.class.getResourceAsStream("puzzle9.txt")) {
-      String lineString = new String(in.readAllBytes(), UTF_8);
-      List<String> lines = List.of(lineString.split("\n"));
-      long sum = 0;
-      long backwardsSum = 0;
-      for (String line : lines) {
-        List<Long> numbers = Arrays.stream(line.split("\\s+")).map(Long::parseLong).toList();
-        long extra = extrapolate(numbers);
-        System.out.println("Extrapolate " + numbers + " to " + extra);
-        sum += extra;
-        long backwardsExtra = extrapolateBackwards(numbers);
-        System.out.println("Extrapolate " + numbers + " backwards to " + backwardsExtra);
-        backwardsSum += backwardsExtra;
-      }
-      System.out.println("Sum " + sum);
-      System.out.println("Backwards sum " + backwardsSum);
-    }
+    PuzzleRunner.run(new Puzzle9());
+  }
+
+  @Override
+  public List<List<Long>> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(line -> Arrays.stream(line.split("\\s+")).map(Long::parseLong).toList())
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<List<Long>> lines) {
+    return lines.stream().mapToLong(Puzzle9::extrapolate).sum();
+  }
+
+  @Override
+  public Long part2(List<List<Long>> lines) {
+    return lines.stream().mapToLong(Puzzle9::extrapolateBackwards).sum();
   }
 
   private static long extrapolate(List<Long> numbers) {
@@ -3,9 +3,12 @@ package advent2024;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Math.absExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -20,7 +23,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle1 {
+public class Puzzle1 implements Puzzle<Puzzle1.Lists> {
   private static final String SAMPLE =
       """
       3   4
@@ -39,30 +42,49 @@ public class Puzzle1 {
   private static final Pattern LINE_PATTERN = Pattern.compile("(\\d+)\\s+(\\d+)");
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Integer> left = new ArrayList<>();
-        List<Integer> right = new ArrayList<>();
-        for (String line : lines) {
-          Matcher matcher = LINE_PATTERN.matcher(line);
-          checkArgument(matcher.matches());
-          left.add(Integer.valueOf(matcher.group(1)));
-          right.add(Integer.valueOf(matcher.group(2)));
-        }
-        Collections.sort(left);
-        Collections.sort(right);
-        var rightCounts = ImmutableMultiset.copyOf(right);
-        int total = 0;
-        long similarity = 0;
-        for (int i = 0; i < left.size(); i++) {
-          total += absExact(left.get(i) - right.get(i));
-          similarity += left.get(i) * rightCounts.count(left.get(i));
-        }
-        System.out.println("Total for " + name + " is " + total);
-        System.out.println("Similarity for " + name + " is " + similarity);
-      }
+    PuzzleRunner.run(new Puzzle1());
+  }
+
+  /** The left and right columns of the input, each sorted. */
+  record Lists(List<Integer> left, List<Integer> right) {}
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public Lists parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    List<Integer> left = new ArrayList<>();
+    List<Integer> right = new ArrayList<>();
+    for (String line : lines) {
+      Matcher matcher = LINE_PATTERN.matcher(line);
+      checkArgument(matcher.matches());
+      left.add(Integer.valueOf(matcher.group(1)));
+      right.add(Integer.valueOf(matcher.group(2)));
+    }
+    Collections.sort(left);
+    Collections.sort(right);
+    return new Lists(left, right);
+  }
+
+  @Override
+  public Integer part1(Lists lists) {
+    int total = 0;
+    for (int i = 0; i < lists.left.size(); i++) {
+      total += absExact(lists.left.get(i) - lists.right.get(i));
+    }
+    return total;
+  }
+
+  @Override
+  public Long part2(Lists lists) {
+    var rightCounts = ImmutableMultiset.copyOf(lists.right);
+    long similarity = 0;
+    for (int left : lists.left) {
+      similarity += left * rightCounts.count(left);
     }
+    return similarity;
   }
 }
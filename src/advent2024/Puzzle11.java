@@ -1,17 +1,21 @@
 package advent2024;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.LongMemo;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -19,7 +23,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle11 {
+public class Puzzle11 implements Puzzle<List<Long>> {
   private static final String SAMPLE =
       """
       125 17
@@ -33,22 +37,34 @@ public class Puzzle11 {
           () -> new InputStreamReader(Puzzle11.class.getResourceAsStream("puzzle11.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Long> numbers =
-            Splitter.on(' ').splitToStream(getOnlyElement(lines)).map(Long::valueOf).toList();
-        List<Long> newNumbers = new ArrayList<>(numbers);
-        for (int i = 0; i < 25; i++) {
-          newNumbers = blink(newNumbers);
-        }
-        System.out.printf(
-            "For %s, after 25 blinks, number of stones %d\n", name, newNumbers.size());
-        System.out.printf(
-            "For %s, after 75 blinks, number of stones %d\n", name, count(numbers, 75));
-      }
+    PuzzleRunner.run(new Puzzle11());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Long> parse(Reader r) throws IOException {
+    return Splitter.on(' ')
+        .splitToStream(getOnlyElement(CharStreams.readLines(r)))
+        .map(Long::valueOf)
+        .toList();
+  }
+
+  @Override
+  public Integer part1(List<Long> numbers) {
+    List<Long> newNumbers = new ArrayList<>(numbers);
+    for (int i = 0; i < 25; i++) {
+      newNumbers = blink(newNumbers);
     }
+    return newNumbers.size();
+  }
+
+  @Override
+  public Long part2(List<Long> numbers) {
+    return count(numbers, 75);
   }
 
   // This naïve approach is sufficient for Part 1 but of course it explodes exponentially in Part 2.
@@ -75,10 +91,12 @@ public class Puzzle11 {
   // count(253000, 24) + count(1, 24) + count(7, 24), etc, and that as the recursion proceeds
   // we will see many of the same calls and we can therefore reuse the saved values. With the
   // problem input, there were 186,424 stones after 25 blinks but only 503 distinct values.
-  private record Result(long number, int blinks) {}
+  // The memo key packs the number and the blink count into one long, so nothing is boxed.
+  private static final int BLINK_BITS = 7;
 
   private static long count(List<Long> numbers, int blinks) {
-    var resultCache = new HashMap<Result, Long>();
+    checkArgument(blinks < 1 << BLINK_BITS);
+    var resultCache = LongMemo.create();
     long count = 0;
     for (long number : numbers) {
       count = addExact(count, count(number, blinks, resultCache));
@@ -86,31 +104,26 @@ public class Puzzle11 {
     return count;
   }
 
-  private static long count(long number, int blinks, Map<Result, Long> resultCache) {
+  private static long count(long number, int blinks, LongMemo resultCache) {
     if (blinks == 0) {
       return 1;
     }
-    var key = new Result(number, blinks);
-    Long cached = resultCache.get(key);
-    if (cached != null) {
-      return cached;
-    }
-    long result;
+    long key = multiplyExact(number, 1L << BLINK_BITS) | blinks;
+    return resultCache.get(key, unused -> computeCount(number, blinks, resultCache));
+  }
+
+  private static long computeCount(long number, int blinks, LongMemo resultCache) {
     if (number == 0) {
-      result = count(1, blinks - 1, resultCache);
+      return count(1, blinks - 1, resultCache);
+    }
+    String s = Long.toString(number);
+    if (s.length() % 2 == 0) {
+      int half = s.length() / 2;
+      return addExact(
+          count(Long.parseLong(s.substring(0, half)), blinks - 1, resultCache),
+          count(Long.parseLong(s.substring(half)), blinks - 1, resultCache));
     } else {
-      String s = Long.toString(number);
-      if (s.length() % 2 == 0) {
-        int half = s.length() / 2;
-        result =
-            addExact(
-                count(Long.parseLong(s.substring(0, half)), blinks - 1, resultCache),
-                count(Long.parseLong(s.substring(half)), blinks - 1, resultCache));
-      } else {
-        result = count(multiplyExact(number, 2024L), blinks - 1, resultCache);
-      }
+      return count(multiplyExact(number, 2024L), blinks - 1, resultCache);
     }
-    resultCache.put(key, result);
-    return result;
   }
-}
\ No newline at end of file
+}
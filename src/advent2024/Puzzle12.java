@@ -5,23 +5,24 @@ import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
 
 import adventlib.CharGrid;
-import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle12 {
+public class Puzzle12 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       RRRRIICCFF
@@ -44,32 +45,56 @@ public class Puzzle12 {
           () -> new InputStreamReader(Puzzle12.class.getResourceAsStream("puzzle12.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        // Map from grid coord to a canonical member of the region containing that coord.
-        Map<Coord, Coord> regions = new LinkedHashMap<>();
-        Map<Coord, Size> sizes = new LinkedHashMap<>();
-        for (Coord coord : grid.coords()) {
-          if (!regions.containsKey(coord)) {
-            Size size = fill(grid, regions, coord, coord);
-            sizes.put(coord, size);
-          }
-        }
-        int part1Price = sizes.values().stream().map(Size::price).reduce(0, Math::addExact);
-        System.out.printf("For %s, total fence price for part 1 is %d\n", name, part1Price);
-
-        Map<Coord, Integer> sideCounts = computeSideCounts(grid, regions);
-        int part2Price = 0;
-        for (Coord region : ImmutableSet.copyOf(regions.values())) {
-          part2Price =
-              addExact(part2Price, multiplyExact(sizes.get(region).area(), sideCounts.get(region)));
-        }
-        System.out.printf("For %s, total fence price for part 2 is %d\n", name, part2Price);
+    PuzzleRunner.run(new Puzzle12());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(CharGrid grid) {
+    return regions(grid).sizes().values().stream().map(Size::price).reduce(0, Math::addExact);
+  }
+
+  @Override
+  public Integer part2(CharGrid grid) {
+    Regions regions = regions(grid);
+    int[] sideCounts = computeSideCounts(grid, regions.regions());
+    int price = 0;
+    for (var regionSize : regions.sizes().entrySet()) {
+      price =
+          addExact(
+              price, multiplyExact(regionSize.getValue().area(), sideCounts[regionSize.getKey()]));
+    }
+    return price;
+  }
+
+  /**
+   * For each grid index, the index of a canonical member of the region containing it, and the size
+   * of each region, keyed by that canonical index.
+   */
+  private record Regions(int[] regions, Map<Integer, Size> sizes) {}
+
+  private static Regions regions(CharGrid grid) {
+    // Map from grid index to the index of a canonical member of the region containing it, or -1 if
+    // we haven't seen that index yet.
+    int[] regions = new int[grid.size()];
+    Arrays.fill(regions, -1);
+    Map<Integer, Size> sizes = new LinkedHashMap<>();
+    for (int index = 0; index < grid.size(); index++) {
+      if (regions[index] < 0) {
+        Size size = fill(grid, regions, index, index);
+        sizes.put(index, size);
       }
     }
+    return new Regions(regions, sizes);
   }
 
   record Size(int area, int perimeter) {
@@ -84,16 +109,16 @@ public class Puzzle12 {
     }
   }
 
-  private static Size fill(CharGrid grid, Map<Coord, Coord> regions, Coord canonical, Coord start) {
-    Coord old = regions.put(start, canonical);
-    checkState(old == null);
+  private static Size fill(CharGrid grid, int[] regions, int canonical, int start) {
+    checkState(regions[start] < 0);
+    regions[start] = canonical;
     Size size = new Size(1, 0);
     char plant = grid.get(canonical);
     checkState(grid.get(start) == plant);
     for (Dir dir : Dir.NEWS) {
-      Coord adjacent = dir.move(start, 1);
-      if (grid.get(adjacent) == plant) {
-        if (!regions.containsKey(adjacent)) {
+      int adjacent = grid.move(start, dir);
+      if (adjacent >= 0 && grid.get(adjacent) == plant) {
+        if (regions[adjacent] < 0) {
           size = size.plus(fill(grid, regions, canonical, adjacent));
         }
       } else {
@@ -109,19 +134,16 @@ public class Puzzle12 {
   // Similarly for lower horizontal sides. We also scan each column similarly looking for left
   // vertical and right vertical sides. Spelling out the code for the four kinds of sides is a bit
   // repetitive, but it would be easy to get things wrong trying to do something cleverer.
-  private static Map<Coord, Integer> computeSideCounts(CharGrid grid, Map<Coord, Coord> regions) {
-    Map<Coord, Integer> sideCounts = new LinkedHashMap<>();
-    regions.keySet().forEach(region -> sideCounts.put(region, 0));
+  private static int[] computeSideCounts(CharGrid grid, int[] regions) {
+    int[] sideCounts = new int[grid.size()];
 
     // Horizontal sides
     for (int row = 0; row < grid.height(); row++) {
       // Upper horizontal sides
       for (int col = 0; col < grid.width(); ) {
-        Coord coord = new Coord(row, col);
-        char plant = grid.get(coord);
+        char plant = grid.get(row, col);
         if (grid.get(row - 1, col) != plant) {
-          Coord region = regions.get(coord);
-          sideCounts.put(region, sideCounts.get(region) + 1);
+          sideCounts[regions[grid.index(row, col)]]++;
           do {
             col++;
           } while (grid.get(row, col) == plant && grid.get(row - 1, col) != plant);
@@ -131,11 +153,9 @@ public class Puzzle12 {
       }
       // Lower horizontal sides
       for (int col = 0; col < grid.width(); ) {
-        Coord coord = new Coord(row, col);
-        char plant = grid.get(coord);
+        char plant = grid.get(row, col);
         if (grid.get(row + 1, col) != plant) {
-          Coord region = regions.get(coord);
-          sideCounts.put(region, sideCounts.get(region) + 1);
+          sideCounts[regions[grid.index(row, col)]]++;
           do {
             col++;
           } while (grid.get(row, col) == plant && grid.get(row + 1, col) != plant);
@@ -149,11 +169,9 @@ public class Puzzle12 {
     for (int col = 0; col < grid.width(); col++) {
       // Left vertical sides
       for (int row = 0; row < grid.height(); ) {
-        Coord coord = new Coord(row, col);
-        char plant = grid.get(coord);
+        char plant = grid.get(row, col);
         if (grid.get(row, col - 1) != plant) {
-          Coord region = regions.get(coord);
-          sideCounts.put(region, sideCounts.get(region) + 1);
+          sideCounts[regions[grid.index(row, col)]]++;
           do {
             row++;
           } while (grid.get(row, col) == plant && grid.get(row, col - 1) != plant);
@@ -163,11 +181,9 @@ public class Puzzle12 {
       }
       // Right vertical sides
       for (int row = 0; row < grid.height(); ) {
-        Coord coord = new Coord(row, col);
-        char plant = grid.get(coord);
+        char plant = grid.get(row, col);
         if (grid.get(row, col + 1) != plant) {
-          Coord region = regions.get(coord);
-          sideCounts.put(region, sideCounts.get(region) + 1);
+          sideCounts[regions[grid.index(row, col)]]++;
           do {
             row++;
           } while (grid.get(row, col) == plant && grid.get(row, col + 1) != plant);
@@ -1,11 +1,16 @@
 package advent2024;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.math.LongMath.gcd;
 import static java.lang.Math.absExact;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -13,13 +18,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 import java.util.concurrent.Callable;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle13 {
+public class Puzzle13 implements Puzzle<List<Puzzle13.Machine>> {
   private static final String SAMPLE =
       """
       Button A: X+94, Y+34
@@ -46,44 +50,42 @@ public class Puzzle13 {
           "problem",
           () -> new InputStreamReader(Puzzle13.class.getResourceAsStream("puzzle13.txt")));
 
-  // Button A: X+94, Y+34
-  // Button B: X+22, Y+67
-  // Prize: X=8400, Y=5400
-  private static final Pattern INPUT_PATTERN =
-      Pattern.compile(
-          """
-          Button A: X\\+(\\d+), Y\\+(\\d+)
-          Button B: X\\+(\\d+), Y\\+(\\d+)
-          Prize: X=(\\d+), Y=(\\d+)\
-          """,
-          Pattern.MULTILINE);
-
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        String input = CharStreams.toString(r);
-        List<Machine> machines =
-            INPUT_PATTERN
-                .matcher(input)
-                .results()
-                .map(m -> IntStream.range(1, 7).map(i -> Integer.parseInt(m.group(i))).toArray())
-                .map(ns -> new Machine(ns[0], ns[1], ns[2], ns[3], ns[4], ns[5]))
-                .toList();
-        long total1 =
-            machines.stream()
-                .map(m -> solutionCost(m.aX, m.bX, m.prizeX, m.aY, m.bY, m.prizeY))
-                .reduce(0L, Math::addExact);
-        System.out.printf("For Part 1 %s, total %d\n", name, total1);
-        long offset = 10_000_000_000_000L;
-        long total2 =
-            machines.stream()
-                .map(
-                    m -> solutionCost(m.aX, m.bX, m.prizeX + offset, m.aY, m.bY, m.prizeY + offset))
-                .reduce(0L, Math::addExact);
-        System.out.printf("For Part 2 %s, total %d\n", name, total2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle13());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Machine> parse(Reader r) throws IOException {
+    // Each machine is described by three lines with six numbers:
+    // Button A: X+94, Y+34
+    // Button B: X+22, Y+67
+    // Prize: X=8400, Y=5400
+    int[] ns = NumberScanner.ints(CharStreams.toString(r));
+    checkState(ns.length % 6 == 0);
+    return IntStream.range(0, ns.length / 6)
+        .map(i -> i * 6)
+        .mapToObj(i -> new Machine(ns[i], ns[i + 1], ns[i + 2], ns[i + 3], ns[i + 4], ns[i + 5]))
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<Machine> machines) {
+    return machines.stream()
+        .map(m -> solutionCost(m.aX, m.bX, m.prizeX, m.aY, m.bY, m.prizeY))
+        .reduce(0L, Math::addExact);
+  }
+
+  @Override
+  public Long part2(List<Machine> machines) {
+    long offset = 10_000_000_000_000L;
+    return machines.stream()
+        .map(m -> solutionCost(m.aX, m.bX, m.prizeX + offset, m.aY, m.bY, m.prizeY + offset))
+        .reduce(0L, Math::addExact);
   }
 
   record Machine(int aX, int aY, int bX, int bY, int prizeX, int prizeY) {}
@@ -9,11 +9,15 @@ import static java.lang.Math.multiplyExact;
 import static java.util.Map.entry;
 import static java.util.stream.Collectors.groupingBy;
 
+import adventlib.NumberScanner;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multiset;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -21,13 +25,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle14 {
+public class Puzzle14 implements Puzzle<Puzzle14.Robots> {
   private static final String SAMPLE =
       """
       p=0,4 v=3,-3
@@ -52,39 +54,72 @@ public class Puzzle14 {
           () -> new InputStreamReader(Puzzle14.class.getResourceAsStream("puzzle14.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        final ImmutableSetMultimap<Coord, Robot> robots = parseRobots(lines);
-        Coord bounds =
-            switch (name) {
-              case "sample" -> new Coord(11, 7);
-              case "problem" -> new Coord(101, 103);
-              default -> throw new IllegalArgumentException(name);
-            };
-        robots.keySet().forEach(c -> checkState(c.valid(bounds), "%s ≥ %s", c, bounds));
-        var movedRobots = move(robots, 100, bounds);
-        System.out.printf("For %s, safety factor %d\n", name, safetyFactor(movedRobots, bounds));
-        if (name.equals("problem")) {
-          // Some guesswork involved here. I first displayed grids for the first 1000 steps and
-          // looked through them all. No Christmas tree, but I did see that some vertical clusters
-          // seemed to be forming. For my input, that happened at step 14, and again every 101
-          // steps after that. So I thought I would look for vertical clusters, and tried various
-          // thresholds. A threshold of 35 found the solution at step 6377 = 14 + 63 * 101. At
-          // first I looked just at 14, 115, 216, etc, but actually we don't need to rely on the
-          // cycling. We can just look at all arrangements, since 6377 isn't all that big.
-          for (int i = 1; i <= 100_000; i++) {
-            movedRobots = move(robots, i, bounds);
-            if (verticalLine(movedRobots.keySet())) {
-              System.out.printf("Pattern after %d steps\n", i);
-              // display(movedRobots.keySet(), bounds);
-              break;
-            }
-          }
-        }
+    PuzzleRunner.run(new Puzzle14());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /**
+   * What the puzzle text says about an input but the input itself doesn't: how big the space is,
+   * and whether there is a Christmas tree to find in Part 2.
+   */
+  record Parameters(Coord bounds, boolean hasTree) {}
+
+  private static final Parameters PROBLEM_PARAMETERS = new Parameters(new Coord(101, 103), true);
+
+  // The sample has too few robots to form a Christmas tree.
+  private static final ImmutableMap<String, Parameters> SAMPLE_PARAMETERS =
+      ImmutableMap.of("sample", new Parameters(new Coord(11, 7), false));
+
+  /** The robots, keyed by their starting positions, and the parameters for their input. */
+  record Robots(ImmutableSetMultimap<Coord, Robot> robots, Parameters parameters) {
+    Coord bounds() {
+      return parameters.bounds;
+    }
+  }
+
+  @Override
+  public Robots parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Robots parse(String inputName, Reader r) throws IOException {
+    ImmutableSetMultimap<Coord, Robot> robots = parseRobots(CharStreams.readLines(r));
+    Parameters parameters = SAMPLE_PARAMETERS.getOrDefault(inputName, PROBLEM_PARAMETERS);
+    Coord bounds = parameters.bounds;
+    robots.keySet().forEach(c -> checkState(c.valid(bounds), "%s ≥ %s", c, bounds));
+    return new Robots(robots, parameters);
+  }
+
+  @Override
+  public Long part1(Robots robots) {
+    return safetyFactor(move(robots.robots(), 100, robots.bounds()), robots.bounds());
+  }
+
+  // Some guesswork involved here. I first displayed grids for the first 1000 steps and looked
+  // through them all. No Christmas tree, but I did see that some vertical clusters seemed to be
+  // forming. For my input, that happened at step 14, and again every 101 steps after that. So I
+  // thought I would look for vertical clusters, and tried various thresholds. A threshold of 35
+  // found the solution at step 6377 = 14 + 63 * 101. At first I looked just at 14, 115, 216, etc,
+  // but actually we don't need to rely on the cycling. We can just look at all arrangements, since
+  // 6377 isn't all that big.
+  @Override
+  public Object part2(Robots robots) {
+    if (!robots.parameters.hasTree) {
+      return "none";
+    }
+    for (int i = 1; i <= 100_000; i++) {
+      var movedRobots = move(robots.robots(), i, robots.bounds());
+      if (verticalLine(movedRobots.keySet())) {
+        // display(movedRobots.keySet(), robots.bounds());
+        return i;
       }
     }
+    return "none";
   }
 
   private static boolean verticalLine(ImmutableSet<Coord> coords) {
@@ -149,15 +184,10 @@ public class Puzzle14 {
   }
 
   private static ImmutableSetMultimap<Coord, Robot> parseRobots(List<String> lines) {
-    Pattern pattern = Pattern.compile("p=(\\d+),(\\d+) v=(-?\\d+),(-?\\d+)");
+    // p=0,4 v=3,-3
     return lines.stream()
-        .map(pattern::matcher)
-        .peek(m -> checkState(m.matches()))
-        .map(
-            m ->
-                IntStream.rangeClosed(1, m.groupCount())
-                    .map(i -> Integer.parseInt(m.group(i)))
-                    .toArray())
+        .map(NumberScanner::ints)
+        .peek(a -> checkState(a.length == 4))
         .collect(
             toImmutableSetMultimap(
                 a -> new Coord(a[0], a[1]), a -> new Robot(new Coord(a[2], a[3]))));
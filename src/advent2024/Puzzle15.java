@@ -15,9 +15,12 @@ import static java.util.stream.Collectors.toMap;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -31,7 +34,7 @@ import java.util.function.BinaryOperator;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle15 {
+public class Puzzle15 implements Puzzle<Puzzle15.Warehouse> {
   private static final String SMALL_SAMPLE =
       """
       ########
@@ -81,25 +84,36 @@ public class Puzzle15 {
           () -> new InputStreamReader(Puzzle15.class.getResourceAsStream("puzzle15.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int blank = lines.indexOf("");
-        checkArgument(blank >= 0 && blank == lines.lastIndexOf(""));
-        List<String> gridLines = lines.subList(0, blank);
-        CharGrid grid = new CharGrid(gridLines);
-        Map<Coord, Contents> gridMap = gridMap(grid);
-        List<Dir> moves = parseMoves(lines.subList(blank + 1, lines.size()));
-
-        System.out.printf("For Part 1 %s, sum is %d\n", name, part1Sum(gridMap, moves));
-
-        CharGrid wideGrid = new CharGrid(widen(gridLines));
-        Map<Coord, Contents> wideGridMap = gridMap(wideGrid);
-        System.out.printf(
-            "For Part 2 %s, sum is %d\n", name, part2Sum(wideGrid, wideGridMap, moves));
-      }
-    }
+    PuzzleRunner.run(new Puzzle15());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The lines of the initial warehouse grid, and the robot's moves. */
+  record Warehouse(List<String> gridLines, List<Dir> moves) {}
+
+  @Override
+  public Warehouse parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int blank = lines.indexOf("");
+    checkArgument(blank >= 0 && blank == lines.lastIndexOf(""));
+    return new Warehouse(
+        lines.subList(0, blank), parseMoves(lines.subList(blank + 1, lines.size())));
+  }
+
+  @Override
+  public Integer part1(Warehouse warehouse) {
+    CharGrid grid = new CharGrid(warehouse.gridLines);
+    return part1Sum(gridMap(grid), warehouse.moves);
+  }
+
+  @Override
+  public Integer part2(Warehouse warehouse) {
+    CharGrid wideGrid = new CharGrid(widen(warehouse.gridLines));
+    return part2Sum(wideGrid, gridMap(wideGrid), warehouse.moves);
   }
 
   // I found this one of the trickiest of 2024's puzzles. My initial solution for Part 2 worked with
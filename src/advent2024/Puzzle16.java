@@ -2,28 +2,28 @@ package advent2024;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static java.lang.Integer.max;
-import static java.lang.Integer.min;
-import static java.lang.Math.abs;
 import static java.util.stream.Collectors.toSet;
 
+import adventlib.CellIntMap;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
-import com.google.common.collect.HashBasedTable;
+import adventlib.GraphAlgorithms;
+import adventlib.JunctionGraph;
+import adventlib.MappedInput;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Table;
-import com.google.common.graph.GraphBuilder;
-import com.google.common.graph.ImmutableGraph;
+import com.google.common.graph.SuccessorsFunction;
+import com.google.common.graph.ValueGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -31,7 +31,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle16 {
+public class Puzzle16 implements Puzzle<Puzzle16.ScoredMaze> {
   private static final String SAMPLE1 =
       """
       ###############
@@ -82,39 +82,55 @@ public class Puzzle16 {
           () -> new InputStreamReader(Puzzle16.class.getResourceAsStream("puzzle16.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        var maze = parseMaze(lines);
-        var costs = computeCosts(maze);
-        int leastCost = Collections.min(costs.row(maze.end).values());
-        System.out.printf("For %s, least cost is %d\n", name, leastCost);
-        Set<CoordPair> bestEdges = new LinkedHashSet<>();
-        reverseVisit(maze, costs, bestEdges, maze.end, leastCost);
-        Set<Coord> bestCoords = new LinkedHashSet<>();
-        for (var pair : bestEdges) {
-          // TODO: clean up
-          Coord start = pair.first;
-          Coord end = pair.second;
-          bestCoords.add(start);
-          bestCoords.add(end);
-          if (start.col() == end.col()) {
-            for (int line = min(start.line(), end.line());
-                line < max(start.line(), end.line());
-                line++) {
-              bestCoords.add(new Coord(line, start.col()));
-            }
-          } else {
-            checkState(start.line() == end.line());
-            for (int col = min(start.col(), end.col()); col < max(start.col(), end.col()); col++) {
-              bestCoords.add(new Coord(start.line(), col));
-            }
-          }
-        }
-        System.out.printf("For %s, tiles on path: %d\n", name, bestCoords.size());
-      }
+    PuzzleRunner.run(new Puzzle16());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The maze, and the least cost of reaching each node from each direction. */
+  record ScoredMaze(Maze maze, CellIntMap costs) {
+    int leastCost() {
+      return Dir.NEWS.stream()
+          .mapToInt(dir -> costs.getOrDefault(maze.end, dir, Integer.MAX_VALUE))
+          .min()
+          .getAsInt();
+    }
+  }
+
+  // Both parts need the costs, so we run the shortest-path search once here.
+  @Override
+  public ScoredMaze parse(Reader r) throws IOException {
+    return scoredMaze(new CharGrid(CharStreams.readLines(r)));
+  }
+
+  @Override
+  public ScoredMaze parse(String inputName, MappedInput input) {
+    return scoredMaze(input.toCharGrid());
+  }
+
+  private static ScoredMaze scoredMaze(CharGrid grid) {
+    Maze maze = parseMaze(grid);
+    return new ScoredMaze(maze, computeCosts(maze));
+  }
+
+  @Override
+  public Integer part1(ScoredMaze scored) {
+    return scored.leastCost();
+  }
+
+  @Override
+  public Integer part2(ScoredMaze scored) {
+    Maze maze = scored.maze;
+    Set<CoordPair> bestEdges = new LinkedHashSet<>();
+    reverseVisit(maze, scored.costs, bestEdges, maze.end, scored.leastCost());
+    Set<Coord> bestCoords = new LinkedHashSet<>();
+    for (var pair : bestEdges) {
+      bestCoords.addAll(maze.junctions.path(pair.first, pair.second));
     }
+    return bestCoords.size();
   }
 
   private static Dir direction(Coord a, Coord b) {
@@ -126,41 +142,32 @@ public class Puzzle16 {
     }
   }
 
-  private static int distance(Coord a, Coord b) {
-    return abs(a.line() - b.line() + abs(a.col() - b.col()));
-  }
-
-  private static Table<Coord, Dir, Integer> computeCosts(Maze maze) {
-    Table<Coord, Dir, Integer> costs = HashBasedTable.create();
-    visit(maze, costs, maze.start, Dir.E, 0);
+  record Heading(Coord coord, Dir enteringFrom) {}
+
+  // Each node in the graph has a lowest cost for each direction it can be entered from. We find
+  // those costs with Dijkstra's algorithm over (node, direction) pairs, where following an edge
+  // costs its length, plus 1000 if it means turning.
+  private static CellIntMap computeCosts(Maze maze) {
+    SuccessorsFunction<Heading> successors =
+        heading ->
+            maze.graph().successors(heading.coord).stream()
+                .map(next -> new Heading(next, direction(heading.coord, next)))
+                .toList();
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            successors,
+            (from, to) -> {
+              int cost = maze.distance(from.coord, to.coord);
+              return (to.enteringFrom == from.enteringFrom) ? cost : cost + 1000;
+            },
+            new Heading(maze.start, Dir.E));
+    CellIntMap costs = maze.grid.newDirIntMap();
+    paths
+        .distances()
+        .forEach((heading, cost) -> costs.put(heading.coord, heading.enteringFrom, cost));
     return costs;
   }
 
-  // Each node in the graph has a map from direction entered to lowest cost. If we reach a node
-  // in a certain direction and it already has a cost for that direction, then if that cost is lower
-  // than the current cost we can stop along this path, and otherwise we can update the cost and
-  // keep going.
-  private static void visit(
-      Maze maze,
-      Table<Coord, Dir, Integer> costs,
-      Coord current,
-      Dir enteringFrom,
-      int costOnCurrentPath) {
-    Integer existingCost = costs.get(current, enteringFrom);
-    if (existingCost != null && existingCost <= costOnCurrentPath) {
-      return;
-    }
-    costs.put(current, enteringFrom, costOnCurrentPath);
-    for (Coord next : maze.graph.successors(current)) {
-      int nextCost = costOnCurrentPath + distance(current, next);
-      Dir direction = direction(current, next);
-      if (direction != enteringFrom) {
-        nextCost += 1000;
-      }
-      visit(maze, costs, next, direction, nextCost);
-    }
-  }
-
   record CoordPair(Coord first, Coord second) {
     @Override
     public String toString() {
@@ -174,110 +181,52 @@ public class Puzzle16 {
   // cost that the edge would have added.
   private static void reverseVisit(
       Maze maze,
-      Table<Coord, Dir, Integer> costs,
+      CellIntMap costs,
       Set<CoordPair> bestEdges,
       Coord current,
       int targetCost) {
-    for (Coord prev : maze.graph.predecessors(current)) {
-      int distance = distance(prev, current);
+    for (Coord prev : maze.graph().predecessors(current)) {
+      int distance = maze.distance(prev, current);
       Dir dir = direction(prev, current);
-      costs
-          .row(prev)
-          .forEach(
-              (prevDir, cost) -> {
-                int edgeCost = (dir == prevDir) ? distance : distance + 1000;
-                if (cost + edgeCost == targetCost) {
-                  bestEdges.add(new CoordPair(prev, current));
-                  reverseVisit(maze, costs, bestEdges, prev, cost);
-                }
-              });
+      costs.forEachDir(
+          prev,
+          (prevDir, cost) -> {
+            int edgeCost = (dir == prevDir) ? distance : distance + 1000;
+            if (cost + edgeCost == targetCost) {
+              bestEdges.add(new CoordPair(prev, current));
+              reverseVisit(maze, costs, bestEdges, prev, cost);
+            }
+          });
     }
   }
 
-  record Maze(CharGrid grid, ImmutableGraph<Coord> graph, Coord start, Coord end) {}
+  record Maze(CharGrid grid, JunctionGraph junctions, Coord start, Coord end) {
+    ValueGraph<Coord, Integer> graph() {
+      return junctions.graph();
+    }
 
-  private static Maze parseMaze(List<String> lines) {
-    CharGrid grid = new CharGrid(lines);
-    Coord start = new Coord(grid.height() - 2, 1);
-    checkArgument(grid.get(start) == 'S');
-    Coord end = new Coord(1, grid.width() - 2);
-    checkArgument(grid.get(end) == 'E');
-    ImmutableGraph.Builder<Coord> builder = GraphBuilder.undirected().immutable();
-    parseMaze(builder, grid);
-    ImmutableGraph<Coord> graph = builder.build();
-    if (false) {
-      System.out.println(graph);
-      for (Coord coord : grid.coords()) {
-        if (coord.col() == 0) {
-          System.out.println();
-        }
-        if (graph.nodes().contains(coord)) {
-          System.out.print('+');
-        } else {
-          System.out.print(grid.get(coord));
-        }
-      }
-      System.out.println();
+    int distance(Coord a, Coord b) {
+      return graph().edgeValue(a, b).get();
     }
-    return new Maze(grid, graph, start, end);
   }
 
   /**
-   * Constructs a graph from the maze grid. This is a little clunky and it might be better just to
-   * do a DFS through the grid. Instead, we look at the neighbours of every empty cell. If it has
-   * more than 2 neighbours, or if it has exactly 2 and they are not opposite each other, then we
-   * have a node in the graph.
+   * Constructs a graph from the maze grid. A position is a node if it is S (start) or E (end), or
+   * if it has non-walls on two non-opposite sides, or if it is a dead end. Corridors between nodes
+   * are always straight, so turns only happen at nodes.
    */
-  private static void parseMaze(ImmutableGraph.Builder<Coord> builder, CharGrid grid) {
-    // Determine the nodes of the graph. A position is a node if it is S (start) or E (end), or if
-    // it has non-walls on two non-opposite sides.
-    Set<Coord> nodes = new LinkedHashSet<>();
-    for (Coord coord : grid.coords()) {
-      switch (grid.get(coord)) {
-        case 'S', 'E' -> nodes.add(coord);
-        case '.' -> {
-          if (isCorner(grid, coord)) {
-            nodes.add(coord);
-          }
-        }
-        case '#' -> {}
-        default -> throw new AssertionError(grid.get(coord));
-      }
-    }
-
-    // Trace each row, making an edge between two consecutive nodes unless there is a wall between.
-    for (int line = 1; line < grid.height() - 1; line++) {
-      Coord prev = null;
-      for (int col = 1; col < grid.width() - 1; col++) {
-        Coord here = new Coord(line, col);
-        if (grid.get(here) == '#') {
-          prev = null;
-        }
-        if (nodes.contains(here)) {
-          if (prev != null) {
-            builder.putEdge(prev, here);
-          }
-          prev = here;
-        }
-      }
-    }
-
-    // Same thing for the columns.
-    for (int col = 1; col < grid.width() - 1; col++) {
-      Coord prev = null;
-      for (int line = 1; line < grid.height() - 1; line++) {
-        Coord here = new Coord(line, col);
-        if (grid.get(here) == '#') {
-          prev = null;
-        }
-        if (nodes.contains(here)) {
-          if (prev != null) {
-            builder.putEdge(prev, here);
-          }
-          prev = here;
-        }
-      }
-    }
+  private static Maze parseMaze(CharGrid grid) {
+    Coord start = new Coord(grid.height() - 2, 1);
+    checkArgument(grid.get(start) == 'S');
+    Coord end = new Coord(1, grid.width() - 2);
+    checkArgument(grid.get(end) == 'E');
+    JunctionGraph junctions =
+        JunctionGraph.of(
+            grid,
+            c -> c != '#',
+            Dir.NEWS,
+            coord -> grid.get(coord) != '.' || isCorner(grid, coord));
+    return new Maze(grid, junctions, start, end);
   }
 
   private static final Set<Dir> NS = EnumSet.of(Dir.N, Dir.S);
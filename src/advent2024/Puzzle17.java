@@ -5,17 +5,21 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.lang.Math.toIntExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalLong;
 import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
@@ -24,7 +28,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle17 {
+public class Puzzle17 implements Puzzle<Puzzle17.Computer> {
   private static final ImmutableList<String> SAMPLES =
       ImmutableList.of(
           // Tests
@@ -76,6 +80,11 @@ public class Puzzle17 {
           .boxed()
           .collect(toImmutableMap(i -> "Sample " + i, i -> () -> new StringReader(SAMPLES.get(i))));
 
+  // Part 2 asks for the value of register A that makes the program output a copy of itself. Only
+  // the last sample, from Part 2, and the problem are made for that.
+  private static final ImmutableSet<String> PART1_ONLY_SAMPLES =
+      ImmutableSet.copyOf(SAMPLE_INPUT_PRODUCERS.keySet().asList().subList(0, SAMPLES.size() - 1));
+
   private static final ImmutableMap<String, Callable<Reader>> INPUT_PRODUCERS =
       ImmutableMap.<String, Callable<Reader>>builder()
           .putAll(SAMPLE_INPUT_PRODUCERS)
@@ -85,48 +94,65 @@ public class Puzzle17 {
           .build();
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        checkArgument(lines.size() >= 3);
-        int blank = lines.indexOf("");
-        checkArgument(blank == lines.size() - 2);
-        Pattern registerPattern = Pattern.compile("Register ([ABC]): (\\d+)");
-        long[] reg = new long[3];
-        for (int i = 0; i < blank; i++) {
-          var matcher = registerPattern.matcher(lines.get(i));
-          checkState(matcher.matches());
-          int regI = matcher.group(1).charAt(0) - 'A';
-          checkState(regI >= 0 && regI < 3);
-          reg[regI] = Integer.parseInt(matcher.group(2));
-        }
-        String programString = Splitter.on(' ').splitToList(lines.get(blank + 1)).get(1);
-        List<Integer> program =
-            Splitter.on(',').splitToStream(programString).map(Integer::valueOf).toList();
-
-        // Part 1
-        List<Integer> output = run(program, reg.clone());
-        System.out.printf(
-            "For %s, program output is %s\n",
-            name, output.isEmpty() ? "empty" : Joiner.on(',').join(output));
-
-        // Part 2
-        if (name.equals("problem")) {
-          if (false) {
-            disassemble(program).forEach(System.out::println);
-          }
-          int len = program.size();
-          // The last instruction should be jnz 0, encoded as [3, 0].
-          checkState(program.get(len - 2) == 3 && program.get(len - 1) == 0);
-          List<Integer> subprogram = program.subList(0, len - 2);
-          OptionalLong quineA = search(0, program, subprogram);
-          if (quineA.isPresent()) {
-            System.out.printf("Quine A is %d\n", quineA.getAsLong());
-          }
-        }
-      }
+    PuzzleRunner.run(new Puzzle17());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The initial register values, and the program. */
+  /** The initial register values, the program, and whether Part 2 applies to it. */
+  record Computer(long[] reg, List<Integer> program, boolean findQuine) {}
+
+  @Override
+  public Computer parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Computer parse(String inputName, Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    checkArgument(lines.size() >= 3);
+    int blank = lines.indexOf("");
+    checkArgument(blank == lines.size() - 2);
+    Pattern registerPattern = Pattern.compile("Register ([ABC]): (\\d+)");
+    long[] reg = new long[3];
+    for (int i = 0; i < blank; i++) {
+      var matcher = registerPattern.matcher(lines.get(i));
+      checkState(matcher.matches());
+      int regI = matcher.group(1).charAt(0) - 'A';
+      checkState(regI >= 0 && regI < 3);
+      reg[regI] = Integer.parseInt(matcher.group(2));
+    }
+    String programString = Splitter.on(' ').splitToList(lines.get(blank + 1)).get(1);
+    List<Integer> program =
+        Splitter.on(',').splitToStream(programString).map(Integer::valueOf).toList();
+    return new Computer(reg, program, !PART1_ONLY_SAMPLES.contains(inputName));
+  }
+
+  @Override
+  public String part1(Computer computer) {
+    List<Integer> output = run(computer.program, computer.reg.clone());
+    return output.isEmpty() ? "empty" : Joiner.on(',').join(output);
+  }
+
+  @Override
+  public Object part2(Computer computer) {
+    List<Integer> program = computer.program;
+    if (false) {
+      disassemble(program).forEach(System.out::println);
+    }
+    if (!computer.findQuine) {
+      return "none";
     }
+    int len = program.size();
+    // The last instruction should be jnz 0, encoded as [3, 0].
+    checkState(program.get(len - 2) == 3 && program.get(len - 1) == 0);
+    List<Integer> subprogram = program.subList(0, len - 2);
+    OptionalLong quineA = search(0, program, subprogram);
+    return quineA.isPresent() ? (Object) quineA.getAsLong() : "none";
   }
 
   /*
@@ -4,12 +4,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Integer.parseInt;
 
+import adventlib.GraphAlgorithms;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -20,7 +23,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle18 {
+public class Puzzle18 implements Puzzle<Puzzle18.Memory> {
   private static final String SAMPLE =
       """
       5,4
@@ -50,19 +53,14 @@ public class Puzzle18 {
       2,0
       """;
 
-  @FunctionalInterface
-  interface ReaderCallable extends Callable<Reader> {}
-
-  record Input(ReaderCallable reader, int part1Max) {}
-
-  private static final ImmutableMap<String, Input> INPUT_PRODUCERS =
+  private static final Map<String, Callable<Reader>> INPUT_PRODUCERS =
       ImmutableMap.of(
           "sample",
-          new Input(() -> new StringReader(SAMPLE), 12),
+          () -> new StringReader(SAMPLE),
           "problem",
-          new Input(
-              () -> new InputStreamReader(Puzzle18.class.getResourceAsStream("puzzle18.txt")),
-              1024));
+          () -> new InputStreamReader(Puzzle18.class.getResourceAsStream("puzzle18.txt")));
+
+  private static final Coord START = new Coord(0, 0);
 
   record Coord(int x, int y) {
     List<Coord> adjacent() {
@@ -72,75 +70,92 @@ public class Puzzle18 {
   }
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      int part1Max = entry.getValue().part1Max;
-      try (Reader r = entry.getValue().reader.call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Pattern coordPattern = Pattern.compile("(\\d+),(\\d+)");
-        List<Coord> coords =
-            lines.stream()
-                .map(coordPattern::matcher)
-                .peek(m -> checkState(m.matches()))
-                .map(m -> new Coord(parseInt(m.group(1)), parseInt(m.group(2))))
-                .toList();
-        int maxX = coords.stream().mapToInt(Coord::x).max().getAsInt();
-        int maxY = coords.stream().mapToInt(Coord::y).max().getAsInt();
-        Coord start = new Coord(0, 0);
-        Coord end = new Coord(maxX, maxY);
-
-        Set<Coord> blocked = new LinkedHashSet<>(coords.subList(0, part1Max));
-
-        {
-          Map<Coord, Integer> costs = new LinkedHashMap<>();
-          traverse(start, end, 0, blocked, costs);
-          System.out.printf(
-              "For %s, minimum distance is %d\n", name, costs.get(new Coord(maxX, maxY)));
-        }
+    PuzzleRunner.run(new Puzzle18());
+  }
 
-        // Part2. To speed this up, we remember the last successful path. If a new blocked cell is
-        // not on that path then we don't need to construct a new path. This reduces running time
-        // from about three minutes to less than a second.
-        // Forum discussion suggests binary search, which I didn't think of, though it seems obvious
-        // in retrospect. It would probably be much faster, but this was fast enough.
-        {
-          Coord result = null;
-          Set<Coord> lastPath = null;
-          for (Coord block : coords.subList(part1Max, coords.size())) {
-            blocked.add(block);
-            if (lastPath != null && !lastPath.contains(block)) {
-              continue;
-            }
-            Map<Coord, Integer> costs = new LinkedHashMap<>();
-            traverse(start, end, 0, blocked, costs);
-            if (costs.get(end) == null) {
-              result = block;
-              break;
-            }
-            lastPath = constructPath(costs, start, end);
-          }
-          checkNotNull(result);
-          System.out.printf("For %s, first blocking coord is %d,%d\n", name, result.x, result.y);
-        }
-      }
-    }
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
   }
 
-  private static void traverse(
-      Coord current, Coord end, int startCost, Set<Coord> blocked, Map<Coord, Integer> costs) {
-    if (startCost >= costs.getOrDefault(current, Integer.MAX_VALUE)) {
-      return;
-    }
-    costs.put(current, startCost);
-    for (Coord next : current.adjacent()) {
-      if (next.x >= 0
-          && next.y >= 0
-          && next.x <= end.x
-          && next.y <= end.y
-          && !blocked.contains(next)) {
-        traverse(next, end, startCost + 1, blocked, costs);
+  // How many bytes have fallen in Part 1. The input doesn't say, but the puzzle text gives it for
+  // the sample and for the problem.
+  private static final ImmutableMap<String, Integer> SAMPLE_PART1_MAX =
+      ImmutableMap.of("sample", 12);
+  private static final int PROBLEM_PART1_MAX = 1024;
+
+  /** The coordinates of the falling bytes, in order, and how many have fallen in Part 1. */
+  record Memory(List<Coord> coords, Coord end, int part1Max) {}
+
+  @Override
+  public Memory parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Memory parse(String inputName, Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    Pattern coordPattern = Pattern.compile("(\\d+),(\\d+)");
+    List<Coord> coords =
+        lines.stream()
+            .map(coordPattern::matcher)
+            .peek(m -> checkState(m.matches()))
+            .map(m -> new Coord(parseInt(m.group(1)), parseInt(m.group(2))))
+            .toList();
+    int maxX = coords.stream().mapToInt(Coord::x).max().getAsInt();
+    int maxY = coords.stream().mapToInt(Coord::y).max().getAsInt();
+    int part1Max = SAMPLE_PART1_MAX.getOrDefault(inputName, PROBLEM_PART1_MAX);
+    return new Memory(coords, new Coord(maxX, maxY), part1Max);
+  }
+
+  @Override
+  public Integer part1(Memory memory) {
+    Set<Coord> blocked = new LinkedHashSet<>(memory.coords.subList(0, memory.part1Max));
+    Map<Coord, Integer> costs = traverse(START, memory.end, blocked);
+    return costs.get(memory.end);
+  }
+
+  // To speed this up, we remember the last successful path. If a new blocked cell is not on that
+  // path then we don't need to construct a new path. This reduces running time from about three
+  // minutes to less than a second.
+  // Forum discussion suggests binary search, which I didn't think of, though it seems obvious in
+  // retrospect. It would probably be much faster, but this was fast enough.
+  @Override
+  public String part2(Memory memory) {
+    List<Coord> coords = memory.coords;
+    Coord end = memory.end;
+    Set<Coord> blocked = new LinkedHashSet<>(coords.subList(0, memory.part1Max));
+    Coord result = null;
+    Set<Coord> lastPath = null;
+    for (Coord block : coords.subList(memory.part1Max, coords.size())) {
+      blocked.add(block);
+      if (lastPath != null && !lastPath.contains(block)) {
+        continue;
+      }
+      Map<Coord, Integer> costs = traverse(START, end, blocked);
+      if (costs.get(end) == null) {
+        result = block;
+        break;
       }
+      lastPath = constructPath(costs, START, end);
     }
+    checkNotNull(result);
+    return result.x + "," + result.y;
+  }
+
+  private static Map<Coord, Integer> traverse(Coord start, Coord end, Set<Coord> blocked) {
+    return GraphAlgorithms.distances(
+        current ->
+            current.adjacent().stream()
+                .filter(
+                    next ->
+                        next.x >= 0
+                            && next.y >= 0
+                            && next.x <= end.x
+                            && next.y <= end.y
+                            && !blocked.contains(next))
+                .toList(),
+        start);
   }
 
   private static Set<Coord> constructPath(Map<Coord, Integer> costs, Coord start, Coord end) {
@@ -3,13 +3,16 @@ package advent2024;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Math.addExact;
 
+import adventlib.LongMemo;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -17,7 +20,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle19 {
+public class Puzzle19 implements Puzzle<Puzzle19.Towels> {
   private static final String SAMPLE =
       """
       r, wr, b, g, bwu, rb, gb, br
@@ -40,44 +43,59 @@ public class Puzzle19 {
           () -> new InputStreamReader(Puzzle19.class.getResourceAsStream("puzzle19.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        checkArgument(lines.get(1).isEmpty());
+    PuzzleRunner.run(new Puzzle19());
+  }
 
-        List<String> patterns = Splitter.on(", ").splitToList(lines.get(0));
-        List<String> strings = lines.subList(2, lines.size());
-        int possibleCount = 0;
-        long combinationCount = 0;
-        for (String string : strings) {
-          long count = possible(patterns, string, new LinkedHashMap<>());
-          if (count > 0) {
-            possibleCount++;
-            combinationCount = addExact(combinationCount, count);
-          }
-        }
-        System.out.printf(
-            "For %s, possible count %d, combinations %d\n", name, possibleCount, combinationCount);
-      }
+  record Towels(List<String> patterns, List<String> strings) {}
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public Towels parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    checkArgument(lines.get(1).isEmpty());
+    List<String> patterns = Splitter.on(", ").splitToList(lines.get(0));
+    List<String> strings = lines.subList(2, lines.size());
+    return new Towels(patterns, strings);
+  }
+
+  @Override
+  public Long part1(Towels towels) {
+    return towels.strings.stream()
+        .filter(string -> possible(towels.patterns, string) > 0)
+        .count();
+  }
+
+  @Override
+  public Long part2(Towels towels) {
+    long combinationCount = 0;
+    for (String string : towels.strings) {
+      combinationCount =
+          addExact(combinationCount, possible(towels.patterns, string));
     }
+    return combinationCount;
   }
 
   // I wasted a lot of time making a Trie implementation and tackling a subtle bug in the recursion
   // with it, before giving up and using this less efficient approach. It still runs in less than a
-  // second.
-  private static long possible(List<String> patterns, String s, Map<String, Long> cache) {
-    if (s.isEmpty()) {
+  // second. Each suffix of s is identified by where it starts, so the memo doesn't need to make or
+  // hash substrings.
+  private static long possible(List<String> patterns, String s) {
+    return possible(patterns, s, 0, LongMemo.create());
+  }
+
+  private static long possible(List<String> patterns, String s, int start, LongMemo cache) {
+    if (start == s.length()) {
       return 1;
     }
     long count = 0;
     for (String pat : patterns) {
-      if (s.startsWith(pat)) {
-        String rest = s.substring(pat.length());
-        if (!cache.containsKey(rest)) {
-          cache.put(rest, possible(patterns, rest, cache));
-        }
-        count += cache.get(rest);
+      if (s.startsWith(pat, start)) {
+        int rest = start + pat.length();
+        count += cache.get(rest, unused -> possible(patterns, s, rest, cache));
       }
     }
     return count;
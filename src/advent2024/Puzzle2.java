@@ -2,9 +2,12 @@ package advent2024;
 
 import static java.lang.Integer.signum;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -16,7 +19,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle2 {
+public class Puzzle2 implements Puzzle<List<List<Integer>>> {
   private static final String SAMPLE =
       """
       7 6 4 2 1
@@ -33,20 +36,29 @@ public class Puzzle2 {
           "problem", () -> new InputStreamReader(Puzzle2.class.getResourceAsStream("puzzle2.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<List<Integer>> readings =
-            lines.stream()
-                .map(line -> Splitter.on(" ").splitToStream(line).map(Integer::valueOf).toList())
-                .toList();
-        long count = readings.stream().filter(Puzzle2::safe).count();
-        System.out.println("Count for " + name + " is " + count);
-        long countWithDampener = readings.stream().filter(Puzzle2::safeWithDampener).count();
-        System.out.println("Count with dampener for " + name + " is " + countWithDampener);
-      }
-    }
+    PuzzleRunner.run(new Puzzle2());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<List<Integer>> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream()
+        .map(line -> Splitter.on(" ").splitToStream(line).map(Integer::valueOf).toList())
+        .toList();
+  }
+
+  @Override
+  public Long part1(List<List<Integer>> readings) {
+    return readings.stream().filter(Puzzle2::safe).count();
+  }
+
+  @Override
+  public Long part2(List<List<Integer>> readings) {
+    return readings.stream().filter(Puzzle2::safeWithDampener).count();
   }
 
   private static boolean safe(List<Integer> reading) {
@@ -5,13 +5,12 @@ import static java.lang.Math.abs;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
-import adventlib.GraphAlgorithms;
-import com.google.common.collect.ImmutableList;
+import adventlib.MappedInput;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.graph.Graph;
-import com.google.common.graph.GraphBuilder;
-import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -22,7 +21,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle20 {
+public class Puzzle20 implements Puzzle<Puzzle20.Racetrack> {
   private static final String SAMPLE =
       """
       ###############
@@ -50,78 +49,90 @@ public class Puzzle20 {
           () -> new InputStreamReader(Puzzle20.class.getResourceAsStream("puzzle20.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        var grid = new CharGrid(lines);
-        Coord start = grid.firstMatch(c -> c == 'S').get();
-        Coord end = grid.firstMatch(c -> c == 'E').get();
-        Graph<Coord> graph = makeGraph(grid);
-        ImmutableList<Coord> path = GraphAlgorithms.shortestPath(graph, start, end);
-        path = ImmutableList.<Coord>builder().add(start).addAll(path).build();
-        var distances = GraphAlgorithms.distances(graph, end);
-        int minSave = 100;
-        if (name.equals("sample")) {
-          minSave = 20;
-        }
-        System.out.printf(
-            "For %s, Part 1 cheats saving at least %d: %d\n",
-            name, minSave, cheatCount(path, distances, 2, minSave));
-        if (name.equals("sample")) {
-          minSave = 70;
-        }
-        System.out.printf(
-            "For %s, Part 2 cheats saving at least %d: %d\n",
-            name, minSave, cheatCount(path, distances, 20, minSave));
-      }
-    }
+    PuzzleRunner.run(new Puzzle20());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** How many picoseconds a cheat must save to be counted in each part. */
+  record MinSaves(int part1, int part2) {}
+
+  // The puzzle asks about cheats saving at least 100 picoseconds, but the sample track is too short
+  // for that, so there we use the thresholds from the puzzle text.
+  private static final MinSaves PROBLEM_MIN_SAVES = new MinSaves(100, 100);
+  private static final ImmutableMap<String, MinSaves> SAMPLE_MIN_SAVES =
+      ImmutableMap.of("sample", new MinSaves(20, 70));
+
+  /** The racetrack grid, and the distance of each cell from the end. */
+  record Racetrack(CharGrid grid, int[] distances, MinSaves minSaves) {}
+
+  @Override
+  public Racetrack parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Racetrack parse(String inputName, Reader r) throws IOException {
+    return racetrack(inputName, new CharGrid(CharStreams.readLines(r)));
+  }
+
+  @Override
+  public Racetrack parse(String inputName, MappedInput input) {
+    return racetrack(inputName, input.toCharGrid());
+  }
+
+  private static Racetrack racetrack(String inputName, CharGrid grid) {
+    Coord end = grid.firstMatch(c -> c == 'E').get();
+    return new Racetrack(
+        grid,
+        grid.distances(List.of(end), Dir.NEWS, c -> c != '#'),
+        SAMPLE_MIN_SAVES.getOrDefault(inputName, PROBLEM_MIN_SAVES));
+  }
+
+  @Override
+  public Integer part1(Racetrack track) {
+    return cheatCount(track.grid, track.distances, 2, track.minSaves.part1);
+  }
+
+  @Override
+  public Integer part2(Racetrack track) {
+    return cheatCount(track.grid, track.distances, 20, track.minSaves.part2);
   }
 
-  // We consider every possible pair (a,b) where a is on the path and b has a Manhattan distance
+  // We consider every possible pair (a,b) where a is on the track and b has a Manhattan distance
   // from a that is no greater than cheatLength. For Part 1, I initially just considered every
   // possible combination of directions for the two moves, but the Part 2 algorithm works just fine
-  // with cheatLength=2.
-  private static int cheatCount(
-      ImmutableList<Coord> path,
-      ImmutableMap<Coord, Integer> distances,
-      int cheatLength,
-      int minSave) {
+  // with cheatLength=2. The track is a single path, so the distance of each cell from the end,
+  // computed by one breadth-first search, also tells us where it is on the path.
+  private static int cheatCount(CharGrid grid, int[] distances, int cheatLength, int minSave) {
     int cheatCount = 0;
-    int distance = path.size() - 1;
-    for (Coord coord : path) {
-      for (int rowJump = -cheatLength; rowJump <= cheatLength; rowJump++) {
-        int remain = cheatLength - abs(rowJump);
-        for (int colJump = -remain; colJump <= remain; colJump++) {
-          Coord cheat = new Coord(coord.line() + rowJump, coord.col() + colJump);
-          if (distances.containsKey(cheat)) {
-            int cheatDistance = distances.get(cheat);
-            // If the current distance is 80, the cheat distance is 60 then the saving from
-            // cheating is 80 - 60 - j, where j is the size of the jump.
-            int saving = distance - cheatDistance - abs(rowJump) - abs(colJump);
-            if (saving >= minSave) {
-              cheatCount++;
+    for (int line = 0; line < grid.height(); line++) {
+      for (int col = 0; col < grid.width(); col++) {
+        int distance = distances[grid.index(line, col)];
+        if (distance < 0) {
+          continue;
+        }
+        for (int rowJump = -cheatLength; rowJump <= cheatLength; rowJump++) {
+          int remain = cheatLength - abs(rowJump);
+          for (int colJump = -remain; colJump <= remain; colJump++) {
+            int cheatLine = line + rowJump;
+            int cheatCol = col + colJump;
+            if (grid.valid(cheatLine, cheatCol)) {
+              int cheatDistance = distances[grid.index(cheatLine, cheatCol)];
+              // If the current distance is 80, the cheat distance is 60 then the saving from
+              // cheating is 80 - 60 - j, where j is the size of the jump.
+              int saving = distance - cheatDistance - abs(rowJump) - abs(colJump);
+              if (cheatDistance >= 0 && saving >= minSave) {
+                cheatCount++;
+              }
             }
           }
         }
       }
-      distance--;
     }
     return cheatCount;
   }
-
-  private static ImmutableGraph<Coord> makeGraph(CharGrid grid) {
-    ImmutableGraph.Builder<Coord> builder = GraphBuilder.undirected().immutable();
-    for (Coord coord : grid.coords()) {
-      if (grid.get(coord) != '#') {
-        for (Dir dir : Dir.NEWS) {
-          Coord moved = dir.move(coord);
-          if (grid.get(moved) != '#') {
-            builder.putEdge(coord, moved);
-          }
-        }
-      }
-    }
-    return builder.build();
-  }
-}
\ No newline at end of file
+}
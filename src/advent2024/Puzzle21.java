@@ -10,16 +10,19 @@ import static java.lang.Math.multiplyExact;
 import static java.util.Collections.nCopies;
 
 import adventlib.Dir;
+import adventlib.Memo;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -28,7 +31,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle21 {
+public class Puzzle21 implements Puzzle<List<String>> {
   private static final String SAMPLE =
       """
       029A
@@ -46,29 +49,43 @@ public class Puzzle21 {
           () -> new InputStreamReader(Puzzle21.class.getResourceAsStream("puzzle21.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        for (boolean part2 : new boolean[] {false, true}) {
-          long totalComplexity = 0;
-          for (String code : lines) {
-            checkArgument(code.endsWith("A"));
-            long len = 0;
-            char prevChar = 'A';
-            for (char c : code.toCharArray()) {
-              len += numericKeypadCost(prevChar, c, part2 ? 26 : 3);
-              prevChar = c;
-            }
-            long complexity =
-                multiplyExact(len, Long.parseLong(code.substring(0, code.length() - 1)));
-            totalComplexity = addExact(totalComplexity, complexity);
-          }
-          System.out.printf(
-              "For %s, Part %d complexity is %d\n", name, part2 ? 2 : 1, totalComplexity);
-        }
+    PuzzleRunner.run(new Puzzle21());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Long part1(List<String> codes) {
+    return totalComplexity(codes, 3);
+  }
+
+  @Override
+  public Long part2(List<String> codes) {
+    return totalComplexity(codes, 26);
+  }
+
+  private static long totalComplexity(List<String> codes, int nDirectionals) {
+    long totalComplexity = 0;
+    for (String code : codes) {
+      checkArgument(code.endsWith("A"));
+      long len = 0;
+      char prevChar = 'A';
+      for (char c : code.toCharArray()) {
+        len += numericKeypadCost(prevChar, c, nDirectionals);
+        prevChar = c;
       }
+      long complexity = multiplyExact(len, Long.parseLong(code.substring(0, code.length() - 1)));
+      totalComplexity = addExact(totalComplexity, complexity);
     }
+    return totalComplexity;
   }
 
   // The relative simplicity of the solution here belies how hard it was for me to find it. This was
@@ -103,7 +120,7 @@ public class Puzzle21 {
   // [A to v] | [v to <] | [<] | [< to A] || [A to >] | [>] | [> to ^] | [^ to A]
   // v < A    | < A      | A   | > > ^ A  || v A      | A   | < ^ A    | > A      [18]
   private static long numericKeypadCost(char fromChar, char toChar, int nDirectionals) {
-    Map<CostArgs, Long> cache = new LinkedHashMap<>();
+    Memo<CostArgs> cache = Memo.create();
     Coord from = NUMERIC_MAP.get(fromChar);
     Coord to = NUMERIC_MAP.get(toChar);
     long best = Long.MAX_VALUE;
@@ -133,15 +150,15 @@ public class Puzzle21 {
 
   private record CostArgs(char fromChar, char toChar, int nDirectionals) {}
 
-  private static long directionalKeypadCost(CostArgs costArgs, Map<CostArgs, Long> cache) {
-    int nDirectionals = costArgs.nDirectionals;
-    if (nDirectionals == 1) {
+  private static long directionalKeypadCost(CostArgs costArgs, Memo<CostArgs> cache) {
+    if (costArgs.nDirectionals == 1) {
       return 1; // human just pushes toChar
     }
-    Long cached = cache.get(costArgs);
-    if (cached != null) {
-      return cached;
-    }
+    return cache.get(costArgs, args -> computeDirectionalKeypadCost(args, cache));
+  }
+
+  private static long computeDirectionalKeypadCost(CostArgs costArgs, Memo<CostArgs> cache) {
+    int nDirectionals = costArgs.nDirectionals;
     Coord from = DIRECTIONAL_MAP.get(costArgs.fromChar);
     Coord to = DIRECTIONAL_MAP.get(costArgs.toChar);
     long best = Long.MAX_VALUE;
@@ -166,7 +183,6 @@ public class Puzzle21 {
               cache);
       best = min(best, cost);
     }
-    cache.put(costArgs, best);
     return best;
   }
 
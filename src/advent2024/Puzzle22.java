@@ -1,8 +1,11 @@
 package advent2024;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -16,7 +19,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle22 {
+public class Puzzle22 implements Puzzle<List<Long>> {
   private static final String SAMPLE1 =
       """
       1
@@ -43,19 +46,30 @@ public class Puzzle22 {
           () -> new InputStreamReader(Puzzle22.class.getResourceAsStream("puzzle22.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        List<Long> secrets = lines.stream().map(Long::valueOf).toList();
-        long sum = secrets.stream().map(s -> nthNextSecret(2000, s)).reduce(0L, Math::addExact);
-        System.out.printf("For %s, sum of 2000th secret numbers is %d\n", name, sum);
-        System.out.printf("For %s, max bananas is %d\n", name, part2(secrets));
-      }
-    }
+    PuzzleRunner.run(new Puzzle22());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Long> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r).stream().map(Long::valueOf).toList();
+  }
+
+  @Override
+  public Long part1(List<Long> secrets) {
+    return secrets.stream().map(s -> nthNextSecret(2000, s)).reduce(0L, Math::addExact);
+  }
+
+  @Override
+  public Long part2(List<Long> secrets) {
+    return maxBananas(secrets);
   }
 
-  private static long part2(List<Long> secrets) {
+  private static long maxBananas(List<Long> secrets) {
     // Map from each sequence of 4 differences to the total prices for the first occurrence of that
     // sequence in the secret sequence for each starting number.
     Map<ImmutableList<Integer>, Long> totals = new LinkedHashMap<>();
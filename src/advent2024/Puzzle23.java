@@ -2,12 +2,15 @@ package advent2024;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.ImmutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -24,7 +27,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle23 {
+public class Puzzle23 implements Puzzle<ImmutableGraph<String>> {
   private static final String SAMPLE =
       """
       kh-tc
@@ -69,59 +72,71 @@ public class Puzzle23 {
           () -> new InputStreamReader(Puzzle23.class.getResourceAsStream("puzzle23.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        Splitter splitter = Splitter.on('-');
-        ImmutableGraph.Builder<String> builder = GraphBuilder.undirected().<String>immutable();
-        for (String line : lines) {
-          List<String> parts = splitter.splitToList(line);
-          checkArgument(parts.size() == 2);
-          checkArgument(parts.get(0).length() == 2 && parts.get(1).length() == 2);
-          builder.putEdge(parts.get(0), parts.get(1));
-        }
-        ImmutableGraph<String> graph = builder.build();
-        Set<Set<String>> triples = new LinkedHashSet<>();
-        for (String node : graph.nodes()) {
-          if (node.startsWith("t")) {
-            List<String> next = new ArrayList<>(graph.successors(node));
-            for (int i = 0; i < next.size(); i++) {
-              for (int j = i + 1; j < next.size(); j++) {
-                if (graph.hasEdgeConnecting(next.get(i), next.get(j))) {
-                  triples.add(ImmutableSet.of(node, next.get(i), next.get(j)));
-                }
-              }
+    PuzzleRunner.run(new Puzzle23());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public ImmutableGraph<String> parse(Reader r) throws IOException {
+    Splitter splitter = Splitter.on('-');
+    ImmutableGraph.Builder<String> builder = GraphBuilder.undirected().<String>immutable();
+    for (String line : CharStreams.readLines(r)) {
+      List<String> parts = splitter.splitToList(line);
+      checkArgument(parts.size() == 2);
+      checkArgument(parts.get(0).length() == 2 && parts.get(1).length() == 2);
+      builder.putEdge(parts.get(0), parts.get(1));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public Integer part1(ImmutableGraph<String> graph) {
+    Set<Set<String>> triples = new LinkedHashSet<>();
+    for (String node : graph.nodes()) {
+      if (node.startsWith("t")) {
+        List<String> next = new ArrayList<>(graph.successors(node));
+        for (int i = 0; i < next.size(); i++) {
+          for (int j = i + 1; j < next.size(); j++) {
+            if (graph.hasEdgeConnecting(next.get(i), next.get(j))) {
+              triples.add(ImmutableSet.of(node, next.get(i), next.get(j)));
             }
           }
         }
-        System.out.printf("For %s, number of 3-cliques is %d\n", name, triples.size());
-        List<String> sortedNodes = graph.nodes().stream().sorted().toList();
-        List<Set<String>> cliques = new ArrayList<>();
-        for (String node : sortedNodes) {
-          cliques.add(new TreeSet<>(Set.of(node)));
-        }
-        boolean more;
-        do {
-          more = false;
-          for (String node : sortedNodes) {
-            for (Set<String> clique : cliques) {
-              if (clique.contains(node)) {
-                break;
-              }
-              boolean connected = clique.stream().allMatch(n -> graph.hasEdgeConnecting(n, node));
-              if (connected) {
-                clique.add(node);
-                more = true;
-              }
-            }
-          }
-          cliques = new ArrayList<>(new LinkedHashSet<>(cliques));
-        } while (more);
-        Collections.sort(cliques, Comparator.comparing(Set::size));
-        Set<String> largest = cliques.getLast();
-        System.out.printf("For %s, largest clique is %s\n", name, String.join(",", largest));
       }
     }
+    return triples.size();
+  }
+
+  @Override
+  public String part2(ImmutableGraph<String> graph) {
+    List<String> sortedNodes = graph.nodes().stream().sorted().toList();
+    List<Set<String>> cliques = new ArrayList<>();
+    for (String node : sortedNodes) {
+      cliques.add(new TreeSet<>(Set.of(node)));
+    }
+    boolean more;
+    do {
+      more = false;
+      for (String node : sortedNodes) {
+        for (Set<String> clique : cliques) {
+          if (clique.contains(node)) {
+            break;
+          }
+          boolean connected = clique.stream().allMatch(n -> graph.hasEdgeConnecting(n, node));
+          if (connected) {
+            clique.add(node);
+            more = true;
+          }
+        }
+      }
+      cliques = new ArrayList<>(new LinkedHashSet<>(cliques));
+    } while (more);
+    Collections.sort(cliques, Comparator.comparing(Set::size));
+    Set<String> largest = cliques.getLast();
+    return String.join(",", largest);
   }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.getOnlyElement;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -15,6 +17,7 @@ import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -39,7 +42,7 @@ import java.util.stream.Stream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle24 {
+public class Puzzle24 implements Puzzle<Puzzle24.Device> {
   private static final String SAMPLE1 =
       """
       x00: 1
@@ -115,21 +118,53 @@ public class Puzzle24 {
           () -> new InputStreamReader(Puzzle24.class.getResourceAsStream("puzzle24.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int blank = lines.indexOf("");
-        checkArgument(blank > 0);
-        InitialWireValues wireValues = parseInitialWireValues(lines.subList(0, blank));
-        Circuit circuit = parseCircuit(lines.subList(blank + 1, lines.size()));
-        System.out.printf(
-            "For %s, computed number is %d\n", name, circuit.compute(wireValues.x, wireValues.y));
-        if (name.equals("problem")) {
-          part2(circuit);
-        }
-      }
+    PuzzleRunner.run(new Puzzle24());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  // Part 2 is about fixing a circuit that is meant to add x and y. The samples are not adders, so
+  // Part 2 doesn't apply to them.
+  private static final ImmutableSet<String> PART1_ONLY_SAMPLES =
+      ImmutableSet.of("sample 1", "sample 2");
+
+  /** The lines of the input, and whether the circuit is meant to be an adder. */
+  record Device(List<String> lines, boolean adder) {}
+
+  @Override
+  public Device parse(Reader r) throws IOException {
+    return parse("problem", r);
+  }
+
+  @Override
+  public Device parse(String inputName, Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    checkArgument(lines.indexOf("") > 0);
+    return new Device(lines, !PART1_ONLY_SAMPLES.contains(inputName));
+  }
+
+  @Override
+  public Long part1(Device device) {
+    List<String> lines = device.lines;
+    int blank = lines.indexOf("");
+    InitialWireValues wireValues = parseInitialWireValues(lines.subList(0, blank));
+    Circuit circuit = parseCircuit(lines.subList(blank + 1, lines.size()));
+    return circuit.compute(wireValues.x, wireValues.y);
+  }
+
+  // Part 2 rewires the circuit graph, so we parse a fresh circuit here rather than sharing one
+  // with Part 1.
+  @Override
+  public String part2(Device device) {
+    if (!device.adder) {
+      return "none";
     }
+    List<String> lines = device.lines;
+    int blank = lines.indexOf("");
+    return exchangedOutputs(parseCircuit(lines.subList(blank + 1, lines.size())));
   }
 
   // This was a very hard problem, as befits Day 24. Like many people, I found the correct answer
@@ -168,7 +203,7 @@ public class Puzzle24 {
   // I also tried looking for the largest correct subtree of the expected tree, but that didn't
   // prove helpful because it isn't necessarily the case that that the root of that subtree needs to
   // have its output wire exchanged.
-  private static void part2(Circuit circuit) {
+  private static String exchangedOutputs(Circuit circuit) {
     MutableGraph<Node> actualGraph = circuit.graph;
     ImmutableSet<Operation> operations =
         actualGraph.nodes().stream()
@@ -215,7 +250,7 @@ public class Puzzle24 {
       }
       knownCorrect = newTransitiveSet;
     }
-    System.out.printf("List of exchanged outputs is %s\n", String.join(",", exchangedOutputs));
+    return String.join(",", exchangedOutputs);
   }
 
   private static void exchangeOutputs(MutableGraph<Node> graph, Node a, Node b) {
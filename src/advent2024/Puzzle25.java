@@ -3,9 +3,12 @@ package advent2024;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -17,7 +20,7 @@ import java.util.stream.IntStream;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle25 {
+public class Puzzle25 implements Puzzle<Puzzle25.Schematics> {
   private static final String SAMPLE =
       """
       #####
@@ -69,37 +72,55 @@ public class Puzzle25 {
           () -> new InputStreamReader(Puzzle25.class.getResourceAsStream("puzzle25.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        ImmutableList.Builder<Lock> locksBuilder = ImmutableList.builder();
-        ImmutableList.Builder<Key> keysBuilder = ImmutableList.builder();
-        for (int i = 0; i < lines.size(); i += 8) {
-          checkArgument(i == 0 || lines.get(i - 1).isEmpty());
-          List<String> sublines = lines.subList(i, i + 7);
-          if (sublines.getFirst().equals("#####")) {
-            locksBuilder.add(Lock.parse(sublines));
-          } else if (sublines.getLast().equals("#####")) {
-            keysBuilder.add(Key.parse(sublines));
-          } else {
-            throw new AssertionError(sublines.toString());
-          }
-        }
-        int count = 0;
-        for (Lock lock : locksBuilder.build()) {
-          for (Key key : keysBuilder.build()) {
-            if (key.fits(lock)) {
-              count++;
-            }
-          }
+    PuzzleRunner.run(new Puzzle25());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  record Schematics(ImmutableList<Lock> locks, ImmutableList<Key> keys) {}
+
+  @Override
+  public Schematics parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    ImmutableList.Builder<Lock> locksBuilder = ImmutableList.builder();
+    ImmutableList.Builder<Key> keysBuilder = ImmutableList.builder();
+    for (int i = 0; i < lines.size(); i += 8) {
+      checkArgument(i == 0 || lines.get(i - 1).isEmpty());
+      List<String> sublines = lines.subList(i, i + 7);
+      if (sublines.getFirst().equals("#####")) {
+        locksBuilder.add(Lock.parse(sublines));
+      } else if (sublines.getLast().equals("#####")) {
+        keysBuilder.add(Key.parse(sublines));
+      } else {
+        throw new AssertionError(sublines.toString());
+      }
+    }
+    return new Schematics(locksBuilder.build(), keysBuilder.build());
+  }
+
+  @Override
+  public Integer part1(Schematics schematics) {
+    int count = 0;
+    for (Lock lock : schematics.locks) {
+      for (Key key : schematics.keys) {
+        if (key.fits(lock)) {
+          count++;
         }
-        System.out.printf("For %s, count is %d\n", name, count);
       }
     }
+    return count;
+  }
+
+  @Override
+  public String part2(Schematics schematics) {
+    // Day 25 has only one part.
+    return "none";
   }
 
-  private record Lock(ImmutableList<Integer> heights) {
+  record Lock(ImmutableList<Integer> heights) {
     static Lock parse(List<String> lines) {
       ImmutableList.Builder<Integer> heightsBuilder = ImmutableList.builder();
       for (int col = 0; col < 5; col++) {
@@ -116,7 +137,7 @@ public class Puzzle25 {
     }
   }
 
-  private record Key(ImmutableList<Integer> heights) {
+  record Key(ImmutableList<Integer> heights) {
     boolean fits(Lock lock) {
       return IntStream.range(0, 5).allMatch(i -> lock.heights.get(i) + this.heights.get(i) < 6);
     }
@@ -2,8 +2,11 @@ package advent2024;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -16,7 +19,7 @@ import java.util.regex.Pattern;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle3 {
+public class Puzzle3 implements Puzzle<List<String>> {
   private static final String SAMPLE1 =
       """
       xmul(2,4)%&mul[3,7]!@^do_not_mul(5,5)+mul(32,64]then(mul(11,8)mul(8,5))
@@ -43,34 +46,49 @@ public class Puzzle3 {
       Pattern.compile("( do\\(\\) | don't\\(\\) | mul \\( (\\d+),(\\d+) \\))", Pattern.COMMENTS);
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        long total1 = 0;
-        long total2 = 0;
-        boolean enabled = true;
-        for (String line : lines) {
-          for (Matcher matcher = MUL_PATTERN.matcher(line); matcher.find(); ) {
-            total1 += Long.valueOf(matcher.group(1)) * Long.valueOf(matcher.group(2));
-          }
-          for (Matcher matcher = EXT_MUL_PATTERN.matcher(line); matcher.find(); ) {
-            switch (matcher.group(1)) {
-              case "do()" -> enabled = true;
-              case "don't()" -> enabled = false;
-              default -> {
-                checkState(
-                    matcher.group(1).startsWith("mul("), "Unexpected match %s", matcher.group(1));
-                if (enabled) {
-                  total2 += Long.valueOf(matcher.group(2)) * Long.valueOf(matcher.group(3));
-                }
-              }
+    PuzzleRunner.run(new Puzzle3());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<String> parse(Reader r) throws IOException {
+    return CharStreams.readLines(r);
+  }
+
+  @Override
+  public Long part1(List<String> lines) {
+    long total = 0;
+    for (String line : lines) {
+      for (Matcher matcher = MUL_PATTERN.matcher(line); matcher.find(); ) {
+        total += Long.valueOf(matcher.group(1)) * Long.valueOf(matcher.group(2));
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public Long part2(List<String> lines) {
+    long total = 0;
+    boolean enabled = true;
+    for (String line : lines) {
+      for (Matcher matcher = EXT_MUL_PATTERN.matcher(line); matcher.find(); ) {
+        switch (matcher.group(1)) {
+          case "do()" -> enabled = true;
+          case "don't()" -> enabled = false;
+          default -> {
+            checkState(
+                matcher.group(1).startsWith("mul("), "Unexpected match %s", matcher.group(1));
+            if (enabled) {
+              total += Long.valueOf(matcher.group(2)) * Long.valueOf(matcher.group(3));
             }
           }
         }
-        System.out.println("Part 1 sum for " + name + " is " + total1);
-        System.out.println("Part 2 sum for " + name + " is " + total2);
       }
     }
+    return total;
   }
 }
\ No newline at end of file
@@ -1,26 +1,23 @@
 package advent2024;
 
-
-import static java.lang.Math.incrementExact;
-
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.EnumSet;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle4 {
+public class Puzzle4 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       MMMSXXMASM
@@ -43,60 +40,68 @@ public class Puzzle4 {
           () -> new InputStreamReader(Puzzle4.class.getResourceAsStream("puzzle4.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        System.out.println("Part 1 count for " + name + " is " + countMatches1(grid));
-        System.out.println("Part 2 count for " + name + " is " + countMatches2(grid));
-      }
-    }
+    PuzzleRunner.run(new Puzzle4());
   }
 
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(CharGrid grid) {
+    return countMatches1(grid);
+  }
+
+  @Override
+  public Integer part2(CharGrid grid) {
+    return countMatches2(grid);
+  }
+
+  // Each cell can be checked independently, so we check them in parallel.
   private static int countMatches1(CharGrid grid) {
+    return grid.coordStream(true).mapToInt(coord -> countMatchesAt(grid, coord)).sum();
+  }
+
+  private static int countMatchesAt(CharGrid grid, Coord coord) {
     int count = 0;
-    EnumSet<Dir> allDirs = EnumSet.allOf(Dir.class);
-    for (int line = 0; line < grid.height(); line++) {
-      for (int col = 0; col < grid.width(); col++) {
-        Coord coord = new Coord(line, col);
-        for (Dir dir : allDirs) {
-          boolean match = true;
-          for (int i = 0; i < 4; i++) {
-            char c = grid.get(dir.move(coord, i));
-            if (c != "XMAS".charAt(i)) {
-              match = false;
-              break;
-            }
-          }
-          if (match) {
-            count = incrementExact(count);
-          }
+    for (Dir dir : Dir.values()) {
+      boolean match = true;
+      for (int i = 0; i < 4; i++) {
+        char c = grid.get(dir.move(coord, i));
+        if (c != "XMAS".charAt(i)) {
+          match = false;
+          break;
         }
       }
+      if (match) {
+        count++;
+      }
     }
     return count;
   }
 
   private static int countMatches2(CharGrid grid) {
-    var ms = ImmutableSet.of('M', 'S');
-    int count = 0;
-    for (int line = 1; line < grid.height() - 1; line++) {
-      for (int col = 1; col < grid.width() - 1; col++) {
-        if (grid.get(line, col) != 'A') {
-          continue;
-        }
-        var set1 = ImmutableSet.of(grid.get(line - 1, col - 1), grid.get(line + 1, col + 1));
-        if (!set1.equals(ms)) {
-          continue;
-        }
-        var set2 = ImmutableSet.of(grid.get(line - 1, col + 1), grid.get(line + 1, col - 1));
-        if (!set2.equals(ms)) {
-          continue;
-        }
-        count = incrementExact(count);
-      }
+    return (int) grid.coordStream(true).filter(coord -> isCrossMas(grid, coord)).count();
+  }
+
+  private static boolean isCrossMas(CharGrid grid, Coord coord) {
+    int line = coord.line();
+    int col = coord.col();
+    if (grid.get(line, col) != 'A') {
+      return false;
     }
-    return count;
+    // Since get returns ' ' outside the grid, cells on the edge will never match.
+    return isMs(grid.get(line - 1, col - 1), grid.get(line + 1, col + 1))
+        && isMs(grid.get(line - 1, col + 1), grid.get(line + 1, col - 1));
+  }
+
+  private static boolean isMs(char a, char b) {
+    return (a == 'M' && b == 'S') || (a == 'S' && b == 'M');
   }
-}
\ No newline at end of file
+}
@@ -3,12 +3,16 @@ package advent2024;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -19,7 +23,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle5 {
+public class Puzzle5 implements Puzzle<Puzzle5.Manual> {
   private static final String SAMPLE =
       """
       47|53
@@ -60,39 +64,60 @@ public class Puzzle5 {
           () -> new InputStreamReader(Puzzle5.class.getResourceAsStream("puzzle5.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        int blankIndex = lines.indexOf("");
-        checkArgument(blankIndex > 0, "No blank line in input");
-        List<String> orderPairs = lines.subList(0, blankIndex);
-        Set<Precedes> precedes = parsePrecedes(orderPairs);
-        List<String> inputs = lines.subList(blankIndex + 1, lines.size());
-        long orderedTotal = 0;
-        long correctedTotal = 0;
-        for (String input : inputs) {
-          List<String> pages = Splitter.on(',').splitToList(input);
-          checkArgument(
-              pages.size() % 2 == 1, "Even number of pages %d in %s", pages.size(), input);
-          List<String> ordered = ordered(pages, precedes);
-          int middle = Integer.parseInt(ordered.get(ordered.size() / 2));
-          if (ordered.equals(pages)) {
-            orderedTotal += middle;
-          } else {
-            correctedTotal += middle;
-          }
-        }
-        System.out.println("Part 1 total for " + name + " is " + orderedTotal);
-        System.out.println("Part 2 total for " + name + " is " + correctedTotal);
+    PuzzleRunner.run(new Puzzle5());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  /** The page ordering rules, and the pages of each update. */
+  record Manual(Set<Precedes> precedes, List<List<String>> updates) {}
+
+  @Override
+  public Manual parse(Reader r) throws IOException {
+    List<String> lines = CharStreams.readLines(r);
+    int blankIndex = lines.indexOf("");
+    checkArgument(blankIndex > 0, "No blank line in input");
+    List<String> orderPairs = lines.subList(0, blankIndex);
+    Set<Precedes> precedes = parsePrecedes(orderPairs);
+    List<List<String>> updates = new ArrayList<>();
+    for (String input : lines.subList(blankIndex + 1, lines.size())) {
+      List<String> pages = Splitter.on(',').splitToList(input);
+      checkArgument(pages.size() % 2 == 1, "Even number of pages %d in %s", pages.size(), input);
+      updates.add(pages);
+    }
+    return new Manual(precedes, updates);
+  }
+
+  @Override
+  public Long part1(Manual manual) {
+    return middleTotal(manual, true);
+  }
+
+  @Override
+  public Long part2(Manual manual) {
+    return middleTotal(manual, false);
+  }
+
+  // Returns the total of the middle pages of the updates that are already in order, or of the
+  // corrected updates that were not.
+  private static long middleTotal(Manual manual, boolean alreadyOrdered) {
+    long total = 0;
+    for (List<String> pages : manual.updates()) {
+      List<String> ordered = ordered(pages, manual.precedes());
+      if (ordered.equals(pages) == alreadyOrdered) {
+        total += Integer.parseInt(ordered.get(ordered.size() / 2));
       }
     }
+    return total;
   }
 
   // This uses String rather than int even though they are page numbers. The numeric value of the
   // pages only matters when computing the totals, and I wanted to avoid possible confusion with
   // genuine ints such as list indices.
-  private record Precedes(String left, String right) {}
+  record Precedes(String left, String right) {}
 
   private static Set<Precedes> parsePrecedes(List<String> orderPairs) {
     Set<Precedes> precedes = new LinkedHashSet<>();
@@ -1,16 +1,19 @@
 package advent2024;
 
+import adventlib.CellMask;
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
 import adventlib.Dir;
+import adventlib.MutableCharGrid;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -18,7 +21,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle6 {
+public class Puzzle6 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       ....#.....
@@ -41,17 +44,29 @@ public class Puzzle6 {
           () -> new InputStreamReader(Puzzle6.class.getResourceAsStream("puzzle6.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        Coord start = grid.firstMatch(c -> c == '^').get();
-        ImmutableSet<Coord> path = part1(grid, start, Dir.N);
-        System.out.println("Part 1 result for " + name + " is " + path.size());
-        System.out.println("Part 2 result for " + name + " is " + part2(grid, start, Dir.N, path));
-      }
-    }
+    PuzzleRunner.run(new Puzzle6());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Integer part1(CharGrid grid) {
+    Coord start = grid.firstMatch(c -> c == '^').get();
+    return part1(grid, start, Dir.N).size();
+  }
+
+  @Override
+  public Long part2(CharGrid grid) {
+    Coord start = grid.firstMatch(c -> c == '^').get();
+    return part2(grid, start, Dir.N, part1(grid, start, Dir.N));
   }
 
   // Walk through the grid from the starting position and direction until we exit. Return the number
@@ -76,37 +91,44 @@ public class Puzzle6 {
 
   // Walk through the grid from the starting position and direction until we exit or detect a loop.
   // A loop is when we find ourselves in a position and direction we have already been in.
-  // Return true if we exited or false if we looped.
-  private static boolean willExit(CharGrid grid, Coord coord, Dir dir) {
-    record Position(Coord coord, Dir dir) {}
-    Set<Position> visited = new LinkedHashSet<>(Set.of(new Position(coord, dir)));
+  // Return true if we exited or false if we looped. The visited mask is cleared and reused for each
+  // call, and we move by cell index, so nothing is allocated here.
+  private static boolean willExit(MutableCharGrid grid, CellMask visited, Coord coord, Dir dir) {
+    visited.clear();
+    int index = grid.index(coord);
+    visited.add(index, dir);
     while (true) {
-      Coord next = dir.move(coord, 1);
-      if (!grid.valid(next)) {
+      int next = grid.move(index, dir);
+      if (next < 0) {
         return true; // exited
       }
       if (grid.get(next) == '#') {
         dir = dir.right90();
         continue;
       }
-      if (!visited.add(new Position(next, dir))) {
+      if (!visited.add(next, dir)) {
         return false; // looped
       }
-      coord = next;
+      index = next;
     }
   }
 
   // We can only change the path with an obstacle that is in the path, so only try those positions.
+  // Rather than making a new grid for each candidate obstacle, we place it in a mutable copy and
+  // then remove it again.
   private static long part2(CharGrid grid, Coord start, Dir dir, Set<Coord> path) {
     long total = 0;
+    MutableCharGrid newGrid = grid.mutableCopy();
+    CellMask visited = grid.newDirMask();
     for (Coord coord : path) {
       if (grid.get(coord) == '.') {
-        CharGrid newGrid = grid.withChange(coord, '#');
-        if (!willExit(newGrid, start, dir)) {
+        newGrid.set(coord, '#');
+        if (!willExit(newGrid, visited, start, dir)) {
           total++;
         }
+        newGrid.set(coord, '.');
       }
     }
     return total;
   }
-}
\ No newline at end of file
+}
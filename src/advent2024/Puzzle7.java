@@ -4,10 +4,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -20,7 +23,7 @@ import java.util.concurrent.Callable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle7 {
+public class Puzzle7 implements Puzzle<List<Puzzle7.Equation>> {
   private static final String SAMPLE =
       """
       190: 10 19
@@ -42,23 +45,34 @@ public class Puzzle7 {
           () -> new InputStreamReader(Puzzle7.class.getResourceAsStream("puzzle7.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        var equations = parseEquations(lines);
-        for (boolean part1 : new boolean[] {true, false}) {
-          Set<Op> ops =
-              part1 ? EnumSet.of(Op.ADD, Op.MULTIPLY) : EnumSet.of(Op.ADD, Op.MULTIPLY, Op.CONCAT);
-          long sum =
-              equations.stream()
-                  .filter(eq -> canBeTrue(eq, ops))
-                  .mapToLong(Equation::value)
-                  .reduce(0L, Math::addExact);
-          System.out.println("Solution for " + name + " part " + (part1 ? 1 : 2) + ": " + sum);
-        }
-      }
-    }
+    PuzzleRunner.run(new Puzzle7());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public List<Equation> parse(Reader r) throws IOException {
+    return parseEquations(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Long part1(List<Equation> equations) {
+    return sumOfPossible(equations, EnumSet.of(Op.ADD, Op.MULTIPLY));
+  }
+
+  @Override
+  public Long part2(List<Equation> equations) {
+    return sumOfPossible(equations, EnumSet.of(Op.ADD, Op.MULTIPLY, Op.CONCAT));
+  }
+
+  private static long sumOfPossible(List<Equation> equations, Set<Op> ops) {
+    return equations.stream()
+        .filter(eq -> canBeTrue(eq, ops))
+        .mapToLong(Equation::value)
+        .reduce(0L, Math::addExact);
   }
 
   private static boolean canBeTrue(Equation eq, Set<Op> ops) {
@@ -109,5 +123,5 @@ public class Puzzle7 {
     return result;
   }
 
-  private record Equation(long value, ImmutableList<Long> operands) {}
+  record Equation(long value, ImmutableList<Long> operands) {}
 }
\ No newline at end of file
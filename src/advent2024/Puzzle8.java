@@ -4,23 +4,25 @@ import static java.util.Arrays.stream;
 
 import adventlib.CharGrid;
 import adventlib.CharGrid.Coord;
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.io.CharStreams;
 import com.google.common.primitives.Booleans;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
  * @author Éamonn McManus
  */
-public class Puzzle8 {
+public class Puzzle8 implements Puzzle<CharGrid> {
   private static final String SAMPLE =
       """
       ............
@@ -45,25 +47,41 @@ public class Puzzle8 {
           () -> new InputStreamReader(Puzzle8.class.getResourceAsStream("puzzle8.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        CharGrid grid = new CharGrid(lines);
-        ListMultimap<Character, Coord> antennae = ArrayListMultimap.create();
-        for (int line = 0; line < grid.height(); line++) {
-          for (int col = 0; col < grid.width(); col++) {
-            Coord coord = new Coord(line, col);
-            char c = grid.get(coord);
-            if (c != '.') {
-              antennae.put(c, coord);
-            }
-          }
+    PuzzleRunner.run(new Puzzle8());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public CharGrid parse(Reader r) throws IOException {
+    return new CharGrid(CharStreams.readLines(r));
+  }
+
+  @Override
+  public Long part1(CharGrid grid) {
+    return part1(grid, antennae(grid));
+  }
+
+  @Override
+  public Long part2(CharGrid grid) {
+    return part2(grid, antennae(grid));
+  }
+
+  private static ListMultimap<Character, Coord> antennae(CharGrid grid) {
+    ListMultimap<Character, Coord> antennae = ArrayListMultimap.create();
+    for (int line = 0; line < grid.height(); line++) {
+      for (int col = 0; col < grid.width(); col++) {
+        Coord coord = new Coord(line, col);
+        char c = grid.get(coord);
+        if (c != '.') {
+          antennae.put(c, coord);
         }
-        System.out.printf("Part 1 antinode count for %s is %d\n", name, part1(grid, antennae));
-        System.out.printf("Part 2 antinode count for %s is %d\n", name, part2(grid, antennae));
       }
     }
+    return antennae;
   }
 
   private static long part1(CharGrid grid, ListMultimap<Character, Coord> antennae) {
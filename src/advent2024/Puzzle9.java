@@ -5,8 +5,11 @@ import static java.lang.Integer.min;
 import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
 
+import adventlib.Puzzle;
+import adventlib.PuzzleRunner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -19,7 +22,7 @@ import org.jspecify.annotations.Nullable;
 /**
  * @author Éamonn McManus
  */
-public class Puzzle9 {
+public class Puzzle9 implements Puzzle<String> {
   private static final String SAMPLE =
       """
       2333133121414131402
@@ -33,20 +36,21 @@ public class Puzzle9 {
           () -> new InputStreamReader(Puzzle9.class.getResourceAsStream("puzzle9.txt")));
 
   public static void main(String[] args) throws Exception {
-    for (var entry : INPUT_PRODUCERS.entrySet()) {
-      String name = entry.getKey();
-      try (Reader r = entry.getValue().call()) {
-        List<String> lines = CharStreams.readLines(r);
-        String input = getOnlyElement(lines);
-        long checksum1 = part1(input);
-        System.out.printf("Part 1 checksum for %s is %d\n", name, checksum1);
-        long checksum2 = part2(input);
-        System.out.printf("Part 2 checksum for %s is %d\n", name, checksum2);
-      }
-    }
+    PuzzleRunner.run(new Puzzle9());
+  }
+
+  @Override
+  public Map<String, Callable<Reader>> inputs() {
+    return INPUT_PRODUCERS;
+  }
+
+  @Override
+  public String parse(Reader r) throws IOException {
+    return getOnlyElement(CharStreams.readLines(r));
   }
 
-  private static long part1(String input) {
+  @Override
+  public Long part1(String input) {
     List<Span> spans = parseSpans(input);
     for (int i = 0; i < spans.size(); ) {
       Span span = spans.get(i);
@@ -77,7 +81,8 @@ public class Puzzle9 {
     return checksum(spans);
   }
 
-  private static long part2(String input) {
+  @Override
+  public Long part2(String input) {
     // The approach here is quadratic because I didn't think it worthwhile to make the fancier data
     // structures that would be needed to be more efficient. There are 20,000 spans in the problem
     // data, so we're talking on the order of 400,000,000 operations. That's small enough to be
@@ -0,0 +1,201 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.comparing;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Solves one {@link Puzzle} for every input file in a directory, for checking a solution against a
+ * corpus of inputs rather than just the sample and the one problem input. For example:
+ *
+ * <pre>
+ * java adventlib.BatchRunner 2024.19 inputs/2024/19 -j8 -json
+ * </pre>
+ *
+ * <p>Each regular file in the directory is an input. Inputs are solved concurrently, each on its
+ * own virtual thread unless an argument like {@code -j8} asks for a fixed pool of that many
+ * threads. Results are printed in order of file name as CSV, or as JSON with {@code -json}, with
+ * the answers and the time taken to parse and to solve each part. An input that fails is reported
+ * with its exception instead of stopping the others. Each file is mapped as a {@link MappedInput}
+ * and given to {@link Puzzle#parse(String, MappedInput)}, so a puzzle that overrides that can
+ * parse a large input without reading it onto the heap first. With {@code -cache}, answers come
+ * from a {@link ResultCache} where possible.
+ *
+ * <p>The same {@code Puzzle} object solves all the inputs at once, so it must not keep state
+ * between calls, which is already true of puzzles that {@link PuzzleRunner} runs in parallel.
+ *
+ * @author Éamonn McManus
+ */
+public class BatchRunner {
+  public static void main(String[] args) throws Exception {
+    int threads = 0;
+    boolean json = false;
+    PuzzleRunner.Solver solver = PuzzleRunner::solve;
+    List<String> positional = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.equals("-json")) {
+        json = true;
+      } else if (arg.equals("-cache")) {
+        solver = ResultCache.open()::solve;
+      } else if (arg.startsWith("-j")) {
+        threads = Integer.parseInt(arg.substring(2));
+      } else {
+        positional.add(arg);
+      }
+    }
+    checkArgument(
+        positional.size() == 2, "Usage: BatchRunner <year.day> <directory> [-jN] [-json] [-cache]");
+    String selector = positional.get(0);
+    List<Puzzle<?>> puzzles = PuzzleRunner.load(p -> selector.equals(p.year() + "." + p.day()));
+    checkArgument(puzzles.size() == 1, "No puzzle %s", selector);
+    List<Path> files = inputFiles(Path.of(positional.get(1)));
+    List<Outcome> outcomes;
+    try (ExecutorService executor =
+        (threads > 0)
+            ? Executors.newFixedThreadPool(threads)
+            : Executors.newVirtualThreadPerTaskExecutor()) {
+      outcomes = run(puzzles.get(0), files, executor, solver);
+    }
+    if (json) {
+      printJson(outcomes, System.out);
+    } else {
+      printCsv(outcomes, System.out);
+    }
+    PuzzleRunner.reportMetrics();
+  }
+
+  /** The result of solving one input file, or the exception that stopped it. */
+  public record Outcome(
+      Path file, PuzzleRunner.@Nullable Result result, @Nullable Throwable failure) {}
+
+  /** Returns the regular files in {@code directory}, in order of name. */
+  public static List<Path> inputFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(Files::isRegularFile).sorted(comparing(Path::toString)).toList();
+    }
+  }
+
+  /**
+   * Solves {@code puzzle} for each of {@code files} using {@code executor}, and returns the
+   * outcomes in the same order as the files.
+   */
+  public static List<Outcome> run(Puzzle<?> puzzle, List<Path> files, ExecutorService executor)
+      throws InterruptedException {
+    return run(puzzle, files, executor, PuzzleRunner::solve);
+  }
+
+  /** Like {@link #run(Puzzle, List, ExecutorService)}, but using {@code solver} for each input. */
+  public static List<Outcome> run(
+      Puzzle<?> puzzle, List<Path> files, ExecutorService executor, PuzzleRunner.Solver solver)
+      throws InterruptedException {
+    List<Future<PuzzleRunner.Result>> futures = new ArrayList<>();
+    for (Path file : files) {
+      futures.add(
+          executor.submit(
+              () -> solver.solve(puzzle, file.getFileName().toString(), MappedInput.of(file))));
+    }
+    List<Outcome> outcomes = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      Path file = files.get(i);
+      try {
+        outcomes.add(new Outcome(file, futures.get(i).get(), null));
+      } catch (ExecutionException e) {
+        outcomes.add(new Outcome(file, null, e.getCause()));
+      }
+    }
+    return outcomes;
+  }
+
+  private static final String CSV_HEADER =
+      "input,part1,part2,parse_ms,part1_ms,part2_ms,cached,error";
+
+  static void printCsv(List<Outcome> outcomes, PrintStream out) {
+    out.println(CSV_HEADER);
+    for (Outcome outcome : outcomes) {
+      List<String> fields = new ArrayList<>();
+      fields.add(outcome.file.getFileName().toString());
+      PuzzleRunner.Result result = outcome.result;
+      if (result == null) {
+        fields.addAll(List.of("", "", "", "", "", ""));
+        fields.add(String.valueOf(outcome.failure));
+      } else {
+        fields.add(String.valueOf(result.part1()));
+        fields.add(String.valueOf(result.part2()));
+        fields.add(millis(result.parseNanos()));
+        fields.add(millis(result.part1Nanos()));
+        fields.add(millis(result.part2Nanos()));
+        fields.add(Boolean.toString(result.cached()));
+        fields.add("");
+      }
+      out.println(String.join(",", fields.stream().map(BatchRunner::csvField).toList()));
+    }
+  }
+
+  static void printJson(List<Outcome> outcomes, PrintStream out) {
+    out.println("[");
+    for (int i = 0; i < outcomes.size(); i++) {
+      Outcome outcome = outcomes.get(i);
+      PuzzleRunner.Result result = outcome.result;
+      StringBuilder sb = new StringBuilder("  {\"input\": ");
+      sb.append(jsonString(outcome.file.getFileName().toString()));
+      if (result == null) {
+        sb.append(", \"error\": ").append(jsonString(String.valueOf(outcome.failure)));
+      } else {
+        sb.append(", \"part1\": ").append(jsonString(String.valueOf(result.part1())));
+        sb.append(", \"part2\": ").append(jsonString(String.valueOf(result.part2())));
+        sb.append(", \"parseMs\": ").append(millis(result.parseNanos()));
+        sb.append(", \"part1Ms\": ").append(millis(result.part1Nanos()));
+        sb.append(", \"part2Ms\": ").append(millis(result.part2Nanos()));
+        sb.append(", \"cached\": ").append(result.cached());
+      }
+      sb.append('}').append((i + 1 < outcomes.size()) ? "," : "");
+      out.println(sb);
+    }
+    out.println("]");
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+  }
+
+  private static String csvField(String s) {
+    if (s.contains(",") || s.contains("\"") || s.contains("\n")) {
+      return '"' + s.replace("\"", "\"\"") + '"';
+    }
+    return s;
+  }
+
+  private static String jsonString(String s) {
+    StringBuilder sb = new StringBuilder("\"");
+    for (char c : s.toCharArray()) {
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\n' -> sb.append("\\n");
+        default -> {
+          if (c < ' ') {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+        }
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private BatchRunner() {}
+}
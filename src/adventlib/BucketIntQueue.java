@@ -0,0 +1,105 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * A bucket queue for Dijkstra's algorithm when edge costs are small integers, as described by Dial
+ * (1969). If the largest edge cost is {@code C}, then every id in the queue has a priority between
+ * the current minimum {@code p} and {@code p + C}. So a ring of {@code C + 1} buckets, indexed by
+ * priority modulo {@code C + 1}, keeps them apart. Each bucket is a doubly-linked list threaded
+ * through int arrays, so adding, removing, and moving an id between buckets are all O(1), and
+ * nothing is allocated per entry. Finding the next non-empty bucket takes at most {@code C} steps.
+ *
+ * @author Éamonn McManus
+ */
+class BucketIntQueue implements IntPriorityQueue {
+  private static final int NONE = -1;
+
+  private final int[] bucketHeads;
+  private int[] next = new int[16];
+  private int[] prev = new int[16];
+  // priority[id] is the priority of id, or NONE if it is not in the queue.
+  private int[] priority = new int[16];
+  private int current;
+  private int size;
+
+  BucketIntQueue(int maxEdgeCost) {
+    checkArgument(maxEdgeCost >= 0);
+    bucketHeads = new int[maxEdgeCost + 1];
+    Arrays.fill(bucketHeads, NONE);
+    Arrays.fill(priority, NONE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean offer(int id, int newPriority) {
+    checkArgument(
+        newPriority >= current && newPriority - current < bucketHeads.length,
+        "Priority %s is outside the window [%s, %s]",
+        newPriority,
+        current,
+        current + bucketHeads.length - 1);
+    ensureIdCapacity(id);
+    if (priority[id] != NONE) {
+      if (newPriority >= priority[id]) {
+        return false;
+      }
+      unlink(id);
+    } else {
+      size++;
+    }
+    priority[id] = newPriority;
+    int bucket = newPriority % bucketHeads.length;
+    int head = bucketHeads[bucket];
+    next[id] = head;
+    prev[id] = NONE;
+    if (head != NONE) {
+      prev[head] = id;
+    }
+    bucketHeads[bucket] = id;
+    return true;
+  }
+
+  @Override
+  public int poll() {
+    checkState(size > 0);
+    while (bucketHeads[current % bucketHeads.length] == NONE) {
+      current++;
+    }
+    int id = bucketHeads[current % bucketHeads.length];
+    unlink(id);
+    priority[id] = NONE;
+    size--;
+    return id;
+  }
+
+  private void unlink(int id) {
+    int bucket = priority[id] % bucketHeads.length;
+    if (prev[id] == NONE) {
+      bucketHeads[bucket] = next[id];
+    } else {
+      next[prev[id]] = next[id];
+    }
+    if (next[id] != NONE) {
+      prev[next[id]] = prev[id];
+    }
+  }
+
+  private void ensureIdCapacity(int id) {
+    if (id >= priority.length) {
+      int oldLength = priority.length;
+      int newLength = Math.max(id + 1, oldLength * 2);
+      next = Arrays.copyOf(next, newLength);
+      prev = Arrays.copyOf(prev, newLength);
+      priority = Arrays.copyOf(priority, newLength);
+      Arrays.fill(priority, oldLength, newLength, NONE);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.CharGrid.Coord;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A map from the cells of a {@link CharGrid} to {@code int} values, stored as a dense array with
+ * one entry per cell, or with one entry per (cell, {@link Dir}) pair. Which entries are present
+ * is recorded in a {@link CellMask}. Get one with {@link CharGrid#newCellIntMap()} or {@link
+ * CharGrid#newDirIntMap()}.
+ *
+ * <p>This replaces something like a {@code Map<Coord, Integer>} or a {@code Table<Coord, Dir,
+ * Integer>} where most of the grid is covered, or where the map is consulted often enough that
+ * hashing and boxing matter.
+ *
+ * @author Éamonn McManus
+ */
+public class CellIntMap {
+  private static final int DIR_COUNT = Dir.values().length;
+
+  private final int height;
+  private final int width;
+  private final CellMask present;
+  private final int[] values;
+
+  CellIntMap(int height, int width, boolean withDirs) {
+    this.height = height;
+    this.width = width;
+    this.present = new CellMask(height, width, withDirs);
+    this.values = new int[height * width * (withDirs ? DIR_COUNT : 1)];
+  }
+
+  public boolean hasDirs() {
+    return present.hasDirs();
+  }
+
+  /** Sets the value for the cell with the given index. */
+  public void put(int index, int value) {
+    present.add(index);
+    values[index] = value;
+  }
+
+  public void put(Coord coord, int value) {
+    put(index(coord), value);
+  }
+
+  /** Sets the value for the given cell with the given direction. */
+  public void put(int index, Dir dir, int value) {
+    present.add(index, dir);
+    values[index * DIR_COUNT + dir.ordinal()] = value;
+  }
+
+  public void put(Coord coord, Dir dir, int value) {
+    put(index(coord), dir, value);
+  }
+
+  /**
+   * Returns true if the cell with the given index has a value. For a map with directions, that
+   * means a value with any direction.
+   */
+  public boolean containsKey(int index) {
+    return present.contains(index);
+  }
+
+  public boolean containsKey(int index, Dir dir) {
+    return present.contains(index, dir);
+  }
+
+  /** Returns the value for the cell with the given index, or {@code defaultValue} if none. */
+  public int getOrDefault(int index, int defaultValue) {
+    checkArgument(!hasDirs(), "Map has directions");
+    return present.contains(index) ? values[index] : defaultValue;
+  }
+
+  public int getOrDefault(Coord coord, int defaultValue) {
+    return getOrDefault(index(coord), defaultValue);
+  }
+
+  /**
+   * Returns the value for the given cell with the given direction, or {@code defaultValue} if there
+   * is none.
+   */
+  public int getOrDefault(int index, Dir dir, int defaultValue) {
+    return present.contains(index, dir) ? values[index * DIR_COUNT + dir.ordinal()] : defaultValue;
+  }
+
+  public int getOrDefault(Coord coord, Dir dir, int defaultValue) {
+    return getOrDefault(index(coord), dir, defaultValue);
+  }
+
+  /**
+   * Calls {@code action} with each direction that the cell with the given index has a value for,
+   * and that value, in order of direction. This map must have directions.
+   */
+  public void forEachDir(int index, ObjIntConsumer<Dir> action) {
+    checkArgument(hasDirs(), "Map does not have directions");
+    for (Dir dir : Dir.values()) {
+      if (present.contains(index, dir)) {
+        action.accept(dir, values[index * DIR_COUNT + dir.ordinal()]);
+      }
+    }
+  }
+
+  public void forEachDir(Coord coord, ObjIntConsumer<Dir> action) {
+    forEachDir(index(coord), action);
+  }
+
+  /** Returns the number of entries. For a map with directions, each (cell, direction) counts. */
+  public int size() {
+    return present.cardinality();
+  }
+
+  /** Removes everything from this map, so it can be reused. */
+  public void clear() {
+    present.clear();
+  }
+
+  private int index(Coord coord) {
+    checkArgument(
+        coord.line() >= 0 && coord.line() < height && coord.col() >= 0 && coord.col() < width,
+        "Invalid coord %s",
+        coord);
+    return coord.line() * width + coord.col();
+  }
+}
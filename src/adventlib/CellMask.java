@@ -0,0 +1,182 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.CharGrid.Coord;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of cells of a {@link CharGrid}, stored as a dense bitmap with one bit per cell, or with one
+ * bit per (cell, {@link Dir}) pair. The second form is useful for detecting when a walk through the
+ * grid has returned to a cell while facing the same way. Get one with {@link
+ * CharGrid#newCellMask()} or {@link CharGrid#newDirMask()}.
+ *
+ * <p>Cells are identified by their {@linkplain CharGrid#index index} or their {@link Coord}. A mask
+ * can be emptied with {@link #clear()} and reused, which is much cheaper than allocating a new
+ * {@code Set} for each of many simulations.
+ *
+ * @author Éamonn McManus
+ */
+public class CellMask {
+  private static final int DIR_COUNT = Dir.values().length;
+
+  private final int height;
+  private final int width;
+  private final int planes;
+  private final long[] bits;
+
+  CellMask(int height, int width, boolean withDirs) {
+    this.height = height;
+    this.width = width;
+    this.planes = withDirs ? DIR_COUNT : 1;
+    this.bits = new long[(height * width * planes + 63) >>> 6];
+  }
+
+  public boolean hasDirs() {
+    return planes > 1;
+  }
+
+  /** Adds the cell with the given index. Returns true if it was not already present. */
+  public boolean add(int index) {
+    checkArgument(!hasDirs(), "Mask has directions");
+    return setBit(Objects.checkIndex(index, height * width));
+  }
+
+  public boolean add(Coord coord) {
+    return add(index(coord));
+  }
+
+  /**
+   * Adds the given cell with the given direction. Returns true if that combination was not already
+   * present.
+   */
+  public boolean add(int index, Dir dir) {
+    checkArgument(hasDirs(), "Mask does not have directions");
+    return setBit(Objects.checkIndex(index, height * width) * DIR_COUNT + dir.ordinal());
+  }
+
+  public boolean add(Coord coord, Dir dir) {
+    return add(index(coord), dir);
+  }
+
+  /**
+   * Returns true if the cell with the given index is present. For a mask with directions, that
+   * means present with any direction.
+   */
+  public boolean contains(int index) {
+    Objects.checkIndex(index, height * width);
+    if (!hasDirs()) {
+      return getBit(index);
+    }
+    for (int dir = 0; dir < DIR_COUNT; dir++) {
+      if (getBit(index * DIR_COUNT + dir)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean contains(Coord coord) {
+    return contains(index(coord));
+  }
+
+  public boolean contains(int index, Dir dir) {
+    checkArgument(hasDirs(), "Mask does not have directions");
+    return getBit(Objects.checkIndex(index, height * width) * DIR_COUNT + dir.ordinal());
+  }
+
+  public boolean contains(Coord coord, Dir dir) {
+    return contains(index(coord), dir);
+  }
+
+  /** Removes everything from this mask, so it can be reused. */
+  public void clear() {
+    Arrays.fill(bits, 0);
+  }
+
+  /** Adds everything in {@code that} to this mask. */
+  public void addAll(CellMask that) {
+    checkCompatible(that);
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] |= that.bits[i];
+    }
+  }
+
+  /** Removes everything from this mask that is not also in {@code that}. */
+  public void retainAll(CellMask that) {
+    checkCompatible(that);
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] &= that.bits[i];
+    }
+  }
+
+  /**
+   * Returns the number of entries in this mask. For a mask with directions, a cell present with
+   * two directions counts twice. See also {@link #cellCount()}.
+   */
+  public int cardinality() {
+    int count = 0;
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /** Returns the number of distinct cells in this mask, regardless of direction. */
+  public int cellCount() {
+    if (!hasDirs()) {
+      return cardinality();
+    }
+    int count = 0;
+    for (int index = 0; index < height * width; index++) {
+      if (contains(index)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Calls {@code action} with the index of each distinct cell in this mask, in increasing order. */
+  public void forEachCell(IntConsumer action) {
+    for (int index = 0; index < height * width; index++) {
+      if (contains(index)) {
+        action.accept(index);
+      }
+    }
+  }
+
+  /** Returns a new mask with the same contents as this one. */
+  public CellMask copy() {
+    CellMask copy = new CellMask(height, width, hasDirs());
+    System.arraycopy(bits, 0, copy.bits, 0, bits.length);
+    return copy;
+  }
+
+  private int index(Coord coord) {
+    checkArgument(
+        coord.line() >= 0 && coord.line() < height && coord.col() >= 0 && coord.col() < width,
+        "Invalid coord %s",
+        coord);
+    return coord.line() * width + coord.col();
+  }
+
+  private boolean setBit(int bit) {
+    long mask = 1L << bit; // shift distance is implicitly bit % 64
+    int word = bit >>> 6;
+    long old = bits[word];
+    bits[word] = old | mask;
+    return (old & mask) == 0;
+  }
+
+  private boolean getBit(int bit) {
+    return (bits[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  private void checkCompatible(CellMask that) {
+    checkArgument(
+        this.height == that.height && this.width == that.width && this.planes == that.planes,
+        "Masks have different shapes");
+  }
+}
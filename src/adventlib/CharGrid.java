@@ -1,22 +1,35 @@
 package adventlib;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
 
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.ImmutableGraph;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import org.jspecify.annotations.Nullable;
 
 /**
+ * A rectangular grid of characters. The characters are stored in a single flat array in row-major
+ * order, so {@link #get(int, int)} is just index arithmetic.
+ *
+ * <p>Cells can be identified either by a {@link Coord} or by an int index, as returned by {@link
+ * #index}. The index methods don't allocate, so they are better suited for hot loops. A map keyed
+ * by cell can then just be an array of size {@link #size()}.
+ *
  * @author Éamonn McManus
  */
 public class CharGrid {
@@ -36,16 +49,25 @@ public class CharGrid {
     }
   }
 
-  private final List<String> lines;
+  private final char[] cells;
   private final int height;
   private final int width;
 
   public CharGrid(List<String> lines) {
     checkArgument(lines != null && !lines.isEmpty());
-    this.lines = lines;
     this.height = lines.size();
     this.width = lines.getFirst().length();
     checkArgument(lines.stream().allMatch(line -> line.length() == width));
+    this.cells = new char[height * width];
+    for (int line = 0; line < height; line++) {
+      lines.get(line).getChars(0, width, cells, line * width);
+    }
+  }
+
+  CharGrid(char[] cells, int height, int width) {
+    this.cells = cells;
+    this.height = height;
+    this.width = width;
   }
 
   public int height() {
@@ -74,11 +96,109 @@ public class CharGrid {
 
   public char get(int line, int col) {
     if (valid(line, col)) {
-      return lines.get(line).charAt(col);
+      return cells[line * width + col];
     }
     return ' ';
   }
 
+  /**
+   * Returns the index of the given cell in row-major order, from 0 to {@code size() - 1}. This is
+   * the index used by {@link #distances} and {@link #distanceMatrix}.
+   */
+  public int index(Coord coord) {
+    return index(coord.line, coord.col);
+  }
+
+  public int index(int line, int col) {
+    checkArgument(valid(line, col), "Invalid coord (%s,%s)", line, col);
+    return line * width + col;
+  }
+
+  /** Returns the cell with the given row-major index. This is the inverse of {@link #index}. */
+  public Coord coord(int index) {
+    checkElementIndex(index, size());
+    return new Coord(index / width, index % width);
+  }
+
+  /** Returns the character in the cell with the given index. */
+  public char get(int index) {
+    return cells[index];
+  }
+
+  /**
+   * Returns the index of the cell one step from the cell with the given index in the direction
+   * {@code dir}, or -1 if that step would leave the grid.
+   */
+  public int move(int index, Dir dir) {
+    int line = index / width + dir.lineDelta();
+    int col = index % width + dir.colDelta();
+    return valid(line, col) ? line * width + col : -1;
+  }
+
+  /**
+   * Returns the distance from the nearest of the {@code sources} to every cell, where a step in any
+   * of the {@code adjacentDirs} has length 1, and only cells whose character matches {@code
+   * passable} can be entered. The result is indexed by {@link #index}, with -1 for cells that can't
+   * be reached. The sources themselves have distance 0 whether or not they are passable.
+   */
+  public int[] distances(Collection<Coord> sources, Set<Dir> adjacentDirs, IntPredicate passable) {
+    Dir[] dirs = adjacentDirs.toArray(new Dir[0]);
+    return GraphAlgorithms.distances(
+        size(),
+        (node, action) -> {
+          for (Dir dir : dirs) {
+            int adjacent = move(node, dir);
+            if (adjacent >= 0 && passable.test(cells[adjacent])) {
+              action.accept(adjacent);
+            }
+          }
+        },
+        sources.stream().mapToInt(this::index).toArray());
+  }
+
+  /**
+   * Returns the pairwise distances between the given {@code cells}, as defined by {@link
+   * #distances}. Element {@code [i][j]} of the result is the distance from {@code cells.get(i)} to
+   * {@code cells.get(j)}, or -1 if there is no path. The breadth-first searches from the different
+   * cells run in parallel.
+   */
+  public int[][] distanceMatrix(List<Coord> cells, Set<Dir> adjacentDirs, IntPredicate passable) {
+    int[] indexes = cells.stream().mapToInt(this::index).toArray();
+    int[][] matrix = new int[indexes.length][];
+    IntStream.range(0, indexes.length)
+        .parallel()
+        .forEach(
+            i -> {
+              int[] distances = distances(List.of(cells.get(i)), adjacentDirs, passable);
+              int[] row = new int[indexes.length];
+              for (int j = 0; j < indexes.length; j++) {
+                row[j] = distances[indexes[j]];
+              }
+              matrix[i] = row;
+            });
+    return matrix;
+  }
+
+  /** Returns a new, empty {@link CellMask} with one bit for each cell of this grid. */
+  public CellMask newCellMask() {
+    return new CellMask(height, width, false);
+  }
+
+  /** Returns a new, empty {@link CellMask} with one bit for each (cell, {@link Dir}) pair. */
+  public CellMask newDirMask() {
+    return new CellMask(height, width, true);
+  }
+
+  /** Returns a new, empty {@link CellIntMap} with one entry for each cell of this grid. */
+  public CellIntMap newCellIntMap() {
+    return new CellIntMap(height, width, false);
+  }
+
+  /** Returns a new, empty {@link CellIntMap} with one entry for each (cell, {@link Dir}) pair. */
+  public CellIntMap newDirIntMap() {
+    return new CellIntMap(height, width, true);
+  }
+
   public Optional<Coord> firstMatch(IntPredicate predicate) {
     for (int line = 0; line < height; line++) {
       for (int col = 0; col < width; col++) {
@@ -91,11 +211,19 @@ public class CharGrid {
   }
 
   public CharGrid withChange(Coord coord, char c) {
-    List<String> newLines = new ArrayList<>(lines);
-    char[] changed = newLines.get(coord.line()).toCharArray();
-    changed[coord.col()] = c;
-    newLines.set(coord.line(), new String(changed));
-    return new CharGrid(newLines);
+    checkArgument(valid(coord), "Invalid coord %s", coord);
+    char[] changed = cells.clone();
+    changed[coord.line() * width + coord.col()] = c;
+    return new CharGrid(changed, height, width);
+  }
+
+  /**
+   * Returns a mutable copy of this grid. Changes to the copy do not affect this grid. This is
+   * useful when a loop wants to try many single-cell changes without allocating a new grid for each
+   * one.
+   */
+  public MutableCharGrid mutableCopy() {
+    return new MutableCharGrid(cells.clone(), height, width);
   }
 
   public Iterable<Coord> coords() {
@@ -121,8 +249,86 @@ public class CharGrid {
         };
   }
 
+  /**
+   * Returns the indices of all the cells, in the same order as {@link #coords()}. The stream splits
+   * evenly, so it is suitable for {@link IntStream#parallel()}.
+   */
+  public IntStream coordsAsIndices() {
+    return IntStream.range(0, size());
+  }
+
   public Stream<Coord> coordStream() {
-    return StreamSupport.stream(coords().spliterator(), false);
+    return coordStream(false);
+  }
+
+  /**
+   * Returns a stream of all the cells, in the same order as {@link #coords()}. If {@code parallel}
+   * is true, the stream is parallel, and it splits into runs of whole rows.
+   */
+  public Stream<Coord> coordStream(boolean parallel) {
+    return StreamSupport.stream(new CoordSpliterator(0, size()), parallel);
+  }
+
+  /** A spliterator over the cells with indices from {@code index} (inclusive) to {@code fence}. */
+  private class CoordSpliterator implements Spliterator<Coord> {
+    private int index;
+    private final int fence;
+
+    CoordSpliterator(int index, int fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Coord> action) {
+      if (index >= fence) {
+        return false;
+      }
+      action.accept(new Coord(index / width, index % width));
+      index++;
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Coord> action) {
+      if (index >= fence) {
+        return; // also avoids dividing by a zero width
+      }
+      int line = index / width;
+      int col = index % width;
+      for (; index < fence; index++) {
+        action.accept(new Coord(line, col));
+        if (++col == width) {
+          col = 0;
+          line++;
+        }
+      }
+    }
+
+    @Override
+    public Spliterator<Coord> trySplit() {
+      if (fence - index <= width) {
+        return null; // less than a row left, or a zero-width grid
+      }
+      int mid = (index + fence) >>> 1;
+      mid -= mid % width; // split at the start of a row
+      if (mid <= index) {
+        return null;
+      }
+      var prefix = new CoordSpliterator(index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL | DISTINCT | IMMUTABLE;
+    }
   }
 
   public <N> ImmutableGraph<N> toGraph(Set<Dir> adjacentDirs, Function<Coord, N> nodeFactory) {
@@ -145,8 +351,68 @@ public class CharGrid {
     return builder.build();
   }
 
+  /**
+   * Returns a {@link CompactGraph} whose nodes are the {@linkplain #index indices} of the cells of
+   * this grid, with an edge from each cell to each valid cell in the {@code adjacentDirs}. This is
+   * the same graph as {@link #toGraph} but takes a small fraction of the memory.
+   */
+  public CompactGraph toCompactGraph(Set<Dir> adjacentDirs) {
+    return toCompactGraph(adjacentDirs, c -> true, null);
+  }
+
+  /**
+   * Returns a {@link CompactGraph} like {@link #toCompactGraph(Set)}, but only with edges between
+   * cells whose characters match {@code passable}. Cells that don't match are still nodes in the
+   * graph, but have no edges. If {@code edgeWeight} is not null, the graph is weighted, and {@code
+   * edgeWeight.applyAsInt(from, to)} is the weight of the edge between the cells with indices
+   * {@code from} and {@code to}.
+   */
+  public CompactGraph toCompactGraph(
+      Set<Dir> adjacentDirs, IntPredicate passable, @Nullable IntBinaryOperator edgeWeight) {
+    Dir[] dirs = adjacentDirs.toArray(new Dir[0]);
+    // First count the edges from each cell, so we know where each cell's edges will start.
+    int[] offsets = new int[size() + 1];
+    for (int index = 0; index < size(); index++) {
+      int degree = 0;
+      if (passable.test(cells[index])) {
+        for (Dir dir : dirs) {
+          int adjacent = move(index, dir);
+          if (adjacent >= 0 && passable.test(cells[adjacent])) {
+            degree++;
+          }
+        }
+      }
+      offsets[index + 1] = offsets[index] + degree;
+    }
+    // Then fill in the edges.
+    int[] targets = new int[offsets[size()]];
+    int[] weights = (edgeWeight == null) ? null : new int[targets.length];
+    int edge = 0;
+    for (int index = 0; index < size(); index++) {
+      if (passable.test(cells[index])) {
+        for (Dir dir : dirs) {
+          int adjacent = move(index, dir);
+          if (adjacent >= 0 && passable.test(cells[adjacent])) {
+            if (weights != null) {
+              weights[edge] = edgeWeight.applyAsInt(index, adjacent);
+            }
+            targets[edge++] = adjacent;
+          }
+        }
+      }
+    }
+    return new CompactGraph(offsets, targets, weights);
+  }
+
   @Override
   public String toString() {
-    return String.join("\n", lines);
+    StringBuilder sb = new StringBuilder(height * (width + 1));
+    for (int line = 0; line < height; line++) {
+      if (line > 0) {
+        sb.append('\n');
+      }
+      sb.append(cells, line * width, width);
+    }
+    return sb.toString();
   }
 }
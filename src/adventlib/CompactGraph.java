@@ -0,0 +1,115 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.graph.SuccessorsFunction;
+import com.google.common.primitives.Ints;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A directed graph whose nodes are the integers {@code 0 <= i < nodeCount()}, stored in compressed
+ * sparse row form. The successors of node {@code n} are {@code targets[offsets[n]]} up to but not
+ * including {@code targets[offsets[n + 1]]}, and if the graph is weighted then the weight of each
+ * of those edges is at the same position in {@code weights}. This takes much less memory than a
+ * {@link com.google.common.graph.Graph}, and iterating over successors just reads consecutive array
+ * elements.
+ *
+ * <p>An undirected graph is represented by having each edge in both directions.
+ *
+ * @author Éamonn McManus
+ */
+public class CompactGraph implements GraphAlgorithms.IntSuccessorsFunction {
+  private final int[] offsets;
+  private final int[] targets;
+  private final int @Nullable [] weights;
+
+  CompactGraph(int[] offsets, int[] targets, int @Nullable [] weights) {
+    checkArgument(offsets.length > 0 && offsets[offsets.length - 1] == targets.length);
+    checkArgument(weights == null || weights.length == targets.length);
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+  }
+
+  /**
+   * Returns a graph with the given successors and edge weights. {@code successors[n]} contains the
+   * successors of node {@code n}, and {@code weights[n][i]} is the weight of the edge from {@code
+   * n} to {@code successors[n][i]}. If {@code weights} is null then the graph is unweighted.
+   */
+  public static CompactGraph of(int[][] successors, int @Nullable [][] weights) {
+    int[] offsets = new int[successors.length + 1];
+    for (int n = 0; n < successors.length; n++) {
+      offsets[n + 1] = offsets[n] + successors[n].length;
+    }
+    int[] targets = new int[offsets[successors.length]];
+    int[] flatWeights = (weights == null) ? null : new int[targets.length];
+    for (int n = 0; n < successors.length; n++) {
+      System.arraycopy(successors[n], 0, targets, offsets[n], successors[n].length);
+      if (weights != null) {
+        checkArgument(weights[n].length == successors[n].length);
+        System.arraycopy(weights[n], 0, flatWeights, offsets[n], weights[n].length);
+      }
+    }
+    for (int target : targets) {
+      checkArgument(target >= 0 && target < successors.length, "Invalid target %s", target);
+    }
+    return new CompactGraph(offsets, targets, flatWeights);
+  }
+
+  public int nodeCount() {
+    return offsets.length - 1;
+  }
+
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  public boolean isWeighted() {
+    return weights != null;
+  }
+
+  /** Returns the number of successors of {@code node}. */
+  public int outDegree(int node) {
+    return offsets[node + 1] - offsets[node];
+  }
+
+  @Override
+  public void forEachSuccessor(int node, IntConsumer action) {
+    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+      action.accept(targets[i]);
+    }
+  }
+
+  /** Returns the {@code i}th successor of {@code node}, for {@code 0 <= i < outDegree(node)}. */
+  public int successor(int node, int i) {
+    return targets[offsets[node] + i];
+  }
+
+  /**
+   * Returns the weight of the edge from {@code node} to its {@code i}th successor. For an
+   * unweighted graph, this is always 1.
+   */
+  public int weight(int node, int i) {
+    return (weights == null) ? 1 : weights[offsets[node] + i];
+  }
+
+  /** Returns a view of this graph as a {@link SuccessorsFunction} over boxed node numbers. */
+  public SuccessorsFunction<Integer> asSuccessorsFunction() {
+    List<Integer> targetList = Ints.asList(targets);
+    return node -> targetList.subList(offsets[node], offsets[node + 1]);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int node = 0; node < nodeCount(); node++) {
+      sb.append(node).append(" -> ");
+      int[] succs = Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+      sb.append(Arrays.toString(succs)).append('\n');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,209 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.multiplyExact;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * The cycle in a simulation that eventually repeats itself, for puzzles that ask what things look
+ * like after a billion steps. After {@link #start} steps the simulation enters a cycle of length
+ * {@link #period}, so the state after {@code n} steps is the same as after {@link #equivalent
+ * equivalent(n)} steps, which is less than {@code start + period}.
+ *
+ * <p>The simulation is a {@link Stepper}, and a cycle is found by running new steppers from a
+ * {@link Supplier}. {@link #brent} and {@link #floyd} only ever keep a few keys, however long it
+ * takes to reach the cycle. {@link #fingerprint} takes fewer steps but remembers a {@code long}
+ * for every step until it sees a repeat.
+ *
+ * @param <T> the type of stepper
+ * @author Éamonn McManus
+ */
+public final class Cycle<T extends Cycle.Stepper<?>> {
+  /**
+   * A simulation that advances one step at a time. Two states are the same if their keys are
+   * equal, so a key must be a snapshot that is not changed by later steps.
+   *
+   * @param <K> the type of key
+   */
+  public interface Stepper<K> {
+    K key();
+
+    void step();
+
+    /**
+     * Returns a stepper for a simulation where each state is computed from the previous one by
+     * {@code next}. The states are their own keys, so {@code next} must return a new object rather
+     * than changing its argument.
+     */
+    static <S> Stepper<S> of(S initial, UnaryOperator<S> next) {
+      return new Stepper<>() {
+        private S state = initial;
+
+        @Override
+        public S key() {
+          return state;
+        }
+
+        @Override
+        public void step() {
+          state = next.apply(state);
+        }
+      };
+    }
+  }
+
+  private final Supplier<T> newStepper;
+  private final long start;
+  private final long period;
+
+  private Cycle(Supplier<T> newStepper, long start, long period) {
+    this.newStepper = newStepper;
+    this.start = start;
+    this.period = period;
+  }
+
+  /** Finds the cycle using Brent's algorithm, which runs two steppers. */
+  public static <T extends Stepper<?>> Cycle<T> brent(Supplier<T> newStepper) {
+    // Find the period by moving the hare and teleporting the tortoise to it at each power of two.
+    T hare = newStepper.get();
+    Object tortoise = hare.key();
+    hare.step();
+    long power = 1;
+    long period = 1;
+    while (!tortoise.equals(hare.key())) {
+      if (power == period) {
+        tortoise = hare.key();
+        power *= 2;
+        period = 0;
+      }
+      hare.step();
+      period++;
+    }
+    return new Cycle<>(newStepper, findStart(newStepper, period), period);
+  }
+
+  /** Finds the cycle using Floyd's algorithm, which runs three steppers. */
+  public static <T extends Stepper<?>> Cycle<T> floyd(Supplier<T> newStepper) {
+    // Move the hare twice as fast as the tortoise until they meet somewhere in the cycle.
+    T tortoise = newStepper.get();
+    T hare = newStepper.get();
+    do {
+      tortoise.step();
+      hare.step();
+      hare.step();
+    } while (!tortoise.key().equals(hare.key()));
+    // Then the length of the cycle is how long it takes the tortoise to get back to the same key.
+    Object meeting = tortoise.key();
+    long period = 0;
+    do {
+      tortoise.step();
+      period++;
+    } while (!meeting.equals(tortoise.key()));
+    return new Cycle<>(newStepper, findStart(newStepper, period), period);
+  }
+
+  /**
+   * Finds the cycle by remembering the {@code fingerprint} of the key after each step, until one
+   * is repeated. This takes {@code start + period} steps, where Brent's and Floyd's algorithms may
+   * take several times that. If two different keys turn out to have the same fingerprint, this
+   * falls back to {@link #brent}.
+   */
+  public static <K, T extends Stepper<K>> Cycle<T> fingerprint(
+      Supplier<T> newStepper, ToLongFunction<? super K> fingerprint) {
+    Map<Long, Long> seen = new HashMap<>();
+    T stepper = newStepper.get();
+    for (long i = 0; ; i++) {
+      K key = stepper.key();
+      Long previous = seen.put(fingerprint.applyAsLong(key), i);
+      if (previous != null) {
+        if (!key.equals(stepAhead(newStepper, previous).key())) {
+          return brent(newStepper);
+        }
+        return new Cycle<>(newStepper, previous, i - previous);
+      }
+      stepper.step();
+    }
+  }
+
+  // Given the period, the cycle starts at the first step where a stepper is the same as one that
+  // is a period ahead of it.
+  private static <T extends Stepper<?>> long findStart(Supplier<T> newStepper, long period) {
+    T tortoise = newStepper.get();
+    T hare = stepAhead(newStepper, period);
+    long start = 0;
+    while (!tortoise.key().equals(hare.key())) {
+      tortoise.step();
+      hare.step();
+      start++;
+    }
+    return start;
+  }
+
+  private static <T extends Stepper<?>> T stepAhead(Supplier<T> newStepper, long steps) {
+    T stepper = newStepper.get();
+    for (long i = 0; i < steps; i++) {
+      stepper.step();
+    }
+    return stepper;
+  }
+
+  /** The number of steps before the cycle is entered. */
+  public long start() {
+    return start;
+  }
+
+  /** The number of steps after which the state repeats, once the cycle has been entered. */
+  public long period() {
+    return period;
+  }
+
+  /** The smallest number of steps that leads to the same state as {@code n} steps. */
+  public long equivalent(long n) {
+    checkArgument(n >= 0);
+    return (n < start) ? n : start + (n - start) % period;
+  }
+
+  /** Returns a new stepper in the same state as one that has taken {@code n} steps. */
+  public T stateAt(long n) {
+    return stepAhead(newStepper, equivalent(n));
+  }
+
+  /**
+   * Returns {@code value} of the stepper after {@code n} steps. The value need not be a function of
+   * the key only. It can also increase by the same amount on every trip around the cycle, like the
+   * height of a pile that grows in a repeating pattern. This runs a new stepper for at most {@code
+   * start + period} steps.
+   */
+  public long valueAt(long n, ToLongFunction<? super T> value) {
+    long equivalent = equivalent(n);
+    long periods = (n < start) ? 0 : (n - start) / period;
+    T stepper = newStepper.get();
+    long equivalentValue = 0;
+    long startValue = 0;
+    for (long i = 0; ; i++) {
+      if (i == equivalent) {
+        equivalentValue = value.applyAsLong(stepper);
+        if (periods == 0) {
+          return equivalentValue;
+        }
+      }
+      if (i == start) {
+        startValue = value.applyAsLong(stepper);
+      } else if (i == start + period) {
+        long perPeriod = value.applyAsLong(stepper) - startValue;
+        return equivalentValue + multiplyExact(periods, perPeriod);
+      }
+      stepper.step();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Cycle{start=" + start + ", period=" + period + "}";
+  }
+}
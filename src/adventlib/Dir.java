@@ -40,19 +40,25 @@ public enum Dir {
   }
 
   public Coord move(Coord c, int amount) {
-    int lineDelta =
-        switch (this) {
-          case NW, N, NE -> -amount;
-          case SW, S, SE -> +amount;
-          case W, E -> 0;
-        };
-    int colDelta =
-        switch (this) {
-          case NW, W, SW -> -amount;
-          case NE, E, SE -> +amount;
-          case N, S -> 0;
-        };
-    return new Coord(c.line() + lineDelta, c.col() + colDelta);
+    return new Coord(c.line() + lineDelta() * amount, c.col() + colDelta() * amount);
+  }
+
+  /** The change in line number from a step in this direction: -1, 0, or +1. */
+  public int lineDelta() {
+    return switch (this) {
+      case NW, N, NE -> -1;
+      case SW, S, SE -> +1;
+      case W, E -> 0;
+    };
+  }
+
+  /** The change in column number from a step in this direction: -1, 0, or +1. */
+  public int colDelta() {
+    return switch (this) {
+      case NW, W, SW -> -1;
+      case NE, E, SE -> +1;
+      case N, S -> 0;
+    };
   }
 
   public Coord move(Coord c) {
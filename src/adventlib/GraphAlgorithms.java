@@ -1,36 +1,436 @@
 package adventlib;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.graph.Graph;
 import com.google.common.graph.PredecessorsFunction;
 import com.google.common.graph.SuccessorsFunction;
 import com.google.common.graph.ValueGraph;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Éamonn McManus
  */
 public class GraphAlgorithms {
+  /**
+   * Returns the distance from {@code start} to every node reachable from it, where each edge has
+   * length 1. This is a breadth-first search, so each node is visited exactly once, and the
+   * iteration order of the returned map is the order of increasing distance.
+   */
   public static <N> ImmutableMap<N, Integer> distances(SuccessorsFunction<N> successors, N start) {
     Map<N, Integer> distances = new LinkedHashMap<>();
-    distances(successors, start, 0, distances);
+    Deque<N> queue = new ArrayDeque<>();
+    distances.put(start, 0);
+    queue.add(start);
+    while (!queue.isEmpty()) {
+      N node = queue.remove();
+      int nextDistance = distances.get(node) + 1;
+      for (N succ : successors.successors(node)) {
+        if (distances.putIfAbsent(succ, nextDistance) == null) {
+          queue.add(succ);
+        }
+      }
+    }
     return ImmutableMap.copyOf(distances);
   }
 
-  private static <N> void distances(
-      SuccessorsFunction<N> successors, N start, int distance, Map<N, Integer> distances) {
-    if (distances.getOrDefault(start, Integer.MAX_VALUE) <= distance) {
-      return;
+  /** The successors of nodes in a graph whose nodes are the integers {@code 0 <= i < n}. */
+  @FunctionalInterface
+  public interface IntSuccessorsFunction {
+    /** Calls {@code action} once for each successor of {@code node}. */
+    void forEachSuccessor(int node, IntConsumer action);
+  }
+
+  /**
+   * The successors of nodes in a graph whose nodes are the integers {@code 0 <= i < n}, along with
+   * the weight of the edge to each one.
+   */
+  @FunctionalInterface
+  public interface IntWeightedSuccessorsFunction {
+    /** Calls {@code action} once for each successor of {@code node}. */
+    void forEachSuccessor(int node, EdgeConsumer action);
+  }
+
+  /** Receives a successor and the weight of the edge to it. */
+  @FunctionalInterface
+  public interface EdgeConsumer {
+    void accept(int successor, int weight);
+  }
+
+  /**
+   * Returns the distance to each of the nodes {@code 0 <= i < nodeCount} from the nearest of the
+   * {@code starts}, where each edge has length 1. Unreachable nodes have distance -1. This is the
+   * same breadth-first search as {@link #distances(SuccessorsFunction, Object)} but without boxing
+   * or hashing.
+   */
+  public static int[] distances(int nodeCount, IntSuccessorsFunction successors, int... starts) {
+    int[] distances = new int[nodeCount];
+    Arrays.fill(distances, -1);
+    // Each node is enqueued at most once, so a plain array is big enough for the queue. The lambda
+    // below can't assign to a local variable, so the tail index lives in a one-element array.
+    int[] queue = new int[nodeCount];
+    int[] tail = {0};
+    for (int start : starts) {
+      checkElementIndex(start, nodeCount);
+      if (distances[start] < 0) {
+        distances[start] = 0;
+        queue[tail[0]++] = start;
+      }
+    }
+    for (int head = 0; head < tail[0]; head++) {
+      int node = queue[head];
+      int nextDistance = distances[node] + 1;
+      successors.forEachSuccessor(
+          node,
+          succ -> {
+            if (distances[succ] < 0) {
+              distances[succ] = nextDistance;
+              queue[tail[0]++] = succ;
+            }
+          });
+    }
+    return distances;
+  }
+
+  /**
+   * Returns the least-cost distance to each node of {@code graph} from the nearest of the {@code
+   * starts}, or -1 for unreachable nodes. If the graph is unweighted this is a breadth-first search
+   * and otherwise it is Dijkstra's algorithm. Either way it works directly on the graph's arrays,
+   * without boxing or hashing.
+   */
+  public static int[] distances(CompactGraph graph, int... starts) {
+    if (!graph.isWeighted()) {
+      return distances(graph.nodeCount(), graph, starts);
+    }
+    int[] distances = new int[graph.nodeCount()];
+    Arrays.fill(distances, Integer.MAX_VALUE);
+    IndexedIntHeap queue = new IndexedIntHeap();
+    for (int start : starts) {
+      checkElementIndex(start, graph.nodeCount());
+      distances[start] = 0;
+      queue.offer(start, 0);
+    }
+    BitSet settled = new BitSet(graph.nodeCount());
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      settled.set(node);
+      for (int i = 0; i < graph.outDegree(node); i++) {
+        int succ = graph.successor(node, i);
+        int weight = graph.weight(node, i);
+        checkArgument(weight >= 0, "Negative weight %s", weight);
+        int newDistance = distances[node] + weight;
+        if (!settled.get(succ) && newDistance < distances[succ]) {
+          distances[succ] = newDistance;
+          queue.offer(succ, newDistance);
+        }
+      }
+    }
+    for (int node = 0; node < distances.length; node++) {
+      if (distances[node] == Integer.MAX_VALUE) {
+        distances[node] = -1;
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * Returns the least-cost distance to each of the nodes {@code 0 <= i < nodeCount} from the
+   * nearest of the {@code starts}, or -1 for unreachable nodes. Every edge weight must be between 0
+   * and {@code maxEdgeCost}, and as with {@link #shortestPaths(SuccessorsFunction, ToIntBiFunction,
+   * int, Set, Predicate)} a small bound means that the priority queue is a bucket queue. Edges are
+   * generated by {@code successors} as each node is reached, rather than stored as in a {@link
+   * CompactGraph}, so this suits graphs with many more edges than it would be reasonable to store.
+   */
+  public static int[] weightedDistances(
+      int nodeCount, IntWeightedSuccessorsFunction successors, int maxEdgeCost, int... starts) {
+    checkArgument(maxEdgeCost >= 0);
+    int[] distances = new int[nodeCount];
+    Arrays.fill(distances, Integer.MAX_VALUE);
+    IntPriorityQueue queue =
+        (maxEdgeCost <= MAX_BUCKET_QUEUE_EDGE_COST)
+            ? new BucketIntQueue(maxEdgeCost)
+            : new IndexedIntHeap();
+    for (int start : starts) {
+      checkElementIndex(start, nodeCount);
+      distances[start] = 0;
+      queue.offer(start, 0);
+    }
+    // Unlike the other searches here, this one does not record which nodes are settled. A settled
+    // node's distance is no more than the distance of the node being expanded, so an edge to it
+    // can't improve on it anyway.
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      int distance = distances[node];
+      successors.forEachSuccessor(
+          node,
+          (succ, weight) -> {
+            if (weight < 0 || weight > maxEdgeCost) {
+              throw new IllegalArgumentException(
+                  String.format("Weight %d from %d to %d is out of range", weight, node, succ));
+            }
+            int newDistance = distance + weight;
+            if (newDistance < distances[succ]) {
+              distances[succ] = newDistance;
+              queue.offer(succ, newDistance);
+            }
+          });
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      if (distances[node] == Integer.MAX_VALUE) {
+        distances[node] = -1;
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * Returns the strongly connected component of each node of {@code graph}, numbered from 0. The
+   * numbering is in reverse topological order: if there is an edge from a node in component {@code
+   * a} to a node in a different component {@code b}, then {@code a > b}. So a loop over increasing
+   * component numbers sees each component after all the components it can reach. This is Tarjan's
+   * algorithm, with explicit stacks rather than recursion so that long paths are not a problem.
+   */
+  public static int[] stronglyConnectedComponents(CompactGraph graph) {
+    int nodeCount = graph.nodeCount();
+    int[] index = new int[nodeCount];
+    Arrays.fill(index, -1);
+    int[] lowLink = new int[nodeCount];
+    int[] component = new int[nodeCount];
+    Arrays.fill(component, -1);
+    // Nodes that have been visited but not yet assigned to a component.
+    int[] stack = new int[nodeCount];
+    int stackSize = 0;
+    // The path of the depth-first search, with the next successor to look at for each node on it.
+    int[] pathNode = new int[nodeCount];
+    int[] pathEdge = new int[nodeCount];
+    int nextIndex = 0;
+    int nextComponent = 0;
+    for (int root = 0; root < nodeCount; root++) {
+      if (index[root] >= 0) {
+        continue;
+      }
+      index[root] = lowLink[root] = nextIndex++;
+      stack[stackSize++] = root;
+      pathNode[0] = root;
+      pathEdge[0] = 0;
+      int depth = 1;
+      while (depth > 0) {
+        int node = pathNode[depth - 1];
+        int edge = pathEdge[depth - 1];
+        if (edge < graph.outDegree(node)) {
+          pathEdge[depth - 1]++;
+          int succ = graph.successor(node, edge);
+          if (index[succ] < 0) {
+            index[succ] = lowLink[succ] = nextIndex++;
+            stack[stackSize++] = succ;
+            pathNode[depth] = succ;
+            pathEdge[depth] = 0;
+            depth++;
+          } else if (component[succ] < 0) {
+            lowLink[node] = Math.min(lowLink[node], index[succ]);
+          }
+        } else {
+          depth--;
+          if (lowLink[node] == index[node]) {
+            int member;
+            do {
+              member = stack[--stackSize];
+              component[member] = nextComponent;
+            } while (member != node);
+            nextComponent++;
+          }
+          if (depth > 0) {
+            int parent = pathNode[depth - 1];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+          }
+        }
+      }
+    }
+    return component;
+  }
+
+  /**
+   * The result of a weighted shortest-path search. {@code distances} maps each node whose distance
+   * was determined to that distance, in order of increasing distance. {@code predecessors} maps
+   * each of those nodes, except the start nodes, to its predecessor on a shortest path from a start
+   * node. {@code goal} is the goal node where the search stopped, if any.
+   */
+  public record ShortestPaths<N>(
+      ImmutableMap<N, Integer> distances, ImmutableMap<N, N> predecessors, Optional<N> goal) {
+    /**
+     * Returns a shortest path to {@code end}. As with {@link GraphAlgorithms#shortestPath(Graph,
+     * Object, Object)}, the path does not include the start node but does include {@code end}.
+     */
+    public ImmutableList<N> pathTo(N end) {
+      checkArgument(distances.containsKey(end), "No path to %s", end);
+      List<N> path = new ArrayList<>();
+      for (N cur = end; predecessors.containsKey(cur); cur = predecessors.get(cur)) {
+        path.add(cur);
+      }
+      return ImmutableList.copyOf(path.reversed());
     }
-    distances.put(start, distance);
-    for (N succ : successors.successors(start)) {
-      distances(successors, succ, distance + 1, distances);
+  }
+
+  /**
+   * Computes the least-cost distance from {@code start} to every node reachable from it, using
+   * Dijkstra's algorithm. The cost of each edge is given by {@code edgeCost}, which must never be
+   * negative.
+   */
+  public static <N> ShortestPaths<N> shortestPaths(
+      SuccessorsFunction<N> successors, ToIntBiFunction<? super N, ? super N> edgeCost, N start) {
+    return shortestPaths(successors, edgeCost, node -> 0, ImmutableSet.of(start), node -> false);
+  }
+
+  /**
+   * Computes least-cost distances from any of the {@code starts} until a node matching {@code
+   * isGoal} is reached, or until every reachable node has been seen. This is the A* algorithm, with
+   * Dijkstra's algorithm as the special case where {@code heuristic} is always 0.
+   *
+   * <p>The heuristic is an estimate of the remaining cost from a node to the nearest goal. It must
+   * never overestimate that cost, and it must be consistent: for an edge from {@code a} to {@code
+   * b}, {@code heuristic(a) <= edgeCost(a, b) + heuristic(b)}. Manhattan distance on a grid where
+   * every step costs at least 1 is a typical example.
+   *
+   * <p>Nodes are numbered as they are discovered and the priority queue is an indexed binary heap
+   * over those numbers. So when a shorter path to a node is found, its existing queue entry is
+   * updated rather than a new entry being added.
+   */
+  public static <N> ShortestPaths<N> shortestPaths(
+      SuccessorsFunction<N> successors,
+      ToIntBiFunction<? super N, ? super N> edgeCost,
+      ToIntFunction<? super N> heuristic,
+      Set<N> starts,
+      Predicate<? super N> isGoal) {
+    return shortestPaths(
+        successors, edgeCost, heuristic, starts, isGoal, new IndexedIntHeap(), Integer.MAX_VALUE);
+  }
+
+  /**
+   * The largest edge cost for which {@link #shortestPaths(SuccessorsFunction, ToIntBiFunction,
+   * int, Set, Predicate)} uses a bucket queue. Beyond this, scanning for the next non-empty bucket
+   * starts to cost more than a heap operation would.
+   */
+  private static final int MAX_BUCKET_QUEUE_EDGE_COST = 255;
+
+  /**
+   * Like {@link #shortestPaths(SuccessorsFunction, ToIntBiFunction, ToIntFunction, Set, Predicate)}
+   * with no heuristic, but where every edge cost is known to be at most {@code maxEdgeCost}. When
+   * that bound is small, as with the digit costs of many grid puzzles, the priority queue is a
+   * bucket queue (Dial's algorithm), where adding and removing are O(1). Otherwise it is the same
+   * heap as usual. An edge cost greater than {@code maxEdgeCost} causes {@link
+   * IllegalArgumentException}.
+   */
+  public static <N> ShortestPaths<N> shortestPaths(
+      SuccessorsFunction<N> successors,
+      ToIntBiFunction<? super N, ? super N> edgeCost,
+      int maxEdgeCost,
+      Set<N> starts,
+      Predicate<? super N> isGoal) {
+    checkArgument(maxEdgeCost >= 0);
+    IntPriorityQueue queue =
+        (maxEdgeCost <= MAX_BUCKET_QUEUE_EDGE_COST)
+            ? new BucketIntQueue(maxEdgeCost)
+            : new IndexedIntHeap();
+    return shortestPaths(successors, edgeCost, node -> 0, starts, isGoal, queue, maxEdgeCost);
+  }
+
+  private static <N> ShortestPaths<N> shortestPaths(
+      SuccessorsFunction<N> successors,
+      ToIntBiFunction<? super N, ? super N> edgeCost,
+      ToIntFunction<? super N> heuristic,
+      Set<N> starts,
+      Predicate<? super N> isGoal,
+      IntPriorityQueue queue,
+      int maxEdgeCost) {
+    NodeNumbering<N> numbering = new NodeNumbering<>();
+    for (N start : starts) {
+      int id = numbering.idOf(start);
+      numbering.distance[id] = 0;
+      queue.offer(id, heuristic.applyAsInt(start));
+    }
+    ImmutableMap.Builder<N, Integer> distances = ImmutableMap.builder();
+    ImmutableMap.Builder<N, N> predecessors = ImmutableMap.builder();
+    BitSet settled = new BitSet();
+    N goal = null;
+    while (!queue.isEmpty()) {
+      int id = queue.poll();
+      settled.set(id);
+      N node = numbering.nodes.get(id);
+      int distance = numbering.distance[id];
+      distances.put(node, distance);
+      if (numbering.predecessor[id] >= 0) {
+        predecessors.put(node, numbering.nodes.get(numbering.predecessor[id]));
+      }
+      if (isGoal.test(node)) {
+        goal = node;
+        break;
+      }
+      for (N succ : successors.successors(node)) {
+        int cost = edgeCost.applyAsInt(node, succ);
+        if (cost < 0 || cost > maxEdgeCost) {
+          throw new IllegalArgumentException(
+              String.format("Cost %d from %s to %s is out of range", cost, node, succ));
+        }
+        int succId = numbering.idOf(succ);
+        if (settled.get(succId)) {
+          continue;
+        }
+        int newDistance = distance + cost;
+        if (newDistance < numbering.distance[succId]) {
+          numbering.distance[succId] = newDistance;
+          numbering.predecessor[succId] = id;
+          queue.offer(succId, newDistance + heuristic.applyAsInt(succ));
+        }
+      }
+    }
+    return new ShortestPaths<>(distances.build(), predecessors.build(), Optional.ofNullable(goal));
+  }
+
+  /**
+   * Assigns consecutive int ids to nodes as they are discovered, and records the best known
+   * distance and predecessor for each id.
+   */
+  private static class NodeNumbering<N> {
+    final Map<N, Integer> ids = new HashMap<>();
+    final List<N> nodes = new ArrayList<>();
+    int[] distance = new int[0];
+    int[] predecessor = new int[0];
+
+    int idOf(N node) {
+      Integer id = ids.get(node);
+      if (id != null) {
+        return id;
+      }
+      int newId = nodes.size();
+      ids.put(node, newId);
+      nodes.add(node);
+      if (newId == distance.length) {
+        int newLength = Math.max(16, 2 * newId);
+        distance = Arrays.copyOf(distance, newLength);
+        predecessor = Arrays.copyOf(predecessor, newLength);
+      }
+      distance[newId] = Integer.MAX_VALUE;
+      predecessor[newId] = -1;
+      return newId;
     }
   }
 
@@ -0,0 +1,124 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of small non-negative int ids, each with an int priority. Unlike {@link
+ * java.util.PriorityQueue}, it knows where each id is in the heap, so it can lower the priority of
+ * an id that is already present (decrease-key) rather than adding a duplicate entry. Nothing is
+ * allocated per entry.
+ *
+ * @author Éamonn McManus
+ */
+class IndexedIntHeap implements IntPriorityQueue {
+  private int[] heap = new int[16];
+  private int[] priority = new int[16];
+  // position[id] is the index of id in heap, or -1 if it is not there.
+  private int[] position = new int[16];
+  private int size;
+
+  IndexedIntHeap() {
+    Arrays.fill(position, -1);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  boolean contains(int id) {
+    return id < position.length && position[id] >= 0;
+  }
+
+  int priority(int id) {
+    checkArgument(contains(id));
+    return priority[id];
+  }
+
+  @Override
+  public boolean offer(int id, int newPriority) {
+    if (contains(id)) {
+      if (newPriority >= priority[id]) {
+        return false;
+      }
+      priority[id] = newPriority;
+      siftUp(position[id]);
+      return true;
+    }
+    ensureIdCapacity(id);
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, size * 2);
+    }
+    priority[id] = newPriority;
+    heap[size] = id;
+    position[id] = size;
+    siftUp(size++);
+    return true;
+  }
+
+  @Override
+  public int poll() {
+    checkState(size > 0);
+    int result = heap[0];
+    position[result] = -1;
+    if (--size > 0) {
+      heap[0] = heap[size];
+      position[heap[0]] = 0;
+      siftDown(0);
+    }
+    return result;
+  }
+
+  private void ensureIdCapacity(int id) {
+    if (id >= position.length) {
+      int oldLength = position.length;
+      int newLength = Math.max(id + 1, oldLength * 2);
+      position = Arrays.copyOf(position, newLength);
+      Arrays.fill(position, oldLength, newLength, -1);
+      priority = Arrays.copyOf(priority, newLength);
+    }
+  }
+
+  private void siftUp(int i) {
+    int id = heap[i];
+    int p = priority[id];
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      int parentId = heap[parent];
+      if (priority[parentId] <= p) {
+        break;
+      }
+      heap[i] = parentId;
+      position[parentId] = i;
+      i = parent;
+    }
+    heap[i] = id;
+    position[id] = i;
+  }
+
+  private void siftDown(int i) {
+    int id = heap[i];
+    int p = priority[id];
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && priority[heap[child + 1]] < priority[heap[child]]) {
+        child++;
+      }
+      int childId = heap[child];
+      if (priority[childId] >= p) {
+        break;
+      }
+      heap[i] = childId;
+      position[childId] = i;
+      i = child;
+    }
+    heap[i] = id;
+    position[id] = i;
+  }
+}
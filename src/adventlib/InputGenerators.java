@@ -0,0 +1,331 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generators of synthetic puzzle inputs, in the same format as the real ones but of any size. The
+ * real inputs are small enough that almost any solution finishes quickly, so these are for finding
+ * out how a solution scales, for example by benchmarking it with inputs whose sizes differ by
+ * orders of magnitude. The same seed and size always produce the same input.
+ *
+ * <p>Each generator makes inputs that meet the assumptions the puzzle is allowed to make, such as
+ * the racetrack in 2024 Day 20 having no branches, or there being a rock trajectory that hits
+ * every hailstone in 2023 Day 24.
+ *
+ * @author Éamonn McManus
+ */
+public class InputGenerators {
+  /** Makes an input of roughly the given size from the given random seed. */
+  @FunctionalInterface
+  public interface InputGenerator {
+    String generate(long seed, int size);
+  }
+
+  /** The generator for each puzzle that has one, keyed by a string like {@code "2024.16"}. */
+  public static final ImmutableMap<String, InputGenerator> BY_PUZZLE =
+      ImmutableMap.<String, InputGenerator>builder()
+          .put("2022.11", InputGenerators::monkeys)
+          .put("2023.22", InputGenerators::bricks)
+          .put("2023.24", InputGenerators::hailstones)
+          .put("2024.1", InputGenerators::locationLists)
+          .put("2024.2", InputGenerators::reports)
+          .put("2024.9", InputGenerators::diskMap)
+          .put("2024.16", InputGenerators::maze)
+          .put("2024.20", InputGenerators::racetrack)
+          .buildOrThrow();
+
+  private InputGenerators() {}
+
+  /**
+   * A maze like the ones in 2024 Day 16, with {@code size} by {@code size} rooms and so {@code 2 *
+   * size + 1} lines and columns. {@code S} is in the bottom left corner and {@code E} in the top
+   * right. There is more than one route between them, because some walls of a perfect maze are
+   * knocked down.
+   */
+  public static String maze(long seed, int size) {
+    Random random = new Random(seed);
+    char[][] cells = perfectMaze(random, size);
+    int n = cells.length;
+    for (int line = 1; line < n - 1; line++) {
+      for (int col = 1; col < n - 1; col++) {
+        // Cells with one odd and one even coordinate are between two rooms.
+        boolean between = (line + col) % 2 == 1;
+        if (between && cells[line][col] == '#' && random.nextInt(10) == 0) {
+          cells[line][col] = '.';
+        }
+      }
+    }
+    cells[n - 2][1] = 'S';
+    cells[1][n - 2] = 'E';
+    return toText(cells);
+  }
+
+  /**
+   * A racetrack like the one in 2024 Day 20: a single track without branches from {@code S} to
+   * {@code E}, winding through a grid of {@code 2 * size + 1} lines and columns.
+   */
+  public static String racetrack(long seed, int size) {
+    Random random = new Random(seed);
+    char[][] maze = perfectMaze(random, size);
+    int n = maze.length;
+    // A perfect maze has exactly one path between any two cells, so following the parent links
+    // of a search from the start gives that path. Everything not on it becomes wall.
+    CharGrid grid = new CharGrid(Arrays.stream(maze).map(String::new).toList());
+    int start = grid.index(n - 2, 1);
+    int end = grid.index(1, n - 2);
+    int[] parent = new int[grid.size()];
+    Arrays.fill(parent, -1);
+    parent[start] = start;
+    Deque<Integer> queue = new ArrayDeque<>(List.of(start));
+    while (!queue.isEmpty()) {
+      int cur = queue.removeFirst();
+      for (Dir dir : Dir.NEWS) {
+        int next = grid.move(cur, dir);
+        if (next >= 0 && grid.get(next) == '.' && parent[next] < 0) {
+          parent[next] = cur;
+          queue.addLast(next);
+        }
+      }
+    }
+    char[][] cells = new char[n][n];
+    for (char[] line : cells) {
+      Arrays.fill(line, '#');
+    }
+    for (int cur = end; cur != start; cur = parent[cur]) {
+      cells[cur / n][cur % n] = '.';
+    }
+    cells[n - 2][1] = 'S';
+    cells[1][n - 2] = 'E';
+    return toText(cells);
+  }
+
+  /**
+   * A snapshot of falling bricks like the one in 2023 Day 22, with {@code size} bricks in a 10 by
+   * 10 footprint. No two bricks overlap.
+   */
+  public static String bricks(long seed, int size) {
+    Random random = new Random(seed);
+    int maxZ = size / 3 + 2;
+    Set<List<Integer>> occupied = new HashSet<>();
+    StringBuilder sb = new StringBuilder();
+    int placed = 0;
+    while (placed < size) {
+      int[] start = {random.nextInt(10), random.nextInt(10), 1 + random.nextInt(maxZ)};
+      int[] end = start.clone();
+      int axis = random.nextInt(3);
+      end[axis] = Math.min(end[axis] + random.nextInt(4), (axis == 2) ? maxZ + 3 : 9);
+      List<List<Integer>> brickCells = new ArrayList<>();
+      for (int i = start[axis]; i <= end[axis]; i++) {
+        int[] cell = start.clone();
+        cell[axis] = i;
+        brickCells.add(List.of(cell[0], cell[1], cell[2]));
+      }
+      if (brickCells.stream().noneMatch(occupied::contains)) {
+        occupied.addAll(brickCells);
+        sb.append(start[0]).append(',').append(start[1]).append(',').append(start[2]).append('~');
+        sb.append(end[0]).append(',').append(end[1]).append(',').append(end[2]).append('\n');
+        placed++;
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * {@code size} hailstones like those in 2023 Day 24. They are made by choosing a rock trajectory
+   * and then, for each hailstone, a distinct time at which the rock hits it and a velocity
+   * different from the rock's. Positions are around the test area of Part 1.
+   */
+  public static String hailstones(long seed, int size) {
+    Random random = new Random(seed);
+    long[] rock = new long[3];
+    long[] rockVelocity = new long[3];
+    for (int i = 0; i < 3; i++) {
+      rock[i] = 200_000_000_000_000L + random.nextLong(100_000_000_000_000L);
+      rockVelocity[i] = random.nextInt(-300, 301);
+    }
+    Set<Long> times = new HashSet<>();
+    StringBuilder sb = new StringBuilder();
+    while (times.size() < size) {
+      long t = random.nextLong(10_000_000_000L, 100_000_000_000L);
+      if (!times.add(t)) {
+        continue;
+      }
+      long[] velocity = new long[3];
+      do {
+        for (int i = 0; i < 3; i++) {
+          velocity[i] = random.nextInt(-500, 501);
+        }
+      } while (Arrays.equals(velocity, rockVelocity));
+      long[] position = new long[3];
+      for (int i = 0; i < 3; i++) {
+        position[i] = rock[i] + (rockVelocity[i] - velocity[i]) * t;
+      }
+      sb.append(position[0]).append(", ").append(position[1]).append(", ").append(position[2]);
+      sb.append(" @ ");
+      sb.append(velocity[0]).append(", ").append(velocity[1]).append(", ").append(velocity[2]);
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * A disk map like the one in 2024 Day 9, with {@code size} digits alternating between file
+   * lengths (1 to 9) and free-space lengths (0 to 9).
+   */
+  public static String diskMap(long seed, int size) {
+    Random random = new Random(seed);
+    StringBuilder sb = new StringBuilder(size + 1);
+    for (int i = 0; i < size; i++) {
+      sb.append((char) ('0' + ((i % 2 == 0) ? 1 + random.nextInt(9) : random.nextInt(10))));
+    }
+    return sb.append('\n').toString();
+  }
+
+  /**
+   * Notes on 8 monkeys like those in 2022 Day 11, holding {@code size} items between them, at
+   * least one each. Each monkey tests divisibility by a different prime, and exactly one of them
+   * squares the worry level.
+   */
+  public static String monkeys(long seed, int size) {
+    int monkeyCount = 8;
+    checkArgument(size >= monkeyCount, "Need at least %s items", monkeyCount);
+    Random random = new Random(seed);
+    List<Integer> primes = new ArrayList<>(List.of(2, 3, 5, 7, 11, 13, 17, 19));
+    Collections.shuffle(primes, random);
+    List<List<Integer>> items = new ArrayList<>();
+    for (int m = 0; m < monkeyCount; m++) {
+      items.add(new ArrayList<>());
+    }
+    for (int i = 0; i < size; i++) {
+      int m = (i < monkeyCount) ? i : random.nextInt(monkeyCount);
+      items.get(m).add(50 + random.nextInt(50));
+    }
+    int squarer = random.nextInt(monkeyCount);
+    StringBuilder sb = new StringBuilder();
+    for (int m = 0; m < monkeyCount; m++) {
+      String operation;
+      if (m == squarer) {
+        operation = "old * old";
+      } else if (random.nextBoolean()) {
+        operation = "old + " + (1 + random.nextInt(8));
+      } else {
+        operation = "old * " + (2 + random.nextInt(18));
+      }
+      int trueTarget = (m + 1 + random.nextInt(monkeyCount - 1)) % monkeyCount;
+      int falseTarget;
+      do {
+        falseTarget = (m + 1 + random.nextInt(monkeyCount - 1)) % monkeyCount;
+      } while (falseTarget == trueTarget);
+      if (m > 0) {
+        sb.append('\n');
+      }
+      sb.append("Monkey ").append(m).append(":\n");
+      sb.append("  Starting items: ");
+      sb.append(String.join(", ", items.get(m).stream().map(String::valueOf).toList()));
+      sb.append('\n');
+      sb.append("  Operation: new = ").append(operation).append('\n');
+      sb.append("  Test: divisible by ").append(primes.get(m)).append('\n');
+      sb.append("    If true: throw to monkey ").append(trueTarget).append('\n');
+      sb.append("    If false: throw to monkey ").append(falseTarget).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Two columns of {@code size} five-digit numbers like those in 2024 Day 1. Numbers in the right
+   * column are often repeated from the left, so the similarity score of Part 2 is not zero.
+   */
+  public static String locationLists(long seed, int size) {
+    Random random = new Random(seed);
+    int[] left = new int[size];
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      left[i] = 10_000 + random.nextInt(90_000);
+      int right =
+          (i > 0 && random.nextInt(4) == 0)
+              ? left[random.nextInt(i)]
+              : 10_000 + random.nextInt(90_000);
+      sb.append(left[i]).append("   ").append(right).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * {@code size} reports like those in 2024 Day 2, each of 5 to 8 levels. Most reports change
+   * steadily in one direction by 1 to 3 each time, but some have a level that breaks that.
+   */
+  public static String reports(long seed, int size) {
+    Random random = new Random(seed);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      int length = 5 + random.nextInt(4);
+      int sign = random.nextBoolean() ? 1 : -1;
+      int level = 10 + random.nextInt(80);
+      int bad = (random.nextInt(3) == 0) ? random.nextInt(length) : -1;
+      for (int j = 0; j < length; j++) {
+        if (j > 0) {
+          sb.append(' ');
+        }
+        sb.append((j == bad) ? level + random.nextInt(-5, 6) : level);
+        level += sign * (1 + random.nextInt(3));
+      }
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+
+  // A perfect maze, meaning there is exactly one path between any two open cells, made by a
+  // randomized depth-first search. Rooms are at odd coordinates, and the cells between them are
+  // knocked through as the search moves from one room to the next.
+  private static char[][] perfectMaze(Random random, int size) {
+    checkArgument(size >= 1);
+    int n = 2 * size + 1;
+    char[][] cells = new char[n][n];
+    for (char[] line : cells) {
+      Arrays.fill(line, '#');
+    }
+    Deque<int[]> stack = new ArrayDeque<>();
+    cells[1][1] = '.';
+    stack.push(new int[] {1, 1});
+    List<Dir> dirs = new ArrayList<>(Dir.NEWS);
+    while (!stack.isEmpty()) {
+      int[] room = stack.peek();
+      Collections.shuffle(dirs, random);
+      boolean moved = false;
+      for (Dir dir : dirs) {
+        int line = room[0] + 2 * dir.lineDelta();
+        int col = room[1] + 2 * dir.colDelta();
+        if (line > 0 && line < n - 1 && col > 0 && col < n - 1 && cells[line][col] == '#') {
+          cells[room[0] + dir.lineDelta()][room[1] + dir.colDelta()] = '.';
+          cells[line][col] = '.';
+          stack.push(new int[] {line, col});
+          moved = true;
+          break;
+        }
+      }
+      if (!moved) {
+        stack.pop();
+      }
+    }
+    return cells;
+  }
+
+  private static String toText(char[][] cells) {
+    StringBuilder sb = new StringBuilder(cells.length * (cells[0].length + 1));
+    for (char[] line : cells) {
+      sb.append(line).append('\n');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,21 @@
+package adventlib;
+
+/**
+ * A priority queue of small non-negative int ids, each with an int priority, where the priority of
+ * an id that is already present can be lowered. This is what {@link GraphAlgorithms} needs for
+ * Dijkstra's algorithm.
+ *
+ * @author Éamonn McManus
+ */
+interface IntPriorityQueue {
+  boolean isEmpty();
+
+  /**
+   * Adds {@code id} with the given priority, or lowers its priority if it is already present with a
+   * higher one. Returns true if the queue changed.
+   */
+  boolean offer(int id, int priority);
+
+  /** Removes and returns an id with the lowest priority. */
+  int poll();
+}
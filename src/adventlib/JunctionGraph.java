@@ -0,0 +1,162 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.CharGrid.Coord;
+import com.google.common.collect.ImmutableList;
+import com.google.common.graph.EndpointPair;
+import com.google.common.graph.ImmutableValueGraph;
+import com.google.common.graph.MutableValueGraph;
+import com.google.common.graph.ValueGraphBuilder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A maze in a {@link CharGrid}, compressed so that each corridor becomes a single weighted edge.
+ * The nodes of the graph are the <i>junctions</i>: passable cells that do not have exactly two
+ * passable neighbours, plus any other cells the caller wants to keep, such as the start and end of
+ * the maze. Every other passable cell is in a corridor, a chain of cells that leads from one
+ * junction to another without branching. The value of an edge is the number of steps along its
+ * corridor. Searches over the resulting graph might visit tens of nodes rather than tens of
+ * thousands of cells.
+ *
+ * <p>Two different corridors can join the same pair of junctions. {@link #corridors()} has all of
+ * them, but {@link #graph()} can only have one edge between two nodes, and that is the shorter
+ * corridor. So a search for the longest path should use {@link #corridors()}. Corridors that loop
+ * back to the junction they started from are dropped.
+ *
+ * @author Éamonn McManus
+ */
+public class JunctionGraph {
+  /**
+   * A corridor between two junctions. {@code cells} are the cells along it from {@code from} to
+   * {@code to}, including both ends, so its length is one less than the number of cells.
+   */
+  public record Corridor(Coord from, Coord to, ImmutableList<Coord> cells) {
+    public int length() {
+      return cells.size() - 1;
+    }
+  }
+
+  private final ImmutableValueGraph<Coord, Integer> graph;
+  private final ImmutableList<Corridor> corridors;
+  private final Map<EndpointPair<Coord>, ImmutableList<Coord>> paths;
+
+  private JunctionGraph(
+      ImmutableValueGraph<Coord, Integer> graph,
+      ImmutableList<Corridor> corridors,
+      Map<EndpointPair<Coord>, ImmutableList<Coord>> paths) {
+    this.graph = graph;
+    this.corridors = corridors;
+    this.paths = paths;
+  }
+
+  /**
+   * Contracts the maze in {@code grid} where cells whose characters match {@code passable} can be
+   * entered, moving in any of the {@code adjacentDirs}. Cells matching {@code extraJunction} are
+   * junctions even if they have exactly two passable neighbours.
+   */
+  public static JunctionGraph of(
+      CharGrid grid, IntPredicate passable, Set<Dir> adjacentDirs, Predicate<Coord> extraJunction) {
+    Dir[] dirs = adjacentDirs.toArray(new Dir[0]);
+    int[] degrees = new int[grid.size()];
+    for (int index = 0; index < grid.size(); index++) {
+      if (passable.test(grid.get(index))) {
+        for (Dir dir : dirs) {
+          int adjacent = grid.move(index, dir);
+          if (adjacent >= 0 && passable.test(grid.get(adjacent))) {
+            degrees[index]++;
+          }
+        }
+      }
+    }
+    CellMask junctions = grid.newCellMask();
+    for (int index = 0; index < grid.size(); index++) {
+      if (passable.test(grid.get(index))
+          && (degrees[index] != 2 || extraJunction.test(grid.coord(index)))) {
+        junctions.add(index);
+      }
+    }
+
+    MutableValueGraph<Coord, Integer> graph = ValueGraphBuilder.undirected().build();
+    ImmutableList.Builder<Corridor> corridors = ImmutableList.builder();
+    Map<EndpointPair<Coord>, ImmutableList<Coord>> paths = new LinkedHashMap<>();
+    junctions.forEachCell(index -> graph.addNode(grid.coord(index)));
+    junctions.forEachCell(
+        start -> {
+          for (Dir dir : dirs) {
+            int next = grid.move(start, dir);
+            if (next < 0 || !passable.test(grid.get(next))) {
+              continue;
+            }
+            List<Integer> path = new ArrayList<>(List.of(start));
+            int prev = start;
+            int cur = next;
+            while (!junctions.contains(cur)) {
+              path.add(cur);
+              int following = -1;
+              for (Dir d : dirs) {
+                int adjacent = grid.move(cur, d);
+                if (adjacent >= 0 && adjacent != prev && passable.test(grid.get(adjacent))) {
+                  following = adjacent;
+                  break;
+                }
+              }
+              prev = cur;
+              cur = following;
+            }
+            path.add(cur);
+            // Each corridor is walked once from each end, so only keep it from the lower end.
+            if (cur <= start) {
+              continue;
+            }
+            Corridor corridor =
+                new Corridor(
+                    grid.coord(start),
+                    grid.coord(cur),
+                    path.stream().map(grid::coord).collect(ImmutableList.toImmutableList()));
+            corridors.add(corridor);
+            Optional<Integer> old = graph.edgeValue(corridor.from, corridor.to);
+            if (old.isEmpty() || old.get() > corridor.length()) {
+              graph.putEdgeValue(corridor.from, corridor.to, corridor.length());
+              paths.put(EndpointPair.ordered(corridor.from, corridor.to), corridor.cells);
+            }
+          }
+        });
+    return new JunctionGraph(ImmutableValueGraph.copyOf(graph), corridors.build(), paths);
+  }
+
+  /**
+   * The contracted graph, whose edge values are corridor lengths. Where several corridors join the
+   * same two junctions, the edge is for the shortest.
+   */
+  public ImmutableValueGraph<Coord, Integer> graph() {
+    return graph;
+  }
+
+  /** Every corridor, including ones that join the same two junctions as another corridor. */
+  public ImmutableList<Corridor> corridors() {
+    return corridors;
+  }
+
+  /**
+   * Returns the cells along the corridor from {@code from} to {@code to}, which must be adjacent in
+   * {@link #graph()}. The result includes both ends. If several corridors join the two junctions,
+   * this is the shortest.
+   */
+  public ImmutableList<Coord> path(Coord from, Coord to) {
+    ImmutableList<Coord> path = paths.get(EndpointPair.ordered(from, to));
+    if (path != null) {
+      return path;
+    }
+    path = paths.get(EndpointPair.ordered(to, from));
+    checkArgument(path != null, "No edge between %s and %s", from, to);
+    return path.reverse();
+  }
+}
@@ -0,0 +1,146 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A memo like {@link Memo}, but with {@code long} keys and values, stored in parallel {@code long}
+ * arrays so that neither keys nor values are boxed. Keys that are small records can often be packed
+ * into a {@code long}, for example a stone number and a blink count.
+ *
+ * <p>An unbounded memo is an open-addressing hash table that grows as needed. A {@linkplain
+ * #bounded bounded} one has a fixed table where each key can only be in one slot, like a CPU cache,
+ * so storing a key evicts whatever was in its slot. That makes eviction free, at the cost of
+ * sometimes evicting a useful entry while the table is not yet full.
+ *
+ * <p>A {@code LongMemo} is not safe to share between threads.
+ *
+ * @author Éamonn McManus
+ */
+public class LongMemo {
+  private final boolean bounded;
+  private long[] keys;
+  private long[] values;
+  private boolean[] used;
+  private int mask;
+  private int size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private LongMemo(int capacity, boolean bounded) {
+    this.bounded = bounded;
+    allocate(capacity);
+  }
+
+  /** Returns a memo that keeps every entry. */
+  public static LongMemo create() {
+    return new LongMemo(64, false);
+  }
+
+  /**
+   * Returns a memo that never has more than {@code maximumSize} entries, after rounding that up to
+   * a power of two.
+   */
+  public static LongMemo bounded(int maximumSize) {
+    checkArgument(maximumSize > 0 && maximumSize <= 1 << 30);
+    return new LongMemo(maximumSize, true);
+  }
+
+  /**
+   * Returns the value for {@code key}, calling {@code compute} to find it if it is not already in
+   * the memo. {@code compute} may itself call this method.
+   */
+  public long get(long key, LongUnaryOperator compute) {
+    int slot = find(key);
+    if (used[slot] && keys[slot] == key) {
+      hits++;
+      return values[slot];
+    }
+    misses++;
+    long value = compute.applyAsLong(key);
+    // The table may have changed during compute, so find the slot again.
+    slot = find(key);
+    if (used[slot]) {
+      if (keys[slot] != key) {
+        evictions++;
+      }
+    } else {
+      used[slot] = true;
+      size++;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (!bounded && size * 2 > keys.length) {
+      allocate(keys.length * 2);
+    }
+    return value;
+  }
+
+  // Returns the slot where key is, or else where it should go.
+  private int find(long key) {
+    int slot = hash(key) & mask;
+    if (!bounded) {
+      while (used[slot] && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    boolean[] oldUsed = used;
+    // The smallest power of two that is at least capacity.
+    int tableSize = (capacity <= 1) ? 1 : Integer.highestOneBit(capacity - 1) * 2;
+    keys = new long[tableSize];
+    values = new long[tableSize];
+    used = new boolean[tableSize];
+    mask = tableSize - 1;
+    if (oldKeys != null) {
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldUsed[i]) {
+          int slot = find(oldKeys[i]);
+          used[slot] = true;
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long hits() {
+    return hits;
+  }
+
+  public long misses() {
+    return misses;
+  }
+
+  public long evictions() {
+    return evictions;
+  }
+
+  /** Removes every entry, but leaves the statistics alone. */
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  @Override
+  public String toString() {
+    return Memo.stats(size, hits, misses, evictions);
+  }
+}
@@ -0,0 +1,188 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The text of a puzzle input, held as bytes. When the input is a file, including a resource that
+ * is a file on the class path, the bytes are mapped with {@link FileChannel#map} rather than read
+ * onto the heap. Lines are found once, by recording where each one starts, and after that {@link
+ * #line(int)} returns a view of the bytes rather than a new string. {@link #toCharGrid()} copies
+ * the bytes straight into the grid's array, without making a string for each line.
+ *
+ * <p>Puzzle inputs are ASCII, so each byte is treated as one character.
+ *
+ * @author Éamonn McManus
+ */
+public class MappedInput {
+  private final ByteBuffer bytes;
+  // lineStarts[i] is the offset of the start of line i, and lineStarts[lineCount] is just past the
+  // end of the last line, including its newline if any.
+  private final int[] lineStarts;
+  private final int lineCount;
+
+  private MappedInput(ByteBuffer bytes) {
+    this.bytes = bytes;
+    int limit = bytes.limit();
+    int[] starts = new int[16];
+    int count = 0;
+    int start = 0;
+    while (start < limit) {
+      if (count + 1 >= starts.length) {
+        starts = Arrays.copyOf(starts, starts.length * 2);
+      }
+      starts[count++] = start;
+      int i = start;
+      while (i < limit && bytes.get(i) != '\n') {
+        i++;
+      }
+      start = i + 1;
+    }
+    starts[count] = limit;
+    this.lineStarts = starts;
+    this.lineCount = count;
+  }
+
+  /** Maps the file at {@code path}. */
+  public static MappedInput of(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new MappedInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Returns the resource {@code name}, found relative to {@code c} as with {@link
+   * Class#getResource}. The resource is mapped if it is a file, and otherwise read into memory, as
+   * it would be for example from a jar.
+   */
+  public static MappedInput ofResource(Class<?> c, String name) throws IOException {
+    URL url = c.getResource(name);
+    if (url == null) {
+      throw new IOException("Missing resource " + name + " for " + c.getName());
+    }
+    if (url.getProtocol().equals("file")) {
+      try {
+        return of(Path.of(url.toURI()));
+      } catch (URISyntaxException e) {
+        throw new IOException(e);
+      }
+    }
+    try (InputStream in = url.openStream()) {
+      return new MappedInput(ByteBuffer.wrap(in.readAllBytes()));
+    }
+  }
+
+  /** Returns an input with the given text, such as the sample input from a puzzle description. */
+  public static MappedInput of(String text) {
+    return new MappedInput(ByteBuffer.wrap(text.getBytes(UTF_8)));
+  }
+
+  /**
+   * The number of lines. A newline at the very end of the input does not start another line, so
+   * this is consistent with {@link com.google.common.io.CharStreams#readLines}.
+   */
+  public int lineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Returns a view of line {@code i}, without its terminating {@code \n} or {@code \r\n}. The view
+   * reads the underlying bytes, so nothing is copied until something like {@code toString()} is
+   * called.
+   */
+  public CharSequence line(int i) {
+    checkElementIndex(i, lineCount);
+    return new ByteChars(bytes, lineStarts[i], lineEnd(i));
+  }
+
+  /** Returns the lines as strings, for code that needs them. */
+  public List<String> lines() {
+    return new AbstractList<String>() {
+      @Override
+      public String get(int i) {
+        return line(i).toString();
+      }
+
+      @Override
+      public int size() {
+        return lineCount;
+      }
+    };
+  }
+
+  /** Returns the whole input as a {@link CharSequence} view, including newlines. */
+  public CharSequence text() {
+    return new ByteChars(bytes, 0, bytes.limit());
+  }
+
+  /**
+   * Returns a grid with the characters of the input, which must be made of lines that all have the
+   * same length.
+   */
+  public CharGrid toCharGrid() {
+    checkArgument(lineCount > 0, "Empty input");
+    int width = lineEnd(0) - lineStarts[0];
+    char[] cells = new char[lineCount * width];
+    for (int line = 0; line < lineCount; line++) {
+      int start = lineStarts[line];
+      checkArgument(
+          lineEnd(line) - start == width, "Line %s has a different length from line 0", line);
+      for (int col = 0; col < width; col++) {
+        cells[line * width + col] = (char) (bytes.get(start + col) & 0xff);
+      }
+    }
+    return new CharGrid(cells, lineCount, width);
+  }
+
+  private int lineEnd(int i) {
+    int end = lineStarts[i + 1];
+    if (end > lineStarts[i] && bytes.get(end - 1) == '\n') {
+      end--;
+    }
+    if (end > lineStarts[i] && bytes.get(end - 1) == '\r') {
+      end--;
+    }
+    return end;
+  }
+
+  /** A view of a range of bytes as characters. */
+  private record ByteChars(ByteBuffer bytes, int start, int end) implements CharSequence {
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      checkElementIndex(index, length());
+      return (char) (bytes.get(start + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      checkArgument(0 <= from && from <= to && to <= length());
+      return new ByteChars(bytes, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      byte[] array = new byte[length()];
+      bytes.get(start, array);
+      return new String(array, ISO_8859_1);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A memoization cache from keys to {@code long} results, for recursive solutions that would
+ * otherwise pass a {@code Map<Key, Long>} down through every call. It counts hits, misses and
+ * evictions, so its size can be chosen from real numbers rather than guesses.
+ *
+ * <p>By default a memo keeps everything. {@link Builder#maximumSize} or {@link
+ * Builder#maximumWeight} bound it, evicting the least recently used entries first. {@link
+ * Builder#concurrent} makes it safe to share between threads. When keys are, or can be packed
+ * into, a {@code long}, {@link LongMemo} avoids boxing altogether.
+ *
+ * <p>The function that computes a missing value may itself call {@link #get} on the same memo, as
+ * a recursive solution does. No lock is held while it runs.
+ *
+ * @param <K> the key type, which must have suitable {@code equals} and {@code hashCode} methods
+ * @author Éamonn McManus
+ */
+public class Memo<K> {
+  private final Map<K, Long> map;
+  private final @Nullable ToLongFunction<? super K> weigher;
+  private final long maximumWeight;
+  private final boolean lock;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private long weight;
+
+  private Memo(Builder<K> builder) {
+    this.weigher = builder.weigher;
+    this.maximumWeight = builder.maximumWeight;
+    if (weigher != null) {
+      this.map = new LinkedHashMap<>(16, 0.75f, /* accessOrder= */ true);
+      this.lock = builder.concurrent;
+    } else {
+      this.map = builder.concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+      this.lock = false;
+    }
+  }
+
+  /** Returns an unbounded memo for use from a single thread. */
+  public static <K> Memo<K> create() {
+    return Memo.<K>builder().build();
+  }
+
+  public static <K> Builder<K> builder() {
+    return new Builder<>();
+  }
+
+  /** Builds a {@link Memo} with a bound on its size, or that can be shared by threads, or both. */
+  public static class Builder<K> {
+    private @Nullable ToLongFunction<? super K> weigher;
+    private long maximumWeight;
+    private boolean concurrent;
+
+    private Builder() {}
+
+    /** Limits the memo to {@code maximumSize} entries. */
+    public Builder<K> maximumSize(long maximumSize) {
+      return maximumWeight(maximumSize, key -> 1);
+    }
+
+    /**
+     * Limits the total weight of the keys in the memo, where {@code weigher} gives the weight of
+     * each key, such as the length of a string.
+     */
+    public Builder<K> maximumWeight(long maximumWeight, ToLongFunction<? super K> weigher) {
+      checkArgument(maximumWeight > 0);
+      checkState(this.weigher == null, "Bound already set");
+      this.maximumWeight = maximumWeight;
+      this.weigher = weigher;
+      return this;
+    }
+
+    /** Makes the memo safe to use from several threads at once. */
+    public Builder<K> concurrent() {
+      this.concurrent = true;
+      return this;
+    }
+
+    public Memo<K> build() {
+      return new Memo<>(this);
+    }
+  }
+
+  /**
+   * Returns the value for {@code key}, calling {@code compute} to find it if it is not already in
+   * the memo. If two threads ask for the same missing key at the same time, both may compute it.
+   */
+  public long get(K key, ToLongFunction<? super K> compute) {
+    Long cached = lookup(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    long value = compute.applyAsLong(key);
+    store(key, value);
+    return value;
+  }
+
+  private @Nullable Long lookup(K key) {
+    if (lock) {
+      synchronized (map) {
+        return map.get(key);
+      }
+    }
+    return map.get(key);
+  }
+
+  private void store(K key, long value) {
+    if (lock) {
+      synchronized (map) {
+        storeAndEvict(key, value);
+      }
+    } else {
+      storeAndEvict(key, value);
+    }
+  }
+
+  private void storeAndEvict(K key, long value) {
+    if (map.put(key, value) != null || weigher == null) {
+      return;
+    }
+    weight += weigher.applyAsLong(key);
+    for (Iterator<K> it = map.keySet().iterator(); weight > maximumWeight && it.hasNext(); ) {
+      K eldest = it.next();
+      if (map.size() == 1) {
+        break; // Always keep the entry just added, even if it alone is too heavy.
+      }
+      weight -= weigher.applyAsLong(eldest);
+      it.remove();
+      evictions.increment();
+    }
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /** Removes every entry, but leaves the statistics alone. */
+  public void clear() {
+    if (lock) {
+      synchronized (map) {
+        map.clear();
+        weight = 0;
+      }
+    } else {
+      map.clear();
+      weight = 0;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return stats(size(), hits(), misses(), evictions());
+  }
+
+  static String stats(long size, long hits, long misses, long evictions) {
+    long lookups = hits + misses;
+    return String.format(
+        "size %,d, hits %,d, misses %,d, evictions %,d, hit rate %.1f%%",
+        size, hits, misses, evictions, (lookups == 0) ? 0.0 : 100.0 * hits / lookups);
+  }
+}
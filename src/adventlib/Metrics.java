@@ -0,0 +1,384 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Counters, gauges, histograms and timers for reporting what a solution is doing, such as how many
+ * states it explored or how often a cache hit, without printing from inside its loops. Metrics are
+ * only recorded if the system property {@code advent.metrics} is {@code true}. Otherwise every
+ * recording method returns immediately after reading a static field, which costs next to nothing.
+ *
+ * <p>Metrics are looked up by name, usually once in a static field:
+ *
+ * <pre>{@code
+ * private static final Metrics.Counter CACHE_HITS = Metrics.counter("2023.12.cacheHits");
+ * }</pre>
+ *
+ * <p>Recording is thread-safe, using {@link LongAdder} so that threads don't contend. {@link
+ * #report} prints the current values, and {@link #emitJfrEvents} writes them as JDK Flight
+ * Recorder events. Each use of a {@link Timer} is also a JFR event, so a recording shows the phases
+ * of each puzzle on a timeline.
+ *
+ * @author Éamonn McManus
+ */
+public class Metrics {
+  // Only changed by tests, through setEnabledForTesting. Volatile because puzzles that record
+  // metrics may be running on other threads.
+  private static volatile boolean enabled = Boolean.getBoolean("advent.metrics");
+
+  private static final ConcurrentMap<String, Metric> METRICS = new ConcurrentHashMap<>();
+
+  private Metrics() {}
+
+  public static boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns recording on or off regardless of {@code advent.metrics}, so tests of metrics don't
+   * depend on how they are run. This is not thread-safe, so it should not be called while anything
+   * is recording metrics.
+   */
+  static void setEnabledForTesting(boolean enabled) {
+    Metrics.enabled = enabled;
+  }
+
+  public static Counter counter(String name) {
+    return get(name, Counter.class, Counter::new);
+  }
+
+  public static Gauge gauge(String name) {
+    return get(name, Gauge.class, Gauge::new);
+  }
+
+  public static Histogram histogram(String name) {
+    return get(name, Histogram.class, Histogram::new);
+  }
+
+  public static Timer timer(String name) {
+    return get(name, Timer.class, Timer::new);
+  }
+
+  private static <M extends Metric> M get(String name, Class<M> type, Function<String, M> factory) {
+    Metric metric = METRICS.computeIfAbsent(name, factory);
+    checkArgument(
+        type.isInstance(metric),
+        "Metric %s is a %s, not a %s",
+        name,
+        metric.getClass().getSimpleName(),
+        type.getSimpleName());
+    return type.cast(metric);
+  }
+
+  /** Prints the value of every metric that has recorded something, in order of name. */
+  public static void report(PrintStream out) {
+    for (Metric metric : new TreeMap<>(METRICS).values()) {
+      if (metric.count() > 0) {
+        out.printf("%s: %s\n", metric.name, metric.summary());
+      }
+    }
+  }
+
+  /**
+   * Writes a JFR event for every metric that has recorded something. This does nothing unless a
+   * recording is in progress, for example because of {@code -XX:StartFlightRecording}.
+   */
+  public static void emitJfrEvents() {
+    for (Map.Entry<String, Metric> entry : METRICS.entrySet()) {
+      Metric metric = entry.getValue();
+      if (metric.count() > 0) {
+        MetricEvent event = new MetricEvent();
+        event.name = entry.getKey();
+        event.count = metric.count();
+        event.value = metric.value();
+        event.summary = metric.summary();
+        event.commit();
+      }
+    }
+  }
+
+  /** Sets every metric back to its initial state. */
+  public static void reset() {
+    METRICS.values().forEach(Metric::reset);
+  }
+
+  /** A named metric. */
+  public abstract static class Metric {
+    final String name;
+
+    Metric(String name) {
+      this.name = name;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    /** The number of things recorded, which is zero if nothing has been. */
+    abstract long count();
+
+    /** The main value of the metric, such as the total of a counter. */
+    abstract long value();
+
+    abstract String summary();
+
+    abstract void reset();
+  }
+
+  /** A total that can only be added to. */
+  public static final class Counter extends Metric {
+    private final LongAdder sum = new LongAdder();
+
+    Counter(String name) {
+      super(name);
+    }
+
+    public void increment() {
+      if (enabled) {
+        sum.increment();
+      }
+    }
+
+    public void add(long n) {
+      if (enabled) {
+        sum.add(n);
+      }
+    }
+
+    public long sum() {
+      return sum.sum();
+    }
+
+    @Override
+    long count() {
+      return sum();
+    }
+
+    @Override
+    long value() {
+      return sum();
+    }
+
+    @Override
+    String summary() {
+      return String.format("%,d", sum());
+    }
+
+    @Override
+    void reset() {
+      sum.reset();
+    }
+  }
+
+  /** The latest of a series of values, such as the current size of a queue, and the largest. */
+  public static final class Gauge extends Metric {
+    private final AtomicLong latest = new AtomicLong();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder count = new LongAdder();
+
+    Gauge(String name) {
+      super(name);
+    }
+
+    public void set(long value) {
+      if (enabled) {
+        latest.set(value);
+        max.accumulateAndGet(value, Math::max);
+        count.increment();
+      }
+    }
+
+    public long get() {
+      return latest.get();
+    }
+
+    public long max() {
+      return max.get();
+    }
+
+    @Override
+    long count() {
+      return count.sum();
+    }
+
+    @Override
+    long value() {
+      return get();
+    }
+
+    @Override
+    String summary() {
+      return String.format("latest %,d, max %,d", get(), max());
+    }
+
+    @Override
+    void reset() {
+      latest.set(0);
+      max.set(Long.MIN_VALUE);
+      count.reset();
+    }
+  }
+
+  /**
+   * The distribution of a series of non-negative values, in buckets by powers of two. Bucket 0 is
+   * for the value 0, and bucket {@code b > 0} is for values from {@code 2^(b-1)} to {@code 2^b - 1}.
+   */
+  public static class Histogram extends Metric {
+    private final LongAdder[] buckets = new LongAdder[65];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(String name) {
+      super(name);
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    public void record(long value) {
+      if (enabled) {
+        buckets[64 - Long.numberOfLeadingZeros(Math.max(value, 0))].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+      }
+    }
+
+    public long bucketCount(int bucket) {
+      return buckets[bucket].sum();
+    }
+
+    public long max() {
+      return max.get();
+    }
+
+    public long sum() {
+      return sum.sum();
+    }
+
+    @Override
+    long count() {
+      return count.sum();
+    }
+
+    @Override
+    long value() {
+      return sum();
+    }
+
+    @Override
+    String summary() {
+      long n = count();
+      return String.format(
+          "count %,d, mean %,.1f, max %,d", n, (n == 0) ? 0.0 : (double) sum() / n, max());
+    }
+
+    @Override
+    void reset() {
+      for (LongAdder bucket : buckets) {
+        bucket.reset();
+      }
+      count.reset();
+      sum.reset();
+      max.set(0);
+    }
+  }
+
+  /** A histogram of elapsed times, in nanoseconds. */
+  public static final class Timer extends Histogram {
+    private static final Sample NO_SAMPLE = () -> {};
+
+    Timer(String name) {
+      super(name);
+    }
+
+    /**
+     * Starts timing something, which stops when the returned {@link Sample} is closed:
+     *
+     * <pre>{@code
+     * try (var unused = PARSE_TIMER.start()) {
+     *   ...
+     * }
+     * }</pre>
+     */
+    public Sample start() {
+      if (!enabled) {
+        return NO_SAMPLE;
+      }
+      PhaseEvent event = new PhaseEvent();
+      event.name = name;
+      event.begin();
+      long start = System.nanoTime();
+      return () -> {
+        record(System.nanoTime() - start);
+        event.commit();
+      };
+    }
+
+    /** Returns the result of {@code supplier}, recording how long it took. */
+    public <T> T time(Supplier<T> supplier) {
+      Sample sample = start();
+      try {
+        return supplier.get();
+      } finally {
+        sample.close();
+      }
+    }
+
+    @Override
+    String summary() {
+      long n = count();
+      return String.format(
+          "count %,d, total %,d ms, max %,.3f ms",
+          n, NANOSECONDS.toMillis(sum()), max() / 1e6);
+    }
+  }
+
+  /** A timing in progress. */
+  @FunctionalInterface
+  public interface Sample extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  @Name("adventlib.Metric")
+  @Label("Metric")
+  @Category("Advent of Code")
+  static class MetricEvent extends Event {
+    @Label("Name")
+    String name;
+
+    @Label("Count")
+    long count;
+
+    @Label("Value")
+    long value;
+
+    @Label("Summary")
+    String summary;
+  }
+
+  @Name("adventlib.Phase")
+  @Label("Phase")
+  @Category("Advent of Code")
+  static class PhaseEvent extends Event {
+    @Label("Name")
+    String name;
+  }
+}
@@ -0,0 +1,90 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import adventlib.CharGrid.Coord;
+
+/**
+ * A grid of characters whose cells can be changed in place. Get one with {@link
+ * CharGrid#mutableCopy()}. This is deliberately not a {@link CharGrid}, so code that is given a
+ * {@code CharGrid} can rely on it never changing. Use {@link #snapshot()} to get one with the
+ * current contents.
+ *
+ * @author Éamonn McManus
+ */
+public final class MutableCharGrid {
+  private final char[] cells;
+  private final int height;
+  private final int width;
+
+  MutableCharGrid(char[] cells, int height, int width) {
+    this.cells = cells;
+    this.height = height;
+    this.width = width;
+  }
+
+  public int height() {
+    return height;
+  }
+
+  public int width() {
+    return width;
+  }
+
+  public int size() {
+    return height * width;
+  }
+
+  public boolean valid(int line, int col) {
+    return line >= 0 && line < height && col >= 0 && col < width;
+  }
+
+  /** Returns the character at the given cell, or a space if the cell is outside the grid. */
+  public char get(Coord coord) {
+    return get(coord.line(), coord.col());
+  }
+
+  public char get(int line, int col) {
+    if (valid(line, col)) {
+      return cells[line * width + col];
+    }
+    return ' ';
+  }
+
+  /** Returns the character in the cell with the given index, as defined by {@link #index}. */
+  public char get(int index) {
+    return cells[index];
+  }
+
+  /** Returns the index of the given cell, the same as {@link CharGrid#index(Coord)}. */
+  public int index(Coord coord) {
+    checkArgument(valid(coord.line(), coord.col()), "Invalid coord %s", coord);
+    return coord.line() * width + coord.col();
+  }
+
+  /** Like {@link CharGrid#move(int, Dir)}. */
+  public int move(int index, Dir dir) {
+    int line = index / width + dir.lineDelta();
+    int col = index % width + dir.colDelta();
+    return valid(line, col) ? line * width + col : -1;
+  }
+
+  public void set(Coord coord, char c) {
+    set(coord.line(), coord.col(), c);
+  }
+
+  public void set(int line, int col, char c) {
+    checkArgument(valid(line, col), "Invalid coord (%s,%s)", line, col);
+    cells[line * width + col] = c;
+  }
+
+  /** Returns an immutable snapshot of the current contents of this grid. */
+  public CharGrid snapshot() {
+    return new CharGrid(cells.clone(), height, width);
+  }
+
+  @Override
+  public String toString() {
+    return snapshot().toString();
+  }
+}
@@ -0,0 +1,108 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * Extracts the integers from text such as {@code "p=0,4 v=3,-3"} or {@code "Sensor at x=2, y=18"},
+ * ignoring everything else. A {@code -} is a minus sign if it is immediately followed by a digit
+ * and not immediately preceded by one, so the {@code 2-4} in {@code "2-4,6-8"} is two positive
+ * numbers.
+ *
+ * <p>This replaces matching each line with a regular expression and then parsing each group. A
+ * scanner reuses the same array for every call to {@link #scan}, and reads characters directly
+ * from the {@link CharSequence}, so scanning a line does not allocate anything. That includes
+ * lines from {@link MappedInput#line}.
+ *
+ * @author Éamonn McManus
+ */
+public class NumberScanner {
+  private long[] values = new long[8];
+  private int count;
+
+  /**
+   * Finds the integers in {@code s}, replacing any found by a previous call. Returns this scanner,
+   * for chaining.
+   *
+   * @throws ArithmeticException if a number does not fit in a {@code long}
+   */
+  public NumberScanner scan(CharSequence s) {
+    count = 0;
+    int length = s.length();
+    int i = 0;
+    while (i < length) {
+      char c = s.charAt(i);
+      boolean negative =
+          c == '-'
+              && i + 1 < length
+              && isDigit(s.charAt(i + 1))
+              && (i == 0 || !isDigit(s.charAt(i - 1)));
+      if (!negative && !isDigit(c)) {
+        i++;
+        continue;
+      }
+      if (negative) {
+        i++;
+      }
+      // Accumulate negatively so that Long.MIN_VALUE can be parsed.
+      long value = 0;
+      while (i < length && isDigit(c = s.charAt(i))) {
+        value = Math.subtractExact(Math.multiplyExact(value, 10), c - '0');
+        i++;
+      }
+      if (count == values.length) {
+        values = Arrays.copyOf(values, count * 2);
+      }
+      values[count++] = negative ? value : Math.negateExact(value);
+    }
+    return this;
+  }
+
+  /** The number of integers found by the last call to {@link #scan}. */
+  public int count() {
+    return count;
+  }
+
+  public long getLong(int i) {
+    checkElementIndex(i, count);
+    return values[i];
+  }
+
+  /**
+   * @throws ArithmeticException if the value does not fit in an {@code int}
+   */
+  public int getInt(int i) {
+    return Math.toIntExact(getLong(i));
+  }
+
+  /**
+   * Checks that the last call to {@link #scan} found exactly {@code expected} integers, and
+   * returns this scanner.
+   */
+  public NumberScanner expect(int expected) {
+    checkState(count == expected, "Expected %s numbers but found %s", expected, count);
+    return this;
+  }
+
+  /** Returns the integers in {@code s} as a new array. */
+  public static long[] longs(CharSequence s) {
+    NumberScanner scanner = new NumberScanner().scan(s);
+    return Arrays.copyOf(scanner.values, scanner.count);
+  }
+
+  /** Returns the integers in {@code s} as a new array. */
+  public static int[] ints(CharSequence s) {
+    NumberScanner scanner = new NumberScanner().scan(s);
+    int[] result = new int[scanner.count];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = scanner.getInt(i);
+    }
+    return result;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -0,0 +1,90 @@
+package adventlib;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One day's puzzle, split into parsing the input and solving each of the two parts. That lets
+ * {@link PuzzleRunner} parse each input once, share the result between the parts, and time each
+ * phase separately. Implementations are listed in {@code META-INF/services/adventlib.Puzzle} so
+ * that the runner can find them with {@link java.util.ServiceLoader}.
+ *
+ * <p>The parts are given the same parsed input, so they should not modify it.
+ *
+ * @param <I> the parsed form of the input
+ * @author Éamonn McManus
+ */
+public interface Puzzle<I> {
+  /** The year, deduced from a class name like {@code advent2024.Puzzle16}. */
+  default int year() {
+    return Integer.parseInt(nameMatcher(this).group(1));
+  }
+
+  /** The day, deduced from a class name like {@code advent2024.Puzzle16}. */
+  default int day() {
+    return Integer.parseInt(nameMatcher(this).group(2));
+  }
+
+  /**
+   * The inputs to solve, keyed by a name such as {@code "sample"} or {@code "problem"}. By default
+   * this is just the resource {@code puzzleN.txt} next to the class, as the problem input.
+   */
+  default Map<String, Callable<Reader>> inputs() {
+    String resource = "puzzle" + day() + ".txt";
+    return ImmutableMap.of(
+        "problem",
+        () -> {
+          InputStream in = getClass().getResourceAsStream(resource);
+          if (in == null) {
+            throw new IOException("Missing resource " + resource + " for " + getClass().getName());
+          }
+          return new InputStreamReader(in);
+        });
+  }
+
+  I parse(Reader reader) throws IOException;
+
+  /**
+   * Parses the input with the given name, which is a key from {@link #inputs()} or some other name
+   * such as a file name. A few puzzles have parameters that the input text doesn't contain, like the
+   * size of the grid in 2024 Day 14, where the puzzle text gives one value for the sample and
+   * another for the problem. Those override this method to look up the parameters by name, and
+   * treat a name they don't know as a problem input. By default, the name is ignored.
+   */
+  default I parse(String inputName, Reader reader) throws IOException {
+    return parse(reader);
+  }
+
+  /**
+   * Parses an input that is already held as bytes, for example because {@link BatchRunner} mapped
+   * it from a file. By default this reads the text through {@link #parse(String, Reader)}. Puzzles
+   * with large grid inputs override it to build the grid straight from the bytes with {@link
+   * MappedInput#toCharGrid()}. A puzzle that looks up parameters by input name must still override
+   * {@link #parse(String, Reader)} as well, since that is how {@link ResultCache} knows to hash the
+   * name.
+   */
+  default I parse(String inputName, MappedInput input) throws IOException {
+    return parse(inputName, CharSource.wrap(input.text()).openStream());
+  }
+
+  Object part1(I input);
+
+  Object part2(I input);
+
+  private static Matcher nameMatcher(Puzzle<?> puzzle) {
+    Matcher matcher =
+        Pattern.compile("advent(\\d+)\\.Puzzle(\\d+)").matcher(puzzle.getClass().getName());
+    checkState(matcher.matches(), "Unexpected puzzle class name %s", puzzle.getClass().getName());
+    return matcher;
+  }
+}
@@ -0,0 +1,185 @@
+package adventlib;
+
+import static java.util.Comparator.comparingInt;
+
+import com.google.common.io.CharStreams;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Runs every {@link Puzzle} found with {@link ServiceLoader}, or just the ones selected by the
+ * command-line arguments. An argument like {@code 2024} selects a whole year and {@code 2024.16}
+ * selects one day. Puzzles run in parallel on a thread pool with one thread per processor, unless
+ * an argument like {@code -j1} says otherwise; the results are printed in order of year and day,
+ * with the time taken to parse the input and to solve each part. With {@code -cache}, answers are
+ * saved in a {@link ResultCache} and not computed again for the same input and code.
+ *
+ * <p>A puzzle's own {@code main} method can call {@link #run(Puzzle)} to solve just that puzzle.
+ * Either way, if {@link Metrics} are enabled then they are printed at the end.
+ *
+ * @author Éamonn McManus
+ */
+public class PuzzleRunner {
+  public static void main(String[] args) throws Exception {
+    int threads = Runtime.getRuntime().availableProcessors();
+    boolean useCache = false;
+    List<String> selectors = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.equals("-cache")) {
+        useCache = true;
+      } else if (arg.startsWith("-j")) {
+        threads = Integer.parseInt(arg.substring(2));
+      } else {
+        selectors.add(arg);
+      }
+    }
+    List<Puzzle<?>> puzzles = load(selected(selectors));
+    long start = System.nanoTime();
+    List<Future<String>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      Solver solver = useCache ? ResultCache.open()::solve : PuzzleRunner::solve;
+      for (Puzzle<?> puzzle : puzzles) {
+        futures.add(executor.submit(() -> runToString(puzzle, solver)));
+      }
+      for (Future<String> future : futures) {
+        System.out.print(future.get());
+      }
+    }
+    System.out.printf(
+        "Ran %d puzzles with %d threads in %s\n",
+        puzzles.size(), threads, millis(System.nanoTime() - start));
+    reportMetrics();
+  }
+
+  /** Solves {@code puzzle} for each of its inputs in turn, printing the results. */
+  public static void run(Puzzle<?> puzzle) throws Exception {
+    for (var entry : puzzle.inputs().entrySet()) {
+      System.out.println(solve(puzzle, entry.getKey(), entry.getValue()));
+    }
+    reportMetrics();
+  }
+
+  /** If {@link Metrics} are enabled, prints them and writes them as JFR events. */
+  public static void reportMetrics() {
+    if (Metrics.enabled()) {
+      Metrics.report(System.out);
+      Metrics.emitJfrEvents();
+    }
+  }
+
+  /** The answers and timings from solving one input of a puzzle. */
+  public record Result(
+      Puzzle<?> puzzle,
+      String inputName,
+      Object part1,
+      Object part2,
+      long parseNanos,
+      long part1Nanos,
+      long part2Nanos,
+      boolean cached) {
+    @Override
+    public String toString() {
+      if (cached) {
+        return String.format(
+            "%d day %d, %s: part 1 = %s, part 2 = %s (cached)",
+            puzzle.year(), puzzle.day(), inputName, part1, part2);
+      }
+      return String.format(
+          "%d day %d, %s: part 1 = %s, part 2 = %s (parse %s, part 1 %s, part 2 %s)",
+          puzzle.year(),
+          puzzle.day(),
+          inputName,
+          part1,
+          part2,
+          millis(parseNanos),
+          millis(part1Nanos),
+          millis(part2Nanos));
+    }
+  }
+
+  /** Something that solves both parts of a puzzle for one input, like {@link #solve}. */
+  @FunctionalInterface
+  public interface Solver {
+    Result solve(Puzzle<?> puzzle, String inputName, MappedInput input) throws Exception;
+  }
+
+  /**
+   * Reads the input produced by {@code input} into memory, then solves it as {@link
+   * #solve(Puzzle, String, MappedInput)} does. So the parse time does not include reading.
+   */
+  public static <I> Result solve(Puzzle<I> puzzle, String inputName, Callable<Reader> input)
+      throws Exception {
+    return solve(puzzle, inputName, read(input));
+  }
+
+  /** Parses {@code input} once, then solves both parts with it. */
+  public static <I> Result solve(Puzzle<I> puzzle, String inputName, MappedInput input)
+      throws Exception {
+    long t0 = System.nanoTime();
+    I parsed = puzzle.parse(inputName, input);
+    long t1 = System.nanoTime();
+    Object part1 = puzzle.part1(parsed);
+    long t2 = System.nanoTime();
+    Object part2 = puzzle.part2(parsed);
+    long t3 = System.nanoTime();
+    return new Result(puzzle, inputName, part1, part2, t1 - t0, t2 - t1, t3 - t2, false);
+  }
+
+  static MappedInput read(Callable<Reader> input) throws Exception {
+    try (Reader reader = input.call()) {
+      return MappedInput.of(CharStreams.toString(reader));
+    }
+  }
+
+  /** Returns the puzzles found by {@link ServiceLoader} that match {@code filter}, in order. */
+  public static List<Puzzle<?>> load(Predicate<Puzzle<?>> filter) {
+    return ServiceLoader.load(Puzzle.class).stream()
+        .<Puzzle<?>>map(ServiceLoader.Provider::get)
+        .filter(filter)
+        .sorted(comparingInt((Puzzle<?> p) -> p.year()).thenComparingInt(p -> p.day()))
+        .toList();
+  }
+
+  private static Predicate<Puzzle<?>> selected(List<String> selectors) {
+    if (selectors.isEmpty()) {
+      return puzzle -> true;
+    }
+    return puzzle ->
+        selectors.stream()
+            .anyMatch(
+                s ->
+                    s.equals(Integer.toString(puzzle.year()))
+                        || s.equals(puzzle.year() + "." + puzzle.day()));
+  }
+
+  // Solves every input of the puzzle, returning the printed results. A failure is reported in the
+  // output rather than stopping the other puzzles.
+  private static String runToString(Puzzle<?> puzzle, Solver solver) {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Callable<Reader>> entry : puzzle.inputs().entrySet()) {
+      try {
+        MappedInput input = read(entry.getValue());
+        sb.append(solver.solve(puzzle, entry.getKey(), input)).append('\n');
+      } catch (Exception | StackOverflowError e) {
+        sb.append(
+            String.format(
+                "%d day %d, %s: failed: %s\n", puzzle.year(), puzzle.day(), entry.getKey(), e));
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.1f ms", nanos / 1e6);
+  }
+
+  private PuzzleRunner() {}
+}
@@ -0,0 +1,258 @@
+package adventlib;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An on-disk cache of puzzle answers, so that running a puzzle again over the same inputs does not
+ * parse or solve anything. Each answer is keyed by the puzzle class, the part, the SHA-256 hash of
+ * the input text, and a hash of the compiled code, so editing a solution or an input invalidates
+ * just the answers that depend on it. If the puzzle overrides {@link Puzzle#parse(String, Reader)},
+ * the input name is hashed along with the text, since it can select different parameters. The
+ * code hash covers the class files of the puzzle and of every class nested in it, and of all of
+ * {@code adventlib}. It does not cover other classes that
+ * a puzzle might use, so after changing one of those, set the system property {@code
+ * advent.codeVersion} to something new or delete the cache directory.
+ *
+ * <p>Each answer is a small binary file in the cache directory, which is {@code
+ * target/result-cache} unless the system property {@code advent.cache.dir} says otherwise. Only
+ * answers that are {@code Long}, {@code Integer} or {@code String} are cached. Files are written
+ * to a temporary name and then renamed, so concurrent runs can share the cache.
+ *
+ * @author Éamonn McManus
+ */
+public class ResultCache {
+  private static final int MAGIC = 0xAD7E2023;
+  private static final Metrics.Counter HITS = Metrics.counter("resultCache.hits");
+  private static final Metrics.Counter MISSES = Metrics.counter("resultCache.misses");
+
+  private final Path directory;
+
+  private ResultCache(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns a cache in the directory given by {@code advent.cache.dir}, or the default one. */
+  public static ResultCache open() throws IOException {
+    return open(Path.of(System.getProperty("advent.cache.dir", "target/result-cache")));
+  }
+
+  public static ResultCache open(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    return new ResultCache(directory);
+  }
+
+  /**
+   * Like {@link PuzzleRunner#solve}, but returns cached answers where there are any. The input is
+   * only parsed if at least one part is not in the cache, and only the missing parts are solved.
+   */
+  public <I> PuzzleRunner.Result solve(Puzzle<I> puzzle, String inputName, Callable<Reader> input)
+      throws Exception {
+    return solve(puzzle, inputName, PuzzleRunner.read(input));
+  }
+
+  /** Like {@link #solve(Puzzle, String, Callable)}, for an input that is already read or mapped. */
+  public <I> PuzzleRunner.Result solve(Puzzle<I> puzzle, String inputName, MappedInput input)
+      throws Exception {
+    Hasher hasher = Hashing.sha256().newHasher();
+    // If the puzzle has parameters that depend on the input name, the same text can have different
+    // answers under different names.
+    if (usesInputName(puzzle)) {
+      hasher.putString(inputName + "\0", UTF_8);
+    }
+    String inputHash = hasher.putString(input.text(), UTF_8).hash().toString();
+    String codeVersion = codeVersion(puzzle);
+    String key1 = key(puzzle, 1, inputHash, codeVersion);
+    String key2 = key(puzzle, 2, inputHash, codeVersion);
+    Object part1 = read(key1);
+    Object part2 = read(key2);
+    if (part1 != null && part2 != null) {
+      HITS.add(2);
+      return new PuzzleRunner.Result(puzzle, inputName, part1, part2, 0, 0, 0, true);
+    }
+    long t0 = System.nanoTime();
+    I parsed = puzzle.parse(inputName, input);
+    long t1 = System.nanoTime();
+    if (part1 == null) {
+      MISSES.increment();
+      part1 = puzzle.part1(parsed);
+      write(key1, part1);
+    } else {
+      HITS.increment();
+    }
+    long t2 = System.nanoTime();
+    if (part2 == null) {
+      MISSES.increment();
+      part2 = puzzle.part2(parsed);
+      write(key2, part2);
+    } else {
+      HITS.increment();
+    }
+    long t3 = System.nanoTime();
+    return new PuzzleRunner.Result(
+        puzzle, inputName, part1, part2, t1 - t0, t2 - t1, t3 - t2, false);
+  }
+
+  private static boolean usesInputName(Puzzle<?> puzzle) {
+    try {
+      return puzzle.getClass().getMethod("parse", String.class, Reader.class).getDeclaringClass()
+          != Puzzle.class;
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static String key(Puzzle<?> puzzle, int part, String inputHash, String codeVersion) {
+    return String.join(
+        "\0", puzzle.getClass().getName(), Integer.toString(part), inputHash, codeVersion);
+  }
+
+  /**
+   * The version of the puzzle's code that its answers depend on, which is the {@code
+   * advent.codeVersion} system property if set, and otherwise a hash of the class files of the
+   * puzzle's {@linkplain #puzzleClasses classes} and of {@code adventlib}.
+   */
+  static String codeVersion(Puzzle<?> puzzle) {
+    String property = System.getProperty("advent.codeVersion");
+    if (property != null) {
+      return property;
+    }
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Class<?> c : puzzleClasses(puzzle.getClass())) {
+      String file = c.getName().substring(c.getName().lastIndexOf('.') + 1) + ".class";
+      try (InputStream in = c.getResourceAsStream(file)) {
+        hasher.putString(file, UTF_8);
+        if (in != null) {
+          hasher.putBytes(ByteStreams.toByteArray(in));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    hasher.putString(LIBRARY_VERSION.get(), UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /**
+   * The puzzle class and every class nested in it, in order of name. Nested classes are compiled to
+   * their own class files, and they often have most of the logic.
+   */
+  static ImmutableList<Class<?>> puzzleClasses(Class<?> puzzleClass) {
+    return Arrays.stream(puzzleClass.getNestHost().getNestMembers())
+        .sorted(comparing(Class::getName))
+        .collect(toImmutableList());
+  }
+
+  private static final Supplier<String> LIBRARY_VERSION =
+      Suppliers.memoize(ResultCache::libraryVersion);
+
+  // A hash of the adventlib class files, which are in the same directory or jar as this class.
+  private static String libraryVersion() {
+    CodeSource source = ResultCache.class.getProtectionDomain().getCodeSource();
+    if (source == null) {
+      return "unknown";
+    }
+    try {
+      Path root = Path.of(source.getLocation().toURI());
+      if (Files.isDirectory(root)) {
+        return hashClassFiles(root.resolve("adventlib"));
+      }
+      try (FileSystem jar = FileSystems.newFileSystem(root)) {
+        return hashClassFiles(jar.getPath("adventlib"));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String hashClassFiles(Path directory) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file :
+          files.filter(f -> f.toString().endsWith(".class")).sorted().toList()) {
+        hasher.putString(file.getFileName().toString(), UTF_8);
+        hasher.putBytes(Files.readAllBytes(file));
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private Path file(String key) {
+    return directory.resolve(Hashing.sha256().hashString(key, UTF_8) + ".bin");
+  }
+
+  // Returns the cached answer for key, or null if there is none or the file is not valid.
+  private @Nullable Object read(String key) {
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file(key)))) {
+      if (in.readInt() != MAGIC || !in.readUTF().equals(key)) {
+        return null;
+      }
+      return switch (in.readByte()) {
+        case 'J' -> in.readLong();
+        case 'I' -> in.readInt();
+        case 'S' -> in.readUTF();
+        default -> null;
+      };
+    } catch (IOException e) {
+      // Missing, truncated or otherwise unreadable, so the answer will be computed and written.
+      return null;
+    }
+  }
+
+  private void write(String key, Object answer) throws IOException {
+    if (!(answer instanceof Long
+        || answer instanceof Integer
+        || (answer instanceof String s && s.length() < 10_000))) {
+      return;
+    }
+    Path temp = Files.createTempFile(directory, "entry", ".tmp");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+      out.writeInt(MAGIC);
+      out.writeUTF(key);
+      switch (answer) {
+        case Long l -> {
+          out.writeByte('J');
+          out.writeLong(l);
+        }
+        case Integer i -> {
+          out.writeByte('I');
+          out.writeInt(i);
+        }
+        case String s -> {
+          out.writeByte('S');
+          out.writeUTF(s);
+        }
+        default -> throw new AssertionError(answer);
+      }
+    }
+    Files.move(
+        temp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -0,0 +1,123 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle12.Row;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle12Test {
+  // Each line of the sample, with its number of arrangements before and after unfolding.
+  private static final ImmutableMap<String, long[]> SAMPLE =
+      ImmutableMap.of(
+          "???.### 1,1,3", new long[] {1, 1},
+          ".??..??...?##. 1,1,3", new long[] {4, 16384},
+          "?#?#?#?#?#?#?#? 1,3,1,6", new long[] {1, 1},
+          "????.#...#... 4,1,1", new long[] {1, 16},
+          "????.######..#####. 1,6,5", new long[] {4, 2500},
+          "?###???????? 3,2,1", new long[] {10, 506250});
+
+  @Test
+  public void sample() {
+    for (Map.Entry<String, long[]> entry : SAMPLE.entrySet()) {
+      Row row = Row.parse(entry.getKey());
+      assertThat(row.arrangements()).isEqualTo(entry.getValue()[0]);
+      assertThat(row.unfold(5).arrangements()).isEqualTo(entry.getValue()[1]);
+    }
+  }
+
+  @Test
+  public void edgeCases() {
+    assertThat(Row.parse("# 1").arrangements()).isEqualTo(1);
+    assertThat(Row.parse("? 1").arrangements()).isEqualTo(1);
+    assertThat(Row.parse("## 1").arrangements()).isEqualTo(0);
+    assertThat(Row.parse("#.# 1").arrangements()).isEqualTo(0);
+    assertThat(Row.parse("?? 3").arrangements()).isEqualTo(0);
+  }
+
+  @Test
+  public void largeUnfolding() {
+    // "?" with span 1 unfolded n times is "?" repeated with "?" separators, 2n - 1 unknowns in
+    // which to place n non-adjacent damaged springs, which can only be done one way.
+    assertThat(Row.parse("? 1").unfold(1000).arrangements()).isEqualTo(1);
+    // "??" with span 1 unfolded 20 times has 59 unknowns in which to place 20 non-adjacent damaged
+    // springs. Treating each damaged spring as joined to the operational one after it, that is
+    // choosing 20 of 59 - 20 + 1 = 40 places, C(40, 20).
+    assertThat(Row.parse("?? 1").unfold(20).arrangements()).isEqualTo(137_846_528_820L);
+  }
+
+  // Compares against the recursive algorithm of the original solution, on random rows.
+  @Test
+  public void matchesRecursion() {
+    Random random = new Random(12);
+    for (int trial = 0; trial < 200; trial++) {
+      StringBuilder springs = new StringBuilder();
+      int length = 1 + random.nextInt(12);
+      for (int i = 0; i < length; i++) {
+        springs.append("?#.".charAt(random.nextInt(3)));
+      }
+      int[] spans = new int[1 + random.nextInt(3)];
+      Arrays.setAll(spans, unused -> 1 + random.nextInt(3));
+      Row row = new Row(springs.toString(), spans);
+      for (int factor = 1; factor <= 3; factor++) {
+        Row unfolded = row.unfold(factor);
+        List<Integer> spanList = Arrays.stream(unfolded.spans()).boxed().toList();
+        assertThat(unfolded.arrangements())
+            .isEqualTo(recursive(unfolded.springs(), spanList, false, new HashMap<>()));
+      }
+    }
+  }
+
+  private record State(String line, List<Integer> spans, boolean inSpan) {}
+
+  // The number of arrangements of line for the given spans. If inSpan, the first span has been
+  // started and its remaining length is spans.get(0).
+  private static long recursive(
+      String line, List<Integer> spans, boolean inSpan, Map<State, Long> cache) {
+    State state = new State(line, spans, inSpan);
+    Long cached = cache.get(state);
+    if (cached != null) {
+      return cached;
+    }
+    long count;
+    if (line.isEmpty()) {
+      boolean success = inSpan ? spans.equals(List.of(0)) : spans.isEmpty();
+      count = success ? 1 : 0;
+    } else {
+      String rest = line.substring(1);
+      count =
+          switch (line.charAt(0)) {
+            case '#' -> {
+              if (spans.isEmpty() || spans.getFirst() == 0) {
+                yield 0;
+              }
+              List<Integer> newSpans = new ArrayList<>(spans);
+              newSpans.set(0, spans.getFirst() - 1);
+              yield recursive(rest, newSpans, true, cache);
+            }
+            case '.' -> {
+              if (!inSpan) {
+                yield recursive(rest, spans, false, cache);
+              }
+              yield (spans.getFirst() == 0)
+                  ? recursive(rest, spans.subList(1, spans.size()), false, cache)
+                  : 0;
+            }
+            default ->
+                recursive('#' + rest, spans, inSpan, cache)
+                    + recursive('.' + rest, spans, inSpan, cache);
+          };
+    }
+    cache.put(state, count);
+    return count;
+  }
+}
@@ -0,0 +1,110 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle14.Platform;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle14Test {
+  private static final List<String> SAMPLE =
+      List.of(
+          "O....#....",
+          "O.OO#....#",
+          ".....##...",
+          "OO.#O....O",
+          ".O.....O#.",
+          "O.#..O.#.#",
+          "..O..#O..O",
+          ".......O..",
+          "#....###..",
+          "#OO..#....");
+
+  @Test
+  public void sample() {
+    Platform platform = new Platform(SAMPLE);
+    platform.tiltNorth();
+    assertThat(platform.load()).isEqualTo(136);
+    platform = new Platform(SAMPLE);
+    platform.step();
+    assertThat(platform.toString())
+        .isEqualTo(
+            """
+            .....#....
+            ....#...O#
+            ...OO##...
+            .OO#......
+            .....OOO#.
+            .O#...O#.#
+            ....O#....
+            ......OOOO
+            #...O###..
+            #..OO#....
+            """);
+  }
+
+  // Compares against a straightforward tilt of a char grid that is more than 64 columns wide, so
+  // rows take more than one word.
+  @Test
+  public void matchesSimpleTilt() {
+    Random random = new Random(14);
+    List<String> lines = new ArrayList<>();
+    for (int r = 0; r < 90; r++) {
+      StringBuilder sb = new StringBuilder();
+      for (int c = 0; c < 150; c++) {
+        int x = random.nextInt(10);
+        sb.append(x < 1 ? '#' : x < 4 ? 'O' : '.');
+      }
+      lines.add(sb.toString());
+    }
+    Platform platform = new Platform(lines);
+    char[][] chars = lines.stream().map(String::toCharArray).toArray(char[][]::new);
+    for (int i = 0; i < 5; i++) {
+      platform.step();
+      for (int turn = 0; turn < 4; turn++) {
+        tiltNorth(chars);
+        chars = rotateClockwise(chars);
+      }
+      List<String> expected = new ArrayList<>();
+      for (char[] row : chars) {
+        expected.add(new String(row));
+      }
+      assertThat(platform.toString()).isEqualTo(String.join("\n", expected) + "\n");
+      // The incrementally updated hash is the same as for a new platform with the same rocks.
+      assertThat(platform.key()).isEqualTo(new Platform(expected).key());
+    }
+  }
+
+  private static void tiltNorth(char[][] chars) {
+    for (int c = 0; c < chars[0].length; c++) {
+      int free = 0;
+      for (int r = 0; r < chars.length; r++) {
+        switch (chars[r][c]) {
+          case '#' -> free = r + 1;
+          case 'O' -> {
+            chars[r][c] = '.';
+            chars[free++][c] = 'O';
+          }
+          default -> {}
+        }
+      }
+    }
+  }
+
+  private static char[][] rotateClockwise(char[][] chars) {
+    int height = chars.length;
+    int width = chars[0].length;
+    char[][] rotated = new char[width][height];
+    for (int r = 0; r < height; r++) {
+      for (int c = 0; c < width; c++) {
+        rotated[c][height - 1 - r] = chars[r][c];
+      }
+    }
+    return rotated;
+  }
+}
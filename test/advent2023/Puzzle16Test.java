@@ -0,0 +1,109 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle16.BeamGraph;
+import adventlib.CharGrid;
+import adventlib.Dir;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle16Test {
+  private static final List<String> SAMPLE =
+      List.of(
+          ".|...\\....",
+          "|.-.\\.....",
+          ".....|-...",
+          "........|.",
+          "..........",
+          ".........\\",
+          "..../.\\\\..",
+          ".-.-/..|..",
+          ".|....-|.\\",
+          "..//.|....");
+
+  @Test
+  public void sample() {
+    BeamGraph beamGraph = new BeamGraph(new CharGrid(SAMPLE));
+    assertThat(beamGraph.energized(0, Dir.E)).isEqualTo(46);
+    assertThat(beamGraph.bestEnergized()).isEqualTo(51);
+  }
+
+  // Compares the graph against following every beam one step at a time, on random grids with lots
+  // of splitters, so that there are plenty of cycles between them.
+  @Test
+  public void matchesSimulation() {
+    Random random = new Random(16);
+    String chars = "...../\\|-";
+    for (int trial = 0; trial < 20; trial++) {
+      List<String> lines = new ArrayList<>();
+      for (int line = 0; line < 25; line++) {
+        StringBuilder sb = new StringBuilder();
+        for (int col = 0; col < 30; col++) {
+          sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        lines.add(sb.toString());
+      }
+      CharGrid grid = new CharGrid(lines);
+      BeamGraph beamGraph = new BeamGraph(grid);
+      for (int line = 0; line < grid.height(); line++) {
+        int cell = grid.index(line, 0);
+        assertThat(beamGraph.energized(cell, Dir.E)).isEqualTo(simulate(grid, cell, Dir.E));
+      }
+      for (int col = 0; col < grid.width(); col++) {
+        int cell = grid.index(grid.height() - 1, col);
+        assertThat(beamGraph.energized(cell, Dir.N)).isEqualTo(simulate(grid, cell, Dir.N));
+      }
+    }
+  }
+
+  private record Beam(int cell, Dir dir) {}
+
+  private static int simulate(CharGrid grid, int startCell, Dir startDir) {
+    Set<Beam> seen = new HashSet<>();
+    Deque<Beam> queue = new ArrayDeque<>();
+    queue.add(new Beam(startCell, startDir));
+    while (!queue.isEmpty()) {
+      Beam beam = queue.remove();
+      if (beam.cell < 0 || !seen.add(beam)) {
+        continue;
+      }
+      boolean horizontal = beam.dir == Dir.W || beam.dir == Dir.E;
+      List<Dir> dirs =
+          switch (grid.get(beam.cell)) {
+            case '|' -> horizontal ? List.of(Dir.N, Dir.S) : List.of(beam.dir);
+            case '-' -> horizontal ? List.of(beam.dir) : List.of(Dir.W, Dir.E);
+            case '/' ->
+                List.of(
+                    switch (beam.dir) {
+                      case E -> Dir.N;
+                      case W -> Dir.S;
+                      case N -> Dir.E;
+                      default -> Dir.W;
+                    });
+            case '\\' ->
+                List.of(
+                    switch (beam.dir) {
+                      case E -> Dir.S;
+                      case W -> Dir.N;
+                      case N -> Dir.W;
+                      default -> Dir.E;
+                    });
+            default -> List.of(beam.dir);
+          };
+      for (Dir dir : dirs) {
+        queue.add(new Beam(grid.move(beam.cell, dir), dir));
+      }
+    }
+    return (int) seen.stream().mapToInt(Beam::cell).distinct().count();
+  }
+}
@@ -0,0 +1,112 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle17.HeatLossMap;
+import adventlib.GraphAlgorithms;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.SuccessorsFunction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle17Test {
+  private static final List<String> SAMPLE =
+      List.of(
+          "2413432311323",
+          "3215453535623",
+          "3255245654254",
+          "3446585845452",
+          "4546657867536",
+          "1438598798454",
+          "4457876987766",
+          "3637877979653",
+          "4654967986887",
+          "4564679986453",
+          "1224686865563",
+          "2546548887735",
+          "4322674655533");
+
+  @Test
+  public void sample() {
+    HeatLossMap puzzle = new HeatLossMap(SAMPLE);
+    assertThat(puzzle.solve(0, 3)).isEqualTo(102);
+    assertThat(puzzle.solve(4, 10)).isEqualTo(94);
+  }
+
+  @Test
+  public void ultraCrucibleCannotStopEarly() {
+    HeatLossMap puzzle =
+        new HeatLossMap(
+            List.of(
+                "111111111111", //
+                "999999999991",
+                "999999999991",
+                "999999999991",
+                "999999999991"));
+    assertThat(puzzle.solve(4, 10)).isEqualTo(71);
+  }
+
+  // Compares against a search whose states are (cell, direction, steps in a straight line), which
+  // is how the puzzle describes the crucible.
+  @Test
+  public void matchesStepByStepSearch() {
+    Random random = new Random(17);
+    for (int trial = 0; trial < 10; trial++) {
+      List<String> lines = new ArrayList<>();
+      for (int i = 0; i < 15; i++) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < 20; j++) {
+          sb.append((char) ('1' + random.nextInt(9)));
+        }
+        lines.add(sb.toString());
+      }
+      HeatLossMap puzzle = new HeatLossMap(lines);
+      assertThat(puzzle.solve(0, 3)).isEqualTo(stepByStep(lines, 0, 3));
+      assertThat(puzzle.solve(4, 10)).isEqualTo(stepByStep(lines, 4, 10));
+      assertThat(puzzle.solve(2, 5)).isEqualTo(stepByStep(lines, 2, 5));
+    }
+  }
+
+  private record State(int i, int j, int deltaI, int deltaJ, int steps) {}
+
+  private static int stepByStep(List<String> lines, int minSteps, int maxSteps) {
+    int height = lines.size();
+    int width = lines.get(0).length();
+    SuccessorsFunction<State> successors =
+        state -> {
+          List<State> result = new ArrayList<>();
+          if (state.steps < maxSteps) {
+            result.add(
+                new State(
+                    state.i + state.deltaI,
+                    state.j + state.deltaJ,
+                    state.deltaI,
+                    state.deltaJ,
+                    state.steps + 1));
+          }
+          if (state.steps >= minSteps) {
+            // Turn left or right.
+            int leftI = state.deltaJ;
+            int leftJ = -state.deltaI;
+            result.add(new State(state.i + leftI, state.j + leftJ, leftI, leftJ, 1));
+            result.add(new State(state.i - leftI, state.j - leftJ, -leftI, -leftJ, 1));
+          }
+          return result.stream()
+              .filter(s -> s.i >= 0 && s.i < height && s.j >= 0 && s.j < width)
+              .toList();
+        };
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            successors,
+            (from, to) -> lines.get(to.i).charAt(to.j) - '0',
+            9,
+            ImmutableSet.of(new State(0, 0, 0, 1, 0), new State(0, 0, 1, 0, 0)),
+            s -> s.i == height - 1 && s.j == width - 1 && s.steps >= minSteps);
+    return paths.distances().get(paths.goal().get());
+  }
+}
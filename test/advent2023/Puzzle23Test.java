@@ -0,0 +1,50 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle23.TrailGraph;
+import adventlib.CharGrid;
+import adventlib.CharGrid.Coord;
+import adventlib.Dir;
+import adventlib.JunctionGraph;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle23Test {
+  // Two corridors join the junctions at (2,1) and (4,1), and the longer one is the way to go. The
+  // exit is not in the second-last column.
+  private static final CharGrid PARALLEL =
+      new CharGrid(
+          List.of(
+              "#.#######",
+              "#.#######",
+              "#.....###",
+              "#.###.###",
+              "#.....###",
+              "#.#######",
+              "#......##",
+              "######.##"));
+
+  private static int longest(CharGrid grid, boolean part2) {
+    JunctionGraph junctions = JunctionGraph.of(grid, c -> c != '#', Dir.NEWS, coord -> false);
+    return new TrailGraph(grid, junctions, part2).longest();
+  }
+
+  @Test
+  public void longerParallelCorridor() {
+    // Down 2, round the long way (10), down 2, right 5, down 1.
+    assertThat(longest(PARALLEL, false)).isEqualTo(20);
+    assertThat(longest(PARALLEL, true)).isEqualTo(20);
+  }
+
+  @Test
+  public void slopeOnLongerCorridor() {
+    // A slope pointing the wrong way means Part 1 has to take the short corridor.
+    CharGrid grid = PARALLEL.withChange(new Coord(2, 3), '<');
+    assertThat(longest(grid, false)).isEqualTo(12);
+    assertThat(longest(grid, true)).isEqualTo(20);
+  }
+}
@@ -0,0 +1,81 @@
+package advent2023;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import advent2023.Puzzle5.NumberRangeMap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class Puzzle5Test {
+  // The seed-to-soil map is the one from the sample, "50 98 2" and "52 50 48". The other is made
+  // up, with adjacent ranges that have the same offset.
+  private static final NumberRangeMap SEED_TO_SOIL =
+      new NumberRangeMap(
+          "seed",
+          "soil",
+          ImmutableRangeMap.<Long, Long>builder()
+              .put(Range.closedOpen(98L, 100L), -48L)
+              .put(Range.closedOpen(50L, 98L), 2L)
+              .build());
+  private static final NumberRangeMap SOIL_TO_LOCATION =
+      new NumberRangeMap(
+          "soil",
+          "location",
+          ImmutableRangeMap.<Long, Long>builder()
+              .put(Range.closedOpen(15L, 52L), -15L)
+              .put(Range.closedOpen(52L, 54L), -15L)
+              .put(Range.closedOpen(0L, 15L), 39L)
+              .build());
+  private static final Map<String, NumberRangeMap> NAME_TO_MAP =
+      ImmutableMap.of("seed", SEED_TO_SOIL, "soil", SOIL_TO_LOCATION);
+
+  @Test
+  public void mapRanges() {
+    RangeSet<Long> mapped = SEED_TO_SOIL.map(ImmutableRangeSet.of(Range.closedOpen(90L, 110L)));
+    // 90..97 -> 92..99, 98..99 -> 50..51, 100..109 -> 100..109
+    assertThat(mapped.asRanges())
+        .containsExactly(Range.closedOpen(50L, 52L), Range.closedOpen(92L, 110L));
+  }
+
+  @Test
+  public void composeMatchesLookup() {
+    NumberRangeMap composed = Puzzle5.compose(NAME_TO_MAP);
+    assertThat(composed.from()).isEqualTo("seed");
+    assertThat(composed.to()).isEqualTo("location");
+    for (long seed = -5; seed < 120; seed++) {
+      long expected = SOIL_TO_LOCATION.get(SEED_TO_SOIL.get(seed));
+      assertThat(composed.get(seed)).isEqualTo(expected);
+      RangeSet<Long> ranges =
+          Puzzle5.lookup(ImmutableRangeSet.of(Range.closedOpen(seed, seed + 1)), NAME_TO_MAP);
+      assertThat(ranges.asRanges()).containsExactly(Range.closedOpen(expected, expected + 1));
+    }
+  }
+
+  @Test
+  public void hugeRanges() {
+    long big = 1L << 62;
+    NumberRangeMap shift =
+        new NumberRangeMap(
+            "seed",
+            "location",
+            ImmutableRangeMap.of(Range.closedOpen(big / 2, big), -(big / 2)));
+    RangeSet<Long> mapped = shift.map(ImmutableRangeSet.of(Range.closedOpen(0L, big)));
+    assertThat(mapped.asRanges()).containsExactly(Range.closedOpen(0L, big / 2));
+
+    Random random = new Random(5);
+    NumberRangeMap composed = shift.andThen(new NumberRangeMap("x", "y", shift.offsets()));
+    for (int i = 0; i < 1000; i++) {
+      long n = random.nextLong(big);
+      assertThat(composed.get(n)).isEqualTo(shift.get(shift.get(n)));
+    }
+  }
+}
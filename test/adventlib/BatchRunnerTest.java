@@ -0,0 +1,57 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Éamonn McManus
+ */
+public class BatchRunnerTest {
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void runAndPrint() throws Exception {
+    Path dir = tmp.getRoot().toPath();
+    Files.writeString(dir.resolve("a.txt"), "3   4\n4   3\n2   5\n1   3\n3   9\n3   3\n");
+    Files.writeString(dir.resolve("b.txt"), "1   1\n");
+    Files.writeString(dir.resolve("c.txt"), "not numbers\n");
+    Puzzle<?> puzzle = PuzzleRunner.load(p -> p.year() == 2024 && p.day() == 1).get(0);
+    List<BatchRunner.Outcome> outcomes;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      outcomes = BatchRunner.run(puzzle, BatchRunner.inputFiles(dir), executor);
+    }
+    assertThat(outcomes).hasSize(3);
+    assertThat(outcomes.get(0).result().part1()).isEqualTo(11L);
+    assertThat(outcomes.get(0).result().part2()).isEqualTo(31L);
+    assertThat(outcomes.get(1).result().part1()).isEqualTo(0L);
+    assertThat(outcomes.get(2).result()).isNull();
+    assertThat(outcomes.get(2).failure()).isNotNull();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    BatchRunner.printCsv(outcomes, new PrintStream(bytes, true, UTF_8));
+    List<String> lines = bytes.toString(UTF_8).lines().toList();
+    assertThat(lines).hasSize(4);
+    assertThat(lines.get(0)).isEqualTo("input,part1,part2,parse_ms,part1_ms,part2_ms,cached,error");
+    assertThat(lines.get(1)).startsWith("a.txt,11,31,");
+    assertThat(lines.get(1)).endsWith(",false,");
+    assertThat(lines.get(3)).startsWith("c.txt,,,,,,,");
+
+    bytes.reset();
+    BatchRunner.printJson(outcomes, new PrintStream(bytes, true, UTF_8));
+    String json = bytes.toString(UTF_8);
+    assertThat(json).startsWith("[\n  {\"input\": \"a.txt\", \"part1\": \"11\", \"part2\": \"31\"");
+    assertThat(json).contains("{\"input\": \"c.txt\", \"error\": ");
+    assertThat(json).endsWith("}\n]\n");
+  }
+}
@@ -0,0 +1,64 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import adventlib.CharGrid.Coord;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class CellIntMapTest {
+  private static final CharGrid GRID = new CharGrid(Collections.nCopies(10, ".........."));
+
+  @Test
+  public void putGet() {
+    CellIntMap map = GRID.newCellIntMap();
+    assertThat(map.hasDirs()).isFalse();
+    assertThat(map.containsKey(3)).isFalse();
+    assertThat(map.getOrDefault(3, -1)).isEqualTo(-1);
+    map.put(3, 17);
+    map.put(new Coord(9, 9), 0);
+    map.put(3, 23);
+    assertThat(map.containsKey(3)).isTrue();
+    assertThat(map.getOrDefault(3, -1)).isEqualTo(23);
+    assertThat(map.getOrDefault(new Coord(0, 3), -1)).isEqualTo(23);
+    assertThat(map.getOrDefault(99, -1)).isEqualTo(0);
+    assertThat(map.getOrDefault(4, -1)).isEqualTo(-1);
+    assertThat(map.size()).isEqualTo(2);
+    assertThrows(IndexOutOfBoundsException.class, () -> map.put(100, 1));
+    assertThrows(IllegalArgumentException.class, () -> map.put(new Coord(10, 0), 1));
+    assertThrows(IllegalArgumentException.class, () -> map.put(3, Dir.N, 1));
+    assertThrows(IllegalArgumentException.class, () -> map.forEachDir(3, (dir, value) -> {}));
+
+    map.clear();
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.containsKey(3)).isFalse();
+    assertThat(map.getOrDefault(3, -1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void dirs() {
+    CellIntMap map = GRID.newDirIntMap();
+    assertThat(map.hasDirs()).isTrue();
+    map.put(70, Dir.W, 5);
+    map.put(new Coord(7, 0), Dir.N, 1000);
+    map.put(71, Dir.E, 8);
+    assertThat(map.containsKey(70)).isTrue();
+    assertThat(map.containsKey(70, Dir.N)).isTrue();
+    assertThat(map.containsKey(70, Dir.S)).isFalse();
+    assertThat(map.getOrDefault(70, Dir.W, -1)).isEqualTo(5);
+    assertThat(map.getOrDefault(new Coord(7, 0), Dir.S, -1)).isEqualTo(-1);
+    assertThat(map.size()).isEqualTo(3);
+
+    List<String> entries = new ArrayList<>();
+    map.forEachDir(new Coord(7, 0), (dir, value) -> entries.add(dir + "=" + value));
+    assertThat(entries).containsExactly("N=1000", "W=5").inOrder();
+    assertThrows(IllegalArgumentException.class, () -> map.put(3, 1));
+    assertThrows(IllegalArgumentException.class, () -> map.getOrDefault(70, -1));
+  }
+}
@@ -0,0 +1,79 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import adventlib.CharGrid.Coord;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class CellMaskTest {
+  // 100 cells, so the bits span more than one long.
+  private static final CharGrid GRID = new CharGrid(Collections.nCopies(10, ".........."));
+
+  @Test
+  public void addContains() {
+    CellMask mask = GRID.newCellMask();
+    assertThat(mask.hasDirs()).isFalse();
+    assertThat(mask.add(3)).isTrue();
+    assertThat(mask.add(3)).isFalse();
+    assertThat(mask.add(new Coord(9, 9))).isTrue();
+    assertThat(mask.contains(3)).isTrue();
+    assertThat(mask.contains(new Coord(0, 3))).isTrue();
+    assertThat(mask.contains(99)).isTrue();
+    assertThat(mask.contains(4)).isFalse();
+    assertThat(mask.cardinality()).isEqualTo(2);
+    assertThrows(IndexOutOfBoundsException.class, () -> mask.add(100));
+    assertThrows(IllegalArgumentException.class, () -> mask.add(new Coord(10, 0)));
+    assertThrows(IllegalArgumentException.class, () -> mask.add(3, Dir.N));
+
+    mask.clear();
+    assertThat(mask.cardinality()).isEqualTo(0);
+    assertThat(mask.contains(3)).isFalse();
+  }
+
+  @Test
+  public void dirs() {
+    CellMask mask = GRID.newDirMask();
+    assertThat(mask.hasDirs()).isTrue();
+    assertThat(mask.add(70, Dir.N)).isTrue();
+    assertThat(mask.add(70, Dir.N)).isFalse();
+    assertThat(mask.add(new Coord(7, 0), Dir.E)).isTrue();
+    assertThat(mask.add(71, Dir.SW)).isTrue();
+    assertThat(mask.contains(70, Dir.N)).isTrue();
+    assertThat(mask.contains(70, Dir.S)).isFalse();
+    assertThat(mask.contains(70)).isTrue();
+    assertThat(mask.contains(72)).isFalse();
+    assertThat(mask.cardinality()).isEqualTo(3);
+    assertThat(mask.cellCount()).isEqualTo(2);
+    assertThrows(IllegalArgumentException.class, () -> mask.add(3));
+  }
+
+  @Test
+  public void setAlgebra() {
+    CellMask a = GRID.newCellMask();
+    CellMask b = GRID.newCellMask();
+    for (int i = 0; i < 100; i += 2) {
+      a.add(i);
+    }
+    for (int i = 0; i < 100; i += 3) {
+      b.add(i);
+    }
+    CellMask union = a.copy();
+    union.addAll(b);
+    assertThat(union.cardinality()).isEqualTo(67);
+    CellMask intersection = a.copy();
+    intersection.retainAll(b);
+    assertThat(intersection.cardinality()).isEqualTo(17);
+    List<Integer> cells = new ArrayList<>();
+    intersection.forEachCell(cells::add);
+    assertThat(cells).containsAtLeast(0, 6, 96).inOrder();
+    assertThat(a.cardinality()).isEqualTo(50);
+    assertThrows(IllegalArgumentException.class, () -> a.addAll(GRID.newDirMask()));
+  }
+}
@@ -6,8 +6,10 @@ import static org.junit.Assert.assertThrows;
 import adventlib.CharGrid.Coord;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Spliterator;
 import org.junit.Test;
 
 /**
@@ -81,12 +83,77 @@ public class CharGridTest {
     }
   }
 
+  @Test
+  public void withChangeInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> EXAMPLE.withChange(new Coord(3, 0), 'x'));
+  }
+
+  @Test
+  public void mutableCopy() {
+    MutableCharGrid mutable = EXAMPLE.mutableCopy();
+    mutable.set(new Coord(1, 1), 'x');
+    mutable.set(2, 3, 'y');
+    assertThat(mutable.get(1, 1)).isEqualTo('x');
+    assertThat(mutable.get(2, 3)).isEqualTo('y');
+    assertThat(EXAMPLE.get(1, 1)).isEqualTo('f');
+    assertThat(EXAMPLE.get(2, 3)).isEqualTo('l');
+
+    CharGrid snapshot = mutable.snapshot();
+    mutable.set(1, 1, 'f');
+    assertThat(snapshot.get(1, 1)).isEqualTo('x');
+    assertThat(mutable.toString()).isEqualTo("abcd\nefgh\nijky");
+    assertThrows(IllegalArgumentException.class, () -> mutable.set(0, 4, 'z'));
+  }
+
+  @Test
+  public void mutableCopyIsNotACharGrid() {
+    // Otherwise a CharGrid that someone has kept could change under them.
+    assertThat(CharGrid.class.isAssignableFrom(MutableCharGrid.class)).isFalse();
+    MutableCharGrid mutable = EXAMPLE.mutableCopy();
+    int index = mutable.index(new Coord(1, 1));
+    assertThat(mutable.get(index)).isEqualTo('f');
+    assertThat(mutable.get(mutable.move(index, Dir.E))).isEqualTo('g');
+    assertThat(mutable.move(index, Dir.N)).isEqualTo(1);
+    assertThat(mutable.move(0, Dir.N)).isEqualTo(-1);
+  }
+
   @Test
   public void coords() {
     assertThat(Joiner.on("").join(EXAMPLE.coords()))
         .isEqualTo("(0,0)(0,1)(0,2)(0,3)(1,0)(1,1)(1,2)(1,3)(2,0)(2,1)(2,2)(2,3)");
   }
 
+  @Test
+  public void coordStream() {
+    assertThat(EXAMPLE.coordStream().toList())
+        .containsExactlyElementsIn(EXAMPLE.coords())
+        .inOrder();
+    assertThat(EXAMPLE.coordStream(true).toList())
+        .containsExactlyElementsIn(EXAMPLE.coords())
+        .inOrder();
+    assertThat(EXAMPLE.coordStream(true).isParallel()).isTrue();
+    assertThat(EXAMPLE.coordStream().spliterator().estimateSize()).isEqualTo(12);
+  }
+
+  @Test
+  public void coordSpliteratorSplitsAtRows() {
+    var grid = new CharGrid(Collections.nCopies(100, "abcdefg"));
+    Spliterator<Coord> spliterator = grid.coordStream().spliterator();
+    Spliterator<Coord> prefix = spliterator.trySplit();
+    assertThat(prefix.estimateSize()).isEqualTo(350);
+    assertThat(spliterator.estimateSize()).isEqualTo(350);
+    prefix.tryAdvance(coord -> assertThat(coord).isEqualTo(new Coord(0, 0)));
+    spliterator.tryAdvance(coord -> assertThat(coord).isEqualTo(new Coord(50, 0)));
+    assertThat(grid.coordStream(true).filter(c -> c.col() == 3).count()).isEqualTo(100);
+
+    var oneRow = new CharGrid(List.of("abcdefg"));
+    assertThat(oneRow.coordStream().spliterator().trySplit()).isNull();
+
+    var zeroWidth = new CharGrid(List.of(""));
+    assertThat(zeroWidth.coordStream().spliterator().trySplit()).isNull();
+    assertThat(zeroWidth.coordStream(true).toList()).isEmpty();
+  }
+
   @Test
   public void testToString() {
     assertThat(EXAMPLE.toString())
@@ -128,4 +195,60 @@ public class CharGridTest {
     assertThat(graph.successors("(1,1)"))
         .containsExactly("(0,0)", "(0,1)", "(0,2)", "(1,0)", "(1,2)", "(2,0)", "(2,1)", "(2,2)");
   }
-}
\ No newline at end of file
+
+  private static final CharGrid MAZE =
+      new CharGrid(
+          ImmutableList.of(
+              "a.#.", //
+              ".##b",
+              "...c"));
+
+  @Test
+  public void index() {
+    assertThat(EXAMPLE.index(new Coord(1, 2))).isEqualTo(6);
+    assertThat(EXAMPLE.index(2, 3)).isEqualTo(11);
+    assertThat(EXAMPLE.coord(6)).isEqualTo(new Coord(1, 2));
+    assertThrows(IllegalArgumentException.class, () -> EXAMPLE.index(3, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> EXAMPLE.coord(12));
+    assertThat(EXAMPLE.get(6)).isEqualTo('g');
+    assertThat(EXAMPLE.coordsAsIndices().mapToObj(EXAMPLE::coord).toList())
+        .containsExactlyElementsIn(EXAMPLE.coords())
+        .inOrder();
+  }
+
+  @Test
+  public void moveIndex() {
+    int g = EXAMPLE.index(1, 2);
+    assertThat(EXAMPLE.move(g, Dir.N)).isEqualTo(EXAMPLE.index(0, 2));
+    assertThat(EXAMPLE.move(g, Dir.SE)).isEqualTo(EXAMPLE.index(2, 3));
+    assertThat(EXAMPLE.move(g, Dir.W)).isEqualTo(EXAMPLE.index(1, 1));
+    int d = EXAMPLE.index(0, 3);
+    assertThat(EXAMPLE.move(d, Dir.E)).isEqualTo(-1);
+    assertThat(EXAMPLE.move(d, Dir.N)).isEqualTo(-1);
+    assertThat(EXAMPLE.move(EXAMPLE.index(1, 0), Dir.W)).isEqualTo(-1);
+  }
+
+  @Test
+  public void distances() {
+    int[] distances = MAZE.distances(List.of(new Coord(0, 0)), Dir.NEWS, c -> c != '#');
+    assertThat(distances).asList().containsExactly(0, 1, -1, 7, 1, -1, -1, 6, 2, 3, 4, 5).inOrder();
+
+    int[] twoSources =
+        MAZE.distances(List.of(new Coord(0, 0), new Coord(2, 3)), Dir.NEWS, c -> c != '#');
+    assertThat(twoSources)
+        .asList()
+        .containsExactly(0, 1, -1, 2, 1, -1, -1, 1, 2, 2, 1, 0)
+        .inOrder();
+  }
+
+  @Test
+  public void distanceMatrix() {
+    List<Coord> cells = List.of(new Coord(0, 0), new Coord(1, 3), new Coord(2, 3), new Coord(0, 2));
+    int[][] matrix = MAZE.distanceMatrix(cells, Dir.NEWS, c -> c != '#');
+    assertThat(matrix[0]).asList().containsExactly(0, 6, 5, -1).inOrder();
+    assertThat(matrix[1]).asList().containsExactly(6, 0, 1, -1).inOrder();
+    assertThat(matrix[2]).asList().containsExactly(5, 1, 0, -1).inOrder();
+    // (0,2) is a wall, so it can't be entered, but it is possible to leave it.
+    assertThat(matrix[3]).asList().containsExactly(2, 2, 3, 0).inOrder();
+  }
+}
@@ -0,0 +1,91 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import adventlib.CharGrid.Coord;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class CompactGraphTest {
+  private static final CharGrid EXAMPLE = new CharGrid(ImmutableList.of("abcd", "efgh", "ijkl"));
+
+  private static final CharGrid MAZE =
+      new CharGrid(
+          ImmutableList.of(
+              "a.#.", //
+              ".##b",
+              "...c"));
+
+  private static List<Integer> successors(CompactGraph graph, int node) {
+    List<Integer> result = new ArrayList<>();
+    graph.forEachSuccessor(node, result::add);
+    return result;
+  }
+
+  @Test
+  public void fromGrid() {
+    CompactGraph graph = EXAMPLE.toCompactGraph(Dir.NEWS);
+    assertThat(graph.nodeCount()).isEqualTo(12);
+    assertThat(graph.isWeighted()).isFalse();
+    // Same edges as toGraph, counting each undirected edge in both directions.
+    assertThat(graph.edgeCount()).isEqualTo(2 * EXAMPLE.toGraph(Dir.NEWS, c -> c).edges().size());
+    assertThat(successors(graph, EXAMPLE.index(0, 0)))
+        .containsExactly(EXAMPLE.index(0, 1), EXAMPLE.index(1, 0));
+    assertThat(successors(graph, EXAMPLE.index(1, 1))).hasSize(4);
+    assertThat(graph.asSuccessorsFunction().successors(EXAMPLE.index(2, 3)))
+        .containsExactly(EXAMPLE.index(1, 3), EXAMPLE.index(2, 2));
+
+    CompactGraph diagonal = EXAMPLE.toCompactGraph(EnumSet.allOf(Dir.class));
+    assertThat(successors(diagonal, EXAMPLE.index(1, 1))).hasSize(8);
+  }
+
+  @Test
+  public void passableAndWeighted() {
+    CompactGraph graph =
+        MAZE.toCompactGraph(Dir.NEWS, c -> c != '#', (from, to) -> MAZE.get(to) == '.' ? 1 : 10);
+    assertThat(graph.isWeighted()).isTrue();
+    assertThat(graph.outDegree(MAZE.index(0, 2))).isEqualTo(0);
+    assertThat(successors(graph, MAZE.index(0, 1))).containsExactly(MAZE.index(0, 0));
+    int b = MAZE.index(1, 3);
+    assertThat(graph.outDegree(b)).isEqualTo(2);
+    for (int i = 0; i < graph.outDegree(b); i++) {
+      int expected = (graph.successor(b, i) == MAZE.index(0, 3)) ? 1 : 10;
+      assertThat(graph.weight(b, i)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void distances() {
+    CompactGraph unweighted = MAZE.toCompactGraph(Dir.NEWS, c -> c != '#', null);
+    int a = MAZE.index(new Coord(0, 0));
+    assertThat(GraphAlgorithms.distances(unweighted, a))
+        .isEqualTo(MAZE.distances(List.of(new Coord(0, 0)), Dir.NEWS, c -> c != '#'));
+
+    CompactGraph weighted =
+        MAZE.toCompactGraph(Dir.NEWS, c -> c != '#', (from, to) -> MAZE.get(to) == '.' ? 1 : 10);
+    int[] distances = GraphAlgorithms.distances(weighted, a);
+    assertThat(distances[MAZE.index(2, 2)]).isEqualTo(4);
+    assertThat(distances[MAZE.index(2, 3)]).isEqualTo(14);
+    assertThat(distances[MAZE.index(1, 3)]).isEqualTo(24);
+    assertThat(distances[MAZE.index(0, 3)]).isEqualTo(25);
+    assertThat(distances[MAZE.index(0, 2)]).isEqualTo(-1);
+  }
+
+  @Test
+  public void of() {
+    CompactGraph graph =
+        CompactGraph.of(new int[][] {{1, 2}, {2}, {}}, new int[][] {{5, 1}, {1}, {}});
+    assertThat(graph.nodeCount()).isEqualTo(3);
+    assertThat(graph.edgeCount()).isEqualTo(3);
+    assertThat(GraphAlgorithms.distances(graph, 0)).asList().containsExactly(0, 5, 1).inOrder();
+    assertThrows(
+        IllegalArgumentException.class, () -> CompactGraph.of(new int[][] {{3}, {}, {}}, null));
+  }
+}
@@ -0,0 +1,75 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class CycleTest {
+  // x -> x² + 1 mod 255, starting from 3, goes 3, 10, 101, 2, 5, 26, 167, 95, 101, ... so it has a
+  // prefix of 2 and a period of 6.
+  private static final Supplier<Cycle.Stepper<Long>> SQUARES =
+      () -> Cycle.Stepper.of(3L, x -> (x * x + 1) % 255);
+
+  private static final List<Function<Supplier<Cycle.Stepper<Long>>, Cycle<Cycle.Stepper<Long>>>>
+      FINDERS = List.of(Cycle::brent, Cycle::floyd, s -> Cycle.fingerprint(s, x -> x));
+
+  @Test
+  public void startAndPeriod() {
+    for (var finder : FINDERS) {
+      Cycle<Cycle.Stepper<Long>> cycle = finder.apply(SQUARES);
+      assertThat(cycle.start()).isEqualTo(2);
+      assertThat(cycle.period()).isEqualTo(6);
+      assertThat(cycle.equivalent(1)).isEqualTo(1);
+      assertThat(cycle.equivalent(8)).isEqualTo(2);
+      assertThat(cycle.equivalent(1_000_000_000_000L)).isEqualTo(2 + (1_000_000_000_000L - 2) % 6);
+      assertThat(cycle.stateAt(14).key()).isEqualTo(101L);
+    }
+  }
+
+  @Test
+  public void fingerprintCollision() {
+    // Every key has the same fingerprint, so the first match is a collision.
+    Cycle<Cycle.Stepper<Long>> cycle = Cycle.fingerprint(SQUARES, x -> 0);
+    assertThat(cycle.start()).isEqualTo(2);
+    assertThat(cycle.period()).isEqualTo(6);
+  }
+
+  // A counter that goes 0, 1, 2, 0, 1, 2, ... with a total that grows by 3 on each trip around.
+  private static class Counter implements Cycle.Stepper<Integer> {
+    int value;
+    long total;
+
+    @Override
+    public Integer key() {
+      return value;
+    }
+
+    @Override
+    public void step() {
+      value = (value + 1) % 3;
+      total += value;
+    }
+  }
+
+  @Test
+  public void valueAt() {
+    Cycle<Counter> cycle = Cycle.brent(Counter::new);
+    assertThat(cycle.start()).isEqualTo(0);
+    assertThat(cycle.period()).isEqualTo(3);
+    for (int n = 0; n < 20; n++) {
+      Counter counter = new Counter();
+      for (int i = 0; i < n; i++) {
+        counter.step();
+      }
+      assertThat(cycle.valueAt(n, c -> c.total)).isEqualTo(counter.total);
+      assertThat(cycle.valueAt(n, c -> c.value)).isEqualTo(counter.value);
+    }
+    assertThat(cycle.valueAt(3_000_000_000L, c -> c.total)).isEqualTo(3_000_000_000L);
+  }
+}
@@ -0,0 +1,224 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import adventlib.CharGrid.Coord;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.GraphBuilder;
+import com.google.common.graph.ImmutableGraph;
+import com.google.common.graph.SuccessorsFunction;
+import java.util.Comparator;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class GraphAlgorithmsTest {
+  private static final CharGrid MAZE =
+      new CharGrid(
+          ImmutableList.of(
+              "S.#....", //
+              ".##.##.",
+              "...#...",
+              ".#...#E"));
+
+  private static ImmutableGraph<Coord> mazeGraph() {
+    var graph = MAZE.toGraph(Dir.NEWS, coord -> coord);
+    var builder = GraphBuilder.undirected().<Coord>immutable();
+    for (var edge : graph.edges()) {
+      if (MAZE.get(edge.nodeU()) != '#' && MAZE.get(edge.nodeV()) != '#') {
+        builder.putEdge(edge.nodeU(), edge.nodeV());
+      }
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void distances() {
+    var distances = GraphAlgorithms.distances(mazeGraph(), new Coord(0, 0));
+    assertThat(distances).containsEntry(new Coord(0, 0), 0);
+    assertThat(distances).containsEntry(new Coord(2, 2), 4);
+    assertThat(distances).containsEntry(new Coord(3, 6), 11);
+    assertThat(distances).doesNotContainKey(new Coord(0, 2));
+    assertThat(distances.values()).isInOrder();
+  }
+
+  @Test
+  public void distancesLargeGrid() {
+    // A grid this big would overflow the stack with a recursive search.
+    int n = 300;
+    var distances =
+        GraphAlgorithms.distances(
+            (Coord c) ->
+                Dir.NEWS.stream()
+                    .map(d -> d.move(c))
+                    .filter(m -> m.line() >= 0 && m.line() < n && m.col() >= 0 && m.col() < n)
+                    .toList(),
+            new Coord(0, 0));
+    assertThat(distances).hasSize(n * n);
+    assertThat(distances).containsEntry(new Coord(n - 1, n - 1), 2 * (n - 1));
+  }
+
+  @Test
+  public void intDistances() {
+    // A path 0 -> 1 -> 2 -> 3 with a shortcut 0 -> 2, and an unreachable node 4.
+    int[][] edges = {{1, 2}, {2}, {3}, {}, {0}};
+    int[] distances =
+        GraphAlgorithms.distances(
+            edges.length,
+            (node, action) -> {
+              for (int succ : edges[node]) {
+                action.accept(succ);
+              }
+            },
+            0);
+    assertThat(distances).asList().containsExactly(0, 1, 1, 2, -1).inOrder();
+  }
+
+  @Test
+  public void weightedDistances() {
+    // 0 -> 1 costs 5 but 0 -> 2 -> 1 costs 1 + 2, and node 3 is unreachable.
+    int[][] edges = {{1, 2}, {}, {1}, {0}};
+    int[][] weights = {{5, 1}, {}, {2}, {1}};
+    GraphAlgorithms.IntWeightedSuccessorsFunction successors =
+        (node, action) -> {
+          for (int i = 0; i < edges[node].length; i++) {
+            action.accept(edges[node][i], weights[node][i]);
+          }
+        };
+    int[] distances = GraphAlgorithms.weightedDistances(edges.length, successors, 5, 0);
+    assertThat(distances).asList().containsExactly(0, 3, 1, -1).inOrder();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> GraphAlgorithms.weightedDistances(edges.length, successors, 4, 0));
+  }
+
+  @Test
+  public void stronglyConnectedComponents() {
+    // 0 -> 1 -> 2 -> 0 is a cycle, which leads to the cycle 3 <-> 4, which leads to 5. Node 6 is
+    // on its own and leads into the first cycle.
+    int[][] edges = {{1}, {2}, {0, 3}, {4}, {3, 5}, {}, {0}};
+    int[] component = GraphAlgorithms.stronglyConnectedComponents(CompactGraph.of(edges, null));
+    assertThat(component[1]).isEqualTo(component[0]);
+    assertThat(component[2]).isEqualTo(component[0]);
+    assertThat(component[4]).isEqualTo(component[3]);
+    assertThat(ImmutableList.of(component[6], component[0], component[3], component[5]))
+        .isInStrictOrder(Comparator.reverseOrder());
+    assertThat(component).asList().containsAtLeast(0, 1, 2, 3);
+  }
+
+  @Test
+  public void stronglyConnectedComponentsLongPath() {
+    // A path this long would overflow the stack with a recursive search. Every node is its own
+    // component, and the last node is the only one that reaches nothing else.
+    int n = 200_000;
+    int[][] edges = new int[n][];
+    for (int i = 0; i < n; i++) {
+      edges[i] = (i + 1 < n) ? new int[] {i + 1} : new int[0];
+    }
+    int[] component = GraphAlgorithms.stronglyConnectedComponents(CompactGraph.of(edges, null));
+    assertThat(component[n - 1]).isEqualTo(0);
+    assertThat(component[0]).isEqualTo(n - 1);
+  }
+
+  @Test
+  public void shortestPath() {
+    var path = GraphAlgorithms.shortestPath(mazeGraph(), new Coord(0, 0), new Coord(3, 6));
+    assertThat(path).hasSize(11);
+    assertThat(path.getLast()).isEqualTo(new Coord(3, 6));
+  }
+
+  private static final CharGrid COSTS =
+      new CharGrid(
+          ImmutableList.of(
+              "1163751742", //
+              "1381373672",
+              "2136511328",
+              "3694931569",
+              "7463417111",
+              "1319128137",
+              "1359912421",
+              "3125421639",
+              "1293138521",
+              "2311944581"));
+
+  private static final SuccessorsFunction<Coord> COST_SUCCESSORS =
+      coord -> Dir.NEWS.stream().map(dir -> dir.move(coord)).filter(COSTS::valid).toList();
+
+  @Test
+  public void dijkstra() {
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            COST_SUCCESSORS, (from, to) -> COSTS.get(to) - '0', new Coord(0, 0));
+    Coord end = new Coord(9, 9);
+    assertThat(paths.distances()).hasSize(100);
+    assertThat(paths.distances()).containsEntry(end, 40);
+    assertThat(paths.distances().values()).isInOrder();
+    assertThat(paths.goal()).isEmpty();
+
+    var path = paths.pathTo(end);
+    assertThat(path).hasSize(18);
+    assertThat(path.getLast()).isEqualTo(end);
+    assertThat(path.stream().mapToInt(c -> COSTS.get(c) - '0').sum()).isEqualTo(40);
+  }
+
+  @Test
+  public void aStar() {
+    Coord end = new Coord(9, 9);
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            COST_SUCCESSORS,
+            (from, to) -> COSTS.get(to) - '0',
+            c -> (9 - c.line()) + (9 - c.col()),
+            ImmutableSet.of(new Coord(0, 0)),
+            end::equals);
+    assertThat(paths.goal()).hasValue(end);
+    assertThat(paths.distances()).containsEntry(end, 40);
+  }
+
+  @Test
+  public void multipleStarts() {
+    var paths =
+        GraphAlgorithms.shortestPaths(
+            COST_SUCCESSORS,
+            (from, to) -> 1,
+            c -> 0,
+            ImmutableSet.of(new Coord(0, 0), new Coord(9, 9)),
+            c -> false);
+    assertThat(paths.distances()).containsEntry(new Coord(0, 9), 9);
+    assertThat(paths.distances()).containsEntry(new Coord(8, 8), 2);
+    assertThat(paths.distances()).containsEntry(new Coord(1, 1), 2);
+    assertThat(paths.pathTo(new Coord(9, 9))).isEmpty();
+  }
+
+  @Test
+  public void bucketQueue() {
+    var heapPaths =
+        GraphAlgorithms.shortestPaths(
+            COST_SUCCESSORS, (from, to) -> COSTS.get(to) - '0', new Coord(0, 0));
+    var bucketPaths =
+        GraphAlgorithms.shortestPaths(
+            COST_SUCCESSORS,
+            (from, to) -> COSTS.get(to) - '0',
+            9,
+            ImmutableSet.of(new Coord(0, 0)),
+            c -> false);
+    assertThat(bucketPaths.distances()).isEqualTo(heapPaths.distances());
+    assertThat(bucketPaths.distances().values()).isInOrder();
+  }
+
+  @Test
+  public void bucketQueueCostOutOfRange() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            GraphAlgorithms.shortestPaths(
+                COST_SUCCESSORS,
+                (from, to) -> COSTS.get(to) - '0',
+                5,
+                ImmutableSet.of(new Coord(0, 0)),
+                c -> false));
+  }
+}
@@ -0,0 +1,80 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import adventlib.CharGrid.Coord;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class InputGeneratorsTest {
+  @Test
+  public void deterministic() {
+    for (var generator : InputGenerators.BY_PUZZLE.values()) {
+      assertThat(generator.generate(23, 50)).isEqualTo(generator.generate(23, 50));
+      assertThat(generator.generate(23, 50)).isNotEqualTo(generator.generate(24, 50));
+    }
+  }
+
+  @Test
+  public void maze() {
+    CharGrid grid = MappedInput.of(InputGenerators.maze(1, 20)).toCharGrid();
+    assertThat(grid.height()).isEqualTo(41);
+    assertThat(grid.get(new Coord(39, 1))).isEqualTo('S');
+    assertThat(grid.get(new Coord(1, 39))).isEqualTo('E');
+    int[] distances = grid.distances(List.of(new Coord(39, 1)), Dir.NEWS, c -> c != '#');
+    assertThat(distances[grid.index(1, 39)]).isAtLeast(76);
+  }
+
+  @Test
+  public void racetrackHasNoBranches() {
+    CharGrid grid = MappedInput.of(InputGenerators.racetrack(1, 20)).toCharGrid();
+    grid.coordsAsIndices()
+        .filter(i -> grid.get(i) != '#')
+        .forEach(
+            i -> {
+              long neighbours =
+                  Dir.NEWS.stream()
+                      .map(dir -> grid.move(i, dir))
+                      .filter(j -> j >= 0 && grid.get(j) != '#')
+                      .count();
+              assertThat(neighbours).isEqualTo((grid.get(i) == '.') ? 2 : 1);
+            });
+  }
+
+  @Test
+  public void sizes() {
+    assertThat(MappedInput.of(InputGenerators.bricks(1, 500)).lineCount()).isEqualTo(500);
+    assertThat(MappedInput.of(InputGenerators.hailstones(1, 300)).lineCount()).isEqualTo(300);
+    assertThat(InputGenerators.diskMap(1, 1001).trim()).hasLength(1001);
+    assertThat(InputGenerators.monkeys(1, 100).split("Monkey ")).hasLength(9);
+  }
+
+  @Test
+  public void hailstoneFormat() {
+    for (String line : MappedInput.of(InputGenerators.hailstones(2, 10)).lines()) {
+      assertThat(NumberScanner.longs(line)).hasLength(6);
+    }
+  }
+
+  @Test
+  public void parsesAsPuzzleInput() throws Exception {
+    for (var entry : InputGenerators.BY_PUZZLE.entrySet()) {
+      String key = entry.getKey();
+      List<Puzzle<?>> puzzles = PuzzleRunner.load(p -> key.equals(p.year() + "." + p.day()));
+      assertWithMessage("Puzzle %s", key).that(puzzles).hasSize(1);
+      String text = entry.getValue().generate(1, 100);
+      var result = PuzzleRunner.solve(puzzles.get(0), "generated", () -> new StringReader(text));
+      assertWithMessage("Part 1 of %s", key)
+          .that(((Number) result.part1()).longValue())
+          .isGreaterThan(0L);
+      assertWithMessage("Part 2 of %s", key)
+          .that(((Number) result.part2()).longValue())
+          .isGreaterThan(0L);
+    }
+  }
+}
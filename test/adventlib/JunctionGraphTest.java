@@ -0,0 +1,94 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import adventlib.CharGrid.Coord;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class JunctionGraphTest {
+  private static final CharGrid MAZE =
+      new CharGrid(
+          ImmutableList.of(
+              "#.#####", //
+              "#...#.#",
+              "#.#...#",
+              "#.#.#.#",
+              "#.....#",
+              "#####.#"));
+
+  @Test
+  public void junctions() {
+    JunctionGraph junctions = JunctionGraph.of(MAZE, c -> c == '.', Dir.NEWS, coord -> false);
+    Coord entry = new Coord(0, 1);
+    Coord exit = new Coord(5, 5);
+    Coord deadEnd = new Coord(1, 5);
+    assertThat(junctions.graph().nodes())
+        .containsExactly(
+            entry,
+            exit,
+            deadEnd,
+            new Coord(1, 1),
+            new Coord(2, 3),
+            new Coord(2, 5),
+            new Coord(4, 3),
+            new Coord(4, 5));
+    assertThat(junctions.graph().edgeValue(entry, new Coord(1, 1))).hasValue(1);
+    assertThat(junctions.graph().edgeValue(new Coord(1, 1), new Coord(4, 3))).hasValue(5);
+    assertThat(junctions.graph().edgeValue(new Coord(4, 5), exit)).hasValue(1);
+    assertThat(junctions.graph().edgeValue(new Coord(1, 1), new Coord(2, 3))).hasValue(3);
+    assertThat(junctions.graph().edges()).hasSize(9);
+    assertThat(junctions.corridors()).hasSize(9);
+  }
+
+  @Test
+  public void parallelCorridors() {
+    CharGrid loop =
+        new CharGrid(
+            ImmutableList.of(
+                "#.###", //
+                "#...#",
+                "#.#.#",
+                "#...#",
+                "#.###"));
+    JunctionGraph junctions = JunctionGraph.of(loop, c -> c == '.', Dir.NEWS, coord -> false);
+    // Two corridors join (1,1) and (3,1), of lengths 2 and 6.
+    assertThat(junctions.graph().edgeValue(new Coord(1, 1), new Coord(3, 1))).hasValue(2);
+    assertThat(junctions.path(new Coord(1, 1), new Coord(3, 1))).hasSize(3);
+    // But both corridors are available for a longest-path search.
+    assertThat(
+            junctions.corridors().stream()
+                .filter(c -> c.from().equals(new Coord(1, 1)) && c.to().equals(new Coord(3, 1)))
+                .map(JunctionGraph.Corridor::length)
+                .toList())
+        .containsExactly(2, 6);
+    assertThat(junctions.corridors()).hasSize(4);
+  }
+
+  @Test
+  public void path() {
+    JunctionGraph junctions = JunctionGraph.of(MAZE, c -> c == '.', Dir.NEWS, coord -> false);
+    Coord a = new Coord(1, 1);
+    Coord b = new Coord(2, 3);
+    ImmutableList<Coord> expected =
+        ImmutableList.of(a, new Coord(1, 2), new Coord(1, 3), new Coord(2, 3));
+    assertThat(junctions.path(a, b)).isEqualTo(expected);
+    assertThat(junctions.path(b, a)).isEqualTo(expected.reverse());
+    assertThrows(IllegalArgumentException.class, () -> junctions.path(a, new Coord(1, 5)));
+  }
+
+  @Test
+  public void extraJunction() {
+    Coord extra = new Coord(4, 1);
+    JunctionGraph junctions =
+        JunctionGraph.of(MAZE, c -> c == '.', Dir.NEWS, coord -> coord.equals(extra));
+    assertThat(junctions.graph().nodes()).contains(extra);
+    assertThat(junctions.graph().edgeValue(new Coord(1, 1), extra)).hasValue(3);
+    assertThat(junctions.graph().edgeValue(extra, new Coord(4, 3))).hasValue(2);
+    assertThat(junctions.graph().edgeValue(new Coord(1, 1), new Coord(4, 3))).isEmpty();
+  }
+}
@@ -0,0 +1,80 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class LongMemoTest {
+  private static long fibonacci(long n, LongMemo memo) {
+    if (n < 2) {
+      return n;
+    }
+    return memo.get(n, k -> fibonacci(k - 1, memo) + fibonacci(k - 2, memo));
+  }
+
+  @Test
+  public void recursive() {
+    LongMemo memo = LongMemo.create();
+    assertThat(fibonacci(90, memo)).isEqualTo(2880067194370816120L);
+    assertThat(memo.misses()).isEqualTo(89);
+    assertThat(memo.hits()).isEqualTo(87);
+    assertThat(memo.size()).isEqualTo(89);
+  }
+
+  @Test
+  public void growsWhenUnbounded() {
+    LongMemo memo = LongMemo.create();
+    for (long i = 0; i < 100_000; i++) {
+      memo.get(i * 1_000_003, k -> k + 1);
+    }
+    assertThat(memo.size()).isEqualTo(100_000);
+    for (long i = 0; i < 100_000; i++) {
+      assertThat(memo.get(i * 1_000_003, k -> -1)).isEqualTo(i * 1_000_003 + 1);
+    }
+    assertThat(memo.hits()).isEqualTo(100_000);
+    assertThat(memo.evictions()).isEqualTo(0);
+  }
+
+  @Test
+  public void bounded() {
+    LongMemo memo = LongMemo.bounded(16);
+    for (long i = 0; i < 1000; i++) {
+      assertThat(memo.get(i, k -> k * k)).isEqualTo(i * i);
+    }
+    assertThat(memo.size()).isAtMost(16);
+    assertThat(memo.evictions()).isEqualTo(1000 - memo.size());
+    // Still correct after evictions, even for keys that were evicted.
+    for (long i = 0; i < 1000; i++) {
+      assertThat(memo.get(i, k -> k * k)).isEqualTo(i * i);
+    }
+  }
+
+  @Test
+  public void boundedSizes() {
+    for (int maximumSize : new int[] {1, 2, 3, 4, 5, 64, 100}) {
+      LongMemo memo = LongMemo.bounded(maximumSize);
+      for (long i = 0; i < 1000; i++) {
+        memo.get(i, k -> k);
+      }
+      int rounded = Integer.highestOneBit(maximumSize - 1) * 2;
+      assertThat(memo.size()).isAtMost((maximumSize == 1) ? 1 : rounded);
+    }
+    LongMemo one = LongMemo.bounded(1);
+    one.get(1, k -> 10);
+    one.get(2, k -> 20);
+    assertThat(one.size()).isEqualTo(1);
+    assertThat(one.evictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void clear() {
+    LongMemo memo = LongMemo.create();
+    memo.get(5, k -> 25);
+    memo.clear();
+    assertThat(memo.size()).isEqualTo(0);
+    assertThat(memo.get(5, k -> 26)).isEqualTo(26);
+  }
+}
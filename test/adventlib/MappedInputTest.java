@@ -0,0 +1,53 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Éamonn McManus
+ */
+public class MappedInputTest {
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void lines() {
+    MappedInput input = MappedInput.of("abc\n\nde\r\nf\n");
+    assertThat(input.lineCount()).isEqualTo(4);
+    assertThat(input.lines()).containsExactly("abc", "", "de", "f").inOrder();
+    CharSequence line = input.line(2);
+    assertThat(line.length()).isEqualTo(2);
+    assertThat(line.charAt(1)).isEqualTo('e');
+    assertThat(line.subSequence(1, 2).toString()).isEqualTo("e");
+    assertThrows(IndexOutOfBoundsException.class, () -> input.line(4));
+  }
+
+  @Test
+  public void noFinalNewline() {
+    assertThat(MappedInput.of("abc\nde").lines()).containsExactly("abc", "de").inOrder();
+    assertThat(MappedInput.of("").lineCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void toCharGrid() {
+    CharGrid grid = MappedInput.of("#.#\n..#\n").toCharGrid();
+    assertThat(grid.toString()).isEqualTo(new CharGrid(ImmutableList.of("#.#", "..#")).toString());
+    assertThrows(IllegalArgumentException.class, () -> MappedInput.of("#.#\n.#\n").toCharGrid());
+  }
+
+  @Test
+  public void file() throws Exception {
+    Path path = tmp.newFile().toPath();
+    Files.writeString(path, "12 34\n-5 6\n", UTF_8);
+    MappedInput input = MappedInput.of(path);
+    assertThat(input.lines()).containsExactly("12 34", "-5 6").inOrder();
+    assertThat(input.text().toString()).isEqualTo("12 34\n-5 6\n");
+  }
+}
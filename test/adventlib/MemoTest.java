@@ -0,0 +1,71 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class MemoTest {
+  private static long fibonacci(int n, Memo<Integer> memo) {
+    if (n < 2) {
+      return n;
+    }
+    return memo.get(n, k -> fibonacci(k - 1, memo) + fibonacci(k - 2, memo));
+  }
+
+  @Test
+  public void recursive() {
+    Memo<Integer> memo = Memo.create();
+    assertThat(fibonacci(90, memo)).isEqualTo(2880067194370816120L);
+    assertThat(memo.misses()).isEqualTo(89);
+    assertThat(memo.hits()).isEqualTo(87);
+    assertThat(memo.size()).isEqualTo(89);
+    assertThat(memo.evictions()).isEqualTo(0);
+    assertThat(memo.toString()).contains("hit rate 49.4%");
+  }
+
+  @Test
+  public void maximumSize() {
+    Memo<String> memo = Memo.<String>builder().maximumSize(2).build();
+    memo.get("a", String::length);
+    memo.get("bb", String::length);
+    memo.get("a", k -> -1); // hit, so "a" is now the most recently used
+    memo.get("ccc", String::length); // evicts "bb"
+    assertThat(memo.size()).isEqualTo(2);
+    assertThat(memo.evictions()).isEqualTo(1);
+    assertThat(memo.get("a", k -> -1)).isEqualTo(1);
+    assertThat(memo.get("bb", k -> -1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void maximumWeight() {
+    Memo<String> memo = Memo.<String>builder().maximumWeight(5, String::length).build();
+    memo.get("aa", String::length);
+    memo.get("bbb", String::length);
+    assertThat(memo.evictions()).isEqualTo(0);
+    memo.get("c", String::length);
+    assertThat(memo.evictions()).isEqualTo(1);
+    assertThat(memo.size()).isEqualTo(2);
+    // An entry heavier than the limit is still kept until the next one arrives.
+    memo.get("dddddddd", String::length);
+    assertThat(memo.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void concurrent() {
+    for (Memo<Integer> memo :
+        List.of(
+            Memo.<Integer>builder().concurrent().build(),
+            Memo.<Integer>builder().concurrent().maximumSize(50).build())) {
+      IntStream.range(0, 10_000)
+          .parallel()
+          .forEach(i -> assertThat(memo.get(i % 100, k -> k * 2L)).isEqualTo((i % 100) * 2L));
+      assertThat(memo.hits() + memo.misses()).isEqualTo(10_000);
+      assertThat(memo.size()).isAtMost(100);
+    }
+  }
+}
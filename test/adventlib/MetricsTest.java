@@ -0,0 +1,93 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Metrics}. Metrics are enabled for each test, whatever {@code advent.metrics} is.
+ *
+ * @author Éamonn McManus
+ */
+public class MetricsTest {
+  private boolean wasEnabled;
+
+  @Before
+  public void setUp() {
+    wasEnabled = Metrics.enabled();
+    Metrics.setEnabledForTesting(true);
+    Metrics.reset();
+  }
+
+  @After
+  public void tearDown() {
+    Metrics.setEnabledForTesting(wasEnabled);
+  }
+
+  @Test
+  public void disabled() {
+    Metrics.setEnabledForTesting(false);
+    Metrics.Counter counter = Metrics.counter("test.disabled");
+    counter.increment();
+    Metrics.Histogram histogram = Metrics.histogram("test.disabledHistogram");
+    histogram.record(5);
+    assertThat(counter.sum()).isEqualTo(0);
+    assertThat(histogram.max()).isEqualTo(0);
+  }
+
+  @Test
+  public void counter() {
+    Metrics.Counter counter = Metrics.counter("test.counter");
+    assertThat(Metrics.counter("test.counter")).isSameInstanceAs(counter);
+    IntStream.range(0, 1000).parallel().forEach(i -> counter.increment());
+    counter.add(5);
+    assertThat(counter.sum()).isEqualTo(1005);
+    assertThrows(IllegalArgumentException.class, () -> Metrics.gauge("test.counter"));
+  }
+
+  @Test
+  public void gauge() {
+    Metrics.Gauge gauge = Metrics.gauge("test.gauge");
+    gauge.set(5);
+    gauge.set(17);
+    gauge.set(3);
+    assertThat(gauge.get()).isEqualTo(3);
+    assertThat(gauge.max()).isEqualTo(17);
+  }
+
+  @Test
+  public void histogram() {
+    Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+    for (long value : new long[] {0, 1, 2, 3, 4, 1000}) {
+      histogram.record(value);
+    }
+    assertThat(histogram.bucketCount(0)).isEqualTo(1);
+    assertThat(histogram.bucketCount(1)).isEqualTo(1);
+    assertThat(histogram.bucketCount(2)).isEqualTo(2);
+    assertThat(histogram.bucketCount(3)).isEqualTo(1);
+    assertThat(histogram.bucketCount(10)).isEqualTo(1);
+    assertThat(histogram.sum()).isEqualTo(1010);
+    assertThat(histogram.max()).isEqualTo(1000);
+  }
+
+  @Test
+  public void timerAndReport() {
+    Metrics.Timer timer = Metrics.timer("test.timer");
+    assertThat(timer.time(() -> "x")).isEqualTo("x");
+    try (var unused = timer.start()) {
+      Metrics.counter("test.reported").increment();
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Metrics.report(new PrintStream(bytes, true));
+    String report = bytes.toString();
+    assertThat(report).contains("test.reported: 1\n");
+    assertThat(report).contains("test.timer: count 2,");
+    assertThat(report).doesNotContain("test.gauge");
+  }
+}
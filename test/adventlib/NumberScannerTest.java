@@ -0,0 +1,45 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+/**
+ * @author Éamonn McManus
+ */
+public class NumberScannerTest {
+  @Test
+  public void signs() {
+    assertThat(NumberScanner.ints("p=0,4 v=3,-3")).asList().containsExactly(0, 4, 3, -3).inOrder();
+    assertThat(NumberScanner.ints("19, 13, 30 @ -2,  1, -2"))
+        .asList()
+        .containsExactly(19, 13, 30, -2, 1, -2)
+        .inOrder();
+    // A hyphen between digits is not a minus sign.
+    assertThat(NumberScanner.ints("2-4,6-8")).asList().containsExactly(2, 4, 6, 8).inOrder();
+    assertThat(NumberScanner.ints("- -x --5")).asList().containsExactly(-5);
+  }
+
+  @Test
+  public void reuse() {
+    NumberScanner scanner = new NumberScanner();
+    String many = "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18 19 20";
+    assertThat(scanner.scan(many).count()).isEqualTo(20);
+    assertThat(scanner.getLong(19)).isEqualTo(20);
+    assertThat(scanner.scan("Button A: X+94, Y+34").expect(2).getInt(1)).isEqualTo(34);
+    assertThrows(IndexOutOfBoundsException.class, () -> scanner.getLong(2));
+    assertThrows(IllegalStateException.class, () -> scanner.expect(3));
+    assertThat(scanner.scan("none").count()).isEqualTo(0);
+  }
+
+  @Test
+  public void limits() {
+    assertThat(NumberScanner.longs("9223372036854775807 -9223372036854775808"))
+        .asList()
+        .containsExactly(Long.MAX_VALUE, Long.MIN_VALUE)
+        .inOrder();
+    assertThrows(ArithmeticException.class, () -> NumberScanner.longs("9223372036854775808"));
+    assertThrows(ArithmeticException.class, () -> NumberScanner.ints("3000000000"));
+  }
+}
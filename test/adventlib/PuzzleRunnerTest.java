@@ -0,0 +1,50 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Éamonn McManus
+ */
+public class PuzzleRunnerTest {
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void load() {
+    var puzzles = PuzzleRunner.load(p -> p.year() == 2024 && p.day() <= 2);
+    assertThat(puzzles).hasSize(2);
+    assertThat(puzzles.get(0).day()).isEqualTo(1);
+    assertThat(puzzles.get(1).day()).isEqualTo(2);
+    assertThat(puzzles.get(1).inputs()).containsKey("sample");
+  }
+
+  @Test
+  public void solve() throws Exception {
+    Puzzle<?> puzzle = PuzzleRunner.load(p -> p.year() == 2024 && p.day() == 2).get(0);
+    var result =
+        PuzzleRunner.solve(
+            puzzle, "test", () -> new StringReader("7 6 4 2 1\n1 2 7 8 9\n1 3 2 4 5\n"));
+    assertThat(result.part1()).isEqualTo(1L);
+    assertThat(result.part2()).isEqualTo(2L);
+    assertThat(result.toString()).startsWith("2024 day 2, test: part 1 = 1, part 2 = 2 (parse ");
+  }
+
+  // 2024 Day 20 builds its grid straight from a MappedInput, and looks up its thresholds by name.
+  @Test
+  public void solveMapped() throws Exception {
+    Puzzle<?> puzzle = PuzzleRunner.load(p -> p.year() == 2024 && p.day() == 20).get(0);
+    MappedInput sample = PuzzleRunner.read(puzzle.inputs().get("sample"));
+    Path file = tmp.getRoot().toPath().resolve("sample.txt");
+    Files.writeString(file, sample.text());
+    var mapped = PuzzleRunner.solve(puzzle, "sample", MappedInput.of(file));
+    assertThat(mapped.part1()).isEqualTo(5);
+    assertThat(mapped.part2()).isEqualTo(41);
+    assertThat(PuzzleRunner.solve(puzzle, "other", MappedInput.of(file)).part1()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,135 @@
+package adventlib;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Éamonn McManus
+ */
+public class ResultCacheTest {
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+  // Counts how often it parses and solves, and answers with the sum and the length of the input.
+  private static class CountingPuzzle implements Puzzle<String> {
+    final AtomicInteger parses = new AtomicInteger();
+    final AtomicInteger solves = new AtomicInteger();
+
+    @Override
+    public int year() {
+      return 2000;
+    }
+
+    @Override
+    public int day() {
+      return 1;
+    }
+
+    @Override
+    public String parse(Reader r) throws IOException {
+      parses.incrementAndGet();
+      return CharStreams.toString(r).strip();
+    }
+
+    @Override
+    public Long part1(String input) {
+      solves.incrementAndGet();
+      return Arrays.stream(NumberScanner.longs(input)).sum();
+    }
+
+    @Override
+    public String part2(String input) {
+      solves.incrementAndGet();
+      return "length " + input.length();
+    }
+  }
+
+  @Test
+  public void cachesAnswers() throws Exception {
+    Path dir = tmp.getRoot().toPath();
+    CountingPuzzle puzzle = new CountingPuzzle();
+    ResultCache cache = ResultCache.open(dir);
+
+    PuzzleRunner.Result first = cache.solve(puzzle, "a", () -> new StringReader("1 2 3"));
+    assertThat(first.part1()).isEqualTo(6L);
+    assertThat(first.part2()).isEqualTo("length 5");
+    assertThat(first.cached()).isFalse();
+
+    // A cache opened again on the same directory has the answers without parsing or solving.
+    PuzzleRunner.Result second =
+        ResultCache.open(dir).solve(puzzle, "b", () -> new StringReader("1 2 3"));
+    assertThat(second.part1()).isEqualTo(6L);
+    assertThat(second.part2()).isEqualTo("length 5");
+    assertThat(second.cached()).isTrue();
+    assertThat(second.toString()).endsWith("(cached)");
+    assertThat(puzzle.parses.get()).isEqualTo(1);
+    assertThat(puzzle.solves.get()).isEqualTo(2);
+
+    // Different input, different answers.
+    PuzzleRunner.Result third = cache.solve(puzzle, "c", () -> new StringReader("1 2 4"));
+    assertThat(third.part1()).isEqualTo(7L);
+    assertThat(third.cached()).isFalse();
+    assertThat(puzzle.parses.get()).isEqualTo(2);
+  }
+
+  // Like CountingPuzzle, but an input whose name starts with "double" counts each number twice.
+  private static class NamedInputPuzzle extends CountingPuzzle {
+    @Override
+    public String parse(String inputName, Reader r) throws IOException {
+      String text = parse(r);
+      return inputName.startsWith("double") ? text + " " + text : text;
+    }
+  }
+
+  @Test
+  public void inputNameIsPartOfKeyIfParseUsesIt() throws Exception {
+    NamedInputPuzzle puzzle = new NamedInputPuzzle();
+    ResultCache cache = ResultCache.open(tmp.getRoot().toPath());
+    assertThat(cache.solve(puzzle, "a", () -> new StringReader("1 2 3")).part1()).isEqualTo(6L);
+    PuzzleRunner.Result doubled = cache.solve(puzzle, "double", () -> new StringReader("1 2 3"));
+    assertThat(doubled.part1()).isEqualTo(12L);
+    assertThat(doubled.cached()).isFalse();
+    assertThat(cache.solve(puzzle, "a", () -> new StringReader("1 2 3")).cached()).isTrue();
+  }
+
+  @Test
+  public void codeVersionCoversNestedClasses() {
+    // The puzzles are nested in this class, so they and this class are compiled together.
+    assertThat(ResultCache.puzzleClasses(CountingPuzzle.class))
+        .containsExactly(ResultCacheTest.class, CountingPuzzle.class, NamedInputPuzzle.class)
+        .inOrder();
+    assertThat(ResultCache.puzzleClasses(ResultCacheTest.class))
+        .containsExactly(ResultCacheTest.class, CountingPuzzle.class, NamedInputPuzzle.class)
+        .inOrder();
+    String version = ResultCache.codeVersion(new CountingPuzzle());
+    assertThat(version).hasLength(64);
+    assertThat(ResultCache.codeVersion(new CountingPuzzle())).isEqualTo(version);
+  }
+
+  @Test
+  public void corruptEntryIsRecomputed() throws Exception {
+    Path dir = tmp.getRoot().toPath();
+    CountingPuzzle puzzle = new CountingPuzzle();
+    ResultCache cache = ResultCache.open(dir);
+    cache.solve(puzzle, "a", () -> new StringReader("5"));
+    try (var files = Files.list(dir)) {
+      for (Path file : files.toList()) {
+        Files.write(file, new byte[] {1, 2});
+      }
+    }
+    PuzzleRunner.Result result = cache.solve(puzzle, "a", () -> new StringReader("5"));
+    assertThat(result.part1()).isEqualTo(5L);
+    assertThat(result.cached()).isFalse();
+    assertThat(puzzle.solves.get()).isEqualTo(4);
+  }
+}